@@ -0,0 +1,360 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.cache.impl;
+
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * An in-process, thread-safe {@link ICache} with an optional maximum size and an optional time to live.
+ * <p>
+ * Entries expire a fixed time after they were last written. Expired entries are never returned and are removed
+ * lazily when they are next looked up, or when the size, keys or values of the cache are requested.
+ * <p>
+ * Once the cache is full an entry is evicted for each new entry, chosen by the {@link EvictionPolicy}:
+ * <ul>
+ * <li>{@link EvictionPolicy#LRU} evicts the least recently used entry.</li>
+ * <li>{@link EvictionPolicy#TINY_LFU} admits new entries into a small LRU window. When an entry leaves the window
+ * it only replaces the least recently used entry of the main cache if it has been used more often recently,
+ * according to an approximate frequency sketch. This stops a scan of one-off keys from flushing out entries that
+ * are used repeatedly.</li>
+ * </ul>
+ * Hit, miss, eviction and expiry counts are available from {@link #getStatistics()}.
+ *
+ * @param <K> The object type that acts as the key for the cache
+ * @param <V> The value that is stored in the cache
+ */
+public class BoundedCache<K, V> implements ICache<K, V> {
+    private static final int WINDOW_PERCENTAGE = 1;
+
+    public enum EvictionPolicy {
+        LRU, TINY_LFU
+    }
+
+    private final int maxSize;
+    private final long timeToLive;
+    private final LongSupplier clock;
+    private final int windowMaxSize;
+    private final FrequencySketch sketch;
+
+    // Both maps are access ordered, so their first entry is the least recently used.
+    // New entries go into the window, which is only used by TINY_LFU.
+    private final LinkedHashMap<K, CacheEntry<V>> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, CacheEntry<V>> main = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long expiredCount;
+
+    /**
+     * Constructs an unbounded cache whose entries never expire.
+     */
+    public BoundedCache() {
+        this(0, 0, EvictionPolicy.LRU);
+    }
+
+    /**
+     * @param maxSize        the maximum number of entries, or 0 for unbounded
+     * @param timeToLive     the time in milliseconds after being written that an entry expires, or 0 to never expire
+     * @param evictionPolicy the policy used to choose which entry to evict once the cache is full
+     */
+    public BoundedCache(final int maxSize, final long timeToLive, final EvictionPolicy evictionPolicy) {
+        this(maxSize, timeToLive, evictionPolicy, System::currentTimeMillis);
+    }
+
+    BoundedCache(final int maxSize, final long timeToLive, final EvictionPolicy evictionPolicy, final LongSupplier clock) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Cache max size must not be negative: " + maxSize);
+        }
+        if (timeToLive < 0) {
+            throw new IllegalArgumentException("Cache time to live must not be negative: " + timeToLive);
+        }
+        this.maxSize = maxSize;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        if (maxSize > 0 && EvictionPolicy.TINY_LFU == evictionPolicy) {
+            windowMaxSize = Math.max(1, maxSize * WINDOW_PERCENTAGE / 100);
+            sketch = new FrequencySketch(maxSize);
+        } else {
+            windowMaxSize = 0;
+            sketch = null;
+        }
+    }
+
+    @Override
+    public synchronized V get(final K key) {
+        recordAccess(key);
+        final CacheEntry<V> entry = getEntry(key);
+        if (null == entry) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.value;
+    }
+
+    @Override
+    public synchronized void put(final K key, final V value) {
+        recordAccess(key);
+        final CacheEntry<V> entry = new CacheEntry<>(value, getExpiryTime());
+        if (window.containsKey(key)) {
+            window.put(key, entry);
+        } else if (main.containsKey(key)) {
+            main.put(key, entry);
+        } else if (null == sketch) {
+            main.put(key, entry);
+            evictFromMain();
+        } else {
+            window.put(key, entry);
+            evictFromWindow();
+        }
+    }
+
+    @Override
+    public synchronized void putSafe(final K key, final V value) throws CacheOperationException {
+        if (null != getEntry(key)) {
+            throw new CacheOperationException("Cache entry already exists for key: " + key);
+        }
+        put(key, value);
+    }
+
+    @Override
+    public synchronized void remove(final K key) {
+        if (null == window.remove(key)) {
+            main.remove(key);
+        }
+    }
+
+    @Override
+    public synchronized Collection<V> getAllValues() {
+        removeExpired();
+        final Collection<V> values = new ArrayList<>(window.size() + main.size());
+        window.values().forEach(entry -> values.add(entry.value));
+        main.values().forEach(entry -> values.add(entry.value));
+        return values;
+    }
+
+    @Override
+    public synchronized Set<K> getAllKeys() {
+        removeExpired();
+        final Set<K> keys = new HashSet<>(window.keySet());
+        keys.addAll(main.keySet());
+        return keys;
+    }
+
+    @Override
+    public synchronized int size() {
+        removeExpired();
+        return window.size() + main.size();
+    }
+
+    @Override
+    public synchronized void clear() {
+        window.clear();
+        main.clear();
+    }
+
+    public synchronized CacheStatistics getStatistics() {
+        return new CacheStatistics(hitCount, missCount, evictionCount, expiredCount, window.size() + main.size());
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    // Returns the entry for the key, removing it if it has expired. Lookups update the access order.
+    private CacheEntry<V> getEntry(final K key) {
+        LinkedHashMap<K, CacheEntry<V>> map = window;
+        CacheEntry<V> entry = window.get(key);
+        if (null == entry) {
+            map = main;
+            entry = main.get(key);
+        }
+        if (null != entry && isExpired(entry, clock.getAsLong())) {
+            map.remove(key);
+            expiredCount++;
+            entry = null;
+        }
+        return entry;
+    }
+
+    private void recordAccess(final K key) {
+        if (null != sketch) {
+            sketch.increment(key);
+        }
+    }
+
+    private long getExpiryTime() {
+        return timeToLive > 0 ? clock.getAsLong() + timeToLive : Long.MAX_VALUE;
+    }
+
+    private boolean isExpired(final CacheEntry<V> entry, final long now) {
+        return entry.expiryTime <= now;
+    }
+
+    private void removeExpired() {
+        if (timeToLive > 0) {
+            final long now = clock.getAsLong();
+            removeExpired(window, now);
+            removeExpired(main, now);
+        }
+    }
+
+    private void removeExpired(final Map<K, CacheEntry<V>> map, final long now) {
+        final Iterator<CacheEntry<V>> itr = map.values().iterator();
+        while (itr.hasNext()) {
+            if (isExpired(itr.next(), now)) {
+                itr.remove();
+                expiredCount++;
+            }
+        }
+    }
+
+    private void evictFromMain() {
+        if (maxSize > 0) {
+            while (main.size() > maxSize) {
+                removeEldest(main);
+                evictionCount++;
+            }
+        }
+    }
+
+    // Moves the least recently used window entry into the main cache if there is room, or if it is used more
+    // frequently than the least recently used entry of the main cache, which it then replaces.
+    private void evictFromWindow() {
+        if (window.size() <= windowMaxSize) {
+            return;
+        }
+        final Map.Entry<K, CacheEntry<V>> candidate = removeEldest(window);
+        final int mainMaxSize = maxSize - windowMaxSize;
+        if (main.size() < mainMaxSize) {
+            main.put(candidate.getKey(), candidate.getValue());
+            return;
+        }
+
+        evictionCount++;
+        if (mainMaxSize > 0) {
+            final K victim = main.keySet().iterator().next();
+            if (sketch.frequency(candidate.getKey()) > sketch.frequency(victim)) {
+                main.remove(victim);
+                main.put(candidate.getKey(), candidate.getValue());
+            }
+        }
+    }
+
+    private Map.Entry<K, CacheEntry<V>> removeEldest(final LinkedHashMap<K, CacheEntry<V>> map) {
+        final Iterator<Map.Entry<K, CacheEntry<V>>> itr = map.entrySet().iterator();
+        final Map.Entry<K, CacheEntry<V>> eldest = itr.next();
+        final Map.Entry<K, CacheEntry<V>> copy = new AbstractMap.SimpleImmutableEntry<>(eldest);
+        itr.remove();
+        return copy;
+    }
+
+    private static final class CacheEntry<V> {
+        private final V value;
+        private final long expiryTime;
+
+        private CacheEntry(final V value, final long expiryTime) {
+            this.value = value;
+            this.expiryTime = expiryTime;
+        }
+    }
+
+    /**
+     * A count-min sketch of 4 rows of saturating counters, each 4 times as wide as the cache, estimating how often
+     * each key has been accessed recently. All the counters are halved once the number of increments reaches 10 times the cache size, so the
+     * estimates favour recent activity.
+     */
+    private static final class FrequencySketch {
+        private static final int DEPTH = 4;
+        private static final int MAX_COUNT = 15;
+        private static final int[] SEEDS = {0x97cb3127, 0xc2b2ae35, 0x85ebca6b, 0x27d4eb2f};
+
+        private final byte[][] counters;
+        private final int mask;
+        private final int resetSize;
+        private int additions;
+
+        private FrequencySketch(final int maxSize) {
+            int width = 16;
+            while (width < 4L * maxSize && width < (1 << 24)) {
+                width <<= 1;
+            }
+            counters = new byte[DEPTH][width];
+            mask = width - 1;
+            resetSize = (int) Math.min(Integer.MAX_VALUE, 10L * maxSize);
+        }
+
+        private void increment(final Object key) {
+            final int hash = spread(key);
+            boolean added = false;
+            for (int i = 0; i < DEPTH; i++) {
+                final int index = index(hash, i);
+                if (counters[i][index] < MAX_COUNT) {
+                    counters[i][index]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= resetSize) {
+                reset();
+            }
+        }
+
+        private int frequency(final Object key) {
+            final int hash = spread(key);
+            int frequency = MAX_COUNT;
+            for (int i = 0; i < DEPTH; i++) {
+                frequency = Math.min(frequency, counters[i][index(hash, i)]);
+            }
+            return frequency;
+        }
+
+        private int index(final int hash, final int row) {
+            int h = (hash + SEEDS[row]) * SEEDS[row];
+            h ^= h >>> 16;
+            return h & mask;
+        }
+
+        private void reset() {
+            for (final byte[] row : counters) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] >>= 1;
+                }
+            }
+            additions /= 2;
+        }
+
+        private static int spread(final Object key) {
+            int h = null == key ? 0 : key.hashCode();
+            h *= 0x9e3779b9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.cache.impl;
+
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.ICacheService;
+import uk.gov.gchq.gaffer.cache.impl.BoundedCache.EvictionPolicy;
+import uk.gov.gchq.gaffer.cache.util.CacheProperties;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An in-process {@link ICacheService} providing thread-safe {@link BoundedCache}s. The maximum size, time to live
+ * and eviction policy of each cache are read from the {@link CacheProperties#CACHE_MAX_SIZE},
+ * {@link CacheProperties#CACHE_TIME_TO_LIVE} and {@link CacheProperties#CACHE_EVICTION_POLICY} properties, each of
+ * which can be overridden for a single cache by appending "." and the cache name, e.g.
+ * "gaffer.cache.max-size.JobTracker". By default caches are unbounded and entries never expire.
+ */
+public class BoundedCacheService implements ICacheService {
+    private final Map<String, BoundedCache> caches = new ConcurrentHashMap<>();
+    private Properties properties = new Properties();
+
+    @Override
+    public void initialise(final Properties properties) {
+        this.properties = null != properties ? properties : new Properties();
+    }
+
+    @Override
+    public void shutdown() {
+        caches.clear();
+    }
+
+    @Override
+    public <K, V> ICache<K, V> getCache(final String cacheName) {
+        return caches.computeIfAbsent(cacheName, this::createCache);
+    }
+
+    /**
+     * @param cacheName the name of the cache
+     * @return the current statistics of the cache
+     */
+    public CacheStatistics getStatistics(final String cacheName) {
+        return caches.computeIfAbsent(cacheName, this::createCache).getStatistics();
+    }
+
+    private BoundedCache createCache(final String cacheName) {
+        final String maxSize = getProperty(CacheProperties.CACHE_MAX_SIZE, cacheName, "0");
+        final String timeToLive = getProperty(CacheProperties.CACHE_TIME_TO_LIVE, cacheName, "0");
+        final String evictionPolicy = getProperty(CacheProperties.CACHE_EVICTION_POLICY, cacheName, EvictionPolicy.LRU.name());
+        return new BoundedCache<>(
+                Integer.parseInt(maxSize.trim()),
+                Long.parseLong(timeToLive.trim()),
+                EvictionPolicy.valueOf(evictionPolicy.trim().toUpperCase(Locale.ENGLISH)));
+    }
+
+    private String getProperty(final String key, final String cacheName, final String defaultValue) {
+        return properties.getProperty(key + "." + cacheName, properties.getProperty(key, defaultValue));
+    }
+}
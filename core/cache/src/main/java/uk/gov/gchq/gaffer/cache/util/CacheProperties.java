@@ -27,4 +27,25 @@ public final class CacheProperties {
 
     public static final String CACHE_CONFIG_FILE = "gaffer.cache.config.file";
 
+    /**
+     * The maximum number of entries held by each cache of a
+     * {@link uk.gov.gchq.gaffer.cache.impl.BoundedCacheService}. This can be overridden for a single cache by
+     * appending "." and the cache name to the property name. Not set, or 0, means unbounded.
+     */
+    public static final String CACHE_MAX_SIZE = "gaffer.cache.max-size";
+
+    /**
+     * The time in milliseconds after being written that an entry of a
+     * {@link uk.gov.gchq.gaffer.cache.impl.BoundedCacheService} cache expires. This can be overridden for a single
+     * cache by appending "." and the cache name to the property name. Not set, or 0, means entries never expire.
+     */
+    public static final String CACHE_TIME_TO_LIVE = "gaffer.cache.time-to-live";
+
+    /**
+     * The {@link uk.gov.gchq.gaffer.cache.impl.BoundedCache.EvictionPolicy} used by a
+     * {@link uk.gov.gchq.gaffer.cache.impl.BoundedCacheService} cache once it is full. This can be overridden for a
+     * single cache by appending "." and the cache name to the property name. Defaults to LRU.
+     */
+    public static final String CACHE_EVICTION_POLICY = "gaffer.cache.eviction-policy";
+
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.cache.impl;
+
+import org.junit.After;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
+import uk.gov.gchq.gaffer.cache.util.CacheProperties;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BoundedCacheServiceTest {
+    private final BoundedCacheService service = new BoundedCacheService();
+
+    @After
+    public void after() {
+        service.shutdown();
+    }
+
+    @Test
+    public void shouldCreateUnboundedCachesByDefault() throws CacheOperationException {
+        // Given
+        service.initialise(null);
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            service.putInCache("test", i, i);
+        }
+
+        // Then
+        assertEquals(1000, service.sizeOfCache("test"));
+        final BoundedCache cache = (BoundedCache) service.getCache("test");
+        assertEquals(0, cache.getMaxSize());
+        assertEquals(0, cache.getTimeToLive());
+    }
+
+    @Test
+    public void shouldReUseCacheIfOneExists() {
+        // Given
+        service.initialise(new Properties());
+
+        // When
+        final ICache<String, Integer> cache = service.getCache("test");
+
+        // Then
+        assertSame(cache, service.getCache("test"));
+    }
+
+    @Test
+    public void shouldApplyGlobalAndPerCacheProperties() throws CacheOperationException {
+        // Given
+        final Properties properties = new Properties();
+        properties.setProperty(CacheProperties.CACHE_MAX_SIZE, "10");
+        properties.setProperty(CacheProperties.CACHE_MAX_SIZE + ".large", "100");
+        properties.setProperty(CacheProperties.CACHE_TIME_TO_LIVE, "60000");
+        properties.setProperty(CacheProperties.CACHE_EVICTION_POLICY, "tiny_lfu");
+        service.initialise(properties);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            service.putInCache("small", i, i);
+            service.putInCache("large", i, i);
+        }
+
+        // Then
+        assertTrue(service.sizeOfCache("small") <= 10);
+        assertEquals(50, service.sizeOfCache("large"));
+        assertEquals(60000, ((BoundedCache) service.getCache("large")).getTimeToLive());
+        assertEquals(40, service.getStatistics("small").getEvictionCount());
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.cache.impl;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
+import uk.gov.gchq.gaffer.cache.impl.BoundedCache.EvictionPolicy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BoundedCacheTest {
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntry() {
+        // Given
+        final BoundedCache<String, Integer> cache = new BoundedCache<>(2, 0, EvictionPolicy.LRU);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+
+        // When
+        cache.put("c", 3);
+
+        // Then
+        assertEquals(new HashSet<>(Arrays.asList("a", "c")), cache.getAllKeys());
+        assertEquals(1, cache.getStatistics().getEvictionCount());
+    }
+
+    @Test
+    public void shouldExpireEntriesAfterTimeToLive() {
+        // Given
+        final AtomicLong time = new AtomicLong(1000L);
+        final BoundedCache<String, Integer> cache = new BoundedCache<>(0, 100, EvictionPolicy.LRU, time::get);
+        cache.put("a", 1);
+        time.addAndGet(50);
+        cache.put("b", 2);
+
+        // When
+        time.addAndGet(60);
+
+        // Then
+        assertNull(cache.get("a"));
+        assertEquals(new Integer(2), cache.get("b"));
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getStatistics().getExpiredCount());
+    }
+
+    @Test
+    public void shouldAllowPutSafeWhenExistingEntryHasExpired() throws CacheOperationException {
+        // Given
+        final AtomicLong time = new AtomicLong(0L);
+        final BoundedCache<String, Integer> cache = new BoundedCache<>(0, 100, EvictionPolicy.LRU, time::get);
+        cache.putSafe("a", 1);
+
+        // When / Then
+        try {
+            cache.putSafe("a", 2);
+            fail("Exception expected");
+        } catch (final CacheOperationException e) {
+            assertEquals(new Integer(1), cache.get("a"));
+        }
+        time.addAndGet(100);
+        cache.putSafe("a", 3);
+        assertEquals(new Integer(3), cache.get("a"));
+    }
+
+    @Test
+    public void shouldKeepFrequentlyUsedEntriesDuringScanWithTinyLfu() {
+        // Given
+        final BoundedCache<Integer, Integer> cache = new BoundedCache<>(100, 0, EvictionPolicy.TINY_LFU);
+        for (int i = 0; i < 50; i++) {
+            for (int j = 0; j < 10; j++) {
+                if (null == cache.get(i)) {
+                    cache.put(i, i);
+                }
+            }
+        }
+
+        // When
+        for (int i = 1000; i < 2000; i++) {
+            cache.put(i, i);
+        }
+
+        // Then
+        for (int i = 0; i < 50; i++) {
+            assertEquals(new Integer(i), cache.get(i));
+        }
+        assertEquals(100, cache.size());
+    }
+
+    @Test
+    public void shouldRecordHitsAndMisses() {
+        // Given
+        final BoundedCache<String, Integer> cache = new BoundedCache<>();
+        cache.put("a", 1);
+
+        // When
+        cache.get("a");
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+
+        // Then
+        final CacheStatistics statistics = cache.getStatistics();
+        assertEquals(3, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(0.75, statistics.getHitRate(), 0.0);
+        assertEquals(1, statistics.getSize());
+    }
+
+    @Test
+    public void shouldStayWithinMaxSizeWhenUsedConcurrently() throws Exception {
+        // Given
+        final BoundedCache<Integer, Integer> cache = new BoundedCache<>(500, 0, EvictionPolicy.TINY_LFU);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        final List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < 8; t++) {
+            final int offset = t * 10000;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    cache.put(offset + i, i);
+                    cache.get(offset + i / 2);
+                }
+            }));
+        }
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertTrue(cache.size() <= 500);
+        assertEquals(80000, cache.getStatistics().getHitCount() + cache.getStatistics().getMissCount());
+    }
+}
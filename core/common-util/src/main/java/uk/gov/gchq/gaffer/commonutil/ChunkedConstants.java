@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.commonutil;
+
+/**
+ * The constants of the protocol used to stream results from the chunked
+ * endpoint of the Gaffer REST API. Each result is written as a line of JSON
+ * followed by {@link #DELIMITER}. If the request has the
+ * {@link #STATUS_HEADER} header set to true, the results are followed by a
+ * status line: {@link #END} if all the results were written, or
+ * {@link #ERROR_PREFIX} and a message if writing the results failed. JSON
+ * never starts with '#', so a status line cannot be mistaken for a result.
+ */
+public final class ChunkedConstants {
+    public static final String DELIMITER = "\r\n";
+    public static final String STATUS_HEADER = "Gaffer-Chunked-Status";
+    public static final String END = "#END";
+    public static final String ERROR_PREFIX = "#ERROR ";
+
+    private ChunkedConstants() {
+        // constants class so it should not be constructed
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.commonutil.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * <p>
+ * Keeps the first limit items, according to a {@link Comparator}, of the items
+ * offered to it.
+ * </p>
+ * <p>
+ * The items are held in a binary max-heap backed by an array, so the worst of
+ * the current items is always at the root. Offering an item is a single
+ * comparison with the root if it is rejected, and at most O(log limit)
+ * comparisons if it is accepted, with no per-item allocation. Unlike a
+ * {@link LimitedSortedSet}, items that compare as equal are all kept.
+ * </p>
+ * <p>
+ * The heap is stable: the order in which items were offered is recorded and
+ * used to break ties, so of the items that compare as equal the earliest
+ * offered are kept and {@link #toSortedList()} returns them in the order they
+ * were offered, as a stable sort of the whole input would.
+ * </p>
+ * <p>
+ * Heaps built over consecutive parts of the input can be combined with
+ * {@link #merge(TopNHeap)}, merging the later heap into the earlier one; see
+ * {@link uk.gov.gchq.gaffer.commonutil.stream.GafferCollectors#toTopN(Comparator, int)}.
+ * </p>
+ *
+ * @param <E> the type of item
+ */
+public class TopNHeap<E> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Comparator<? super E> comparator;
+    private final int limit;
+    private Object[] heap;
+    // The position in the input of each item in the heap, used to break ties
+    private long[] positions;
+    private long nextPosition;
+    private int size;
+
+    public TopNHeap(final Comparator<? super E> comparator, final int limit) {
+        if (null == comparator) {
+            throw new IllegalArgumentException("Comparator is required");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit should be more than 0");
+        }
+        this.comparator = comparator;
+        this.limit = limit;
+        // The arrays grow up to the limit, so a large limit does not allocate large arrays for a small input
+        final int capacity = Math.min(limit, INITIAL_CAPACITY);
+        this.heap = new Object[capacity];
+        this.positions = new long[capacity];
+    }
+
+    /**
+     * Offers an item to the heap.
+     *
+     * @param item the item to offer
+     * @return true if the item is currently one of the first limit items
+     */
+    public boolean offer(final E item) {
+        final long position = nextPosition++;
+        if (size < limit) {
+            if (size == heap.length) {
+                final int capacity = (int) Math.min(limit, 2L * size);
+                heap = Arrays.copyOf(heap, capacity);
+                positions = Arrays.copyOf(positions, capacity);
+            }
+            heap[size] = item;
+            positions[size] = position;
+            siftUp(size);
+            size++;
+            return true;
+        }
+
+        // The item was offered after the root, so it must be strictly better to replace it
+        if (comparator.compare(item, get(0)) < 0) {
+            heap[0] = item;
+            positions[0] = position;
+            siftDown(0);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Offers all the items in another heap to this heap, in the order they
+     * were offered to the other heap. The other heap should have been built
+     * from items that come after the items offered to this heap.
+     *
+     * @param other the heap to merge into this heap
+     * @return this heap
+     */
+    public TopNHeap<E> merge(final TopNHeap<? extends E> other) {
+        final Integer[] indices = new Integer[other.size];
+        for (int i = 0; i < other.size; i++) {
+            indices[i] = i;
+        }
+        Arrays.sort(indices, (first, second) -> Long.compare(other.positions[first], other.positions[second]));
+        for (final int index : indices) {
+            offer(other.get(index));
+        }
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return a new list of the items in the heap, sorted using the comparator,
+     * with items that compare as equal in the order they were offered
+     */
+    public List<E> toSortedList() {
+        final Integer[] indices = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            indices[i] = i;
+        }
+        Arrays.sort(indices, this::compare);
+        final List<E> list = new ArrayList<>(size);
+        for (final int index : indices) {
+            list.add(get(index));
+        }
+        return list;
+    }
+
+    private E get(final int index) {
+        return (E) heap[index];
+    }
+
+    private int compare(final int first, final int second) {
+        final int result = comparator.compare(get(first), get(second));
+        return 0 != result ? result : Long.compare(positions[first], positions[second]);
+    }
+
+    private void swap(final int first, final int second) {
+        final Object item = heap[first];
+        heap[first] = heap[second];
+        heap[second] = item;
+        final long position = positions[first];
+        positions[first] = positions[second];
+        positions[second] = position;
+    }
+
+    private void siftUp(final int index) {
+        int child = index;
+        while (child > 0) {
+            final int parent = (child - 1) >>> 1;
+            if (compare(child, parent) <= 0) {
+                break;
+            }
+            swap(child, parent);
+            child = parent;
+        }
+    }
+
+    private void siftDown(final int index) {
+        final int half = size >>> 1;
+        int parent = index;
+        while (parent < half) {
+            int child = (parent << 1) + 1;
+            final int right = child + 1;
+            if (right < size && compare(right, child) > 0) {
+                child = right;
+            }
+            if (compare(parent, child) >= 0) {
+                break;
+            }
+            swap(parent, child);
+            parent = child;
+        }
+    }
+}
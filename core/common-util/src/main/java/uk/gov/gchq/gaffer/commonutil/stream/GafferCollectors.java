@@ -16,10 +16,12 @@
 package uk.gov.gchq.gaffer.commonutil.stream;
 
 import uk.gov.gchq.gaffer.commonutil.collection.LimitedSortedSet;
+import uk.gov.gchq.gaffer.commonutil.collection.TopNHeap;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
@@ -110,6 +112,34 @@ public final class GafferCollectors {
         );
     }
 
+    /**
+     * Returns a {@link java.util.stream.Collector} that collects the first
+     * limit input items, according to the comparator, into a sorted
+     * {@link java.util.List}.
+     *
+     * The items are gathered in a {@link uk.gov.gchq.gaffer.commonutil.collection.TopNHeap},
+     * so only limit items are held in memory. Unlike
+     * {@link #toLimitedSortedSet(Comparator, int)}, items that compare as equal
+     * are all kept, in encounter order. Ties are only resolved in encounter
+     * order if the stream is sequential or ordered; a parallel stream over an
+     * {@link Iterable} is not ordered.
+     *
+     * @param comparator the {@link java.util.Comparator} to use when comparing
+     *                   items
+     * @param limit the maximum number of items to collect
+     * @param <T> the type of input items
+     * @return a {@link java.util.stream.Collector} which collects the first
+     * limit input items into a sorted {@link java.util.List}
+     */
+    public static <T> Collector<T, TopNHeap<T>, List<T>> toTopN(final Comparator<? super T> comparator, final int limit) {
+        return new GafferCollectorImpl<>(
+                () -> new TopNHeap<>(comparator, limit),
+                TopNHeap::offer,
+                TopNHeap::merge,
+                TopNHeap::toSortedList
+        );
+    }
+
     /**
      * Simple implementation class for {@code GafferCollector}.
      *
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.commonutil.collection;
+
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TopNHeapTest {
+
+    @Test
+    public void shouldKeepFirstItemsAccordingToComparator() {
+        // Given
+        final TopNHeap<Integer> heap = new TopNHeap<>(Comparator.naturalOrder(), 100);
+        final List<Integer> expectedItems = IntStream.rangeClosed(1, 100).boxed().collect(Collectors.toList());
+
+        // When
+        for (int i = 200; i > 0; i--) {
+            heap.offer(i);
+        }
+
+        // Then
+        assertEquals(100, heap.size());
+        assertEquals(expectedItems, heap.toSortedList());
+    }
+
+    @Test
+    public void shouldKeepDuplicates() {
+        // Given
+        final TopNHeap<Integer> heap = new TopNHeap<>(Comparator.naturalOrder(), 4);
+
+        // When
+        for (final int i : Arrays.asList(5, 2, 8, 2, 1, 5, 9, 0, 2, 7)) {
+            heap.offer(i);
+        }
+
+        // Then
+        assertEquals(Arrays.asList(0, 1, 2, 2), heap.toSortedList());
+    }
+
+    @Test
+    public void shouldRejectItemsThatAreNotBetterThanTheWorstKeptItem() {
+        // Given
+        final TopNHeap<Integer> heap = new TopNHeap<>(Comparator.naturalOrder(), 2);
+        heap.offer(1);
+        heap.offer(3);
+
+        // When / Then
+        assertFalse(heap.offer(4));
+        assertFalse(heap.offer(3));
+        assertTrue(heap.offer(2));
+        assertEquals(Arrays.asList(1, 2), heap.toSortedList());
+    }
+
+    @Test
+    public void shouldMergeHeaps() {
+        // Given
+        final TopNHeap<Integer> first = new TopNHeap<>(Comparator.reverseOrder(), 3);
+        final TopNHeap<Integer> second = new TopNHeap<>(Comparator.reverseOrder(), 3);
+        Arrays.asList(1, 7, 3, 9).forEach(first::offer);
+        Arrays.asList(8, 2, 10).forEach(second::offer);
+
+        // When
+        final TopNHeap<Integer> merged = first.merge(second);
+
+        // Then
+        assertEquals(Arrays.asList(10, 9, 8), merged.toSortedList());
+    }
+
+    @Test
+    public void shouldKeepEarliestEqualItemsInOfferedOrder() {
+        // Given - strings compared by length only, so items of the same length are equal
+        final TopNHeap<String> heap = new TopNHeap<>(Comparator.comparingInt(String::length), 4);
+
+        // When
+        for (final String item : Arrays.asList("dd", "a", "bb", "c", "aa", "b", "cc", "d", "e")) {
+            heap.offer(item);
+        }
+
+        // Then
+        assertEquals(Arrays.asList("a", "c", "b", "d"), heap.toSortedList());
+    }
+
+    @Test
+    public void shouldKeepOfferedOrderOfEqualItemsWhenMerging() {
+        // Given
+        final TopNHeap<String> first = new TopNHeap<>(Comparator.comparingInt(String::length), 3);
+        final TopNHeap<String> second = new TopNHeap<>(Comparator.comparingInt(String::length), 3);
+        Arrays.asList("bb", "a", "cc").forEach(first::offer);
+        Arrays.asList("b", "c", "aa").forEach(second::offer);
+
+        // When
+        final TopNHeap<String> merged = first.merge(second);
+
+        // Then
+        assertEquals(Arrays.asList("a", "b", "c"), merged.toSortedList());
+    }
+
+    @Test
+    public void shouldMatchStableSortForRandomInput() {
+        // Given
+        final Random random = new Random(0);
+        final List<int[]> items = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            items.add(new int[]{random.nextInt(100), i});
+        }
+        final Comparator<int[]> comparator = Comparator.comparingInt(item -> item[0]);
+        final TopNHeap<int[]> heap = new TopNHeap<>(comparator, 500);
+
+        // When
+        items.forEach(heap::offer);
+
+        // Then
+        final List<int[]> sortedItems = new ArrayList<>(items);
+        sortedItems.sort(comparator);
+        final List<int[]> result = heap.toSortedList();
+        assertEquals(500, result.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(sortedItems.get(i)[1], result.get(i)[1]);
+        }
+    }
+
+    @Test
+    public void shouldMatchFullSortForRandomInput() {
+        // Given
+        final Random random = new Random(0);
+        final List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            items.add(random.nextInt(1000));
+        }
+        final TopNHeap<Integer> heap = new TopNHeap<>(Comparator.naturalOrder(), 500);
+
+        // When
+        items.forEach(heap::offer);
+
+        // Then
+        final List<Integer> sortedItems = new ArrayList<>(items);
+        Collections.sort(sortedItems);
+        assertEquals(sortedItems.subList(0, 500), heap.toSortedList());
+    }
+
+    @Test
+    public void shouldThrowExceptionIfLimitIsLessThan1() {
+        // When / Then
+        try {
+            new TopNHeap<Integer>(Comparator.naturalOrder(), 0);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Limit"));
+        }
+    }
+}
@@ -18,7 +18,9 @@ package uk.gov.gchq.gaffer.commonutil.stream;
 import com.google.common.collect.Iterables;
 import org.junit.Test;
 import uk.gov.gchq.gaffer.commonutil.collection.LimitedSortedSet;
+import java.util.Comparator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.stream.IntStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -27,6 +29,7 @@ import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.Assert.assertEquals;
 import static uk.gov.gchq.gaffer.commonutil.stream.GafferCollectors.toLimitedSortedSet;
 import static uk.gov.gchq.gaffer.commonutil.stream.GafferCollectors.toLinkedHashSet;
+import static uk.gov.gchq.gaffer.commonutil.stream.GafferCollectors.toTopN;
 
 public class GafferCollectorTest {
 
@@ -57,4 +60,20 @@ public class GafferCollectorTest {
         // Then
         assertEquals(50, result.size());
     }
+
+    @Test
+    public void shouldCollectTopNInParallel() {
+        // Given
+        final IntStream stream = IntStream.range(0, 100000).parallel();
+
+        // When
+        final List<Integer> result = stream.mapToObj(i -> i % 1000)
+                .collect(toTopN(Comparator.reverseOrder(), 250));
+
+        // Then
+        assertEquals(250, result.size());
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals(999 - i / 100, (int) result.get(i));
+        }
+    }
 }
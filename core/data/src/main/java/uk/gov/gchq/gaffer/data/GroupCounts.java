@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.data;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import java.util.HashMap;
 import java.util.Map;
@@ -24,29 +25,26 @@ import java.util.Map;
  * Summary of element groups. If the limitHit flag is true then the counts will
  * not be fully populated - they are simply the counts of the groups up to the
  * point at which the limit was reached.
+ * <p>
+ * The counts are held as longs and can be accessed with {@link #getEntityGroupCounts()}
+ * and {@link #getEdgeGroupCounts()}. The Integer getters and setters, which are
+ * also used for JSON serialisation, convert to and from these counts.
  */
 public class GroupCounts {
-    private Map<String, Integer> entityGroups = new HashMap<>();
-    private Map<String, Integer> edgeGroups = new HashMap<>();
+    private Map<String, Long> entityGroupCounts = new HashMap<>();
+    private Map<String, Long> edgeGroupCounts = new HashMap<>();
     private boolean limitHit;
 
     public void addEntityGroup(final String group) {
-        addElementGroup(group, entityGroups);
+        addElementGroup(group, entityGroupCounts);
     }
 
     public void addEdgeGroup(final String group) {
-        addElementGroup(group, edgeGroups);
+        addElementGroup(group, edgeGroupCounts);
     }
 
-    private void addElementGroup(final String group, final Map<String, Integer> elementGroups) {
-        Integer count = elementGroups.get(group);
-        if (null == count) {
-            count = 1;
-        } else {
-            count += 1;
-        }
-
-        elementGroups.put(group, count);
+    private void addElementGroup(final String group, final Map<String, Long> elementGroups) {
+        elementGroups.merge(group, 1L, Long::sum);
     }
 
     public boolean isLimitHit() {
@@ -57,27 +55,73 @@ public class GroupCounts {
         this.limitHit = limitHit;
     }
 
+    /**
+     * @return a copy of the entity group counts
+     * @throws ArithmeticException if a count is greater than {@link Integer#MAX_VALUE}
+     */
     public Map<String, Integer> getEntityGroups() {
-        return entityGroups;
+        return toIntegerCounts(entityGroupCounts);
     }
 
     public void setEntityGroups(final Map<String, Integer> entityGroups) {
-        this.entityGroups = entityGroups;
+        this.entityGroupCounts = toLongCounts(entityGroups);
     }
 
+    /**
+     * @return a copy of the edge group counts
+     * @throws ArithmeticException if a count is greater than {@link Integer#MAX_VALUE}
+     */
     public Map<String, Integer> getEdgeGroups() {
-        return edgeGroups;
+        return toIntegerCounts(edgeGroupCounts);
     }
 
     public void setEdgeGroups(final Map<String, Integer> edgeGroups) {
-        this.edgeGroups = edgeGroups;
+        this.edgeGroupCounts = toLongCounts(edgeGroups);
+    }
+
+    @JsonIgnore
+    public Map<String, Long> getEntityGroupCounts() {
+        return entityGroupCounts;
+    }
+
+    @JsonIgnore
+    public void setEntityGroupCounts(final Map<String, Long> entityGroupCounts) {
+        this.entityGroupCounts = null != entityGroupCounts ? entityGroupCounts : new HashMap<>();
+    }
+
+    @JsonIgnore
+    public Map<String, Long> getEdgeGroupCounts() {
+        return edgeGroupCounts;
+    }
+
+    @JsonIgnore
+    public void setEdgeGroupCounts(final Map<String, Long> edgeGroupCounts) {
+        this.edgeGroupCounts = null != edgeGroupCounts ? edgeGroupCounts : new HashMap<>();
+    }
+
+    private static Map<String, Integer> toIntegerCounts(final Map<String, Long> counts) {
+        final Map<String, Integer> integerCounts = new HashMap<>(counts.size());
+        for (final Map.Entry<String, Long> entry : counts.entrySet()) {
+            integerCounts.put(entry.getKey(), null != entry.getValue() ? Math.toIntExact(entry.getValue()) : null);
+        }
+        return integerCounts;
+    }
+
+    private static Map<String, Long> toLongCounts(final Map<String, Integer> counts) {
+        final Map<String, Long> longCounts = new HashMap<>();
+        if (null != counts) {
+            for (final Map.Entry<String, Integer> entry : counts.entrySet()) {
+                longCounts.put(entry.getKey(), null != entry.getValue() ? entry.getValue().longValue() : null);
+            }
+        }
+        return longCounts;
     }
 
     @Override
     public String toString() {
         return new ToStringBuilder(this)
-                .append("entityGroups", entityGroups)
-                .append("edgeGroups", edgeGroups)
+                .append("entityGroups", entityGroupCounts)
+                .append("edgeGroups", edgeGroupCounts)
                 .append("limitHit", limitHit)
                 .build();
     }
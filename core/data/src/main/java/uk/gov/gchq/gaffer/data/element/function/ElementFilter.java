@@ -24,11 +24,9 @@ import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicateComposite;
 import java.util.function.Predicate;
 
 public class ElementFilter extends TupleAdaptedPredicateComposite<String> {
-    private final ElementTuple elementTuple = new ElementTuple();
-
     public boolean test(final Element element) {
-        elementTuple.setElement(element);
-        return test(elementTuple);
+        // A new tuple is created for each element so filters can be shared between threads
+        return test(new ElementTuple(element));
     }
 
     @Override
@@ -41,11 +39,8 @@ public class ElementFilter extends TupleAdaptedPredicateComposite<String> {
             return false;
         }
 
-        final ElementFilter that = (ElementFilter) obj;
-
         return new EqualsBuilder()
                 .appendSuper(super.equals(obj))
-                .append(elementTuple, that.elementTuple)
                 .isEquals();
     }
 
@@ -53,7 +48,6 @@ public class ElementFilter extends TupleAdaptedPredicateComposite<String> {
     public int hashCode() {
         return new HashCodeBuilder(17, 37)
                 .appendSuper(super.hashCode())
-                .append(elementTuple)
                 .toHashCode();
     }
 
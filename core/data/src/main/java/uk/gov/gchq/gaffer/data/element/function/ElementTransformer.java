@@ -24,11 +24,9 @@ import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunctionComposite;
 import java.util.function.Function;
 
 public class ElementTransformer extends TupleAdaptedFunctionComposite<String> {
-    private final ElementTuple elementTuple = new ElementTuple();
-
     public Element apply(final Element element) {
-        elementTuple.setElement(element);
-        apply(elementTuple);
+        // A new tuple is created for each element so transformers can be shared between threads
+        apply(new ElementTuple(element));
         return element;
     }
 
@@ -42,11 +40,8 @@ public class ElementTransformer extends TupleAdaptedFunctionComposite<String> {
             return false;
         }
 
-        final ElementTransformer that = (ElementTransformer) obj;
-
         return new EqualsBuilder()
                 .appendSuper(super.equals(obj))
-                .append(elementTuple, that.elementTuple)
                 .isEquals();
     }
 
@@ -54,7 +49,6 @@ public class ElementTransformer extends TupleAdaptedFunctionComposite<String> {
     public int hashCode() {
         return new HashCodeBuilder(17, 37)
                 .appendSuper(super.hashCode())
-                .append(elementTuple)
                 .toHashCode();
     }
 
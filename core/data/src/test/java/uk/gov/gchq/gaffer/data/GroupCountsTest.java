@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017-2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class GroupCountsTest {
+    @Test
+    public void shouldAddGroupsAndGetIntegerAndLongCounts() {
+        // Given
+        final GroupCounts groupCounts = new GroupCounts();
+
+        // When
+        groupCounts.addEntityGroup(TestGroups.ENTITY);
+        groupCounts.addEntityGroup(TestGroups.ENTITY);
+        groupCounts.addEdgeGroup(TestGroups.EDGE);
+
+        // Then
+        assertEquals(Collections.singletonMap(TestGroups.ENTITY, 2), groupCounts.getEntityGroups());
+        assertEquals(Collections.singletonMap(TestGroups.EDGE, 1), groupCounts.getEdgeGroups());
+        assertEquals(Collections.singletonMap(TestGroups.ENTITY, 2L), groupCounts.getEntityGroupCounts());
+        assertEquals(Collections.singletonMap(TestGroups.EDGE, 1L), groupCounts.getEdgeGroupCounts());
+    }
+
+    @Test
+    public void shouldHoldCountsLargerThanAnInteger() {
+        // Given
+        final GroupCounts groupCounts = new GroupCounts();
+        final long count = Integer.MAX_VALUE + 1L;
+
+        // When
+        groupCounts.getEntityGroupCounts().put(TestGroups.ENTITY, count);
+
+        // Then
+        assertEquals(count, (long) groupCounts.getEntityGroupCounts().get(TestGroups.ENTITY));
+        try {
+            groupCounts.getEntityGroups();
+            fail("Exception expected");
+        } catch (final ArithmeticException e) {
+            assertTrue(e.getMessage().contains("overflow"));
+        }
+    }
+
+    @Test
+    public void shouldJsonSerialiseAndDeserialiseIntegerCounts() throws SerialisationException {
+        // Given
+        final JSONSerialiser serialiser = new JSONSerialiser();
+        final GroupCounts groupCounts = new GroupCounts();
+        groupCounts.setEntityGroups(Collections.singletonMap(TestGroups.ENTITY, 3));
+        groupCounts.setEdgeGroups(Collections.singletonMap(TestGroups.EDGE, 4));
+        groupCounts.setLimitHit(true);
+
+        // When
+        final byte[] json = serialiser.serialise(groupCounts);
+        final GroupCounts deserialised = serialiser.deserialise(json, GroupCounts.class);
+
+        // Then
+        final Map<String, Object> jsonFields = serialiser.deserialise(json, Map.class);
+        assertEquals(Collections.singletonMap(TestGroups.ENTITY, 3), jsonFields.get("entityGroups"));
+        assertEquals(Collections.singletonMap(TestGroups.EDGE, 4), jsonFields.get("edgeGroups"));
+        assertEquals(true, jsonFields.get("limitHit"));
+        assertEquals(3, jsonFields.size());
+        assertEquals(groupCounts.getEntityGroups(), deserialised.getEntityGroups());
+        assertEquals(groupCounts.getEdgeGroups(), deserialised.getEdgeGroups());
+        assertEquals(3L, (long) deserialised.getEntityGroupCounts().get(TestGroups.ENTITY));
+        assertTrue(deserialised.isLimitHit());
+    }
+}
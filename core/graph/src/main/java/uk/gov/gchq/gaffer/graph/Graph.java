@@ -22,6 +22,7 @@ import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.graph.hook.GraphHook;
+import uk.gov.gchq.gaffer.graph.hook.OperationChainLimiter;
 import uk.gov.gchq.gaffer.jobtracker.JobDetail;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
@@ -458,10 +459,19 @@ public final class Graph {
             updateSchema();
             updateStore();
             updateView();
+            updateHooks();
 
             return new Graph(store, schema, view, graphHooks);
         }
 
+        private void updateHooks() {
+            for (final GraphHook graphHook : graphHooks) {
+                if (graphHook instanceof OperationChainLimiter) {
+                    ((OperationChainLimiter) graphHook).setStore(store);
+                }
+            }
+        }
+
         private void updateSchema() {
             if (!schemaBytesList.isEmpty()) {
                 if (null == properties) {
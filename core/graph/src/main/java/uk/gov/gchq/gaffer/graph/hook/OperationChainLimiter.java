@@ -17,85 +17,142 @@ package uk.gov.gchq.gaffer.graph.hook;
 
 import uk.gov.gchq.gaffer.commonutil.exception.UnauthorisedException;
 import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.ScoreOperationChainHandler;
+import uk.gov.gchq.gaffer.store.operation.handler.cost.CostModel;
+import uk.gov.gchq.gaffer.store.statistics.GraphStatistics;
 import uk.gov.gchq.gaffer.user.User;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.LinkedHashMap;
 
-/*
+/**
  * An <code>OperationChainLimiter</code> is a {@link GraphHook} that checks a
- * user is authorised to execute an operation chain based on that user's maximum chain score and the configured score value for each operation in the chain.
- * This class requires a map of operation scores, these can be added using setOpScores(Map<Class,Integer>) or
- * addOpScore(Class, Integer...). Alternatively a properties file can be provided.
- * When using a properties file the last entry in the file that an operation can be assigned to will be the score that is used for that operation.
- * containing the operations and the score.
+ * user is authorised to execute an operation chain based on that user's maximum chain score and the score of the
+ * chain.
+ * <p>
+ * This class requires a map of operation scores, which is provided as a properties file or as property entries.
+ * When using a properties file the last entry in the file that an operation can be assigned to will be the score that
+ * is used for that operation.
  * E.g if you put gaffer.operation.impl.add.AddElements = 8
  * And then gaffer.operation.impl.add = 1
  * The add elements will have a score of 1 not 8.
  * So make sure to write your properties file in class hierarchical order.
- *
+ * <p>
  * This class also requires a map of authorisation scores,
  * this is the score value someone with that auth can have, the maximum score value of a users auths is used.
- * These can be added using setAuthScores(Map<String, Integer>) or
- * addAuthScore(String, Integer). Alternatively a properties file can be provided
- * containing the authorisations and the score.
+ * These are also provided as a properties file or as property entries.
+ * <p>
+ * The operation scores are combined into the chain score using a {@link CostModel}, which can be provided to the
+ * constructors. By default this is the {@link uk.gov.gchq.gaffer.store.operation.handler.cost.FixedScoreCostModel},
+ * which sums the configured scores. The
+ * {@link uk.gov.gchq.gaffer.store.operation.handler.cost.EstimatedCostModel} scales each operation's score by the
+ * estimated size of its input and output. When the limiter is added to a {@link uk.gov.gchq.gaffer.graph.Graph}, the
+ * graph's {@link Store} is set on it, and the {@link Store#getStatistics()} of the store are passed to the cost model
+ * each time a chain is scored.
  */
 public class OperationChainLimiter implements GraphHook {
     public static final String OPERATION_SCORES_FILE_KEY = ScoreOperationChainHandler.OPERATION_SCORES_FILE_KEY;
     public static final String AUTH_SCORES_FILE_KEY = ScoreOperationChainHandler.AUTH_SCORES_FILE_KEY;
 
     private ScoreOperationChainHandler scorer;
+    private Store store;
 
     /**
      * Default constructor.
-     * Use setOpScores or addOpScore to add operation scores.
-     * And Use setAuthScores or
-     * addAuthScore to add Authorisation scores.
+     * The operation and authorisation scores are loaded from the files given by the
+     * {@link #OPERATION_SCORES_FILE_KEY} and {@link #AUTH_SCORES_FILE_KEY} system properties.
+     *
+     * @throws IllegalArgumentException if either system property has not been set
      */
     public OperationChainLimiter() {
+        scorer = new ScoreOperationChainHandler();
     }
 
     /**
-     * Constructs an {@link OperationAuthoriser} with the authorisations
-     * defined in the property file from the {@link Path} provided.
+     * Constructs an {@link OperationChainLimiter} with the scores
+     * defined in the property files from the {@link Path}s provided.
      *
      * @param operationScorePropertiesFileLocation         path to operation scores property file
      * @param operationAuthorisationScoreLimitFileLocation path to authorisation scores property file
      */
     public OperationChainLimiter(final Path operationScorePropertiesFileLocation, final Path operationAuthorisationScoreLimitFileLocation) {
+        this(operationScorePropertiesFileLocation, operationAuthorisationScoreLimitFileLocation, null);
+    }
+
+    /**
+     * Constructs an {@link OperationChainLimiter} with the scores
+     * defined in the property files from the {@link Path}s provided.
+     *
+     * @param operationScorePropertiesFileLocation         path to operation scores property file
+     * @param operationAuthorisationScoreLimitFileLocation path to authorisation scores property file
+     * @param costModel                                    the cost model to score chains with, or null for the default
+     */
+    public OperationChainLimiter(final Path operationScorePropertiesFileLocation, final Path operationAuthorisationScoreLimitFileLocation,
+                                 final CostModel costModel) {
         scorer = new ScoreOperationChainHandler(operationScorePropertiesFileLocation, operationAuthorisationScoreLimitFileLocation);
+        scorer.setCostModel(costModel);
     }
 
     /**
-     * Constructs an {@link OperationAuthoriser} with the authorisations
-     * defined in the property file from the {@link InputStream} provided.
+     * Constructs an {@link OperationChainLimiter} with the scores
+     * defined in the property files from the {@link InputStream}s provided.
      *
      * @param operationScorePropertiesStream         input stream of operation scores property file
      * @param operationAuthorisationScoreLimitStream input stream of authorisation scores property file
      */
     public OperationChainLimiter(final InputStream operationScorePropertiesStream, final InputStream operationAuthorisationScoreLimitStream) {
+        this(operationScorePropertiesStream, operationAuthorisationScoreLimitStream, null);
+    }
+
+    /**
+     * Constructs an {@link OperationChainLimiter} with the scores
+     * defined in the property files from the {@link InputStream}s provided.
+     *
+     * @param operationScorePropertiesStream         input stream of operation scores property file
+     * @param operationAuthorisationScoreLimitStream input stream of authorisation scores property file
+     * @param costModel                              the cost model to score chains with, or null for the default
+     */
+    public OperationChainLimiter(final InputStream operationScorePropertiesStream, final InputStream operationAuthorisationScoreLimitStream,
+                                 final CostModel costModel) {
         scorer = new ScoreOperationChainHandler(operationScorePropertiesStream, operationAuthorisationScoreLimitStream);
+        scorer.setCostModel(costModel);
     }
 
     /**
-     * Constructs an {@link OperationAuthoriser} with the authorisations
-     * defined in the provided authorisations property file.
+     * Constructs an {@link OperationChainLimiter} with the scores
+     * defined in the provided property entries.
      *
      * @param operationScoreEntries                   operation scores entries
      * @param operationAuthorisationScoreLimitEntries authorisation scores entries
      */
     public OperationChainLimiter(final LinkedHashMap<String, String> operationScoreEntries,
                                  final LinkedHashMap<String, String> operationAuthorisationScoreLimitEntries) {
+        this(operationScoreEntries, operationAuthorisationScoreLimitEntries, null);
+    }
+
+    /**
+     * Constructs an {@link OperationChainLimiter} with the scores
+     * defined in the provided property entries.
+     *
+     * @param operationScoreEntries                   operation scores entries
+     * @param operationAuthorisationScoreLimitEntries authorisation scores entries
+     * @param costModel                               the cost model to score chains with, or null for the default
+     */
+    public OperationChainLimiter(final LinkedHashMap<String, String> operationScoreEntries,
+                                 final LinkedHashMap<String, String> operationAuthorisationScoreLimitEntries,
+                                 final CostModel costModel) {
         scorer = new ScoreOperationChainHandler(operationScoreEntries, operationAuthorisationScoreLimitEntries);
+        scorer.setCostModel(costModel);
     }
 
     /**
      * Checks the {@link OperationChain}
      * is allowed to be executed by the user.
      * This is done by checking the user's auths against the auth scores getting the users maximum score limit value.
-     * Then checking the operation score of all operations in the chain and comparing the total score value of the chain against a users maximum score limit.
-     * If an operation cannot be executed then an {@link IllegalAccessError} is thrown.
+     * Then scoring the chain with the cost model, using the statistics of the store if there are any, and comparing
+     * the score of the chain against a users maximum score limit.
+     * If the chain cannot be executed then an {@link UnauthorisedException} is thrown.
      *
      * @param user    the user to authorise.
      * @param opChain the operation chain.
@@ -103,7 +160,8 @@ public class OperationChainLimiter implements GraphHook {
     @Override
     public void preExecute(final OperationChain<?> opChain, final User user) {
         if (null != opChain) {
-            Integer chainScore = scorer.getChainScore(opChain, user);
+            final GraphStatistics statistics = null != store ? store.getStatistics() : null;
+            Integer chainScore = scorer.getChainScore(opChain, user, statistics);
             Integer maxAuthScore = scorer.getMaxUserAuthScore(user.getOpAuths());
 
             if (chainScore > maxAuthScore) {
@@ -113,6 +171,24 @@ public class OperationChainLimiter implements GraphHook {
         }
     }
 
+    public CostModel getCostModel() {
+        return scorer.getCostModel();
+    }
+
+    public Store getStore() {
+        return store;
+    }
+
+    /**
+     * Sets the store whose statistics are used to score chains. This is set by the
+     * {@link uk.gov.gchq.gaffer.graph.Graph} the limiter is added to.
+     *
+     * @param store the store the chains will be executed on
+     */
+    public void setStore(final Store store) {
+        this.store = store;
+    }
+
     @Override
     public <T> T postExecute(final T result, final OperationChain<?> opChain, final User user) {
         // This method can be overridden to add additional authorisation checks on the results.
@@ -20,8 +20,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
-import uk.gov.gchq.gaffer.commonutil.iterable.AlwaysValid;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.TransformIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Edge;
@@ -39,13 +39,43 @@ import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.impl.predicate.AreIn;
+import uk.gov.gchq.koryphe.impl.predicate.IsLessThan;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.TreeSet;
 
+/**
+ * Exports results to, and gets them from, a Gaffer result cache graph. Results are stored on edges from the job id
+ * to the export key.
+ * <p>
+ * If the chunk size is 0 then each result is stored as JSON on its own "result" edge. Otherwise the results are
+ * stored in compressed chunks of up to chunk size results, using a {@link ResultChunkSerialiser}, on "resultChunk"
+ * edges. Each chunk records the positions of its first and last results, so a page of chunked results can be got by
+ * only reading the chunks that contain it. Adding more results to an existing key continues from the position after
+ * the last result added, so the results of every export to a key can be paged through together. The exporter keeps
+ * the next position of each key in memory, rather than reading the stored chunks, as the results are stored under
+ * the job id of the exporter's operation chain, so no other exporter adds chunks to its keys. Chunks are read from
+ * the result cache a few at a time, in position order, and decompressed lazily as the results are iterated.
+ */
 public class GafferResultCacheExporter implements Exporter {
     private static final Logger LOGGER = LoggerFactory.getLogger(GafferResultCacheExporter.class);
+    private static final String RESULT_GROUP = "result";
+    private static final String RESULT_CHUNK_GROUP = "resultChunk";
+    private static final String FIRST_ITEM = "firstItem";
+    private static final String LAST_ITEM = "lastItem";
+    private static final String CHUNK = "chunk";
+    private static final int CHUNKS_PER_READ = 10;
+    private static final int DEFAULT_CHUNK_LENGTH = 100;
     private final String jobId;
     private final User user;
     private final Graph resultCache;
@@ -53,6 +83,8 @@ public class GafferResultCacheExporter implements Exporter {
     private final String visibility;
     private final TreeSet<String> requiredOpAuths;
     private final Set<String> userOpAuths;
+    private final int chunkSize;
+    private final Map<String, Long> nextChunkPositions = new HashMap<>();
 
     public GafferResultCacheExporter(final User user,
                                      final String jobId,
@@ -60,6 +92,20 @@ public class GafferResultCacheExporter implements Exporter {
                                      final JSONSerialiser jsonSerialiser,
                                      final String visibility,
                                      final Set<String> requiredOpAuths) {
+        this(user, jobId, resultCache, jsonSerialiser, visibility, requiredOpAuths, 0);
+    }
+
+    public GafferResultCacheExporter(final User user,
+                                     final String jobId,
+                                     final Graph resultCache,
+                                     final JSONSerialiser jsonSerialiser,
+                                     final String visibility,
+                                     final Set<String> requiredOpAuths,
+                                     final int chunkSize) {
+        if (chunkSize < 0) {
+            throw new IllegalArgumentException("Chunk size must not be negative: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
         this.user = user;
         this.jobId = jobId;
         this.resultCache = resultCache;
@@ -82,6 +128,15 @@ public class GafferResultCacheExporter implements Exporter {
         }
 
         final long timestamp = System.currentTimeMillis();
+        if (chunkSize > 0) {
+            final ResultChunkSerialiser chunkSerialiser = new ResultChunkSerialiser(jsonSerialiser);
+            final long firstPosition = nextChunkPositions.getOrDefault(key, 0L);
+            resultCache.execute(new AddElements.Builder()
+                    .input(() -> new ChunkIterator(key, values.iterator(), firstPosition, timestamp, chunkSerialiser))
+                    .build(), user);
+            return;
+        }
+
         final Iterable<Element> elements = new TransformIterable<Object, Element>((Iterable) values) {
             @Override
             protected Element transform(final Object value) {
@@ -97,7 +152,7 @@ public class GafferResultCacheExporter implements Exporter {
                     }
 
                     return new Edge.Builder()
-                            .group("result")
+                            .group(RESULT_GROUP)
                             .source(jobId)
                             .dest(key)
                             .directed(true)
@@ -120,60 +175,345 @@ public class GafferResultCacheExporter implements Exporter {
 
     @Override
     public CloseableIterable<?> get(final String key) throws OperationException {
+        return new ResultIterable(key, true, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * Gets a page of the results that were exported in chunks. Only the chunks that contain the page are read from
+     * the result cache. Results that were exported one per edge are not included.
+     *
+     * @param key    the export key
+     * @param offset the number of results to skip
+     * @param limit  the maximum number of results to return, or null for no limit
+     * @return the page of results
+     * @throws OperationException if the results could not be read from the result cache
+     */
+    public CloseableIterable<?> get(final String key, final int offset, final Integer limit) throws OperationException {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative: " + offset);
+        }
+        final long end = null == limit ? Long.MAX_VALUE : (long) offset + limit;
+        return new ResultIterable(key, false, offset, end);
+    }
+
+    private CloseableIterable<? extends Element> getEdges(final String key, final String group, final ElementFilter filter)
+            throws OperationException {
         final GetElements getEdges = new GetElements.Builder()
                 .input(new EdgeSeed(jobId, key, true))
                 .view(new View.Builder()
-                        .edge("result", new ViewElementDefinition.Builder()
-                                .preAggregationFilter(new ElementFilter.Builder()
-                                        .select("opAuths")
-                                        .execute(new AreIn(userOpAuths))
-                                        .build())
+                        .edge(group, new ViewElementDefinition.Builder()
+                                .preAggregationFilter(filter)
                                 .build())
                         .build())
                 .build();
 
         final CloseableIterable<? extends Element> edges = resultCache.execute(getEdges, user);
-        if (null == edges) {
-            return new WrappedCloseableIterable<>();
+        return null != edges ? edges : new WrappedCloseableIterable<>();
+    }
+
+    // Gets the chunks that contain results at or after the start position and start before the end position.
+    private CloseableIterable<? extends Element> getChunks(final String key, final long start, final long end)
+            throws OperationException {
+        final ElementFilter.Builder filter = createOpAuthsFilter()
+                .select(LAST_ITEM)
+                .execute(new IsMoreThan(start, true));
+        if (end < Long.MAX_VALUE) {
+            filter.select(FIRST_ITEM)
+                    .execute(new IsLessThan(end));
         }
-        return new TransformJsonResult(edges, jsonSerialiser);
+        return getEdges(key, RESULT_CHUNK_GROUP, filter.build());
     }
 
-    private static class TransformJsonResult extends TransformIterable<Element, Object> {
-        private final JSONSerialiser jsonSerialiser;
+    private ElementFilter.Builder createOpAuthsFilter() {
+        return new ElementFilter.Builder()
+                .select("opAuths")
+                .execute(new AreIn(userOpAuths));
+    }
 
-        TransformJsonResult(final Iterable<? extends Element> input, final JSONSerialiser jsonSerialiser) {
-            super(input, new AlwaysValid<>(), false, true);
-            this.jsonSerialiser = jsonSerialiser;
+    private static Object transformJsonResult(final Element edge, final JSONSerialiser jsonSerialiser) {
+        final String resultClassName = (String) edge.getProperty("resultClass");
+        final byte[] resultBytes = (byte[]) edge.getProperty("result");
+        if (null == resultClassName || null == resultBytes) {
+            return null;
         }
 
-        @Override
-        protected Object transform(final Element edge) {
-            final String resultClassName = (String) edge.getProperty("resultClass");
-            final byte[] resultBytes = (byte[]) edge.getProperty("result");
-            if (null == resultClassName || null == resultBytes) {
-                return null;
-            }
+        final Class<?> resultClass;
+        try {
+            resultClass = Class.forName(resultClassName);
+        } catch (final ClassNotFoundException e) {
+            LOGGER.error("Result class name was not found: {}", resultClassName, e);
+            throw new RuntimeException(e);
+        }
 
-            final Class<?> resultClass;
+        try {
+            return jsonSerialiser.deserialise(resultBytes, resultClass);
+        } catch (final SerialisationException e) {
             try {
-                resultClass = Class.forName(resultClassName);
-            } catch (final ClassNotFoundException e) {
-                LOGGER.error("Result class name was not found: {}", resultClassName, e);
+                LOGGER.error("Unable to deserialise result: {}", new String(resultBytes, CommonConstants.UTF_8), e);
+            } catch (final UnsupportedEncodingException e1) {
                 throw new RuntimeException(e);
             }
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Lazily groups the results into chunk edges as the elements are added to the result cache, recording the
+     * position after each chunk as the next position of the key.
+     */
+    private final class ChunkIterator implements Iterator<Element> {
+        private final String key;
+        private final Iterator<?> results;
+        private final long timestamp;
+        private final ResultChunkSerialiser chunkSerialiser;
+        private long position;
+
+        private ChunkIterator(final String key, final Iterator<?> results, final long firstPosition, final long timestamp,
+                              final ResultChunkSerialiser chunkSerialiser) {
+            this.key = key;
+            this.results = results;
+            this.position = firstPosition;
+            this.timestamp = timestamp;
+            this.chunkSerialiser = chunkSerialiser;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return results.hasNext();
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final List<Object> chunk = new ArrayList<>(chunkSize);
+            while (chunk.size() < chunkSize && results.hasNext()) {
+                chunk.add(results.next());
+            }
 
+            final byte[] chunkBytes;
             try {
-                return jsonSerialiser.deserialise(resultBytes, resultClass);
+                chunkBytes = chunkSerialiser.serialise(chunk);
             } catch (final SerialisationException e) {
-                try {
-                    LOGGER.error("Unable to deserialise result: {}", new String(resultBytes, CommonConstants.UTF_8), e);
-                } catch (final UnsupportedEncodingException e1) {
-                    throw new RuntimeException(e);
+                throw new RuntimeException("Unable to serialise results", e);
+            }
+            final Edge edge = new Edge.Builder()
+                    .group(RESULT_CHUNK_GROUP)
+                    .source(jobId)
+                    .dest(key)
+                    .directed(true)
+                    .property("opAuths", requiredOpAuths)
+                    .property("timestamp", timestamp)
+                    .property("visibility", visibility)
+                    .property(FIRST_ITEM, position)
+                    .property(LAST_ITEM, position + chunk.size() - 1)
+                    .property(CHUNK, chunkBytes)
+                    .build();
+            position += chunk.size();
+            nextChunkPositions.put(key, position);
+            return edge;
+        }
+    }
+
+    private final class ResultIterable implements CloseableIterable<Object> {
+        private final String key;
+        private final boolean includeJsonResults;
+        private final long start;
+        private final long end;
+        private ResultIterator iterator;
+
+        private ResultIterable(final String key, final boolean includeJsonResults, final long start, final long end) {
+            this.key = key;
+            this.includeJsonResults = includeJsonResults;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public void close() {
+            if (null != iterator) {
+                iterator.close();
+            }
+        }
+
+        @Override
+        public CloseableIterator<Object> iterator() {
+            close();
+            iterator = new ResultIterator(key, includeJsonResults, start, end);
+            return iterator;
+        }
+    }
+
+    /**
+     * Returns the results of the "result" edges as they are read, then the results of the "resultChunk" edges in
+     * position order. The chunks are read a few at a time, by position range, and each chunk is
+     * only decompressed once the results of the chunks before it have been returned.
+     */
+    private final class ResultIterator implements CloseableIterator<Object> {
+        private final Comparator<Element> chunkOrder = Comparator
+                .comparing((Element chunk) -> (Long) chunk.getProperty(FIRST_ITEM))
+                .thenComparing(chunk -> (Long) chunk.getProperty("timestamp"));
+
+        private final String key;
+        private final long end;
+        private final ResultChunkSerialiser chunkSerialiser;
+        private boolean readJsonResults;
+        private CloseableIterable<? extends Element> jsonEdges;
+        private Iterator<? extends Element> jsonEdgesIterator;
+        private final List<Element> chunks = new ArrayList<>();
+        private int chunkIndex;
+        private long chunkLength;
+        private List<Object> chunkResults = Collections.emptyList();
+        private long chunkPosition;
+        private int index;
+        private long position;
+        private boolean finished;
+        private Object next;
+        private boolean hasNext;
+
+        private ResultIterator(final String key, final boolean includeJsonResults, final long start, final long end) {
+            this.key = key;
+            this.readJsonResults = includeJsonResults;
+            this.position = start;
+            this.end = end;
+            this.chunkSerialiser = new ResultChunkSerialiser(jsonSerialiser);
+            this.chunkLength = chunkSize > 0 ? chunkSize : DEFAULT_CHUNK_LENGTH;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!hasNext) {
+                hasNext = fetchNext();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasNext = false;
+            final Object result = next;
+            next = null;
+            return result;
+        }
+
+        @Override
+        public void close() {
+            readJsonResults = false;
+            finished = true;
+            chunks.clear();
+            if (null != jsonEdges) {
+                jsonEdges.close();
+                jsonEdges = null;
+                jsonEdgesIterator = null;
+            }
+        }
+
+        private boolean fetchNext() {
+            if (readJsonResults) {
+                if (null == jsonEdges) {
+                    try {
+                        jsonEdges = getEdges(key, RESULT_GROUP, createOpAuthsFilter().build());
+                    } catch (final OperationException e) {
+                        throw new RuntimeException("Unable to read results from the result cache", e);
+                    }
+                    jsonEdgesIterator = jsonEdges.iterator();
+                }
+                if (jsonEdgesIterator.hasNext()) {
+                    next = transformJsonResult(jsonEdgesIterator.next(), jsonSerialiser);
+                    return true;
+                }
+                readJsonResults = false;
+                jsonEdges.close();
+                jsonEdges = null;
+                jsonEdgesIterator = null;
+            }
+
+            while (true) {
+                while (index < chunkResults.size()) {
+                    final long resultPosition = chunkPosition + index;
+                    final Object result = chunkResults.get(index++);
+                    if (resultPosition >= position && resultPosition < end) {
+                        position = resultPosition + 1;
+                        next = result;
+                        return true;
+                    }
+                }
+                if (chunkIndex < chunks.size()) {
+                    final Element chunk = chunks.get(chunkIndex);
+                    // Release each chunk once it has been decompressed
+                    chunks.set(chunkIndex++, null);
+                    chunkPosition = (Long) chunk.getProperty(FIRST_ITEM);
+                    index = 0;
+                    try {
+                        chunkResults = chunkSerialiser.deserialise((byte[]) chunk.getProperty(CHUNK));
+                    } catch (final SerialisationException e) {
+                        throw new RuntimeException("Unable to deserialise result chunk", e);
+                    }
+                } else {
+                    chunkResults = Collections.emptyList();
+                    if (finished || !readChunks()) {
+                        finished = true;
+                        return false;
+                    }
                 }
-                throw new RuntimeException(e);
             }
         }
+
+        /**
+         * Reads the chunks in the next range of positions. If there are none, because of a gap in the stored
+         * positions, reading skips to the next chunk after the gap.
+         *
+         * @return false if there are no more chunks
+         */
+        private boolean readChunks() {
+            chunks.clear();
+            chunkIndex = 0;
+            while (position < end) {
+                final long readEnd = end - position > CHUNKS_PER_READ * chunkLength
+                        ? position + CHUNKS_PER_READ * chunkLength : end;
+                try (final CloseableIterable<? extends Element> edges = getChunks(key, position, readEnd)) {
+                    for (final Element edge : edges) {
+                        chunks.add(edge);
+                    }
+                } catch (final OperationException e) {
+                    throw new RuntimeException("Unable to read results from the result cache", e);
+                }
+                if (!chunks.isEmpty()) {
+                    chunks.sort(chunkOrder);
+                    final Element lastChunk = chunks.get(chunks.size() - 1);
+                    chunkLength = Math.max(1, (Long) lastChunk.getProperty(LAST_ITEM) - (Long) lastChunk.getProperty(FIRST_ITEM) + 1);
+                    return true;
+                }
+                if (readEnd >= end) {
+                    return false;
+                }
+                final Long nextFirstItem = getNextFirstItem(readEnd);
+                if (null == nextFirstItem) {
+                    return false;
+                }
+                position = nextFirstItem;
+            }
+            return false;
+        }
+
+        private Long getNextFirstItem(final long from) {
+            Long nextFirstItem = null;
+            try (final CloseableIterable<? extends Element> edges = getChunks(key, from, end)) {
+                for (final Element edge : edges) {
+                    final Long firstItem = (Long) edge.getProperty(FIRST_ITEM);
+                    if (null == nextFirstItem || firstItem < nextFirstItem) {
+                        nextFirstItem = firstItem;
+                    }
+                }
+            } catch (final OperationException e) {
+                throw new RuntimeException("Unable to read results from the result cache", e);
+            }
+            return null != nextFirstItem ? Math.max(from, nextFirstItem) : null;
+        }
     }
 
     protected String getJobId() {
@@ -203,4 +543,8 @@ public class GafferResultCacheExporter implements Exporter {
     protected Set<String> getUserOpAuths() {
         return userOpAuths;
     }
+
+    protected int getChunkSize() {
+        return chunkSize;
+    }
 }
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.operation.export.resultcache;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.serialisation.Serialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
+import uk.gov.gchq.gaffer.store.SerialisationFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialises a chunk of results into a single compressed byte array for the Gaffer result cache.
+ * <p>
+ * Each result is serialised with the {@link ToBytesSerialiser} that the {@link SerialisationFactory} provides for
+ * its class, or as JSON if there is no suitable serialiser. {@link Entity}s and {@link Edge}s are written field by
+ * field, with their identifiers and property values serialised in the same way, so they are not converted to JSON.
+ * The class and serialiser of each distinct class are written once per chunk, so values are deserialised without
+ * looking up their class each time.
+ */
+public class ResultChunkSerialiser {
+    private static final int NULL_CLASS = 0;
+    private static final int NEW_CLASS = -1;
+    private static final String JSON = "";
+    private static final String ELEMENT = "element";
+
+    private final JSONSerialiser jsonSerialiser;
+    private final SerialisationFactory serialisationFactory = new SerialisationFactory();
+    private final Map<Class<?>, Optional<ToBytesSerialiser>> serialisers = new HashMap<>();
+
+    public ResultChunkSerialiser(final JSONSerialiser jsonSerialiser) {
+        this.jsonSerialiser = jsonSerialiser;
+    }
+
+    public byte[] serialise(final List<?> results) throws SerialisationException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            final Map<Class<?>, Integer> classRefs = new HashMap<>();
+            out.writeInt(results.size());
+            for (final Object result : results) {
+                writeValue(out, result, classRefs);
+            }
+        } catch (final IOException e) {
+            throw new SerialisationException("Unable to serialise result chunk", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public List<Object> deserialise(final byte[] chunk) throws SerialisationException {
+        try (final DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(chunk)))) {
+            final int size = in.readInt();
+            final ClassRefs classRefs = new ClassRefs();
+            final List<Object> results = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                results.add(readValue(in, classRefs));
+            }
+            return results;
+        } catch (final IOException | ClassNotFoundException | InstantiationException | IllegalAccessException e) {
+            throw new SerialisationException("Unable to deserialise result chunk", e);
+        }
+    }
+
+    private void writeValue(final DataOutputStream out, final Object value, final Map<Class<?>, Integer> classRefs)
+            throws IOException {
+        if (null == value) {
+            out.writeInt(NULL_CLASS);
+            return;
+        }
+
+        final Class<?> valueClass = value.getClass();
+        final boolean isElement = isWrittenAsElement(value);
+        final ToBytesSerialiser serialiser = isElement ? null : getSerialiser(valueClass);
+        final Integer classRef = classRefs.get(valueClass);
+        if (null == classRef) {
+            classRefs.put(valueClass, classRefs.size() + 1);
+            out.writeInt(NEW_CLASS);
+            out.writeUTF(valueClass.getName());
+            out.writeUTF(isElement ? ELEMENT : null != serialiser ? serialiser.getClass().getName() : JSON);
+        } else {
+            out.writeInt(classRef);
+        }
+
+        if (isElement) {
+            writeElement(out, (Element) value, classRefs);
+        } else {
+            final byte[] valueBytes = null != serialiser ? serialiser.serialise(value) : jsonSerialiser.serialise(value);
+            out.writeInt(valueBytes.length);
+            out.write(valueBytes);
+        }
+    }
+
+    private void writeElement(final DataOutputStream out, final Element element, final Map<Class<?>, Integer> classRefs)
+            throws IOException {
+        out.writeUTF(element.getGroup());
+        if (element instanceof Entity) {
+            writeValue(out, ((Entity) element).getVertex(), classRefs);
+        } else {
+            final Edge edge = (Edge) element;
+            writeValue(out, edge.getSource(), classRefs);
+            writeValue(out, edge.getDestination(), classRefs);
+            out.writeBoolean(edge.isDirected());
+        }
+
+        final Properties properties = element.getProperties();
+        out.writeInt(properties.size());
+        for (final Map.Entry<String, Object> property : properties.entrySet()) {
+            out.writeUTF(property.getKey());
+            writeValue(out, property.getValue(), classRefs);
+        }
+    }
+
+    private Object readValue(final DataInputStream in, final ClassRefs classRefs)
+            throws IOException, ClassNotFoundException, InstantiationException, IllegalAccessException {
+        int classRef = in.readInt();
+        if (NULL_CLASS == classRef) {
+            return null;
+        }
+
+        if (NEW_CLASS == classRef) {
+            classRefs.classes.add(Class.forName(in.readUTF()));
+            final String format = in.readUTF();
+            classRefs.formats.add(JSON.equals(format) || ELEMENT.equals(format)
+                    ? format : Class.forName(format).asSubclass(Serialiser.class).newInstance());
+            classRef = classRefs.classes.size();
+        }
+
+        final Class<?> valueClass = classRefs.classes.get(classRef - 1);
+        final Object format = classRefs.formats.get(classRef - 1);
+        if (ELEMENT.equals(format)) {
+            return readElement(in, valueClass, classRefs);
+        }
+
+        final byte[] valueBytes = new byte[in.readInt()];
+        in.readFully(valueBytes);
+        return format instanceof Serialiser
+                ? ((Serialiser) format).deserialise(valueBytes)
+                : jsonSerialiser.deserialise(valueBytes, valueClass);
+    }
+
+    private Element readElement(final DataInputStream in, final Class<?> elementClass, final ClassRefs classRefs)
+            throws IOException, ClassNotFoundException, InstantiationException, IllegalAccessException {
+        final String group = in.readUTF();
+        final Element element;
+        if (Entity.class == elementClass) {
+            element = new Entity(group, readValue(in, classRefs));
+        } else {
+            final Object source = readValue(in, classRefs);
+            final Object destination = readValue(in, classRefs);
+            element = new Edge(group, source, destination, in.readBoolean());
+        }
+
+        final int numProperties = in.readInt();
+        for (int i = 0; i < numProperties; i++) {
+            final String name = in.readUTF();
+            element.putProperty(name, readValue(in, classRefs));
+        }
+        return element;
+    }
+
+    // Only plain entities and edges with a group are written field by field,
+    // so subclasses keep their own JSON representation.
+    private static boolean isWrittenAsElement(final Object value) {
+        return (Entity.class == value.getClass() || Edge.class == value.getClass())
+                && null != ((Element) value).getGroup();
+    }
+
+    // Collections are always serialised as JSON, as the core collection
+    // serialisers only handle collections of a particular type of item.
+    private ToBytesSerialiser getSerialiser(final Class<?> resultClass) {
+        return serialisers.computeIfAbsent(resultClass, clazz -> {
+            if (Collection.class.isAssignableFrom(clazz)) {
+                return Optional.empty();
+            }
+            try {
+                final Serialiser serialiser = serialisationFactory.getSerialiser(clazz);
+                if (serialiser instanceof ToBytesSerialiser && !(serialiser instanceof JavaSerialiser)) {
+                    return Optional.of((ToBytesSerialiser) serialiser);
+                }
+            } catch (final IllegalArgumentException e) {
+                // No serialiser for the class, so it is serialised as JSON
+            }
+            return Optional.empty();
+        }).orElse(null);
+    }
+
+    /**
+     * The classes read from a chunk so far, and the serialiser, or JSON or element format, of each.
+     */
+    private static final class ClassRefs {
+        private final List<Class<?>> classes = new ArrayList<>();
+        private final List<Object> formats = new ArrayList<>();
+    }
+}
@@ -37,6 +37,12 @@ public class ExportToGafferResultCacheHandler extends ExportToHandler<ExportToGa
 
     private JSONSerialiser jsonSerialiser = new JSONSerialiser();
 
+    /**
+     * The number of results stored in each compressed chunk, or 0 to store
+     * each result as JSON on its own edge.
+     */
+    private int chunkSize = GafferResultCacheUtil.DEFAULT_CHUNK_SIZE;
+
     @Override
     protected Class<GafferResultCacheExporter> getExporterClass() {
         return GafferResultCacheExporter.class;
@@ -46,7 +52,7 @@ public class ExportToGafferResultCacheHandler extends ExportToHandler<ExportToGa
     protected GafferResultCacheExporter createExporter(final ExportToGafferResultCache export, final Context context, final Store store) {
         return new GafferResultCacheExporter(
                 context.getUser(), context.getJobId(), createGraph(store),
-                jsonSerialiser, visibility, export.getOpAuths());
+                jsonSerialiser, visibility, export.getOpAuths(), chunkSize);
     }
 
     protected Graph createGraph(final Store store) {
@@ -77,6 +83,14 @@ public class ExportToGafferResultCacheHandler extends ExportToHandler<ExportToGa
         this.cacheStorePropertiesPath = cacheStorePropertiesPath;
     }
 
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(final int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
     public String getJsonSerialiserClass() {
         return null != jsonSerialiser ? jsonSerialiser.getClass().getName() : JSONSerialiser.class.getName();
     }
@@ -16,8 +16,10 @@
 
 package uk.gov.gchq.gaffer.operation.export.resultcache.handler;
 
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.export.resultcache.GafferResultCacheExporter;
 import uk.gov.gchq.gaffer.operation.export.resultcache.handler.util.GafferResultCacheUtil;
 import uk.gov.gchq.gaffer.operation.impl.export.resultcache.GetGafferResultCacheExport;
@@ -50,6 +52,20 @@ public class GetGafferResultCacheExportHandler extends GetExportHandler<GetGaffe
                 jsonSerialiser, visibility, null);
     }
 
+    @Override
+    protected CloseableIterable<?> getExport(final GetGafferResultCacheExport export, final GafferResultCacheExporter exporter) throws OperationException {
+        final int offset = null != export.getOffset() ? export.getOffset() : 0;
+        if (0 == offset && null == export.getLimit()) {
+            return super.getExport(export, exporter);
+        }
+
+        try {
+            return exporter.get(export.getKeyOrDefault(), offset, export.getLimit());
+        } catch (final IllegalArgumentException e) {
+            throw new OperationException(e.getMessage(), e);
+        }
+    }
+
     protected Graph createGraph(final Store store) {
         return GafferResultCacheUtil.createGraph(cacheStorePropertiesPath, timeToLive);
     }
@@ -20,16 +20,27 @@ package uk.gov.gchq.gaffer.graph.hook;
 import org.junit.Test;
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.commonutil.exception.UnauthorisedException;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.generate.GenerateObjects;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.handler.cost.EstimatedCostModel;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.statistics.GraphStatistics;
 import uk.gov.gchq.gaffer.user.User;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
 public class OperationChainLimiterTest {
@@ -157,6 +168,82 @@ public class OperationChainLimiterTest {
         }
     }
 
+    @Test
+    public void shouldRejectOperationChainUsingTheEstimatedCostOfItsInput() {
+        // Given
+        final EstimatedCostModel costModel = new EstimatedCostModel();
+        costModel.setItemsPerScoreUnit(10);
+        final OperationChainLimiter limiter = new OperationChainLimiter(
+                StreamUtil.opScores(getClass()),
+                StreamUtil.authScores(getClass()),
+                costModel);
+        final List<EntitySeed> seeds = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            seeds.add(new EntitySeed("vertex" + i));
+        }
+        final OperationChain opChain = new OperationChain.Builder()
+                .first(new GetElements.Builder()
+                        .input(seeds)
+                        .build())
+                .build();
+        final User user = new User.Builder()
+                .opAuths("User")
+                .build();
+
+        // When - the fixed scores accept the chain
+        OPERATION_CHAIN_LIMITER.preExecute(opChain, user);
+
+        // Then - the estimated costs reject it
+        assertSame(costModel, limiter.getCostModel());
+        try {
+            limiter.preExecute(opChain, user);
+            fail("Exception expected");
+        } catch (final UnauthorisedException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldRejectOperationChainUsingTheStatisticsOfTheGraphStore() throws OperationException {
+        // Given
+        final Store store = mock(Store.class);
+        given(store.getSchema()).willReturn(new Schema());
+        given(store.getStatistics()).willReturn(new GraphStatistics.Builder()
+                .entityCount("entity", 20000L)
+                .vertexCount(20000L)
+                .build());
+        final OperationChainLimiter limiter = new OperationChainLimiter(
+                StreamUtil.opScores(getClass()),
+                StreamUtil.authScores(getClass()),
+                new EstimatedCostModel());
+        final Graph graph = new Graph.Builder()
+                .store(store)
+                .addHook(limiter)
+                .build();
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(new GetAllElements.Builder()
+                        .view(new View.Builder()
+                                .entity("entity")
+                                .build())
+                        .build())
+                .build();
+        final User user = new User.Builder()
+                .opAuths("SuperUser")
+                .build();
+
+        // When - the fixed scores accept the chain
+        OPERATION_CHAIN_LIMITER.preExecute(opChain, user);
+
+        // Then - the estimated costs of reading every element in the store reject it
+        assertSame(store, limiter.getStore());
+        try {
+            graph.execute(opChain, user);
+            fail("Exception expected");
+        } catch (final UnauthorisedException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
     @Test
     public void shouldReturnResultWithoutModification() {
         // Given
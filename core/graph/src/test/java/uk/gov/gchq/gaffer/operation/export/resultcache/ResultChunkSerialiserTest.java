@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.operation.export.resultcache;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ResultChunkSerialiserTest {
+    private final JSONSerialiser jsonSerialiser = new JSONSerialiser();
+    private final ResultChunkSerialiser serialiser = new ResultChunkSerialiser(jsonSerialiser);
+
+    @Test
+    public void shouldSerialiseAndDeserialiseMixedResults() throws SerialisationException {
+        // Given
+        final List<Object> results = Arrays.asList(
+                1, "2", null, 3L, new Date(4L), true,
+                new TreeSet<>(Arrays.asList(6, 7)),
+                new EntitySeed("8"),
+                new Entity(TestGroups.ENTITY, "9"),
+                new Edge(TestGroups.EDGE, "10", "11", true),
+                "12");
+
+        // When
+        final List<Object> deserialised = serialiser.deserialise(serialiser.serialise(results));
+
+        // Then
+        assertEquals(results, deserialised);
+        assertEquals(TreeSet.class, deserialised.get(6).getClass());
+        assertEquals(Integer.class, ((TreeSet<?>) deserialised.get(6)).first().getClass());
+    }
+
+    @Test
+    public void shouldSerialiseElementsWithoutJson() throws SerialisationException {
+        // Given
+        final ResultChunkSerialiser elementSerialiser = new ResultChunkSerialiser(new JSONSerialiser() {
+            @Override
+            public byte[] serialise(final Object object, final String... fieldsToExclude) throws SerialisationException {
+                throw new AssertionError("Results should not be serialised as JSON: " + object);
+            }
+        });
+        final List<Object> results = Arrays.asList(
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex(1L)
+                        .property("count", 2)
+                        .property("name", "a")
+                        .property("missing", null)
+                        .build(),
+                new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source("b")
+                        .dest("c")
+                        .directed(false)
+                        .property("count", 3L)
+                        .build());
+
+        // When
+        final List<Object> deserialised = elementSerialiser.deserialise(elementSerialiser.serialise(results));
+
+        // Then
+        assertEquals(results, deserialised);
+        assertEquals(Long.class, ((Entity) deserialised.get(0)).getVertex().getClass());
+        assertEquals(Integer.class, ((Entity) deserialised.get(0)).getProperty("count").getClass());
+    }
+
+    @Test
+    public void shouldCompressResults() throws SerialisationException {
+        // Given
+        final List<Object> results = new ArrayList<>();
+        int jsonSize = 0;
+        for (int i = 0; i < 1000; i++) {
+            final Entity entity = new Entity(TestGroups.ENTITY, "vertex" + i);
+            results.add(entity);
+            jsonSize += jsonSerialiser.serialise(entity).length;
+        }
+
+        // When
+        final byte[] chunk = serialiser.serialise(results);
+
+        // Then
+        assertTrue("Chunk of " + chunk.length + " bytes should be smaller than the JSON", chunk.length < jsonSize / 4);
+        assertEquals(results, serialiser.deserialise(chunk));
+    }
+}
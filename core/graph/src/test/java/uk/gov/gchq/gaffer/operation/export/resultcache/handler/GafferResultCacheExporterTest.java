@@ -25,19 +25,24 @@ import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.export.resultcache.GafferResultCacheExporter;
+import uk.gov.gchq.gaffer.operation.export.resultcache.ResultChunkSerialiser;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.TreeSet;
 
@@ -47,6 +52,7 @@ import static org.junit.Assert.assertNull;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 public class GafferResultCacheExporterTest {
@@ -114,10 +120,9 @@ public class GafferResultCacheExporterTest {
     @Test
     public void shouldGetResults() throws OperationException, SerialisationException {
         // Given
-        final ArgumentCaptor<OperationChain> opChain = ArgumentCaptor.forClass(OperationChain.class);
         long timestamp = System.currentTimeMillis();
         final List<Element> cachedEdges = createCachedEdges(timestamp, serialisedResults);
-        given(store.execute(opChain.capture(), Mockito.eq(user))).willReturn(new WrappedCloseableIterable<>(cachedEdges));
+        givenCachedEdges(cachedEdges);
 
         final GafferResultCacheExporter exporter = new GafferResultCacheExporter(
                 user, jobId, resultCache, SERIALISER, visibility, requiredOpAuths
@@ -147,6 +152,192 @@ public class GafferResultCacheExporterTest {
         assertEquals(Collections.emptyList(), Lists.newArrayList(cachedResults));
     }
 
+    @Test
+    public void shouldAddResultsInChunks() throws OperationException, SerialisationException {
+        // Given
+        final GafferResultCacheExporter exporter = new GafferResultCacheExporter(
+                user, jobId, resultCache, SERIALISER, visibility, requiredOpAuths, 2
+        );
+
+        // When
+        exporter.add(key, results);
+
+        // Then
+        final ArgumentCaptor<OperationChain> opChain = ArgumentCaptor.forClass(OperationChain.class);
+        verify(store).execute(opChain.capture(), Mockito.eq(user));
+        final AddElements addElements = (AddElements) opChain.getValue().getOperations().get(0);
+        final List<Element> elements = Lists.newArrayList(addElements.getInput());
+        assertEquals(2, elements.size());
+        final ResultChunkSerialiser chunkSerialiser = new ResultChunkSerialiser(SERIALISER);
+        assertEquals(0L, elements.get(0).getProperty("firstItem"));
+        assertEquals(1L, elements.get(0).getProperty("lastItem"));
+        assertEquals(Arrays.asList(1, "2"), chunkSerialiser.deserialise((byte[]) elements.get(0).getProperty("chunk")));
+        assertEquals(2L, elements.get(1).getProperty("firstItem"));
+        assertEquals(2L, elements.get(1).getProperty("lastItem"));
+        assertEquals(Collections.singletonList(null), chunkSerialiser.deserialise((byte[]) elements.get(1).getProperty("chunk")));
+        assertEquals(requiredOpAuths, elements.get(1).getProperty("opAuths"));
+    }
+
+    @Test
+    public void shouldGetJsonResultsAndChunkedResultsInOrder() throws OperationException, SerialisationException {
+        // Given
+        final long timestamp = System.currentTimeMillis();
+        final List<Element> cachedEdges = Lists.newArrayList(
+                createChunkEdge(timestamp, 3, "d", "e"),
+                createCachedEdges(timestamp, serialisedResults).get(0),
+                createChunkEdge(timestamp, 0, "a", "b", "c"));
+        givenCachedEdges(cachedEdges);
+
+        final GafferResultCacheExporter exporter = new GafferResultCacheExporter(
+                user, jobId, resultCache, SERIALISER, visibility, requiredOpAuths, 3
+        );
+
+        // When
+        final CloseableIterable<?> cachedResults = exporter.get(key);
+
+        // Then
+        assertEquals(Arrays.asList(1, "a", "b", "c", "d", "e"), Lists.newArrayList(cachedResults));
+    }
+
+    @Test
+    public void shouldGetPageOfChunkedResults() throws OperationException, SerialisationException {
+        // Given
+        final long timestamp = System.currentTimeMillis();
+        final List<Element> cachedEdges = Arrays.asList(
+                createChunkEdge(timestamp, 3, "d", "e", "f"),
+                createChunkEdge(timestamp, 0, "a", "b", "c"));
+        final List<GetElements> queries = givenCachedEdges(cachedEdges);
+
+        final GafferResultCacheExporter exporter = new GafferResultCacheExporter(
+                user, jobId, resultCache, SERIALISER, visibility, requiredOpAuths, 3
+        );
+
+        // When
+        final CloseableIterable<?> cachedResults = exporter.get(key, 2, 3);
+
+        // Then
+        assertEquals(Arrays.asList("c", "d", "e"), Lists.newArrayList(cachedResults));
+        for (final GetElements query : queries) {
+            assertEquals(Collections.singleton("resultChunk"), query.getView().getEdgeGroups());
+        }
+    }
+
+    @Test
+    public void shouldContinueChunkPositionsWithoutReadingTheResultCache() throws OperationException, SerialisationException {
+        // Given
+        final List<GetElements> queries = givenCachedEdges(Collections.emptyList());
+
+        final GafferResultCacheExporter exporter = new GafferResultCacheExporter(
+                user, jobId, resultCache, SERIALISER, visibility, requiredOpAuths, 2
+        );
+
+        // When
+        exporter.add(key, results);
+        final ArgumentCaptor<OperationChain> opChain = ArgumentCaptor.forClass(OperationChain.class);
+        verify(store).execute(opChain.capture(), Mockito.eq(user));
+        Lists.newArrayList(((AddElements) opChain.getValue().getOperations().get(0)).getInput());
+        exporter.add(key, results);
+
+        // Then
+        assertEquals(Collections.emptyList(), queries);
+        final ArgumentCaptor<OperationChain> secondOpChain = ArgumentCaptor.forClass(OperationChain.class);
+        verify(store, times(2)).execute(secondOpChain.capture(), Mockito.eq(user));
+        final AddElements addElements = (AddElements) secondOpChain.getValue().getOperations().get(0);
+        final List<Element> elements = Lists.newArrayList(addElements.getInput());
+        assertEquals(3L, elements.get(0).getProperty("firstItem"));
+        assertEquals(4L, elements.get(0).getProperty("lastItem"));
+        assertEquals(5L, elements.get(1).getProperty("firstItem"));
+        assertEquals(5L, elements.get(1).getProperty("lastItem"));
+    }
+
+    @Test
+    public void shouldReadChunksLazilyInPositionOrder() throws OperationException, SerialisationException {
+        // Given
+        final long timestamp = System.currentTimeMillis();
+        final List<Element> cachedEdges = new ArrayList<>();
+        final List<String> expectedResults = new ArrayList<>();
+        for (int i = 49; i >= 0; i--) {
+            cachedEdges.add(createChunkEdge(timestamp, i * 2, "a" + i, "b" + i));
+            expectedResults.add(0, "b" + i);
+            expectedResults.add(0, "a" + i);
+        }
+        final List<GetElements> queries = givenCachedEdges(cachedEdges);
+
+        final GafferResultCacheExporter exporter = new GafferResultCacheExporter(
+                user, jobId, resultCache, SERIALISER, visibility, requiredOpAuths, 2
+        );
+
+        // When
+        final Iterator<?> cachedResults = exporter.get(key, 0, null).iterator();
+        final Object firstResult = cachedResults.next();
+
+        // Then
+        assertEquals("a0", firstResult);
+        assertEquals(1, queries.size());
+        final List<Object> allResults = Lists.newArrayList(firstResult);
+        cachedResults.forEachRemaining(allResults::add);
+        assertEquals(expectedResults, allResults);
+    }
+
+    @Test
+    public void shouldSkipGapsInChunkPositions() throws OperationException, SerialisationException {
+        // Given
+        final long timestamp = System.currentTimeMillis();
+        givenCachedEdges(Arrays.asList(
+                createChunkEdge(timestamp, 1000, "c", "d"),
+                createChunkEdge(timestamp, 0, "a", "b")));
+
+        final GafferResultCacheExporter exporter = new GafferResultCacheExporter(
+                user, jobId, resultCache, SERIALISER, visibility, requiredOpAuths, 2
+        );
+
+        // When
+        final CloseableIterable<?> cachedResults = exporter.get(key);
+
+        // Then
+        assertEquals(Arrays.asList("a", "b", "c", "d"), Lists.newArrayList(cachedResults));
+    }
+
+    /**
+     * Makes the store return the cached edges that match the groups and pre aggregation filters in the view of each
+     * query, and records the queries.
+     */
+    private List<GetElements> givenCachedEdges(final List<Element> cachedEdges) throws OperationException {
+        final List<GetElements> queries = new ArrayList<>();
+        given(store.execute(Mockito.any(OperationChain.class), Mockito.eq(user))).willAnswer(invocation -> {
+            final Object operation = ((OperationChain<?>) invocation.getArguments()[0]).getOperations().get(0);
+            if (!(operation instanceof GetElements)) {
+                return null;
+            }
+            final GetElements getElements = (GetElements) operation;
+            queries.add(getElements);
+            final List<Element> matches = new ArrayList<>();
+            for (final Element edge : cachedEdges) {
+                final ViewElementDefinition elementDef = getElements.getView().getEdge(edge.getGroup());
+                if (null != elementDef && (null == elementDef.getPreAggregationFilter() || elementDef.getPreAggregationFilter().test(edge))) {
+                    matches.add(edge);
+                }
+            }
+            return new WrappedCloseableIterable<>(matches);
+        });
+        return queries;
+    }
+
+    private Element createChunkEdge(final long timestamp, final long firstItem, final Object... values) throws SerialisationException {
+        return new Edge.Builder()
+                .group("resultChunk")
+                .source(jobId)
+                .dest(key)
+                .directed(true)
+                .property("opAuths", requiredOpAuths)
+                .property("timestamp", timestamp)
+                .property("visibility", visibility)
+                .property("firstItem", firstItem)
+                .property("lastItem", firstItem + values.length - 1)
+                .property("chunk", new ResultChunkSerialiser(SERIALISER).serialise(Arrays.asList(values)))
+                .build();
+    }
+
     private List<Element> createCachedEdges(final Object timestamp, final Object... values) {
         return Arrays.asList(
                 new Edge.Builder()
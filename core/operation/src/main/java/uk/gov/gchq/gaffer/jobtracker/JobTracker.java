@@ -18,56 +18,279 @@ package uk.gov.gchq.gaffer.jobtracker;
 
 
 import uk.gov.gchq.gaffer.cache.CacheServiceLoader;
+import uk.gov.gchq.gaffer.cache.ICacheService;
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.user.User;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Records the {@link JobDetail}s of operation chains in the "JobTracker" cache.
+ * <p>
+ * Each user's jobs are also indexed in a cache of their own, named "JobTrackerUserIndex_" followed by the user id,
+ * which holds one entry per job, keyed on the job id. Adding or updating a job is a single put to each cache, so
+ * concurrent updates to a distributed cache cannot overwrite each other. The value of each index entry is the job
+ * start time followed by the job id, so a user's jobs can be ordered by reading only that user's index, rather than
+ * every job. Selecting a page of n indexed jobs takes O(n log(offset + limit)) time, and only the jobs in the page are
+ * read from the job cache.
+ * <p>
+ * If a retention period is set then finished and failed jobs are removed once that period has passed since they
+ * ended. Expired jobs are never returned; they are removed when they are next read and by a sweep of all jobs that
+ * runs in the background at most once per retention period, when a job is added or updated.
+ */
 public class JobTracker {
 
     private static final String CACHE_NAME = "JobTracker";
+    private static final String USER_INDEX_CACHE_NAME_PREFIX = "JobTrackerUserIndex_";
+    private static final char USER_INDEX_KEY_SEPARATOR = '|';
+
+    private final long retentionPeriod;
+    private final AtomicLong lastPurgeTime = new AtomicLong(System.currentTimeMillis());
+    private final AtomicBoolean purging = new AtomicBoolean();
+    private ExecutorService purgeExecutor;
+
+    /**
+     * Constructs a job tracker that keeps jobs until it is cleared.
+     */
+    public JobTracker() {
+        this(0);
+    }
+
+    /**
+     * @param retentionPeriod the time in milliseconds that jobs are kept for after they have finished or failed,
+     *                        or 0 to keep them until the job tracker is cleared
+     */
+    public JobTracker(final long retentionPeriod) {
+        if (retentionPeriod < 0) {
+            throw new IllegalArgumentException("Job tracker retention period must not be negative: " + retentionPeriod);
+        }
+        this.retentionPeriod = retentionPeriod;
+    }
 
     public void addOrUpdateJob(final JobDetail jobDetail, final User user) {
         validateJobDetail(jobDetail);
 
         try {
-            CacheServiceLoader.getService().putInCache(CACHE_NAME, jobDetail.getJobId(), jobDetail);
+            getService().putInCache(CACHE_NAME, jobDetail.getJobId(), jobDetail);
+            addToUserIndex(jobDetail);
         } catch (CacheOperationException e) {
             throw new RuntimeException("Failed to add jobDetail " + jobDetail.toString() + " to the cache", e);
         }
+
+        purgeExpiredJobsIfDue();
     }
 
 
     public JobDetail getJob(final String jobId, final User user) {
-        return CacheServiceLoader.getService().getFromCache(CACHE_NAME, jobId);
+        final JobDetail jobDetail = getService().getFromCache(CACHE_NAME, jobId);
+        if (null != jobDetail && isExpired(jobDetail, System.currentTimeMillis())) {
+            removeJob(jobDetail);
+            return null;
+        }
+        return jobDetail;
     }
 
+    /**
+     * @param user the user
+     * @return all the jobs run by the user, in the order they were started
+     */
     public CloseableIterable<JobDetail> getAllJobs(final User user) {
-        Set<String> jobIds = CacheServiceLoader.getService().getAllKeysFromCache(CACHE_NAME);
+        return getJobs(user, 0, null);
+    }
+
+    /**
+     * Gets a page of the jobs run by the user, in the order they were started. The page is selected from the user's
+     * index and only the jobs in the page are read from the cache. A page may contain fewer jobs than the limit if
+     * some of its jobs have expired.
+     *
+     * @param user   the user
+     * @param offset the number of jobs to skip
+     * @param limit  the maximum number of jobs to return, or null or 0 for no limit
+     * @return the page of jobs
+     */
+    public CloseableIterable<JobDetail> getJobs(final User user, final int offset, final Integer limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative: " + offset);
+        }
+
+        final String userId = null != user ? user.getUserId() : null;
+        final List<String> jobIds = getUserJobIds(userId, offset, limit);
         final List<JobDetail> jobs = new ArrayList<>(jobIds.size());
-        jobIds.stream()
-                .filter(jobId -> null != jobId)
-                .forEach(jobId -> {
-                    final JobDetail job = getJob(jobId, user);
-                    if (null != job) {
-                        jobs.add(job);
-                    }
-                });
+        for (final String jobId : jobIds) {
+            final JobDetail job = getJob(jobId, user);
+            if (null != job && userId.equals(job.getUserId())) {
+                jobs.add(job);
+            }
+        }
 
         return new WrappedCloseableIterable<>(jobs);
     }
 
+    /**
+     * Removes all the jobs that ended more than the retention period ago. This reads every job, so it is only run
+     * automatically, in the background, at most once per retention period.
+     */
+    public void purgeExpiredJobs() {
+        if (retentionPeriod <= 0) {
+            return;
+        }
+
+        final long now = System.currentTimeMillis();
+        lastPurgeTime.set(now);
+        final Set<String> jobIds = getService().getAllKeysFromCache(CACHE_NAME);
+        for (final String jobId : new ArrayList<>(jobIds)) {
+            if (null != jobId) {
+                final JobDetail jobDetail = getService().getFromCache(CACHE_NAME, jobId);
+                if (null != jobDetail && isExpired(jobDetail, now)) {
+                    removeJob(jobDetail);
+                }
+            }
+        }
+    }
+
     public void clear() {
         try {
-            CacheServiceLoader.getService().clearCache(CACHE_NAME);
+            final Collection<JobDetail> jobDetails = getService().getAllValuesFromCache(CACHE_NAME);
+            final Set<String> userIds = new HashSet<>();
+            for (final JobDetail jobDetail : new ArrayList<>(jobDetails)) {
+                if (null != jobDetail && null != jobDetail.getUserId()) {
+                    userIds.add(jobDetail.getUserId());
+                }
+            }
+            for (final String userId : userIds) {
+                getService().clearCache(getUserIndexCacheName(userId));
+            }
+            getService().clearCache(CACHE_NAME);
         } catch (CacheOperationException e) {
             throw new RuntimeException("Failed to clear job tracker cache", e);
         }
     }
 
+    public long getRetentionPeriod() {
+        return retentionPeriod;
+    }
+
+    private ICacheService getService() {
+        return CacheServiceLoader.getService();
+    }
+
+    private boolean isExpired(final JobDetail jobDetail, final long now) {
+        return retentionPeriod > 0
+                && null != jobDetail.getEndTime()
+                && JobStatus.RUNNING != jobDetail.getStatus()
+                && jobDetail.getEndTime() + retentionPeriod <= now;
+    }
+
+    private void purgeExpiredJobsIfDue() {
+        if (retentionPeriod > 0
+                && System.currentTimeMillis() - lastPurgeTime.get() >= retentionPeriod
+                && purging.compareAndSet(false, true)) {
+            try {
+                getPurgeExecutor().execute(() -> {
+                    try {
+                        purgeExpiredJobs();
+                    } finally {
+                        purging.set(false);
+                    }
+                });
+            } catch (final RuntimeException e) {
+                purging.set(false);
+                throw e;
+            }
+        }
+    }
+
+    // A single daemon thread, which stops when idle, so sweeps never run on the thread adding the job.
+    private synchronized ExecutorService getPurgeExecutor() {
+        if (null == purgeExecutor) {
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 1, TimeUnit.MINUTES,
+                    new LinkedBlockingQueue<>(), runnable -> {
+                final Thread thread = new Thread(runnable, "JobTracker-purge");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+            purgeExecutor = executor;
+        }
+        return purgeExecutor;
+    }
+
+    // Only the first offset + limit entries, in start order, are kept in a heap, so the whole index is not sorted.
+    private List<String> getUserJobIds(final String userId, final int offset, final Integer limit) {
+        if (null == userId) {
+            return Collections.emptyList();
+        }
+
+        final Collection<String> entries = getService().getAllValuesFromCache(getUserIndexCacheName(userId));
+        if (null == entries || offset >= entries.size()) {
+            return Collections.emptyList();
+        }
+
+        final List<String> page;
+        if (null == limit || limit <= 0) {
+            page = new ArrayList<>(entries);
+        } else {
+            final int pageEnd = (int) Math.min(entries.size(), (long) offset + limit);
+            final PriorityQueue<String> first = new PriorityQueue<>(pageEnd, Collections.reverseOrder());
+            for (final String entry : entries) {
+                if (first.size() < pageEnd) {
+                    first.add(entry);
+                } else if (entry.compareTo(first.peek()) < 0) {
+                    first.poll();
+                    first.add(entry);
+                }
+            }
+            page = new ArrayList<>(first);
+        }
+        page.sort(null);
+
+        final List<String> jobIds = new ArrayList<>(page.size() - offset);
+        for (final String entry : page.subList(offset, page.size())) {
+            jobIds.add(entry.substring(entry.indexOf(USER_INDEX_KEY_SEPARATOR) + 1));
+        }
+        return jobIds;
+    }
+
+    private void addToUserIndex(final JobDetail jobDetail) throws CacheOperationException {
+        if (null != jobDetail.getUserId()) {
+            getService().putInCache(getUserIndexCacheName(jobDetail.getUserId()), jobDetail.getJobId(), getUserIndexEntry(jobDetail));
+        }
+    }
+
+    private void removeFromUserIndex(final JobDetail jobDetail) {
+        if (null != jobDetail.getUserId()) {
+            getService().removeFromCache(getUserIndexCacheName(jobDetail.getUserId()), jobDetail.getJobId());
+        }
+    }
+
+    private void removeJob(final JobDetail jobDetail) {
+        getService().removeFromCache(CACHE_NAME, jobDetail.getJobId());
+        removeFromUserIndex(jobDetail);
+    }
+
+    private static String getUserIndexCacheName(final String userId) {
+        return USER_INDEX_CACHE_NAME_PREFIX + userId;
+    }
+
+    // The start time is zero padded so the entries sort in the order the jobs were started.
+    private static String getUserIndexEntry(final JobDetail jobDetail) {
+        final long startTime = null != jobDetail.getStartTime() ? jobDetail.getStartTime() : 0L;
+        return String.format("%019d", startTime) + USER_INDEX_KEY_SEPARATOR + jobDetail.getJobId();
+    }
+
     private void validateJobDetail(final JobDetail jobDetail) {
         if (null == jobDetail) {
             throw new IllegalArgumentException("JobDetail is required");
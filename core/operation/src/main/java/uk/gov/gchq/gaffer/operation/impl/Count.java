@@ -23,6 +23,10 @@ import uk.gov.gchq.gaffer.operation.serialisation.TypeReferenceImpl;
 
 /**
  * A <code>Count</code> operation counts how many items there are in the provided {@link Iterable}.
+ * If distinct is set then only the distinct items are counted, so the count is the size of the
+ * set of items. Distinct is an optional field in the JSON, <code>"distinct": true</code>, which
+ * defaults to false. The operation chain rules of a store may also set it when they replace a
+ * <code>ToSet</code> that is followed by a <code>Count</code>.
  *
  * @see Count.Builder
  */
@@ -31,6 +35,15 @@ public class Count<T> implements
         InputOutput<Iterable<? extends T>, Long>,
         MultiInput<T> {
     private Iterable<? extends T> input;
+    private boolean distinct;
+
+    public boolean isDistinct() {
+        return distinct;
+    }
+
+    public void setDistinct(final boolean distinct) {
+        this.distinct = distinct;
+    }
 
     @Override
     public Iterable<? extends T> getInput() {
@@ -54,5 +67,10 @@ public class Count<T> implements
         public Builder() {
             super(new Count<>());
         }
+
+        public Builder<T> distinct(final boolean distinct) {
+            _getOp().setDistinct(distinct);
+            return _self();
+        }
     }
 }
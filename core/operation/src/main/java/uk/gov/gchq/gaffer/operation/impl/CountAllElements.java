@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.operation.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.Options;
+import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.operation.serialisation.TypeReferenceImpl;
+import java.util.Map;
+
+/**
+ * A <code>CountAllElements</code> operation counts the number of elements
+ * that would be returned by a
+ * {@link uk.gov.gchq.gaffer.operation.impl.get.GetAllElements} with the same
+ * view and directed type. If the store supports {@link GetGroupCounts} the
+ * counting is done by the store, otherwise the elements are retrieved and
+ * counted.
+ * <p>
+ * The chain <code>GetAllElements -&gt; Count</code> is rewritten to use this
+ * operation by stores that support {@link GetGroupCounts}.
+ *
+ * @see CountAllElements.Builder
+ */
+public class CountAllElements implements
+        Operation,
+        Output<Long>,
+        GraphFilters,
+        Options {
+    private View view;
+    private DirectedType directedType;
+    private Map<String, String> options;
+
+    @Override
+    public View getView() {
+        return view;
+    }
+
+    @Override
+    public void setView(final View view) {
+        this.view = view;
+    }
+
+    @Override
+    public DirectedType getDirectedType() {
+        return directedType;
+    }
+
+    @Override
+    public void setDirectedType(final DirectedType directedType) {
+        this.directedType = directedType;
+    }
+
+    @Override
+    public TypeReference<Long> getOutputTypeReference() {
+        return new TypeReferenceImpl.Long();
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static class Builder extends Operation.BaseBuilder<CountAllElements, Builder>
+            implements Output.Builder<CountAllElements, Long, Builder>,
+            GraphFilters.Builder<CountAllElements, Builder>,
+            Options.Builder<CountAllElements, Builder> {
+        public Builder() {
+            super(new CountAllElements());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.operation.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import uk.gov.gchq.gaffer.data.GroupCounts;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.GlobalViewElementDefinition;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.Options;
+import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.operation.serialisation.TypeReferenceImpl;
+import uk.gov.gchq.koryphe.ValidationResult;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A <code>GetGroupCounts</code> operation counts the number of elements in
+ * each group that would be returned by a
+ * {@link uk.gov.gchq.gaffer.operation.impl.get.GetAllElements} with the same
+ * view and directed type. Unlike {@link CountGroups} the counting is done by
+ * the store, so the elements do not need to be retrieved. The view must not
+ * contain any filters, transformers or group by overrides.
+ * <p>
+ * This operation is only supported by stores that can count elements without
+ * retrieving them. If it is supported then the chain
+ * <code>GetAllElements -&gt; CountGroups</code> is rewritten to use it.
+ *
+ * @see GetGroupCounts.Builder
+ */
+public class GetGroupCounts implements
+        Operation,
+        Output<GroupCounts>,
+        GraphFilters,
+        Options {
+    private View view;
+    private DirectedType directedType;
+    private Map<String, String> options;
+
+    @Override
+    public View getView() {
+        return view;
+    }
+
+    @Override
+    public void setView(final View view) {
+        this.view = view;
+    }
+
+    @Override
+    public DirectedType getDirectedType() {
+        return directedType;
+    }
+
+    @Override
+    public void setDirectedType(final DirectedType directedType) {
+        this.directedType = directedType;
+    }
+
+    @Override
+    public TypeReference<GroupCounts> getOutputTypeReference() {
+        return new TypeReferenceImpl.CountGroups();
+    }
+
+    @Override
+    public ValidationResult validate() {
+        final ValidationResult result = new ValidationResult();
+        if (!isCountable(view)) {
+            result.addError("The view of a GetGroupCounts operation must not contain any filters, transformers or group by properties");
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    /**
+     * Checks whether the elements in a view can be counted without being
+     * retrieved, i.e. the view does not contain any filters, transformers or
+     * group by properties.
+     *
+     * @param view the view to check, may be null
+     * @return true if the elements in the view can be counted by the store
+     */
+    public static boolean isCountable(final View view) {
+        if (null == view) {
+            return true;
+        }
+
+        final List<ViewElementDefinition> elementDefs = new ArrayList<>();
+        elementDefs.addAll(view.getEntities().values());
+        elementDefs.addAll(view.getEdges().values());
+        for (final List<GlobalViewElementDefinition> globalDefs : Arrays.asList(
+                view.getGlobalElements(), view.getGlobalEntities(), view.getGlobalEdges())) {
+            if (null != globalDefs) {
+                elementDefs.addAll(globalDefs);
+            }
+        }
+        for (final ViewElementDefinition elementDef : elementDefs) {
+            if (null != elementDef.getGroupBy()
+                    || hasFunctions(elementDef.getPreAggregationFilter())
+                    || hasFunctions(elementDef.getPostAggregationFilter())
+                    || hasFunctions(elementDef.getPostTransformFilter())
+                    || (null != elementDef.getTransformer() && !elementDef.getTransformer().getComponents().isEmpty())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasFunctions(final ElementFilter filter) {
+        return null != filter && !filter.getComponents().isEmpty();
+    }
+
+    public static class Builder extends Operation.BaseBuilder<GetGroupCounts, Builder>
+            implements Output.Builder<GetGroupCounts, GroupCounts, Builder>,
+            GraphFilters.Builder<GetGroupCounts, Builder>,
+            Options.Builder<GetGroupCounts, Builder> {
+        public Builder() {
+            super(new GetGroupCounts());
+        }
+    }
+}
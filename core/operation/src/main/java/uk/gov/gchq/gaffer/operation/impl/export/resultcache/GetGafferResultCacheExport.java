@@ -24,12 +24,19 @@ import uk.gov.gchq.gaffer.operation.export.GetExport;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.operation.serialisation.TypeReferenceImpl;
 
+/**
+ * A {@code GetGafferResultCacheExport} operation gets the results exported to the Gaffer result cache. If an offset
+ * or a limit is set then only that page of the results is returned, which is only supported for results that were
+ * exported in chunks.
+ */
 public class GetGafferResultCacheExport implements
         Operation,
         GetExport,
         Output<CloseableIterable<?>> {
     private String jobId;
     private String key = Export.DEFAULT_KEY;
+    private Integer offset;
+    private Integer limit;
 
     @Override
     public String getKey() {
@@ -51,6 +58,28 @@ public class GetGafferResultCacheExport implements
         this.jobId = jobId;
     }
 
+    /**
+     * @return the number of results to skip, or null to start from the first result
+     */
+    public Integer getOffset() {
+        return offset;
+    }
+
+    public void setOffset(final Integer offset) {
+        this.offset = offset;
+    }
+
+    /**
+     * @return the maximum number of results to return, or null for no limit
+     */
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(final Integer limit) {
+        this.limit = limit;
+    }
+
     @Override
     public TypeReference<CloseableIterable<?>> getOutputTypeReference() {
         return new TypeReferenceImpl.CloseableIterableObj();
@@ -63,5 +92,15 @@ public class GetGafferResultCacheExport implements
         public Builder() {
             super(new GetGafferResultCacheExport());
         }
+
+        public Builder offset(final Integer offset) {
+            _getOp().setOffset(offset);
+            return this;
+        }
+
+        public Builder limit(final Integer limit) {
+            _getOp().setLimit(limit);
+            return this;
+        }
     }
 }
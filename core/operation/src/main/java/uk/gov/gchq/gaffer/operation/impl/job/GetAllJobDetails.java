@@ -23,9 +23,38 @@ import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.operation.serialisation.TypeReferenceImpl;
 
+/**
+ * A {@code GetAllJobDetails} operation gets the details of the jobs run by the user, in the order they were
+ * started. The jobs can be paged through by setting an offset and a limit.
+ */
 public class GetAllJobDetails implements
         Operation,
         Output<CloseableIterable<JobDetail>> {
+    private Integer offset;
+    private Integer limit;
+
+    /**
+     * @return the number of jobs to skip, or null to start from the first job
+     */
+    public Integer getOffset() {
+        return offset;
+    }
+
+    public void setOffset(final Integer offset) {
+        this.offset = offset;
+    }
+
+    /**
+     * @return the maximum number of jobs to return, or null or 0 for no limit
+     */
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(final Integer limit) {
+        this.limit = limit;
+    }
+
     @Override
     public TypeReference<CloseableIterable<JobDetail>> getOutputTypeReference() {
         return new TypeReferenceImpl.JobDetailIterable();
@@ -36,5 +65,15 @@ public class GetAllJobDetails implements
         public Builder() {
             super(new GetAllJobDetails());
         }
+
+        public Builder offset(final Integer offset) {
+            _getOp().setOffset(offset);
+            return this;
+        }
+
+        public Builder limit(final Integer limit) {
+            _getOp().setLimit(limit);
+            return this;
+        }
     }
 }
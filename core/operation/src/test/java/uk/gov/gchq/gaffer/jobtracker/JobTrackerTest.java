@@ -0,0 +1,233 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.jobtracker;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.cache.CacheServiceLoader;
+import uk.gov.gchq.gaffer.cache.impl.HashMapCacheService;
+import uk.gov.gchq.gaffer.cache.util.CacheProperties;
+import uk.gov.gchq.gaffer.user.User;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class JobTrackerTest {
+    private final User user1 = new User("user1");
+    private final User user2 = new User("user2");
+
+    @Before
+    public void before() {
+        final Properties properties = new Properties();
+        properties.setProperty(CacheProperties.CACHE_SERVICE_CLASS, HashMapCacheService.class.getName());
+        CacheServiceLoader.initialise(properties);
+    }
+
+    @After
+    public void after() {
+        new JobTracker().clear();
+    }
+
+    @Test
+    public void shouldOnlyGetJobsOfUserInOrderTheyWereStarted() {
+        // Given
+        final JobTracker jobTracker = new JobTracker();
+        final JobDetail job1 = createJob("job1", user1, JobStatus.RUNNING);
+        jobTracker.addOrUpdateJob(job1, user1);
+        jobTracker.addOrUpdateJob(createJob("job2", user2, JobStatus.RUNNING), user2);
+        jobTracker.addOrUpdateJob(createJob("job3", user1, JobStatus.RUNNING), user1);
+        jobTracker.addOrUpdateJob(new JobDetail(job1, createJob("job1", user1, JobStatus.FINISHED)), user1);
+
+        // When
+        final List<JobDetail> jobs = Lists.newArrayList(jobTracker.getAllJobs(user1));
+
+        // Then
+        assertEquals(Arrays.asList("job1", "job3"), getJobIds(jobs));
+        assertEquals(JobStatus.FINISHED, jobs.get(0).getStatus());
+        assertEquals(Collections.singletonList("job2"), getJobIds(Lists.newArrayList(jobTracker.getAllJobs(user2))));
+    }
+
+    @Test
+    public void shouldGetPagesOfJobs() {
+        // Given
+        final JobTracker jobTracker = new JobTracker();
+        for (int i = 0; i < 5; i++) {
+            jobTracker.addOrUpdateJob(createJob("job" + i, user1, JobStatus.RUNNING), user1);
+        }
+
+        // When
+        final List<JobDetail> page1 = Lists.newArrayList(jobTracker.getJobs(user1, 0, 2));
+        final List<JobDetail> page3 = Lists.newArrayList(jobTracker.getJobs(user1, 4, 2));
+        final List<JobDetail> pastEnd = Lists.newArrayList(jobTracker.getJobs(user1, 10, 2));
+
+        // Then
+        assertEquals(Arrays.asList("job0", "job1"), getJobIds(page1));
+        assertEquals(Collections.singletonList("job4"), getJobIds(page3));
+        assertEquals(Collections.emptyList(), pastEnd);
+    }
+
+    @Test
+    public void shouldGetPagesOfJobsInTheOrderTheyWereStarted() {
+        // Given
+        final JobTracker jobTracker = new JobTracker();
+        for (int i = 0; i < 10; i++) {
+            final JobDetail job = createJob("job" + i, user1, JobStatus.RUNNING);
+            job.setStartTime(1000L - i);
+            jobTracker.addOrUpdateJob(job, user1);
+        }
+
+        // When
+        final List<JobDetail> page = Lists.newArrayList(jobTracker.getJobs(user1, 3, 3));
+        final List<JobDetail> rest = Lists.newArrayList(jobTracker.getJobs(user1, 8, null));
+
+        // Then
+        assertEquals(Arrays.asList("job6", "job5", "job4"), getJobIds(page));
+        assertEquals(Arrays.asList("job1", "job0"), getJobIds(rest));
+    }
+
+    @Test
+    public void shouldNotReadTheCacheWhenAddingOrUpdatingAJob() {
+        // Given
+        final Properties properties = new Properties();
+        properties.setProperty(CacheProperties.CACHE_SERVICE_CLASS, ReadCountingCacheService.class.getName());
+        CacheServiceLoader.initialise(properties);
+        final JobTracker jobTracker = new JobTracker();
+        final JobDetail job = createJob("job1", user1, JobStatus.RUNNING);
+        job.setStartTime(1000L);
+
+        // When
+        jobTracker.addOrUpdateJob(job, user1);
+        job.setStartTime(2000L);
+        job.setStatus(JobStatus.FINISHED);
+        jobTracker.addOrUpdateJob(job, user1);
+
+        // Then
+        assertEquals(0, ReadCountingCacheService.reads);
+        assertEquals(1, CacheServiceLoader.getService().sizeOfCache("JobTrackerUserIndex_user1"));
+        final List<JobDetail> jobs = Lists.newArrayList(jobTracker.getAllJobs(user1));
+        assertEquals(Collections.singletonList("job1"), getJobIds(jobs));
+        assertEquals(JobStatus.FINISHED, jobs.get(0).getStatus());
+    }
+
+    @Test
+    public void shouldExpireFinishedJobsAfterRetentionPeriod() {
+        // Given
+        final JobTracker jobTracker = new JobTracker(60000L);
+        final JobDetail oldJob = createJob("old", user1, JobStatus.FINISHED);
+        oldJob.setEndTime(System.currentTimeMillis() - 120000L);
+        final JobDetail oldRunningJob = createJob("running", user1, JobStatus.RUNNING);
+        oldRunningJob.setStartTime(System.currentTimeMillis() - 120000L);
+        final JobDetail recentJob = createJob("recent", user1, JobStatus.FAILED);
+        recentJob.setEndTime(System.currentTimeMillis());
+        jobTracker.addOrUpdateJob(oldJob, user1);
+        jobTracker.addOrUpdateJob(oldRunningJob, user1);
+        jobTracker.addOrUpdateJob(recentJob, user1);
+
+        // When
+        final JobDetail result = jobTracker.getJob("old", user1);
+
+        // Then
+        assertNull(result);
+        assertNotNull(jobTracker.getJob("running", user1));
+        assertEquals(Arrays.asList("running", "recent"), getJobIds(Lists.newArrayList(jobTracker.getAllJobs(user1))));
+    }
+
+    @Test
+    public void shouldPurgeExpiredJobsOfAllUsers() {
+        // Given
+        final JobTracker jobTracker = new JobTracker(60000L);
+        final JobDetail job1 = createJob("job1", user1, JobStatus.FINISHED);
+        job1.setEndTime(System.currentTimeMillis() - 120000L);
+        final JobDetail job2 = createJob("job2", user2, JobStatus.FINISHED);
+        job2.setEndTime(System.currentTimeMillis() - 120000L);
+        jobTracker.addOrUpdateJob(job1, user1);
+        jobTracker.addOrUpdateJob(job2, user2);
+
+        // When
+        jobTracker.purgeExpiredJobs();
+
+        // Then
+        assertEquals(0, CacheServiceLoader.getService().sizeOfCache("JobTracker"));
+        assertEquals(0, CacheServiceLoader.getService().sizeOfCache("JobTrackerUserIndex_user1"));
+        assertEquals(0, CacheServiceLoader.getService().sizeOfCache("JobTrackerUserIndex_user2"));
+    }
+
+    @Test
+    public void shouldPurgeExpiredJobsInTheBackgroundWhenDue() throws InterruptedException {
+        // Given
+        final JobTracker jobTracker = new JobTracker(50L);
+        final JobDetail oldJob = createJob("old", user1, JobStatus.FINISHED);
+        oldJob.setEndTime(System.currentTimeMillis() - 120000L);
+        jobTracker.addOrUpdateJob(oldJob, user1);
+        Thread.sleep(100L);
+
+        // When
+        jobTracker.addOrUpdateJob(createJob("new", user1, JobStatus.RUNNING), user1);
+
+        // Then
+        for (int i = 0; i < 100 && CacheServiceLoader.getService().sizeOfCache("JobTracker") > 1; i++) {
+            Thread.sleep(50L);
+        }
+        assertNull(CacheServiceLoader.getService().getFromCache("JobTracker", "old"));
+        assertEquals(Collections.singletonList("new"), getJobIds(Lists.newArrayList(jobTracker.getAllJobs(user1))));
+    }
+
+    @Test
+    public void shouldAddOneUserIndexEntryPerJob() {
+        // Given
+        final JobTracker jobTracker = new JobTracker();
+        final JobDetail job = createJob("job1", user1, JobStatus.RUNNING);
+
+        // When
+        jobTracker.addOrUpdateJob(job, user1);
+        jobTracker.addOrUpdateJob(new JobDetail(job, createJob("job1", user1, JobStatus.FINISHED)), user1);
+        jobTracker.addOrUpdateJob(createJob("job2", user1, JobStatus.RUNNING), user1);
+
+        // Then
+        assertEquals(2, CacheServiceLoader.getService().sizeOfCache("JobTrackerUserIndex_user1"));
+    }
+
+    public static class ReadCountingCacheService extends HashMapCacheService {
+        private static int reads;
+
+        @Override
+        public void initialise(final Properties properties) {
+            reads = 0;
+            super.initialise(properties);
+        }
+
+        @Override
+        public <K, V> V getFromCache(final String cacheName, final K key) {
+            reads++;
+            return super.getFromCache(cacheName, key);
+        }
+    }
+
+    private JobDetail createJob(final String jobId, final User user, final JobStatus status) {
+        return new JobDetail(jobId, user.getUserId(), null, status, null);
+    }
+
+    private List<String> getJobIds(final List<JobDetail> jobs) {
+        return Lists.transform(jobs, JobDetail::getJobId);
+    }
+}
@@ -41,6 +41,8 @@ public class GetGafferResultCacheExportTest extends OperationTest {
         final String key = "key";
         final GetGafferResultCacheExport op = new GetGafferResultCacheExport.Builder()
                 .key(key)
+                .offset(10)
+                .limit(5)
                 .build();
 
         // When
@@ -49,6 +51,8 @@ public class GetGafferResultCacheExportTest extends OperationTest {
 
         // Then
         assertEquals(key, deserialisedOp.getKey());
+        assertEquals((Integer) 10, deserialisedOp.getOffset());
+        assertEquals((Integer) 5, deserialisedOp.getLimit());
     }
 
     @Test
@@ -58,9 +62,13 @@ public class GetGafferResultCacheExportTest extends OperationTest {
         final String key = "key";
         final GetGafferResultCacheExport op = new GetGafferResultCacheExport.Builder()
                 .key(key)
+                .offset(10)
+                .limit(5)
                 .build();
 
         // Then
         assertEquals(key, op.getKey());
+        assertEquals((Integer) 10, op.getOffset());
+        assertEquals((Integer) 5, op.getLimit());
     }
 }
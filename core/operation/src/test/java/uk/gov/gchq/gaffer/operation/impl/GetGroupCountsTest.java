@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.operation.impl;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationTest;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+
+public class GetGroupCountsTest extends OperationTest {
+    private static final JSONSerialiser serialiser = new JSONSerialiser();
+
+    @Override
+    public Class<? extends Operation> getOperationClass() {
+        return GetGroupCounts.class;
+    }
+
+    @Test
+    @Override
+    public void shouldSerialiseAndDeserialiseOperation() throws SerialisationException {
+        // Given
+        final GetGroupCounts op = new GetGroupCounts.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .directedType(DirectedType.EITHER)
+                .build();
+
+        // When
+        byte[] json = serialiser.serialise(op, true);
+        final GetGroupCounts deserialisedOp = serialiser.deserialise(json, GetGroupCounts.class);
+
+        // Then
+        assertNotNull(deserialisedOp.getView().getEntity(TestGroups.ENTITY));
+        assertEquals(DirectedType.EITHER, deserialisedOp.getDirectedType());
+    }
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        // When
+        final GetGroupCounts op = new GetGroupCounts.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .directedType(DirectedType.DIRECTED)
+                .option("key", "value")
+                .build();
+
+        // Then
+        assertNotNull(op.getView().getEdge(TestGroups.EDGE));
+        assertEquals(DirectedType.DIRECTED, op.getDirectedType());
+        assertEquals("value", op.getOption("key"));
+    }
+
+    @Test
+    public void shouldBeValidWithViewWithoutFilters() {
+        // Given
+        final GetGroupCounts op = new GetGroupCounts.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+
+        // When / Then
+        assertTrue(op.validate().isValid());
+        assertTrue(GetGroupCounts.isCountable(null));
+    }
+
+    @Test
+    public void shouldBeInvalidWithViewWithFilters() {
+        // Given
+        final GetGroupCounts op = new GetGroupCounts.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                                .preAggregationFilter(new ElementFilter.Builder()
+                                        .select("count")
+                                        .execute(new IsMoreThan(1))
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+
+        // When / Then
+        assertFalse(op.validate().isValid());
+        assertFalse(GetGroupCounts.isCountable(op.getView()));
+    }
+}
@@ -23,6 +23,7 @@ import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationTest;
 import uk.gov.gchq.gaffer.operation.impl.job.GetAllJobDetails;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
 
@@ -39,6 +40,8 @@ public class GetAllJobDetailsTest extends OperationTest {
     public void shouldSerialiseAndDeserialiseOperation() throws SerialisationException {
         // Given
         final GetAllJobDetails operation = new GetAllJobDetails.Builder()
+                .offset(10)
+                .limit(5)
                 .build();
 
         // When
@@ -47,6 +50,8 @@ public class GetAllJobDetailsTest extends OperationTest {
 
         // Then
         assertNotNull(deserialisedOp);
+        assertEquals((Integer) 10, deserialisedOp.getOffset());
+        assertEquals((Integer) 5, deserialisedOp.getLimit());
     }
 
     @Test
@@ -54,9 +59,13 @@ public class GetAllJobDetailsTest extends OperationTest {
     public void builderShouldCreatePopulatedOperation() {
         // When
         final GetAllJobDetails op = new GetAllJobDetails.Builder()
+                .offset(10)
+                .limit(5)
                 .build();
 
         // Then
         assertNotNull(op);
+        assertEquals((Integer) 10, op.getOffset());
+        assertEquals((Integer) 5, op.getLimit());
     }
 }
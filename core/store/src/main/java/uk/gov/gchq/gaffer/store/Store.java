@@ -33,8 +33,10 @@ import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.CountAllElements;
 import uk.gov.gchq.gaffer.operation.impl.CountGroups;
 import uk.gov.gchq.gaffer.operation.impl.DiscardOutput;
+import uk.gov.gchq.gaffer.operation.impl.GetGroupCounts;
 import uk.gov.gchq.gaffer.operation.impl.Limit;
 import uk.gov.gchq.gaffer.operation.impl.Validate;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
@@ -66,6 +68,7 @@ import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.store.operation.OperationChainValidator;
 import uk.gov.gchq.gaffer.store.operation.OperationUtil;
+import uk.gov.gchq.gaffer.store.operation.handler.CountAllElementsHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.CountGroupsHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.CountHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.DiscardOutputHandler;
@@ -95,13 +98,22 @@ import uk.gov.gchq.gaffer.store.operation.handler.output.ToVerticesHandler;
 import uk.gov.gchq.gaffer.store.operationdeclaration.OperationDeclaration;
 import uk.gov.gchq.gaffer.store.operationdeclaration.OperationDeclarations;
 import uk.gov.gchq.gaffer.store.optimiser.OperationChainOptimiser;
+import uk.gov.gchq.gaffer.store.optimiser.OperationChainRule;
+import uk.gov.gchq.gaffer.store.optimiser.RuleBasedOperationChainOptimiser;
+import uk.gov.gchq.gaffer.store.optimiser.rule.CountGroupsRule;
+import uk.gov.gchq.gaffer.store.optimiser.rule.DistinctCountRule;
+import uk.gov.gchq.gaffer.store.optimiser.rule.LimitPushdownRule;
+import uk.gov.gchq.gaffer.store.optimiser.rule.RedundantToListRule;
+import uk.gov.gchq.gaffer.store.optimiser.rule.UnusedOutputRule;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaOptimiser;
 import uk.gov.gchq.gaffer.store.schema.ViewValidator;
+import uk.gov.gchq.gaffer.store.statistics.GraphStatistics;
 import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.ValidationResult;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -138,6 +150,7 @@ public abstract class Store {
     private final SchemaOptimiser schemaOptimiser;
 
     private JobTracker jobTracker;
+    private boolean trackSynchronousJobs;
     private ExecutorService executorService;
 
     public Store() {
@@ -151,10 +164,12 @@ public abstract class Store {
         this.properties = properties;
         startCacheServiceLoader(properties);
         this.jobTracker = createJobTracker(properties);
+        this.trackSynchronousJobs = !Boolean.TRUE.equals(properties.getJobTrackerAsyncOnly());
 
         optimiseSchema();
         validateSchemas();
         addOpHandlers();
+        addOperationChainRules();
         addExecutorService();
     }
 
@@ -219,13 +234,17 @@ public abstract class Store {
      */
     public <O> O execute(final OperationChain<O> operationChain, final User user) throws OperationException {
         final Context context = createContext(user);
-        addOrUpdateJobDetail(operationChain, context, null, JobStatus.RUNNING);
+        if (!trackSynchronousJobs) {
+            return _execute(operationChain, context);
+        }
+
+        final JobDetail initialJobDetail = addOrUpdateJobDetail(operationChain, context, null, JobStatus.RUNNING, null);
         try {
             final O result = _execute(operationChain, context);
-            addOrUpdateJobDetail(operationChain, context, null, JobStatus.FINISHED);
+            addOrUpdateJobDetail(operationChain, context, null, JobStatus.FINISHED, initialJobDetail);
             return result;
         } catch (final Throwable t) {
-            addOrUpdateJobDetail(operationChain, context, t.getMessage(), JobStatus.FAILED);
+            addOrUpdateJobDetail(operationChain, context, t.getMessage(), JobStatus.FAILED, initialJobDetail);
             throw t;
         }
     }
@@ -259,7 +278,7 @@ public abstract class Store {
             }
         }
 
-        final JobDetail initialJobDetail = addOrUpdateJobDetail(operationChain, context, null, JobStatus.RUNNING);
+        final JobDetail initialJobDetail = addOrUpdateJobDetail(operationChain, context, null, JobStatus.RUNNING, null);
 
         final Runnable runnable = new Runnable() {
 
@@ -267,13 +286,13 @@ public abstract class Store {
             public void run() {
                 try {
                     _execute(operationChain, context);
-                    addOrUpdateJobDetail(operationChain, context, null, JobStatus.FINISHED);
+                    addOrUpdateJobDetail(operationChain, context, null, JobStatus.FINISHED, initialJobDetail);
                 } catch (final Error e) {
-                    addOrUpdateJobDetail(operationChain, context, e.getMessage(), JobStatus.FAILED);
+                    addOrUpdateJobDetail(operationChain, context, e.getMessage(), JobStatus.FAILED, initialJobDetail);
                     throw e;
                 } catch (final Exception e) {
                     LOGGER.warn("Operation chain job failed to execute", e);
-                    addOrUpdateJobDetail(operationChain, context, e.getMessage(), JobStatus.FAILED);
+                    addOrUpdateJobDetail(operationChain, context, e.getMessage(), JobStatus.FAILED, initialJobDetail);
                 }
             }
         };
@@ -292,6 +311,16 @@ public abstract class Store {
         return jobTracker;
     }
 
+    /**
+     * Gets statistics about the number of elements held in the store. These are used to estimate the cost of
+     * operation chains. Stores that cannot provide statistics cheaply return null, which is the default.
+     *
+     * @return the statistics, or null if they are not available
+     */
+    public GraphStatistics getStatistics() {
+        return null;
+    }
+
     /**
      * @param operationClass the operation class to check
      * @return true if the provided operation is supported.
@@ -435,7 +464,7 @@ public abstract class Store {
 
     protected JobTracker createJobTracker(final StoreProperties properties) {
         if (properties.getJobTrackerEnabled()) {
-            return new JobTracker();
+            return new JobTracker(properties.getJobTrackerRetentionPeriod());
         }
         return null;
     }
@@ -448,6 +477,36 @@ public abstract class Store {
         return new OperationChainValidator(new ViewValidator());
     }
 
+    /**
+     * Creates the rules used to rewrite operation chains before they are
+     * executed, if they are enabled with
+     * {@link StoreProperties#OPERATION_CHAIN_RULES_ENABLED}. Stores can
+     * override this to add their own rules.
+     *
+     * @return the operation chain rules
+     */
+    protected List<OperationChainRule> createOperationChainRules() {
+        final List<OperationChainRule> rules = new ArrayList<>();
+        rules.add(new LimitPushdownRule());
+        rules.add(new DistinctCountRule());
+        rules.add(new RedundantToListRule());
+        rules.add(new UnusedOutputRule());
+        return rules;
+    }
+
+    private void addOperationChainRules() {
+        final List<OperationChainRule> rules = new ArrayList<>();
+        if (isSupported(GetGroupCounts.class)) {
+            rules.add(new CountGroupsRule());
+        }
+        if (properties.getOperationChainRulesEnabled()) {
+            rules.addAll(createOperationChainRules());
+        }
+        if (!rules.isEmpty()) {
+            addOperationChainOptimisers(Collections.singletonList(new RuleBasedOperationChainOptimiser(rules)));
+        }
+    }
+
     protected void addOperationChainOptimisers(final List<OperationChainOptimiser> newOpChainOptimisers) {
         opChainOptimisers.addAll(newOpChainOptimisers);
     }
@@ -532,14 +591,15 @@ public abstract class Store {
         return (O) result;
     }
 
-    private JobDetail addOrUpdateJobDetail(final OperationChain<?> operationChain, final Context context, final String msg, final JobStatus jobStatus) {
+    // The job is updated from the initial job detail recorded when it started,
+    // so the job tracker does not need to be read before each update.
+    private JobDetail addOrUpdateJobDetail(final OperationChain<?> operationChain, final Context context, final String msg, final JobStatus jobStatus, final JobDetail initialJobDetail) {
         final JobDetail newJobDetail = new JobDetail(context.getJobId(), context.getUser().getUserId(), operationChain, jobStatus, msg);
         if (null != jobTracker) {
-            final JobDetail oldJobDetail = jobTracker.getJob(newJobDetail.getJobId(), context.getUser());
-            if (null == oldJobDetail) {
+            if (null == initialJobDetail) {
                 jobTracker.addOrUpdateJob(newJobDetail, context.getUser());
             } else {
-                jobTracker.addOrUpdateJob(new JobDetail(oldJobDetail, newJobDetail), context.getUser());
+                jobTracker.addOrUpdateJob(new JobDetail(initialJobDetail, newJobDetail), context.getUser());
             }
         }
         return newJobDetail;
@@ -640,6 +700,7 @@ public abstract class Store {
         addOperationHandler(GenerateObjects.class, new GenerateObjectsHandler<>());
         addOperationHandler(Validate.class, new ValidateHandler());
         addOperationHandler(Count.class, new CountHandler());
+        addOperationHandler(CountAllElements.class, new CountAllElementsHandler());
         addOperationHandler(CountGroups.class, new CountGroupsHandler());
         addOperationHandler(Limit.class, new LimitHandler());
         addOperationHandler(DiscardOutput.class, new DiscardOutputHandler());
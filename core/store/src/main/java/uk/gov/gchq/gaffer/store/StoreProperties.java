@@ -48,9 +48,67 @@ public class StoreProperties implements Cloneable {
 
     public static final String JOB_TRACKER_ENABLED = "gaffer.store.job.tracker.enabled";
 
+    /**
+     * The time in milliseconds that the job tracker keeps finished and failed
+     * jobs for. 0, the default, keeps them until the job tracker is cleared.
+     */
+    public static final String JOB_TRACKER_RETENTION_PERIOD = "gaffer.store.job.tracker.retention-period";
+    public static final String JOB_TRACKER_RETENTION_PERIOD_DEFAULT = "0";
+
+    /**
+     * If true, only operation chains run as jobs, using executeJob, are
+     * recorded by the job tracker, so synchronous operation chains do not
+     * write to the job tracker cache.
+     */
+    public static final String JOB_TRACKER_ASYNC_ONLY = "gaffer.store.job.tracker.async-only";
+
     public static final String EXECUTOR_SERVICE_THREAD_COUNT = "gaffer.store.job.executor.threads";
     private static final String EXECUTOR_SERVICE_THREAD_COUNT_DEFAULT = "50";
 
+    /**
+     * The maximum number of elements the Sort operation holds in memory before
+     * spilling a sorted run to disk.
+     */
+    public static final String SORT_MAX_RUN_SIZE = "gaffer.store.operation.sort.max-run-size";
+    public static final String SORT_MAX_RUN_SIZE_DEFAULT = "100000";
+
+    /**
+     * The directory the Sort operation spills sorted runs to. Defaults to the
+     * java.io.tmpdir directory.
+     */
+    public static final String SORT_SPILL_DIRECTORY = "gaffer.store.operation.sort.spill-directory";
+
+    /**
+     * The maximum number of aggregated groups held in memory by
+     * {@link uk.gov.gchq.gaffer.store.util.AggregatorUtil} before partial
+     * aggregates are spilled to disk.
+     */
+    public static final String AGGREGATION_MAX_GROUPS_IN_MEMORY = "gaffer.store.aggregation.max-groups-in-memory";
+    public static final String AGGREGATION_MAX_GROUPS_IN_MEMORY_DEFAULT = "100000";
+
+    /**
+     * The maximum number of threads used by
+     * {@link uk.gov.gchq.gaffer.store.util.AggregatorUtil} to aggregate a
+     * large input. The threads are taken from a pool shared by all
+     * aggregations, which has a thread per available processor. Defaults to
+     * the number of available processors.
+     */
+    public static final String AGGREGATION_THREADS = "gaffer.store.aggregation.threads";
+
+    /**
+     * The directory partial aggregates are spilled to. Defaults to the
+     * java.io.tmpdir directory.
+     */
+    public static final String AGGREGATION_SPILL_DIRECTORY = "gaffer.store.aggregation.spill-directory";
+
+    /**
+     * If true, operation chains are rewritten by the
+     * {@link uk.gov.gchq.gaffer.store.optimiser.OperationChainRule}s of the
+     * store. Defaults to false. Chains that count groups are always answered
+     * with GetGroupCounts when the store supports it.
+     */
+    public static final String OPERATION_CHAIN_RULES_ENABLED = "gaffer.store.optimiser.rules.enabled";
+
 
     private Properties props = new Properties();
 
@@ -149,6 +207,22 @@ public class StoreProperties implements Cloneable {
         set(JOB_TRACKER_ENABLED, jobTrackerEnabled.toString());
     }
 
+    public long getJobTrackerRetentionPeriod() {
+        return Long.parseLong(get(JOB_TRACKER_RETENTION_PERIOD, JOB_TRACKER_RETENTION_PERIOD_DEFAULT));
+    }
+
+    public void setJobTrackerRetentionPeriod(final long retentionPeriod) {
+        set(JOB_TRACKER_RETENTION_PERIOD, String.valueOf(retentionPeriod));
+    }
+
+    public Boolean getJobTrackerAsyncOnly() {
+        return Boolean.valueOf(get(JOB_TRACKER_ASYNC_ONLY, "false"));
+    }
+
+    public void setJobTrackerAsyncOnly(final Boolean asyncOnly) {
+        set(JOB_TRACKER_ASYNC_ONLY, asyncOnly.toString());
+    }
+
 
     public String getSchemaClassName() {
         return get(SCHEMA_CLASS, Schema.class.getName());
@@ -205,6 +279,54 @@ public class StoreProperties implements Cloneable {
         return Integer.parseInt(get(EXECUTOR_SERVICE_THREAD_COUNT, EXECUTOR_SERVICE_THREAD_COUNT_DEFAULT));
     }
 
+    public int getSortMaxRunSize() {
+        return Integer.parseInt(get(SORT_MAX_RUN_SIZE, SORT_MAX_RUN_SIZE_DEFAULT));
+    }
+
+    public void setSortMaxRunSize(final int maxRunSize) {
+        set(SORT_MAX_RUN_SIZE, String.valueOf(maxRunSize));
+    }
+
+    public String getSortSpillDirectory() {
+        return get(SORT_SPILL_DIRECTORY);
+    }
+
+    public void setSortSpillDirectory(final String spillDirectory) {
+        set(SORT_SPILL_DIRECTORY, spillDirectory);
+    }
+
+    public int getAggregationMaxGroupsInMemory() {
+        return Integer.parseInt(get(AGGREGATION_MAX_GROUPS_IN_MEMORY, AGGREGATION_MAX_GROUPS_IN_MEMORY_DEFAULT));
+    }
+
+    public void setAggregationMaxGroupsInMemory(final int maxGroupsInMemory) {
+        set(AGGREGATION_MAX_GROUPS_IN_MEMORY, String.valueOf(maxGroupsInMemory));
+    }
+
+    public int getAggregationThreads() {
+        return Integer.parseInt(get(AGGREGATION_THREADS, String.valueOf(Runtime.getRuntime().availableProcessors())));
+    }
+
+    public void setAggregationThreads(final int threads) {
+        set(AGGREGATION_THREADS, String.valueOf(threads));
+    }
+
+    public String getAggregationSpillDirectory() {
+        return get(AGGREGATION_SPILL_DIRECTORY);
+    }
+
+    public void setAggregationSpillDirectory(final String spillDirectory) {
+        set(AGGREGATION_SPILL_DIRECTORY, spillDirectory);
+    }
+
+    public boolean getOperationChainRulesEnabled() {
+        return Boolean.valueOf(get(OPERATION_CHAIN_RULES_ENABLED, "false"));
+    }
+
+    public void setOperationChainRulesEnabled(final boolean enabled) {
+        set(OPERATION_CHAIN_RULES_ENABLED, String.valueOf(enabled));
+    }
+
     public void setOperationDeclarationPaths(final String paths) {
         set(OPERATION_DECLARATIONS, paths);
     }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.operation.handler;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.data.GroupCounts;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.CountAllElements;
+import uk.gov.gchq.gaffer.operation.impl.GetGroupCounts;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+
+/**
+ * Handles {@link CountAllElements} operations. If the store supports
+ * {@link GetGroupCounts} and the view can be counted by the store then the
+ * group counts are summed, otherwise all the elements are retrieved and
+ * counted.
+ */
+public class CountAllElementsHandler implements OutputOperationHandler<CountAllElements, Long> {
+    @Override
+    public Long doOperation(final CountAllElements operation, final Context context, final Store store)
+            throws OperationException {
+        if (store.isSupported(GetGroupCounts.class) && GetGroupCounts.isCountable(operation.getView())) {
+            final GroupCounts groupCounts = store._execute(new OperationChain<>(new GetGroupCounts.Builder()
+                    .view(operation.getView())
+                    .directedType(operation.getDirectedType())
+                    .options(operation.getOptions())
+                    .build()), context);
+            long count = 0;
+            for (final Long groupCount : groupCounts.getEntityGroupCounts().values()) {
+                count += groupCount;
+            }
+            for (final Long groupCount : groupCounts.getEdgeGroupCounts().values()) {
+                count += groupCount;
+            }
+            return count;
+        }
+
+        final CloseableIterable<? extends Element> elements = store._execute(new OperationChain<>(new GetAllElements.Builder()
+                .view(operation.getView())
+                .directedType(operation.getDirectedType())
+                .options(operation.getOptions())
+                .build()), context);
+        try {
+            return Streams.toStream(elements).count();
+        } finally {
+            CloseableUtil.close(elements);
+        }
+    }
+}
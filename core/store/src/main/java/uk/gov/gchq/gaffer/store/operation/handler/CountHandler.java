@@ -15,11 +15,14 @@
  */
 package uk.gov.gchq.gaffer.store.operation.handler;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.Count;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
+import java.util.HashSet;
+import java.util.Set;
 
 public class CountHandler<T> implements OutputOperationHandler<Count<T>, Long> {
 
@@ -29,6 +32,19 @@ public class CountHandler<T> implements OutputOperationHandler<Count<T>, Long> {
         if (null == operation.getInput()) {
             throw new OperationException("Count operation has null iterable of items");
         }
-        return Streams.toStream(operation.getInput()).count();
+        try {
+            if (operation.isDistinct()) {
+                // Unlike ToSet the order of the items is not needed, so a HashSet is used
+                final Set<Object> items = new HashSet<>();
+                for (final Object item : operation.getInput()) {
+                    items.add(item);
+                }
+                return (long) items.size();
+            }
+
+            return Streams.toStream(operation.getInput()).count();
+        } finally {
+            CloseableUtil.close(operation);
+        }
     }
 }
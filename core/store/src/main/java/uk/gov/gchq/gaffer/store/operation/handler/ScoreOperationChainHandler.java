@@ -28,6 +28,9 @@ import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.ScoreOperationChain;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.handler.cost.CostModel;
+import uk.gov.gchq.gaffer.store.operation.handler.cost.FixedScoreCostModel;
+import uk.gov.gchq.gaffer.store.statistics.GraphStatistics;
 import uk.gov.gchq.gaffer.user.User;
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -43,6 +46,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Operation Handler for ScoreOperationChain
@@ -58,6 +62,8 @@ public class ScoreOperationChainHandler implements OutputOperationHandler<ScoreO
 
     private final LinkedHashMap<Class<? extends Operation>, Integer> operationScores = new LinkedHashMap<>();
     private final Map<String, Integer> authScores = new HashMap<>();
+    private final Map<Class<? extends Operation>, Integer> resolvedOperationScores = new ConcurrentHashMap<>();
+    private CostModel costModel = new FixedScoreCostModel();
 
     public ScoreOperationChainHandler() {
         this((String) null, null);
@@ -91,18 +97,32 @@ public class ScoreOperationChainHandler implements OutputOperationHandler<ScoreO
      */
     @Override
     public Integer doOperation(final ScoreOperationChain operation, final Context context, final Store store) throws OperationException {
-        return getChainScore(operation.getOperationChain(), context.getUser());
+        return getChainScore(operation.getOperationChain(), context.getUser(), store.getStatistics());
     }
 
     public int getChainScore(final OperationChain<?> opChain, final User user) {
-        int chainScore = 0;
+        return getChainScore(opChain, user, null);
+    }
 
-        if (null != opChain) {
-            for (final Operation operation : opChain.getOperations()) {
-                chainScore += authorise(operation);
-            }
-        }
-        return chainScore;
+    /**
+     * Scores the OperationChain using the {@link CostModel}, the configured operation scores and any statistics
+     * about the graph.
+     *
+     * @param opChain    the operation chain to score
+     * @param user       the user who will execute the chain
+     * @param statistics the statistics of the graph the chain will be executed on, or null if there are none
+     * @return the score of the chain
+     */
+    public int getChainScore(final OperationChain<?> opChain, final User user, final GraphStatistics statistics) {
+        return costModel.getChainCost(opChain, this::authorise, statistics);
+    }
+
+    public CostModel getCostModel() {
+        return costModel;
+    }
+
+    public void setCostModel(final CostModel costModel) {
+        this.costModel = null != costModel ? costModel : new FixedScoreCostModel();
     }
 
     /**
@@ -130,18 +150,22 @@ public class ScoreOperationChainHandler implements OutputOperationHandler<ScoreO
 
     protected int authorise(final Operation operation) {
         if (null != operation) {
-            final Class<? extends Operation> opClass = operation.getClass();
-            final List<Class<? extends Operation>> keys = new ArrayList<>(operationScores.keySet());
-            for (int i = keys.size() - 1; i >= 0; i--) {
-                final Class<? extends Operation> key = keys.get(i);
-                if (key.isAssignableFrom(opClass)) {
-                    return operationScores.get(key);
-                }
+            // The score of each class is only looked up from the configured class hierarchy once
+            return resolvedOperationScores.computeIfAbsent(operation.getClass(), this::resolveScore);
+        }
+        LOGGER.warn("A Null operation was passed to the OperationChainLimiter graph hook");
+        return DEFAULT_OPERATION_SCORE;
+    }
+
+    private int resolveScore(final Class<? extends Operation> opClass) {
+        final List<Class<? extends Operation>> keys = new ArrayList<>(operationScores.keySet());
+        for (int i = keys.size() - 1; i >= 0; i--) {
+            final Class<? extends Operation> key = keys.get(i);
+            if (key.isAssignableFrom(opClass)) {
+                return operationScores.get(key);
             }
-            LOGGER.warn("The operation '{}' was not found in the config file provided the configured default value of {} will be used", operation.getClass().getName(), DEFAULT_OPERATION_SCORE);
-        } else {
-            LOGGER.warn("A Null operation was passed to the OperationChainLimiter graph hook");
         }
+        LOGGER.warn("The operation '{}' was not found in the config file provided the configured default value of {} will be used", opClass.getName(), DEFAULT_OPERATION_SCORE);
         return DEFAULT_OPERATION_SCORE;
     }
 
@@ -192,6 +216,7 @@ public class ScoreOperationChainHandler implements OutputOperationHandler<ScoreO
         }
         operationScores.clear();
         operationScores.putAll(opScores);
+        resolvedOperationScores.clear();
 
         Map<String, Integer> authScores = new HashMap<>();
         for (final Map.Entry<String, String> authScoreEntry : operationAuthorisationScoreLimitEntries.entrySet()) {
@@ -250,6 +275,7 @@ public class ScoreOperationChainHandler implements OutputOperationHandler<ScoreO
     public static final class Builder {
         private String authScoresFileName;
         private String operationScoresFileName;
+        private CostModel costModel;
 
         public Builder authScoresFileName(final String authScoresFileKey) {
             this.authScoresFileName = authScoresFileKey;
@@ -261,8 +287,15 @@ public class ScoreOperationChainHandler implements OutputOperationHandler<ScoreO
             return this;
         }
 
+        public Builder costModel(final CostModel costModel) {
+            this.costModel = costModel;
+            return this;
+        }
+
         public ScoreOperationChainHandler build() throws OperationException {
-            return new ScoreOperationChainHandler(operationScoresFileName, authScoresFileName);
+            final ScoreOperationChainHandler handler = new ScoreOperationChainHandler(operationScoresFileName, authScoresFileName);
+            handler.setCostModel(costModel);
+            return handler;
         }
     }
 }
@@ -0,0 +1,312 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.operation.handler.compare;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.stream.GafferCollectors;
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.store.StoreProperties;
+import uk.gov.gchq.gaffer.store.util.SpillFile;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * An external merge sort. The input is read into runs of at most maxRunSize
+ * items, and each run is sorted in memory. If the input fits into a single
+ * run it is returned directly; otherwise each full run is serialised to a
+ * temporary file in the spill directory and the runs are merged lazily as the
+ * returned {@link CloseableIterable} is consumed. Only one run and a single
+ * item from each spilled run are held in memory at once.
+ * <p>
+ * Unlike a {@link java.util.TreeSet}, items that compare as equal are all
+ * kept, in the order they were read.
+ * <p>
+ * Spilled runs are deleted when the returned {@link CloseableIterable} is
+ * closed, or if sorting fails, so it must be closed once it is no longer
+ * required.
+ *
+ * @param <T> the type of items to sort
+ */
+public class ExternalSort<T> {
+    public static final int DEFAULT_MAX_RUN_SIZE = Integer.parseInt(StoreProperties.SORT_MAX_RUN_SIZE_DEFAULT);
+
+    private final Class<T> itemClass;
+    private final Comparator<T> comparator;
+    private final int maxRunSize;
+    private final File spillDirectory;
+    private final JSONSerialiser serialiser = new JSONSerialiser();
+
+    /**
+     * @param itemClass      the class of the items, used to deserialise spilled items
+     * @param comparator     the comparator to sort with
+     * @param maxRunSize     the maximum number of items to hold in memory
+     * @param spillDirectory the directory to spill runs to, or null to use the default temporary directory
+     */
+    public ExternalSort(final Class<T> itemClass, final Comparator<T> comparator,
+                        final int maxRunSize, final File spillDirectory) {
+        if (maxRunSize < 1) {
+            throw new IllegalArgumentException("Max run size should be more than 0");
+        }
+        this.itemClass = itemClass;
+        this.comparator = comparator;
+        this.maxRunSize = maxRunSize;
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * Sorts the input. Null items are skipped.
+     *
+     * @param input the items to sort
+     * @return the sorted items
+     * @throws IOException if a run could not be spilled to disk
+     */
+    public CloseableIterable<T> sort(final Iterable<? extends T> input) throws IOException {
+        final List<SpillFile<T>> runs = new ArrayList<>();
+        List<T> run = new ArrayList<>();
+        try {
+            for (final T item : input) {
+                if (null == item) {
+                    continue;
+                }
+                run.add(item);
+                if (run.size() >= maxRunSize) {
+                    // List.sort is stable, so equal items stay in input order
+                    run.sort(comparator);
+                    runs.add(spill(run));
+                    run = new ArrayList<>();
+                }
+            }
+        } catch (final IOException | RuntimeException e) {
+            deleteRuns(runs);
+            throw e;
+        }
+
+        run.sort(comparator);
+        if (runs.isEmpty()) {
+            return new WrappedCloseableIterable<>(run);
+        }
+        return new MergedRuns(runs, run);
+    }
+
+    /**
+     * Returns the first limit items of the sorted input. The input is read
+     * in order into a {@link uk.gov.gchq.gaffer.commonutil.collection.TopNHeap},
+     * or with a single linear scan if the limit is 1, so at most limit items
+     * are held in memory and, as with {@link #sort(Iterable)}, items that
+     * compare as equal are returned in the order they were read. Null items
+     * are skipped.
+     *
+     * @param input the items to sort
+     * @param limit the maximum number of items to return
+     * @return the first limit sorted items
+     */
+    public CloseableIterable<T> top(final Iterable<? extends T> input, final int limit) {
+        if (1 == limit) {
+            return first(input);
+        }
+        final List<T> result = Streams.toStream((Iterable<T>) input)
+                .filter(item -> null != item)
+                .collect(GafferCollectors.toTopN(comparator, limit));
+        return new WrappedCloseableIterable<>(result);
+    }
+
+    private CloseableIterable<T> first(final Iterable<? extends T> input) {
+        T first = null;
+        for (final T item : input) {
+            if (null != item && (null == first || comparator.compare(item, first) < 0)) {
+                first = item;
+            }
+        }
+        return new WrappedCloseableIterable<>(null == first ? Collections.emptyList() : Collections.singletonList(first));
+    }
+
+    private SpillFile<T> spill(final List<T> run) throws IOException {
+        final SpillFile<T> file = new SpillFile<>(itemClass, spillDirectory, serialiser);
+        try {
+            for (final T item : run) {
+                file.write(item);
+            }
+            file.finishWriting();
+        } catch (final IOException | RuntimeException e) {
+            file.delete();
+            throw e;
+        }
+        return file;
+    }
+
+    private static void deleteRuns(final List<? extends SpillFile<?>> runs) {
+        for (final SpillFile<?> run : runs) {
+            run.delete();
+        }
+    }
+
+    /**
+     * The spilled runs and the final in-memory run, merged lazily.
+     */
+    private final class MergedRuns implements CloseableIterable<T> {
+        private final List<SpillFile<T>> spilledRuns;
+        private final List<T> lastRun;
+        private final List<MergeIterator> iterators = new ArrayList<>();
+
+        private MergedRuns(final List<SpillFile<T>> spilledRuns, final List<T> lastRun) {
+            this.spilledRuns = spilledRuns;
+            this.lastRun = lastRun;
+        }
+
+        @Override
+        public CloseableIterator<T> iterator() {
+            final List<RunReader> readers = new ArrayList<>(spilledRuns.size() + 1);
+            try {
+                for (final SpillFile<T> run : spilledRuns) {
+                    readers.add(new FileRunReader(run.read()));
+                }
+            } catch (final IOException e) {
+                for (final RunReader reader : readers) {
+                    reader.close();
+                }
+                throw new RuntimeException("Unable to read sorted run", e);
+            }
+            // The in-memory run is read last, as its items were read last
+            readers.add(new ListRunReader(lastRun));
+
+            final MergeIterator iterator = new MergeIterator(readers);
+            iterators.add(iterator);
+            return iterator;
+        }
+
+        @Override
+        public void close() {
+            for (final MergeIterator iterator : iterators) {
+                iterator.close();
+            }
+            iterators.clear();
+            deleteRuns(spilledRuns);
+        }
+    }
+
+    /**
+     * A k-way merge of sorted runs. Items that compare as equal are returned
+     * in run order, so the merge is stable.
+     */
+    private final class MergeIterator implements CloseableIterator<T> {
+        private final List<RunReader> readers;
+        private final PriorityQueue<RunReader> queue;
+
+        private MergeIterator(final List<RunReader> readers) {
+            this.readers = readers;
+            this.queue = new PriorityQueue<>(readers.size(), (first, second) -> {
+                final int result = comparator.compare(first.current, second.current);
+                return 0 != result ? result : Integer.compare(first.index, second.index);
+            });
+            for (int i = 0; i < readers.size(); i++) {
+                final RunReader reader = readers.get(i);
+                reader.index = i;
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !queue.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            final RunReader reader = queue.poll();
+            if (null == reader) {
+                throw new NoSuchElementException();
+            }
+            final T item = reader.current;
+            if (reader.advance()) {
+                queue.add(reader);
+            }
+            return item;
+        }
+
+        @Override
+        public void close() {
+            queue.clear();
+            for (final RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private abstract class RunReader {
+        private T current;
+        private int index;
+
+        /**
+         * @return true if the reader has moved on to the next item
+         */
+        boolean advance() {
+            current = readNext();
+            return null != current;
+        }
+
+        abstract T readNext();
+
+        abstract void close();
+    }
+
+    private final class ListRunReader extends RunReader {
+        private final List<T> items;
+        private int position;
+
+        private ListRunReader(final List<T> items) {
+            this.items = items;
+        }
+
+        @Override
+        T readNext() {
+            return position < items.size() ? items.get(position++) : null;
+        }
+
+        @Override
+        void close() {
+            position = items.size();
+        }
+    }
+
+    private final class FileRunReader extends RunReader {
+        private final CloseableIterator<T> items;
+
+        private FileRunReader(final CloseableIterator<T> items) {
+            this.items = items;
+        }
+
+        @Override
+        T readNext() {
+            return items.hasNext() ? items.next() : null;
+        }
+
+        @Override
+        void close() {
+            items.close();
+        }
+    }
+}
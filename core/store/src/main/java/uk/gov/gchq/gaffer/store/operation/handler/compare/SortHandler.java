@@ -16,15 +16,15 @@
 package uk.gov.gchq.gaffer.store.operation.handler.compare;
 
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
-import uk.gov.gchq.gaffer.commonutil.stream.GafferCollectors;
-import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
-import java.util.stream.Stream;
+import java.io.File;
+import java.io.IOException;
 
 public class SortHandler implements OutputOperationHandler<Sort, Iterable<? extends Element>> {
     @Override
@@ -36,25 +36,31 @@ public class SortHandler implements OutputOperationHandler<Sort, Iterable<? exte
             return null;
         }
 
-        try (Stream<? extends Element> stream =
-                     Streams.toStream(operation.getInput())
-                             .filter(e -> null != e)) {
+        final ExternalSort<Element> sorter = createSorter(operation, store);
+        try {
             if (null == operation.getResultLimit()) {
-                return stream.collect(
-                        GafferCollectors.toSortedSet(
-                                operation.getCombinedComparator()
-                        )
-                );
+                return sorter.sort(operation.getInput());
             }
 
-            return stream.collect(
-                    GafferCollectors.toLimitedSortedSet(
-                            operation.getCombinedComparator(),
-                            operation.getResultLimit()
-                    )
-            );
+            return sorter.top(operation.getInput(), operation.getResultLimit());
+        } catch (final IOException e) {
+            throw new OperationException("Unable to sort the input", e);
         } finally {
             CloseableUtil.close(operation);
         }
     }
+
+    private ExternalSort<Element> createSorter(final Sort operation, final Store store) {
+        int maxRunSize = ExternalSort.DEFAULT_MAX_RUN_SIZE;
+        File spillDirectory = null;
+        if (null != store && null != store.getProperties()) {
+            final StoreProperties properties = store.getProperties();
+            maxRunSize = properties.getSortMaxRunSize();
+            if (null != properties.getSortSpillDirectory()) {
+                spillDirectory = new File(properties.getSortSpillDirectory());
+            }
+        }
+
+        return new ExternalSort<>(Element.class, operation.getCombinedComparator(), maxRunSize, spillDirectory);
+    }
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.operation.handler.cost;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.store.statistics.GraphStatistics;
+import java.util.function.ToIntFunction;
+
+/**
+ * A CostModel estimates the cost of executing an {@link OperationChain}. It is used by the
+ * {@link uk.gov.gchq.gaffer.store.operation.handler.ScoreOperationChainHandler} to score chains, so that users can be
+ * prevented from running chains that are too expensive.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY, property = "class")
+public interface CostModel {
+    /**
+     * Estimates the cost of an operation chain.
+     *
+     * @param opChain         the operation chain to estimate
+     * @param operationScores the configured score of each operation, this is the cost of running the operation once
+     *                        on a small input
+     * @param statistics      statistics about the graph the chain will be run on, or null if there are none
+     * @return the estimated cost of the chain
+     */
+    int getChainCost(final OperationChain<?> opChain, final ToIntFunction<Operation> operationScores, final GraphStatistics statistics);
+}
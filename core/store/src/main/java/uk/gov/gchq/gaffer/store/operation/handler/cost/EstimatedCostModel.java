@@ -0,0 +1,224 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.operation.handler.cost;
+
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.io.Input;
+import uk.gov.gchq.gaffer.store.statistics.GraphStatistics;
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * An EstimatedCostModel scales the configured score of each operation by an estimate of the number of items the
+ * operation will process.
+ * <p>
+ * The number of items flowing through the chain is tracked from operation to operation:
+ * <ul>
+ * <li>an operation with a provided input processes the size of that input, if it is a collection or an array;</li>
+ * <li>{@link uk.gov.gchq.gaffer.operation.impl.get.GetAllElements} returns the number of elements in the groups of
+ * its view, according to the {@link GraphStatistics};</li>
+ * <li>seeded operations, such as {@link uk.gov.gchq.gaffer.operation.impl.get.GetElements}, return the average number
+ * of elements per vertex in the groups of their view for each seed;</li>
+ * <li>a {@link Limit} caps the number of items, and as results are returned lazily it also caps the number of items
+ * the operation before it has to read;</li>
+ * <li>any other operation returns as many items as it is given.</li>
+ * </ul>
+ * Each group in a view with filters is assumed to let through the filterSelectivity fraction of its elements.
+ * An operation scores its configured score multiplied by the number of items it processes divided by
+ * itemsPerScoreUnit, rounded up, and always scores at least its configured score. If a size cannot be estimated,
+ * for example there are no statistics, the operation scores its configured score.
+ */
+public class EstimatedCostModel implements CostModel {
+    public static final long DEFAULT_ITEMS_PER_SCORE_UNIT = 1000L;
+    public static final double DEFAULT_FILTER_SELECTIVITY = 0.5;
+
+    private long itemsPerScoreUnit = DEFAULT_ITEMS_PER_SCORE_UNIT;
+    private double filterSelectivity = DEFAULT_FILTER_SELECTIVITY;
+
+    @Override
+    public int getChainCost(final OperationChain<?> opChain, final ToIntFunction<Operation> operationScores, final GraphStatistics statistics) {
+        if (null == opChain) {
+            return 0;
+        }
+
+        long chainCost = 0;
+        Long items = null;
+        final List<Operation> operations = opChain.getOperations();
+        for (int i = 0; i < operations.size(); i++) {
+            final Operation operation = operations.get(i);
+            final Long inputSize = getInputSize(operation, items);
+            Long outputSize = getOutputSize(operation, inputSize, statistics);
+
+            // The results of an operation are consumed lazily so a following limit stops it early
+            if (i + 1 < operations.size()) {
+                outputSize = min(outputSize, getResultLimit(operations.get(i + 1)));
+            }
+
+            chainCost += getOperationCost(operationScores.applyAsInt(operation), max(inputSize, outputSize));
+            items = outputSize;
+        }
+        return (int) Math.min(chainCost, Integer.MAX_VALUE);
+    }
+
+    public long getItemsPerScoreUnit() {
+        return itemsPerScoreUnit;
+    }
+
+    public void setItemsPerScoreUnit(final long itemsPerScoreUnit) {
+        if (itemsPerScoreUnit < 1) {
+            throw new IllegalArgumentException("itemsPerScoreUnit must be at least 1, got " + itemsPerScoreUnit);
+        }
+        this.itemsPerScoreUnit = itemsPerScoreUnit;
+    }
+
+    public double getFilterSelectivity() {
+        return filterSelectivity;
+    }
+
+    public void setFilterSelectivity(final double filterSelectivity) {
+        if (filterSelectivity < 0 || filterSelectivity > 1) {
+            throw new IllegalArgumentException("filterSelectivity must be between 0 and 1, got " + filterSelectivity);
+        }
+        this.filterSelectivity = filterSelectivity;
+    }
+
+    protected long getOperationCost(final int score, final Long items) {
+        if (null == items || items <= itemsPerScoreUnit) {
+            return score;
+        }
+        final long multiplier = (items + itemsPerScoreUnit - 1) / itemsPerScoreUnit;
+        return multiplier > Long.MAX_VALUE / Math.max(1, score) ? Long.MAX_VALUE : score * multiplier;
+    }
+
+    // Returns the number of items the operation is given, or null if it is unknown
+    private Long getInputSize(final Operation operation, final Long previousOutputSize) {
+        if (operation instanceof Input) {
+            final Object input = ((Input) operation).getInput();
+            if (null != input) {
+                if (input instanceof Collection) {
+                    return (long) ((Collection) input).size();
+                }
+                if (input.getClass().isArray()) {
+                    return (long) Array.getLength(input);
+                }
+                return null;
+            }
+        }
+        return previousOutputSize;
+    }
+
+    // Returns the number of items the operation returns, or null if it is unknown
+    private Long getOutputSize(final Operation operation, final Long inputSize, final GraphStatistics statistics) {
+        if (operation instanceof Limit) {
+            return min(inputSize, ((Limit) operation).getResultLimit());
+        }
+        if (operation instanceof SeededGraphFilters) {
+            if (null == inputSize) {
+                return null;
+            }
+            final Double elementsPerSeed = getElementsPerSeed(((SeededGraphFilters) operation).getView(), statistics);
+            return null == elementsPerSeed ? inputSize : (long) Math.ceil(inputSize * elementsPerSeed);
+        }
+        if (operation instanceof GraphFilters) {
+            return getSelectedElementCount(((GraphFilters) operation).getView(), statistics);
+        }
+        return inputSize;
+    }
+
+    private Long getSelectedElementCount(final View view, final GraphStatistics statistics) {
+        if (null == statistics) {
+            return null;
+        }
+        double count = 0;
+        for (final String group : getGroups(view, statistics)) {
+            final Long groupCount = statistics.getElementCount(group);
+            if (null != groupCount) {
+                count += groupCount * getGroupSelectivity(view, group);
+            }
+        }
+        return (long) Math.ceil(count);
+    }
+
+    private Double getElementsPerSeed(final View view, final GraphStatistics statistics) {
+        if (null == statistics || null == statistics.getVertexCount() || statistics.getVertexCount() < 1) {
+            return null;
+        }
+        double elementsPerSeed = 0;
+        for (final String group : getGroups(view, statistics)) {
+            final Long groupCount = statistics.getElementCount(group);
+            if (null != groupCount) {
+                // Each edge is found from both its source and its destination
+                final long lookups = statistics.isEdgeGroup(group) ? 2 * groupCount : groupCount;
+                elementsPerSeed += lookups * getGroupSelectivity(view, group) / statistics.getVertexCount();
+            }
+        }
+        return elementsPerSeed;
+    }
+
+    private Set<String> getGroups(final View view, final GraphStatistics statistics) {
+        if (null == view) {
+            final Set<String> groups = new HashSet<>(statistics.getEntityGroups());
+            groups.addAll(statistics.getEdgeGroups());
+            return groups;
+        }
+        return view.getGroups();
+    }
+
+    private double getGroupSelectivity(final View view, final String group) {
+        if (null != view) {
+            final ViewElementDefinition elementDef = view.getElement(group);
+            if (null != elementDef && (null != elementDef.getPreAggregationFilter()
+                    || null != elementDef.getPostAggregationFilter()
+                    || null != elementDef.getPostTransformFilter())) {
+                return filterSelectivity;
+            }
+        }
+        return 1;
+    }
+
+    private static Long getResultLimit(final Operation operation) {
+        return operation instanceof Limit ? toLong(((Limit) operation).getResultLimit()) : null;
+    }
+
+    private static Long min(final Long a, final Number b) {
+        final Long bLong = toLong(b);
+        if (null == a) {
+            return bLong;
+        }
+        return null == bLong ? a : Math.min(a, bLong);
+    }
+
+    private static Long max(final Long a, final Long b) {
+        if (null == a) {
+            return b;
+        }
+        return null == b ? a : Math.max(a, b);
+    }
+
+    private static Long toLong(final Number number) {
+        return null == number ? null : number.longValue();
+    }
+}
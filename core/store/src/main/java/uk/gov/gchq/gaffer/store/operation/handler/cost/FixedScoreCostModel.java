@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.operation.handler.cost;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.store.statistics.GraphStatistics;
+import java.util.function.ToIntFunction;
+
+/**
+ * A FixedScoreCostModel scores a chain as the sum of the configured scores of its operations, ignoring the size of
+ * the inputs and the graph.
+ */
+public class FixedScoreCostModel implements CostModel {
+    @Override
+    public int getChainCost(final OperationChain<?> opChain, final ToIntFunction<Operation> operationScores, final GraphStatistics statistics) {
+        int chainScore = 0;
+        if (null != opChain) {
+            for (final Operation operation : opChain.getOperations()) {
+                chainScore += operationScores.applyAsInt(operation);
+            }
+        }
+        return chainScore;
+    }
+}
@@ -31,6 +31,16 @@ public class GetAllJobDetailsHandler implements OutputOperationHandler<GetAllJob
             throw new OperationException("The Job Tracker has not been configured");
         }
 
-        return store.getJobTracker().getAllJobs(context.getUser());
+        final int offset = null != operation.getOffset() ? operation.getOffset() : 0;
+        final int limit = null != operation.getLimit() ? operation.getLimit() : 0;
+        if (0 == offset && 0 == limit) {
+            return store.getJobTracker().getAllJobs(context.getUser());
+        }
+
+        try {
+            return store.getJobTracker().getJobs(context.getUser(), offset, limit > 0 ? limit : null);
+        } catch (final IllegalArgumentException e) {
+            throw new OperationException(e.getMessage(), e);
+        }
     }
 }
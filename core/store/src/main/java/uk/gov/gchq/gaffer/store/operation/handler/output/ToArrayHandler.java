@@ -17,6 +17,7 @@ package uk.gov.gchq.gaffer.store.operation.handler.output;
 
 import com.google.common.collect.Iterables;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
@@ -37,9 +38,17 @@ import java.util.HashSet;
 import java.util.Set;
 
 public class ToArrayHandler<T> implements OutputOperationHandler<ToArray<T>, T[]> {
-    @SuppressFBWarnings(value = "PZLA_PREFER_ZERO_LENGTH_ARRAYS")
     @Override
     public T[] doOperation(final ToArray<T> operation, final Context context, final Store store) throws OperationException {
+        try {
+            return toArray(operation);
+        } finally {
+            CloseableUtil.close(operation);
+        }
+    }
+
+    @SuppressFBWarnings(value = "PZLA_PREFER_ZERO_LENGTH_ARRAYS")
+    private T[] toArray(final ToArray<T> operation) {
         if (null == operation.getInput() || Iterables.isEmpty(operation.getInput())) {
             return null;
         }
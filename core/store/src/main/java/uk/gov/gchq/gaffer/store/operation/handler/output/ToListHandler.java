@@ -15,6 +15,7 @@
  */
 package uk.gov.gchq.gaffer.store.operation.handler.output;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.output.ToList;
@@ -31,7 +32,11 @@ public class ToListHandler<T> implements OutputOperationHandler<ToList<T>, List<
             return null;
         }
 
-        return Streams.toStream(operation.getInput())
-                      .collect(Collectors.toList());
+        try {
+            return Streams.toStream(operation.getInput())
+                          .collect(Collectors.toList());
+        } finally {
+            CloseableUtil.close(operation);
+        }
     }
 }
@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler.output;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.stream.GafferCollectors;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.operation.OperationException;
@@ -37,7 +38,11 @@ public class ToSetHandler<T> implements OutputOperationHandler<ToSet<T>, Set<? e
             return null;
         }
 
-        return Streams.toStream(operation.getInput())
-                      .collect(GafferCollectors.toLinkedHashSet());
+        try {
+            return Streams.toStream(operation.getInput())
+                          .collect(GafferCollectors.toLinkedHashSet());
+        } finally {
+            CloseableUtil.close(operation);
+        }
     }
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import java.util.List;
+
+/**
+ * An <code>OperationChainRule</code> rewrites a pair of adjacent operations in
+ * an operation chain into a cheaper equivalent. Rules are applied by the
+ * {@link RuleBasedOperationChainOptimiser}.
+ * <p>
+ * A rule may modify the operations directly.
+ */
+public interface OperationChainRule {
+    /**
+     * Rewrites a pair of adjacent operations. The output of op is the input of
+     * nextOp, unless nextOp has been given its own input.
+     *
+     * @param op     the operation
+     * @param nextOp the next operation in the chain
+     * @return the operations to replace op and nextOp with, or null if the
+     * rule does not apply to the operations.
+     */
+    List<Operation> rewrite(final Operation op, final Operation nextOp);
+}
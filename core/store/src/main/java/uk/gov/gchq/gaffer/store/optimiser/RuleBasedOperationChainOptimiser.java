@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A <code>RuleBasedOperationChainOptimiser</code> applies
+ * {@link OperationChainRule}s to each pair of adjacent operations in an
+ * operation chain. After a rule has rewritten a pair, the rules are applied
+ * again from the operation before the pair, so the result of one rule can be
+ * rewritten by another. This continues until no rule applies.
+ * <p>
+ * Each rewrite is traced with {@link #onRewrite(OperationChainRule, List, List)},
+ * which logs the rule and operations at debug level.
+ */
+public class RuleBasedOperationChainOptimiser implements OperationChainOptimiser {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RuleBasedOperationChainOptimiser.class);
+
+    /**
+     * The maximum number of rewrites applied to a single operation chain, to
+     * protect against rules that undo each other.
+     */
+    public static final int MAX_REWRITES = 100;
+
+    private final List<OperationChainRule> rules;
+
+    public RuleBasedOperationChainOptimiser(final List<OperationChainRule> rules) {
+        this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+    }
+
+    public List<OperationChainRule> getRules() {
+        return rules;
+    }
+
+    @Override
+    public <O> OperationChain<O> optimise(final OperationChain<O> operationChain) {
+        final List<Operation> ops = new ArrayList<>(operationChain.getOperations());
+        int numRewrites = 0;
+        int index = 0;
+        while (index < ops.size() - 1) {
+            final List<Operation> rewrittenOps = rewrite(ops.get(index), ops.get(index + 1));
+            if (null == rewrittenOps) {
+                index++;
+            } else {
+                ops.subList(index, index + 2).clear();
+                ops.addAll(index, rewrittenOps);
+                numRewrites++;
+                if (numRewrites >= MAX_REWRITES) {
+                    LOGGER.warn("Stopped optimising operation chain after {} rewrites", numRewrites);
+                    break;
+                }
+                index = Math.max(0, index - 1);
+            }
+        }
+
+        if (0 == numRewrites) {
+            return operationChain;
+        }
+        return new OperationChain<>(ops);
+    }
+
+    /**
+     * Called each time a rule rewrites a pair of operations.
+     *
+     * @param rule         the rule that was applied
+     * @param ops          the pair of operations that were rewritten
+     * @param rewrittenOps the operations they were rewritten to
+     */
+    protected void onRewrite(final OperationChainRule rule, final List<Operation> ops, final List<Operation> rewrittenOps) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Operation chain rule {} rewrote {} to {}",
+                    rule.getClass().getSimpleName(), toClassNames(ops), toClassNames(rewrittenOps));
+        }
+    }
+
+    private List<Operation> rewrite(final Operation op, final Operation nextOp) {
+        for (final OperationChainRule rule : rules) {
+            final List<Operation> rewrittenOps = rule.rewrite(op, nextOp);
+            if (null != rewrittenOps) {
+                onRewrite(rule, Arrays.asList(op, nextOp), rewrittenOps);
+                return rewrittenOps;
+            }
+        }
+        return null;
+    }
+
+    private static List<String> toClassNames(final List<Operation> ops) {
+        return ops.stream()
+                .map(op -> op.getClass().getSimpleName())
+                .collect(Collectors.toList());
+    }
+}
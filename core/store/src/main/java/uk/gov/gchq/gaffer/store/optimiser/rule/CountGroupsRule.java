@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.optimiser.rule;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.CountAllElements;
+import uk.gov.gchq.gaffer.operation.impl.CountGroups;
+import uk.gov.gchq.gaffer.operation.impl.GetGroupCounts;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.optimiser.OperationChainRule;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Rewrites <code>GetAllElements -&gt; CountGroups</code> to
+ * {@link GetGroupCounts} and <code>GetAllElements -&gt; Count</code> to
+ * {@link CountAllElements}, so that stores that can count elements without
+ * retrieving them do not have to send every element to the client.
+ * <p>
+ * The chain is only rewritten if the CountGroups has no limit, the Count is
+ * not distinct, the view of the GetAllElements can be counted by the store (see
+ * {@link GetGroupCounts#isCountable(uk.gov.gchq.gaffer.data.elementdefinition.view.View)})
+ * and the operations are not given their own input.
+ * This rule is added by the {@link uk.gov.gchq.gaffer.store.Store} if the
+ * store supports {@link GetGroupCounts}.
+ */
+public class CountGroupsRule implements OperationChainRule {
+    @Override
+    public List<Operation> rewrite(final Operation op, final Operation nextOp) {
+        if (!(op instanceof GetAllElements)) {
+            return null;
+        }
+
+        final GetAllElements getAllElements = (GetAllElements) op;
+        if (!GetGroupCounts.isCountable(getAllElements.getView())) {
+            return null;
+        }
+
+        if (nextOp instanceof CountGroups) {
+            final CountGroups countGroups = (CountGroups) nextOp;
+            if (null != countGroups.getLimit() || null != countGroups.getInput()) {
+                return null;
+            }
+            return Collections.singletonList(new GetGroupCounts.Builder()
+                    .view(getAllElements.getView())
+                    .directedType(getAllElements.getDirectedType())
+                    .options(getAllElements.getOptions())
+                    .build());
+        }
+
+        if (nextOp instanceof Count) {
+            final Count count = (Count) nextOp;
+            if (count.isDistinct() || null != count.getInput()) {
+                return null;
+            }
+            return Collections.singletonList(new CountAllElements.Builder()
+                    .view(getAllElements.getView())
+                    .directedType(getAllElements.getDirectedType())
+                    .options(getAllElements.getOptions())
+                    .build());
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.optimiser.rule;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
+import uk.gov.gchq.gaffer.store.optimiser.OperationChainRule;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Rewrites <code>ToSet -&gt; Count</code> to a distinct {@link Count}, which
+ * counts the distinct items as they are streamed, without first building an
+ * ordered set of the items.
+ */
+public class DistinctCountRule implements OperationChainRule {
+    @Override
+    public List<Operation> rewrite(final Operation op, final Operation nextOp) {
+        if (!(op instanceof ToSet) || Count.class != nextOp.getClass()) {
+            return null;
+        }
+
+        final Count count = (Count) nextOp;
+        if (null != count.getInput()) {
+            return null;
+        }
+
+        // The Count may be reused by the caller, so a distinct copy is returned rather than modifying it.
+        final Count<Object> distinctCount = new Count.Builder<>()
+                .distinct(true)
+                .build();
+        distinctCount.setInput(((ToSet<?>) op).getInput());
+        return Collections.singletonList(distinctCount);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.optimiser.rule;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.Options;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.optimiser.OperationChainRule;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pushes the result limit of a {@link Limit} that follows a
+ * {@link GetElements}, {@link GetAllElements} or {@link GetAdjacentIds} into
+ * the retrieval operation, as the {@link #RESULT_LIMIT_HINT} option.
+ * <p>
+ * The option is only a hint: the Limit is kept, so stores that ignore the hint
+ * still return the correct results. Stores can use the hint to avoid reading
+ * ahead of the limit, for example by not prefetching further batches of
+ * results.
+ */
+public class LimitPushdownRule implements OperationChainRule {
+    /**
+     * The option set on a retrieval operation when only the first results up
+     * to this number are going to be used.
+     */
+    public static final String RESULT_LIMIT_HINT = "gaffer.operation.result.limit.hint";
+
+    @Override
+    public List<Operation> rewrite(final Operation op, final Operation nextOp) {
+        if (!(GetElements.class == op.getClass() || GetAllElements.class == op.getClass() || GetAdjacentIds.class == op.getClass())
+                || !(nextOp instanceof Limit)) {
+            return null;
+        }
+
+        final Limit limit = (Limit) nextOp;
+        if (null == limit.getResultLimit() || null != limit.getInput()) {
+            return null;
+        }
+
+        final Integer currentHint = getResultLimitHint((Options) op);
+        if (null != currentHint && currentHint <= limit.getResultLimit()) {
+            return null;
+        }
+
+        return Arrays.asList(copyWithResultLimitHint(op, String.valueOf(limit.getResultLimit())), nextOp);
+    }
+
+    /**
+     * @param operation the operation
+     * @return the result limit hint of the operation, or null if it does not
+     * have one.
+     */
+    public static Integer getResultLimitHint(final Options operation) {
+        final String hint = operation.getOption(RESULT_LIMIT_HINT);
+        return null != hint ? Integer.valueOf(hint) : null;
+    }
+
+    // The operation may be reused by the caller, so the hint is added to a copy rather than the operation itself.
+    private static Operation copyWithResultLimitHint(final Operation op, final String hint) {
+        if (op instanceof GetElements) {
+            final GetElements getElements = (GetElements) op;
+            return new GetElements.Builder()
+                    .input(getElements.getInput())
+                    .view(getElements.getView())
+                    .directedType(getElements.getDirectedType())
+                    .inOutType(getElements.getIncludeIncomingOutGoing())
+                    .seedMatching(getElements.getSeedMatching())
+                    .options(getElements.getOptions())
+                    .option(RESULT_LIMIT_HINT, hint)
+                    .build();
+        }
+
+        if (op instanceof GetAdjacentIds) {
+            final GetAdjacentIds getAdjacentIds = (GetAdjacentIds) op;
+            return new GetAdjacentIds.Builder()
+                    .input(getAdjacentIds.getInput())
+                    .view(getAdjacentIds.getView())
+                    .directedType(getAdjacentIds.getDirectedType())
+                    .inOutType(getAdjacentIds.getIncludeIncomingOutGoing())
+                    .options(getAdjacentIds.getOptions())
+                    .option(RESULT_LIMIT_HINT, hint)
+                    .build();
+        }
+
+        final GetAllElements getAllElements = (GetAllElements) op;
+        return new GetAllElements.Builder()
+                .view(getAllElements.getView())
+                .directedType(getAllElements.getDirectedType())
+                .options(getAllElements.getOptions())
+                .option(RESULT_LIMIT_HINT, hint)
+                .build();
+    }
+}
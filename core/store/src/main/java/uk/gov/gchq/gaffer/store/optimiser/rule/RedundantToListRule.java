@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.optimiser.rule;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.CountGroups;
+import uk.gov.gchq.gaffer.operation.impl.compare.Max;
+import uk.gov.gchq.gaffer.operation.impl.compare.Min;
+import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
+import uk.gov.gchq.gaffer.operation.impl.output.ToArray;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
+import uk.gov.gchq.gaffer.operation.io.Input;
+import uk.gov.gchq.gaffer.store.optimiser.OperationChainRule;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Removes a {@link ToList} that is followed by an operation that reads its
+ * input once and does not return it lazily, e.g. <code>ToList -&gt; Count</code>.
+ * Copying the items into a list first would only use memory.
+ */
+public class RedundantToListRule implements OperationChainRule {
+    private static final List<Class<? extends Operation>> SINGLE_PASS_OPERATIONS = Arrays.asList(
+            ToList.class,
+            ToSet.class,
+            ToArray.class,
+            Count.class,
+            CountGroups.class,
+            Sort.class,
+            Max.class,
+            Min.class
+    );
+
+    @Override
+    public List<Operation> rewrite(final Operation op, final Operation nextOp) {
+        if (!(op instanceof ToList) || !SINGLE_PASS_OPERATIONS.contains(nextOp.getClass())) {
+            return null;
+        }
+
+        if (null != ((Input) nextOp).getInput()) {
+            return null;
+        }
+
+        return Collections.singletonList(copyWithInput(nextOp, ((ToList) op).getInput()));
+    }
+
+    // The operation may be reused by the caller, so the input is set on a copy rather than the operation itself.
+    @SuppressWarnings("unchecked")
+    private static Operation copyWithInput(final Operation op, final Iterable input) {
+        final Input copy;
+        if (op instanceof Count) {
+            final Count count = new Count();
+            count.setDistinct(((Count) op).isDistinct());
+            copy = count;
+        } else if (op instanceof CountGroups) {
+            final CountGroups countGroups = new CountGroups();
+            countGroups.setLimit(((CountGroups) op).getLimit());
+            copy = countGroups;
+        } else if (op instanceof Sort) {
+            final Sort sort = new Sort();
+            sort.setComparators(((Sort) op).getComparators());
+            sort.setResultLimit(((Sort) op).getResultLimit());
+            copy = sort;
+        } else if (op instanceof Max) {
+            final Max max = new Max();
+            max.setComparators(((Max) op).getComparators());
+            copy = max;
+        } else if (op instanceof Min) {
+            final Min min = new Min();
+            min.setComparators(((Min) op).getComparators());
+            copy = min;
+        } else if (op instanceof ToSet) {
+            copy = new ToSet();
+        } else if (op instanceof ToArray) {
+            copy = new ToArray();
+        } else {
+            copy = new ToList();
+        }
+
+        copy.setInput(input);
+        return copy;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.optimiser.rule;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.CountGroups;
+import uk.gov.gchq.gaffer.operation.impl.DiscardOutput;
+import uk.gov.gchq.gaffer.operation.impl.output.ToArray;
+import uk.gov.gchq.gaffer.operation.impl.output.ToEntitySeeds;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
+import uk.gov.gchq.gaffer.operation.impl.output.ToStream;
+import uk.gov.gchq.gaffer.operation.impl.output.ToVertices;
+import uk.gov.gchq.gaffer.store.optimiser.OperationChainRule;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Removes an operation whose output is discarded by a following
+ * {@link DiscardOutput}. For example <code>GetElements -&gt; ToList -&gt;
+ * DiscardOutput</code> is rewritten to <code>GetElements -&gt;
+ * DiscardOutput</code>, so the elements are not copied into a list.
+ * <p>
+ * Only operations that just convert their input, and so cannot fail or have
+ * side effects, are removed. Retrievals are kept, as they may fail, for
+ * example if the view is invalid, and so are operations such as <code>Sort</code>
+ * or <code>Limit</code>, whose functions or arguments may cause them to fail.
+ * <p>
+ * Operations are not removed before other operations that ignore their input,
+ * as the rewritten chain would then fail validation if it is passed on to
+ * another store, e.g. by a proxy store.
+ */
+public class UnusedOutputRule implements OperationChainRule {
+    private static final List<Class<? extends Operation>> REMOVABLE_OPERATIONS = Arrays.asList(
+            CountGroups.class,
+            ToList.class,
+            ToSet.class,
+            ToArray.class,
+            ToStream.class,
+            ToVertices.class,
+            ToEntitySeeds.class,
+            DiscardOutput.class
+    );
+
+    @Override
+    public List<Operation> rewrite(final Operation op, final Operation nextOp) {
+        if (!REMOVABLE_OPERATIONS.contains(op.getClass()) || !(nextOp instanceof DiscardOutput)) {
+            return null;
+        }
+
+        return Collections.singletonList(nextOp);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.statistics;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A snapshot of the sizes of the groups in a {@link uk.gov.gchq.gaffer.store.Store}. The counts are the number of
+ * distinct elements held by the store after ingest aggregation, so they can be used to estimate how many elements
+ * a query will return without running it.
+ * <p>
+ * Statistics are only an estimate and may be out of date by the time they are used.
+ */
+public class GraphStatistics implements Serializable {
+    private static final long serialVersionUID = -1512587476052823409L;
+
+    private final Map<String, Long> entityCounts;
+    private final Map<String, Long> edgeCounts;
+    private final Long vertexCount;
+
+    public GraphStatistics(final Map<String, Long> entityCounts, final Map<String, Long> edgeCounts, final Long vertexCount) {
+        this.entityCounts = Collections.unmodifiableMap(new HashMap<>(entityCounts));
+        this.edgeCounts = Collections.unmodifiableMap(new HashMap<>(edgeCounts));
+        this.vertexCount = vertexCount;
+    }
+
+    /**
+     * @param group the group
+     * @return the number of elements in the group, or null if the group is not known
+     */
+    public Long getElementCount(final String group) {
+        final Long count = entityCounts.get(group);
+        return null != count ? count : edgeCounts.get(group);
+    }
+
+    public long getTotalElementCount() {
+        long total = 0;
+        for (final Long count : entityCounts.values()) {
+            total += count;
+        }
+        for (final Long count : edgeCounts.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    public boolean isEdgeGroup(final String group) {
+        return edgeCounts.containsKey(group);
+    }
+
+    public Set<String> getEntityGroups() {
+        return entityCounts.keySet();
+    }
+
+    public Set<String> getEdgeGroups() {
+        return edgeCounts.keySet();
+    }
+
+    /**
+     * @return the number of distinct vertices, or null if the store does not know
+     */
+    public Long getVertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("entityCounts", entityCounts)
+                .append("edgeCounts", edgeCounts)
+                .append("vertexCount", vertexCount)
+                .toString();
+    }
+
+    public static class Builder {
+        private final Map<String, Long> entityCounts = new HashMap<>();
+        private final Map<String, Long> edgeCounts = new HashMap<>();
+        private Long vertexCount;
+
+        public Builder entityCount(final String group, final long count) {
+            entityCounts.put(group, count);
+            return this;
+        }
+
+        public Builder edgeCount(final String group, final long count) {
+            edgeCounts.put(group, count);
+            return this;
+        }
+
+        public Builder vertexCount(final Long vertexCount) {
+            this.vertexCount = vertexCount;
+            return this;
+        }
+
+        public GraphStatistics build() {
+            return new GraphStatistics(entityCounts, edgeCounts, vertexCount);
+        }
+    }
+}
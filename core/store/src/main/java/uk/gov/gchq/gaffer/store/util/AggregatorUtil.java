@@ -15,16 +15,15 @@
  */
 package uk.gov.gchq.gaffer.store.util;
 
-import com.google.common.collect.Iterables;
-import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
-import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.GroupedProperties;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import java.io.File;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -32,7 +31,6 @@ import java.util.Set;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 /**
  * Utility methods to help with doing aggregation of elements. Aggregation differs
@@ -49,23 +47,41 @@ public final class AggregatorUtil {
      * This uses the groupBy properties in the provided {@link Schema} to group
      * the elements prior to aggregating them.
      * <p>
-     * NOTE - this is done in memory so the size of the iterable should be limited.
+     * The elements are aggregated with a {@link StreamingAggregator}, using the
+     * default aggregation store properties. The returned iterable should be
+     * closed to delete any spill files.
      *
      * @param elements the elements to be aggregated
      * @param schema   the schema containing the aggregators and groupBy properties to use
      * @return the aggregated elements.
      */
     public static CloseableIterable<Element> ingestAggregate(final Iterable<? extends Element> elements, final Schema schema) {
+        return ingestAggregate(elements, schema, new StoreProperties());
+    }
+
+    /**
+     * Applies ingest aggregation to the provided iterable of {@link Element}s.
+     * This uses the groupBy properties in the provided {@link Schema} to group
+     * the elements prior to aggregating them.
+     * <p>
+     * The elements are aggregated in a single pass with a {@link StreamingAggregator},
+     * configured by the aggregation store properties. Partial aggregates are
+     * spilled to disk if there are too many groups to hold in memory, so the
+     * returned iterable should be closed to delete any spill files. Elements
+     * of groups that are not aggregated are read from the input again once
+     * the aggregated elements have been returned.
+     *
+     * @param elements   the elements to be aggregated
+     * @param schema     the schema containing the aggregators and groupBy properties to use
+     * @param properties the store properties containing the aggregation memory, thread and spill settings
+     * @return the aggregated elements.
+     */
+    public static CloseableIterable<Element> ingestAggregate(final Iterable<? extends Element> elements, final Schema schema, final StoreProperties properties) {
         if (null == schema) {
             throw new IllegalArgumentException("Schema is required");
         }
-        final Collection<String> aggregatedGroups = schema.getAggregatedGroups();
-        final Iterable<? extends Element> nonAggregatedElements = Iterables.filter(elements, new IsElementNotAggregatedGPredicate(aggregatedGroups));
-        final Iterable<? extends Element> aggregatableElements = Iterables.filter(elements, new IsElementAggregatedGPredicate(aggregatedGroups));
-        final Iterable<Element> aggregatedElements = Streams.toStream(aggregatableElements)
-                .collect(Collectors.groupingBy(new ToIngestElementKey(schema), Collectors.reducing(null, new IngestElementBinaryOperator(schema))))
-                .values();
-        return new ChainedIterable<>(aggregatedElements, nonAggregatedElements);
+        return createAggregator(getGroupBys(schema), schema, new IngestElementBinaryOperator(schema), properties)
+                .aggregate(elements);
     }
 
     /**
@@ -73,7 +89,9 @@ public final class AggregatorUtil {
      * This uses the groupBy properties in the provided {@link View} or {@link Schema} to group
      * the elements prior to aggregating them.
      * <p>
-     * NOTE - this is done in memory so the size of the iterable should be limited.
+     * The elements are aggregated with a {@link StreamingAggregator}, using the
+     * default aggregation store properties. The returned iterable should be
+     * closed to delete any spill files.
      *
      * @param elements the elements to be aggregated
      * @param schema   the schema containing the aggregators and groupBy properties to use
@@ -81,19 +99,51 @@ public final class AggregatorUtil {
      * @return the aggregated elements.
      */
     public static CloseableIterable<Element> queryAggregate(final Iterable<? extends Element> elements, final Schema schema, final View view) {
+        return queryAggregate(elements, schema, view, new StoreProperties());
+    }
+
+    /**
+     * Applies query time aggregation to the provided iterable of {@link Element}s.
+     * This uses the groupBy properties in the provided {@link View} or {@link Schema} to group
+     * the elements prior to aggregating them.
+     * <p>
+     * The elements are aggregated in a single pass with a {@link StreamingAggregator},
+     * configured by the aggregation store properties. Partial aggregates are
+     * spilled to disk if there are too many groups to hold in memory, so the
+     * returned iterable should be closed to delete any spill files. Elements
+     * of groups that are not aggregated are read from the input again once
+     * the aggregated elements have been returned.
+     *
+     * @param elements   the elements to be aggregated
+     * @param schema     the schema containing the aggregators and groupBy properties to use
+     * @param view       the view containing the aggregators and groupBy properties to use
+     * @param properties the store properties containing the aggregation memory, thread and spill settings
+     * @return the aggregated elements.
+     */
+    public static CloseableIterable<Element> queryAggregate(final Iterable<? extends Element> elements, final Schema schema, final View view, final StoreProperties properties) {
         if (null == schema) {
             throw new IllegalArgumentException("Schema is required");
         }
         if (null == view) {
             throw new IllegalArgumentException("View is required");
         }
-        final Collection<String> aggregatedGroups = schema.getAggregatedGroups();
-        final Iterable<? extends Element> nonAggregatedElements = Iterables.filter(elements, new IsElementNotAggregatedGPredicate(aggregatedGroups));
-        final Iterable<? extends Element> aggregatableElements = Iterables.filter(elements, new IsElementAggregatedGPredicate(aggregatedGroups));
-        final Iterable<Element> aggregatedElements = Streams.toStream(aggregatableElements)
-                .collect(Collectors.groupingBy(new ToQueryElementKey(schema, view), Collectors.reducing(null, new QueryElementBinaryOperator(schema, view))))
-                .values();
-        return new ChainedIterable<>(aggregatedElements, nonAggregatedElements);
+        return createAggregator(getGroupBys(schema, view), schema, new QueryElementBinaryOperator(schema, view), properties)
+                .aggregate(elements);
+    }
+
+    private static StreamingAggregator createAggregator(final Map<String, Set<String>> groupToGroupBys,
+                                                        final Schema schema,
+                                                        final BinaryOperator<Element> aggregator,
+                                                        final StoreProperties properties) {
+        final StoreProperties aggregationProperties = null != properties ? properties : new StoreProperties();
+        final String spillDirectory = aggregationProperties.getAggregationSpillDirectory();
+        return new StreamingAggregator(
+                groupToGroupBys,
+                schema.getAggregatedGroups(),
+                aggregator,
+                aggregationProperties.getAggregationMaxGroupsInMemory(),
+                aggregationProperties.getAggregationThreads(),
+                null != spillDirectory ? new File(spillDirectory) : null);
     }
 
     /**
@@ -256,38 +306,6 @@ public final class AggregatorUtil {
         }
     }
 
-    private static final class IsElementAggregatedGPredicate implements com.google.common.base.Predicate<Element> {
-        final Collection<String> aggregatedGroups;
-
-        private IsElementAggregatedGPredicate(final Collection<String> aggregatedGroups) {
-            if (null == aggregatedGroups) {
-                throw new IllegalArgumentException("Aggregated groups is required");
-            }
-            this.aggregatedGroups = aggregatedGroups;
-        }
-
-        @Override
-        public boolean apply(final Element element) {
-            return null != element && aggregatedGroups.contains(element.getGroup());
-        }
-    }
-
-    private static final class IsElementNotAggregatedGPredicate implements com.google.common.base.Predicate<Element> {
-        final Collection<String> aggregatedGroups;
-
-        private IsElementNotAggregatedGPredicate(final Collection<String> aggregatedGroups) {
-            if (null == aggregatedGroups) {
-                throw new IllegalArgumentException("Aggregated groups is required");
-            }
-            this.aggregatedGroups = aggregatedGroups;
-        }
-
-        @Override
-        public boolean apply(final Element element) {
-            return null != element && !aggregatedGroups.contains(element.getGroup());
-        }
-    }
-
     private static Map<String, Set<String>> getGroupBys(final Schema schema) {
         if (null == schema) {
             throw new IllegalArgumentException("Schema is required");
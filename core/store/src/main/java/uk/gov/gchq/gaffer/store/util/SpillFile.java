@@ -0,0 +1,188 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.util;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.NoSuchElementException;
+
+/**
+ * A temporary file of JSON serialised items, used to spill items to disk when
+ * there are too many to hold in memory. Items are appended with
+ * {@link #write(Object)} until {@link #finishWriting()} is called, after which
+ * the file can be read any number of times with {@link #read()}. The file is
+ * only removed by {@link #delete()}, so its owner must always call it.
+ * {@link File#deleteOnExit()} is deliberately not used: the JVM keeps every
+ * path registered with it until exit, so it would leak memory in a long
+ * running server.
+ *
+ * @param <T> the type of items in the file
+ */
+public class SpillFile<T> {
+    private static final int END_OF_FILE = -1;
+
+    private final File file;
+    private final Class<T> itemClass;
+    private final JSONSerialiser serialiser;
+    private DataOutputStream out;
+    private long size;
+
+    /**
+     * Creates a new, empty, spill file.
+     *
+     * @param itemClass  the class of the items, used to deserialise them
+     * @param directory  the directory to create the file in, or null to use the default temporary directory
+     * @param serialiser the serialiser to use
+     * @throws IOException if the file could not be created
+     */
+    public SpillFile(final Class<T> itemClass, final File directory, final JSONSerialiser serialiser) throws IOException {
+        this.itemClass = itemClass;
+        this.serialiser = serialiser;
+        this.file = File.createTempFile("gaffer-spill-", ".tmp", directory);
+        try {
+            this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        } catch (final IOException e) {
+            Files.deleteIfExists(file.toPath());
+            throw e;
+        }
+    }
+
+    /**
+     * @param item the item to append, which must not be null
+     * @throws IOException if the item could not be written
+     */
+    public void write(final T item) throws IOException {
+        final byte[] bytes = serialiser.serialise(item);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        size++;
+    }
+
+    public void finishWriting() throws IOException {
+        if (null != out) {
+            try {
+                out.writeInt(END_OF_FILE);
+            } finally {
+                out.close();
+                out = null;
+            }
+        }
+    }
+
+    /**
+     * @return the number of items written to the file
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Reads the items in the file in the order they were written. Writing must
+     * have been finished.
+     *
+     * @return an iterator over the items, which must be closed
+     * @throws IOException if the file could not be opened
+     */
+    public CloseableIterator<T> read() throws IOException {
+        if (null != out) {
+            throw new IllegalStateException("Writing to the spill file has not been finished");
+        }
+        return new SpillFileIterator(new DataInputStream(new BufferedInputStream(new FileInputStream(file))));
+    }
+
+    /**
+     * Stops writing, if required, and deletes the file.
+     */
+    public void delete() {
+        if (null != out) {
+            try {
+                out.close();
+            } catch (final IOException e) {
+                // The file is about to be deleted
+            }
+            out = null;
+        }
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (final IOException e) {
+            // Nothing more can be done - the file is in a temporary directory
+        }
+    }
+
+    private final class SpillFileIterator implements CloseableIterator<T> {
+        private final DataInputStream in;
+        private T next;
+        private boolean finished;
+
+        private SpillFileIterator(final DataInputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null == next && !finished) {
+                next = readNext();
+            }
+            return null != next;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final T item = next;
+            next = null;
+            return item;
+        }
+
+        @Override
+        public void close() {
+            finished = true;
+            next = null;
+            try {
+                in.close();
+            } catch (final IOException e) {
+                // The file has already been read or is being abandoned
+            }
+        }
+
+        private T readNext() {
+            try {
+                final int length = in.readInt();
+                if (END_OF_FILE == length) {
+                    close();
+                    return null;
+                }
+                final byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                return serialiser.deserialise(bytes, itemClass);
+            } catch (final IOException e) {
+                close();
+                throw new RuntimeException("Unable to read the next item from the spill file", e);
+            }
+        }
+    }
+}
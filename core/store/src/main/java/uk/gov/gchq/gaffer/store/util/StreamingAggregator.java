@@ -0,0 +1,613 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.util;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BinaryOperator;
+
+/**
+ * Aggregates elements in a single pass over the input using bounded memory.
+ * <p>
+ * Each element of an aggregated group is assigned to one of a fixed number
+ * of partitions by the hash of its group, identifiers and group-by property
+ * values. The partitions are divided between workers, and each worker
+ * aggregates its elements into a {@link HashMap} per partition. Full batches
+ * of elements are aggregated on a thread pool that is shared by all
+ * aggregators, so the aggregator functions are applied in parallel without
+ * starting threads for each input. Each worker has at most one batch waiting
+ * or running on the pool, so the calling thread waits rather than buffering
+ * if the pool falls behind, and small inputs are aggregated on the calling
+ * thread.
+ * <p>
+ * If more than maxGroupsInMemory groups are held in memory, each worker
+ * spills its partial aggregates to a {@link SpillFile} per partition. Once
+ * the input has been read, partitions that were never spilled are returned
+ * directly from memory. Spilled partitions are merged lazily, one at a time,
+ * as the returned {@link CloseableIterable} is consumed; a spilled partition
+ * that still has too many groups is split again using different bits of the
+ * hash. Elements of groups that are not aggregated are not held by the
+ * aggregator; they are read from the input again, after the aggregated
+ * elements have been returned, so the input must be an iterable that can be
+ * iterated more than once.
+ * <p>
+ * As with the in-memory aggregation, the first element of each group is
+ * used to hold the aggregated properties. The returned iterable must be
+ * closed to delete any spill files.
+ */
+public class StreamingAggregator {
+    private static final int PARTITION_BITS = 6;
+    private static final int NUM_PARTITIONS = 1 << PARTITION_BITS;
+    private static final int MAX_DEPTH = 4;
+    private static final int BATCH_SIZE = 1000;
+    private static ThreadPoolExecutor sharedExecutor;
+
+    private final Map<String, Set<String>> groupToGroupBys;
+    private final Collection<String> aggregatedGroups;
+    private final BinaryOperator<Element> aggregator;
+    private final int maxGroupsInMemory;
+    private final int numThreads;
+    private final File spillDirectory;
+    private final JSONSerialiser serialiser = new JSONSerialiser();
+
+    /**
+     * @param groupToGroupBys   the group-by properties for each group
+     * @param aggregatedGroups  the groups that should be aggregated
+     * @param aggregator        the function to aggregate two elements of the same group with
+     * @param maxGroupsInMemory the maximum number of aggregated groups to hold in memory before spilling to disk
+     * @param numThreads        the maximum number of threads from the shared pool to aggregate with
+     * @param spillDirectory    the directory to spill to, or null to use the default temporary directory
+     */
+    public StreamingAggregator(final Map<String, Set<String>> groupToGroupBys,
+                               final Collection<String> aggregatedGroups,
+                               final BinaryOperator<Element> aggregator,
+                               final int maxGroupsInMemory,
+                               final int numThreads,
+                               final File spillDirectory) {
+        if (null == groupToGroupBys) {
+            throw new IllegalArgumentException("groupToGroupBys map is required");
+        }
+        if (null == aggregatedGroups) {
+            throw new IllegalArgumentException("Aggregated groups is required");
+        }
+        if (maxGroupsInMemory < 1) {
+            throw new IllegalArgumentException("Max groups in memory should be more than 0");
+        }
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("Number of threads should be more than 0");
+        }
+        this.groupToGroupBys = groupToGroupBys;
+        this.aggregatedGroups = aggregatedGroups;
+        this.aggregator = aggregator;
+        this.maxGroupsInMemory = maxGroupsInMemory;
+        this.numThreads = Math.min(numThreads, NUM_PARTITIONS);
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * Aggregates the elements, reading them once. Null elements are skipped.
+     *
+     * @param elements the elements to aggregate
+     * @return the aggregated elements followed by the elements that are not aggregated
+     */
+    public CloseableIterable<Element> aggregate(final Iterable<? extends Element> elements) {
+        final Worker[] workers = new Worker[numThreads];
+        for (int i = 0; i < numThreads; i++) {
+            workers[i] = new Worker(Math.max(1, maxGroupsInMemory / numThreads));
+        }
+        final Result result = new Result(workers, elements);
+
+        try {
+            final List<List<AggregationKey>> batches = new ArrayList<>(numThreads);
+            for (int i = 0; i < numThreads; i++) {
+                batches.add(new ArrayList<>(BATCH_SIZE));
+            }
+
+            for (final Element element : elements) {
+                if (null == element) {
+                    continue;
+                }
+                if (!aggregatedGroups.contains(element.getGroup())) {
+                    continue;
+                }
+
+                final AggregationKey key = createKey(element);
+                final int workerIndex = getPartition(key, 0) % numThreads;
+                final List<AggregationKey> batch = batches.get(workerIndex);
+                batch.add(key);
+                if (batch.size() >= BATCH_SIZE) {
+                    if (1 == numThreads) {
+                        workers[workerIndex].add(batch);
+                        batch.clear();
+                    } else {
+                        workers[workerIndex].submit(batch, getSharedExecutor());
+                        batches.set(workerIndex, new ArrayList<>(BATCH_SIZE));
+                    }
+                }
+            }
+
+            for (int i = 0; i < numThreads; i++) {
+                // Wait for any started worker to finish, then add its remaining elements on this thread
+                workers[i].finish();
+                workers[i].add(batches.get(i));
+                workers[i].spillRemainingIfSpilled();
+            }
+        } catch (final IOException e) {
+            cancel(workers);
+            result.close();
+            throw new RuntimeException("Unable to spill aggregated elements to disk", e);
+        } catch (final RuntimeException | Error e) {
+            cancel(workers);
+            result.close();
+            throw e;
+        }
+
+        return result;
+    }
+
+    // Lets any batches that are still running finish, so they do not write
+    // to spill files after they have been deleted.
+    private static void cancel(final Worker[] workers) {
+        for (final Worker worker : workers) {
+            try {
+                worker.finish();
+            } catch (final RuntimeException e) {
+                // Ignore, as the original exception is rethrown
+            }
+        }
+    }
+
+    /**
+     * The thread pool shared by all aggregators. It has a daemon thread per
+     * available processor, which stop when they have been idle for a minute.
+     *
+     * @return the shared thread pool
+     */
+    private static synchronized ExecutorService getSharedExecutor() {
+        if (null == sharedExecutor) {
+            final int numProcessors = Runtime.getRuntime().availableProcessors();
+            final AtomicInteger threadCount = new AtomicInteger();
+            sharedExecutor = new ThreadPoolExecutor(numProcessors, numProcessors, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), runnable -> {
+                final Thread thread = new Thread(runnable, "gaffer-aggregation-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            sharedExecutor.allowCoreThreadTimeOut(true);
+        }
+        return sharedExecutor;
+    }
+
+    private AggregationKey createKey(final Element element) {
+        final Set<String> groupBy = groupToGroupBys.get(element.getGroup());
+        if (null == groupBy) {
+            throw new IllegalArgumentException("Group " + element.getGroup() + " was not recognised");
+        }
+        return new AggregationKey(element, groupBy);
+    }
+
+    private static int getPartition(final AggregationKey key, final int depth) {
+        // Spread the hash bits, then use a different group of bits at each depth
+        int hash = key.hashCode() * 0x9E3779B9;
+        hash ^= hash >>> 16;
+        return (hash >>> (PARTITION_BITS * depth)) & (NUM_PARTITIONS - 1);
+    }
+
+    private SpillFile<Element> createSpillFile() throws IOException {
+        return new SpillFile<>(Element.class, spillDirectory, serialiser);
+    }
+
+    /**
+     * Aggregates the elements in the partitions assigned to it. A batch is
+     * only submitted to the pool once the worker's previous batch has
+     * finished, so the worker's partitions are only ever updated by one
+     * thread at a time.
+     */
+    private final class Worker {
+        private final int maxGroups;
+        private final Map<Integer, Map<AggregationKey, Element>> partitions = new HashMap<>();
+        private final Map<Integer, SpillFile<Element>> spillFiles = new HashMap<>();
+        private Future<?> future;
+        private int numGroups;
+
+        private Worker(final int maxGroups) {
+            this.maxGroups = maxGroups;
+        }
+
+        private void submit(final List<AggregationKey> batch, final ExecutorService executor) {
+            finish();
+            future = executor.submit(() -> {
+                try {
+                    add(batch);
+                } catch (final IOException e) {
+                    throw new RuntimeException("Unable to spill aggregated elements to disk", e);
+                }
+            });
+        }
+
+        private void add(final List<AggregationKey> batch) throws IOException {
+            for (final AggregationKey key : batch) {
+                final Map<AggregationKey, Element> partition = partitions.computeIfAbsent(getPartition(key, 0), p -> new HashMap<>());
+                final Element existing = partition.get(key);
+                if (null == existing) {
+                    partition.put(key, key.element);
+                    numGroups++;
+                    if (numGroups > maxGroups) {
+                        spill();
+                    }
+                } else {
+                    partition.put(key, aggregator.apply(existing, key.element));
+                }
+            }
+        }
+
+        private void spill() throws IOException {
+            for (final Map.Entry<Integer, Map<AggregationKey, Element>> entry : partitions.entrySet()) {
+                SpillFile<Element> spillFile = spillFiles.get(entry.getKey());
+                if (null == spillFile) {
+                    spillFile = createSpillFile();
+                    spillFiles.put(entry.getKey(), spillFile);
+                }
+                for (final Element element : entry.getValue().values()) {
+                    spillFile.write(element);
+                }
+            }
+            partitions.clear();
+            numGroups = 0;
+        }
+
+        // Moves the remaining groups of spilled partitions to disk, so each
+        // partition is either entirely in memory or entirely on disk.
+        private void spillRemainingIfSpilled() throws IOException {
+            for (final Map.Entry<Integer, SpillFile<Element>> entry : spillFiles.entrySet()) {
+                final Map<AggregationKey, Element> partition = partitions.remove(entry.getKey());
+                if (null != partition) {
+                    for (final Element element : partition.values()) {
+                        entry.getValue().write(element);
+                    }
+                }
+                entry.getValue().finishWriting();
+            }
+        }
+
+        private void finish() {
+            if (null != future) {
+                final Future<?> running = future;
+                future = null;
+                try {
+                    running.get();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted whilst waiting for aggregation to finish", e);
+                } catch (final ExecutionException e) {
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw new RuntimeException("Aggregation failed", e.getCause());
+                }
+            }
+        }
+
+        private void delete() {
+            for (final SpillFile<Element> spillFile : spillFiles.values()) {
+                spillFile.delete();
+            }
+            spillFiles.clear();
+            partitions.clear();
+        }
+    }
+
+    private final class Result implements CloseableIterable<Element> {
+        private final Worker[] workers;
+        private final Iterable<? extends Element> input;
+        private final List<ResultIterator> iterators = new ArrayList<>();
+
+        private Result(final Worker[] workers, final Iterable<? extends Element> input) {
+            this.workers = workers;
+            this.input = input;
+        }
+
+        @Override
+        public CloseableIterator<Element> iterator() {
+            final ResultIterator iterator = new ResultIterator(workers, input);
+            iterators.add(iterator);
+            return iterator;
+        }
+
+        @Override
+        public void close() {
+            for (final ResultIterator iterator : iterators) {
+                iterator.close();
+            }
+            iterators.clear();
+            for (final Worker worker : workers) {
+                worker.delete();
+            }
+        }
+    }
+
+    /**
+     * Iterates over each partition in turn, merging spilled partitions as
+     * they are reached, and then over the elements of the input that are not
+     * aggregated.
+     */
+    private final class ResultIterator implements CloseableIterator<Element> {
+        private final Worker[] workers;
+        private final Iterable<? extends Element> input;
+        private int partition;
+        private boolean nonAggregatedStarted;
+        private Iterator<? extends Element> current = Collections.emptyIterator();
+
+        private ResultIterator(final Worker[] workers, final Iterable<? extends Element> input) {
+            this.workers = workers;
+            this.input = input;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (!current.hasNext()) {
+                    closeCurrent();
+                    if (partition < NUM_PARTITIONS) {
+                        current = partitionIterator(partition++);
+                    } else if (!nonAggregatedStarted) {
+                        nonAggregatedStarted = true;
+                        current = new NonAggregatedIterator(input.iterator());
+                    } else {
+                        return false;
+                    }
+                }
+            } catch (final IOException e) {
+                close();
+                throw new RuntimeException("Unable to read aggregated elements from disk", e);
+            }
+            return true;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        @Override
+        public void close() {
+            closeCurrent();
+            partition = NUM_PARTITIONS;
+            nonAggregatedStarted = true;
+            current = Collections.emptyIterator();
+        }
+
+        private void closeCurrent() {
+            if (current instanceof CloseableIterator) {
+                ((CloseableIterator) current).close();
+            }
+        }
+
+        private Iterator<Element> partitionIterator(final int partitionIndex) throws IOException {
+            final Worker worker = workers[partitionIndex % workers.length];
+            final SpillFile<Element> spillFile = worker.spillFiles.get(partitionIndex);
+            if (null != spillFile) {
+                return merge(spillFile, 1).iterator();
+            }
+            final Map<AggregationKey, Element> elements = worker.partitions.get(partitionIndex);
+            return null == elements ? Collections.emptyIterator() : elements.values().iterator();
+        }
+
+        // Aggregates a spilled partition in memory. If it has too many groups
+        // it is split into sub-partitions, using the next bits of the hash,
+        // which are then merged in turn.
+        private List<Element> merge(final SpillFile<Element> spillFile, final int depth) throws IOException {
+            final Map<AggregationKey, Element> aggregated = new HashMap<>();
+            List<SpillFile<Element>> subPartitions = null;
+            try (final CloseableIterator<Element> spilled = spillFile.read()) {
+                while (spilled.hasNext()) {
+                    final AggregationKey key = createKey(spilled.next());
+                    if (null != subPartitions) {
+                        subPartitions.get(getPartition(key, depth)).write(key.element);
+                    } else {
+                        aggregated.merge(key, key.element, aggregator);
+                        if (aggregated.size() > maxGroupsInMemory && depth < MAX_DEPTH) {
+                            subPartitions = split(aggregated, depth);
+                        }
+                    }
+                }
+
+                if (null == subPartitions) {
+                    return new ArrayList<>(aggregated.values());
+                }
+
+                final List<Element> result = new ArrayList<>();
+                for (final SpillFile<Element> subPartition : subPartitions) {
+                    subPartition.finishWriting();
+                    result.addAll(merge(subPartition, depth + 1));
+                    subPartition.delete();
+                }
+                return result;
+            } finally {
+                if (null != subPartitions) {
+                    for (final SpillFile<Element> subPartition : subPartitions) {
+                        subPartition.delete();
+                    }
+                }
+            }
+        }
+
+        private List<SpillFile<Element>> split(final Map<AggregationKey, Element> aggregated, final int depth) throws IOException {
+            final List<SpillFile<Element>> subPartitions = new ArrayList<>(NUM_PARTITIONS);
+            try {
+                for (int i = 0; i < NUM_PARTITIONS; i++) {
+                    subPartitions.add(createSpillFile());
+                }
+                for (final Map.Entry<AggregationKey, Element> entry : aggregated.entrySet()) {
+                    subPartitions.get(getPartition(entry.getKey(), depth)).write(entry.getValue());
+                }
+            } catch (final IOException | RuntimeException e) {
+                for (final SpillFile<Element> subPartition : subPartitions) {
+                    subPartition.delete();
+                }
+                throw e;
+            }
+            aggregated.clear();
+            return subPartitions;
+        }
+    }
+
+    /**
+     * Iterates over the elements of the input that are not aggregated,
+     * skipping null elements.
+     */
+    private final class NonAggregatedIterator implements CloseableIterator<Element> {
+        private final Iterator<? extends Element> input;
+        private Element next;
+
+        private NonAggregatedIterator(final Iterator<? extends Element> input) {
+            this.input = input;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == next && input.hasNext()) {
+                final Element element = input.next();
+                if (null != element && !aggregatedGroups.contains(element.getGroup())) {
+                    next = element;
+                }
+            }
+            return null != next;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Element element = next;
+            next = null;
+            return element;
+        }
+
+        @Override
+        public void close() {
+            if (input instanceof CloseableIterator) {
+                ((CloseableIterator) input).close();
+            }
+        }
+    }
+
+    /**
+     * The group, identifiers and group-by property values of an element,
+     * compared in the same way as {@link Element#equals(Object)} compares
+     * the keys created by {@link AggregatorUtil.ToElementKey}, without
+     * cloning the element.
+     */
+    static final class AggregationKey {
+        private final Element element;
+        private final String group;
+        private final Object[] groupByValues;
+        private final int hash;
+
+        AggregationKey(final Element element, final Set<String> groupBy) {
+            this.element = element;
+            this.group = element.getGroup();
+            this.groupByValues = new Object[groupBy.size()];
+            int i = 0;
+            for (final String propertyName : groupBy) {
+                groupByValues[i++] = element.getProperty(propertyName);
+            }
+            this.hash = 31 * (31 * Objects.hashCode(group) + Arrays.deepHashCode(groupByValues)) + identifiersHashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof AggregationKey)) {
+                return false;
+            }
+            final AggregationKey other = (AggregationKey) obj;
+            return hash == other.hash
+                    && Objects.equals(group, other.group)
+                    && Arrays.deepEquals(groupByValues, other.groupByValues)
+                    && identifiersEqual(other.element);
+        }
+
+        private int identifiersHashCode() {
+            if (element instanceof Entity) {
+                return Objects.hashCode(((Entity) element).getVertex());
+            }
+            final Edge edge = (Edge) element;
+            if (edge.isDirected()) {
+                return 31 * (31 * Objects.hashCode(edge.getSource()) + Objects.hashCode(edge.getDestination())) + 1;
+            }
+            // Undirected edges are equal if their source and destination are swapped
+            return Objects.hashCode(edge.getSource()) ^ Objects.hashCode(edge.getDestination());
+        }
+
+        private boolean identifiersEqual(final Element otherElement) {
+            if (element instanceof Entity) {
+                return otherElement instanceof Entity
+                        && Objects.equals(((Entity) element).getVertex(), ((Entity) otherElement).getVertex());
+            }
+            if (!(otherElement instanceof Edge)) {
+                return false;
+            }
+            final Edge edge = (Edge) element;
+            final Edge otherEdge = (Edge) otherElement;
+            if (edge.isDirected() != otherEdge.isDirected()) {
+                return false;
+            }
+            if (Objects.equals(edge.getSource(), otherEdge.getSource())
+                    && Objects.equals(edge.getDestination(), otherEdge.getDestination())) {
+                return true;
+            }
+            return !edge.isDirected()
+                    && Objects.equals(edge.getSource(), otherEdge.getDestination())
+                    && Objects.equals(edge.getDestination(), otherEdge.getSource());
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.mockito.Mockito;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.GroupCounts;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.IdentifierType;
@@ -36,6 +37,7 @@ import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.CountGroups;
+import uk.gov.gchq.gaffer.operation.impl.GetGroupCounts;
 import uk.gov.gchq.gaffer.operation.impl.Validate;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.export.resultcache.ExportToGafferResultCache;
@@ -86,6 +88,7 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static uk.gov.gchq.gaffer.store.StoreTrait.INGEST_AGGREGATION;
@@ -319,6 +322,72 @@ public class StoreTest {
         assertSame(operation, store.getDoUnhandledOperationCalls().get(0));
     }
 
+    @Test
+    public void shouldCountGroupsInTheStoreWhenOperationChainRulesAreDisabled() throws Exception {
+        // Given
+        final Schema schema = createSchemaMock();
+        final StoreProperties properties = mock(StoreProperties.class);
+        given(properties.getJobExecutorThreadCount()).willReturn(1);
+        given(properties.getOperationChainRulesEnabled()).willReturn(false);
+        final OutputOperationHandler<GetGroupCounts, GroupCounts> getGroupCountsHandler = mock(OutputOperationHandler.class);
+        final GroupCounts groupCounts = new GroupCounts();
+        given(getGroupCountsHandler.doOperation(any(GetGroupCounts.class), eq(context), eq(store))).willReturn(groupCounts);
+        store.addOperationHandler(GetGroupCounts.class, getGroupCountsHandler);
+        store.initialise(schema, properties);
+
+        // When
+        final GroupCounts result = store.execute(new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(new CountGroups())
+                .build(), user);
+
+        // Then
+        assertSame(groupCounts, result);
+        verify(getGroupCountsHandler).doOperation(any(GetGroupCounts.class), eq(context), eq(store));
+        verify(getAllElementsHandler, never()).doOperation(any(GetAllElements.class), any(Context.class), any(Store.class));
+    }
+
+    @Test
+    public void shouldTrackSynchronousOperationChains() throws Exception {
+        // Given
+        final Schema schema = createSchemaMock();
+        final StoreProperties properties = mock(StoreProperties.class);
+        final Operation operation = mock(Operation.class);
+        given(properties.getJobExecutorThreadCount()).willReturn(1);
+        given(properties.getJobTrackerEnabled()).willReturn(true);
+        store.initialise(schema, properties);
+
+        // When
+        store.execute(operation, user);
+
+        // Then
+        final ArgumentCaptor<JobDetail> jobDetail = ArgumentCaptor.forClass(JobDetail.class);
+        verify(jobTracker, times(2)).addOrUpdateJob(jobDetail.capture(), eq(user));
+        assertEquals(JobStatus.RUNNING, jobDetail.getAllValues().get(0).getStatus());
+        assertEquals(JobStatus.FINISHED, jobDetail.getAllValues().get(1).getStatus());
+        assertNotNull(jobDetail.getAllValues().get(1).getEndTime());
+        verify(jobTracker, never()).getJob(any(String.class), any(User.class));
+    }
+
+    @Test
+    public void shouldNotTrackSynchronousOperationChainsWhenAsyncOnly() throws Exception {
+        // Given
+        final Schema schema = createSchemaMock();
+        final StoreProperties properties = mock(StoreProperties.class);
+        final Operation operation = mock(Operation.class);
+        given(properties.getJobExecutorThreadCount()).willReturn(1);
+        given(properties.getJobTrackerEnabled()).willReturn(true);
+        given(properties.getJobTrackerAsyncOnly()).willReturn(true);
+        store.initialise(schema, properties);
+
+        // When
+        store.execute(operation, user);
+
+        // Then
+        assertEquals(1, store.getDoUnhandledOperationCalls().size());
+        verify(jobTracker, never()).addOrUpdateJob(any(JobDetail.class), any(User.class));
+    }
+
     @Test
     public void shouldFullyLoadLazyElement() throws StoreException {
         // Given
@@ -377,7 +446,7 @@ public class StoreTest {
         final Schema schema = createSchemaMock();
         final StoreProperties properties = mock(StoreProperties.class);
         given(properties.getJobExecutorThreadCount()).willReturn(1);
-        final int expectedNumberOfOperations = 33;
+        final int expectedNumberOfOperations = 34;
         store.initialise(schema, properties);
 
         // When
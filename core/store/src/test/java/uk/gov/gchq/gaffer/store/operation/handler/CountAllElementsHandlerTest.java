@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.operation.handler;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.data.GroupCounts;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.CountAllElements;
+import uk.gov.gchq.gaffer.operation.impl.GetGroupCounts;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class CountAllElementsHandlerTest {
+    @Test
+    public void shouldSumGroupCountsIfGetGroupCountsIsSupported() throws OperationException {
+        // Given
+        final CountAllElementsHandler handler = new CountAllElementsHandler();
+        final Store store = mock(Store.class);
+        final Context context = new Context();
+        final GroupCounts groupCounts = new GroupCounts();
+        final Map<String, Long> entityGroups = new HashMap<>();
+        entityGroups.put("entity", 3L);
+        final Map<String, Long> edgeGroups = new HashMap<>();
+        edgeGroups.put("edge1", 4L);
+        edgeGroups.put("edge2", 5L);
+        groupCounts.setEntityGroupCounts(entityGroups);
+        groupCounts.setEdgeGroupCounts(edgeGroups);
+
+        given(store.isSupported(GetGroupCounts.class)).willReturn(true);
+        given(store._execute(any(OperationChain.class), eq(context))).willReturn(groupCounts);
+
+        // When
+        final Long count = handler.doOperation(new CountAllElements(), context, store);
+
+        // Then
+        assertEquals(12L, (long) count);
+        final ArgumentCaptor<OperationChain> captor = ArgumentCaptor.forClass(OperationChain.class);
+        verify(store)._execute(captor.capture(), eq(context));
+        assertTrue(captor.getValue().getOperations().get(0) instanceof GetGroupCounts);
+    }
+
+    @Test
+    public void shouldCountAllElementsIfGetGroupCountsIsNotSupported() throws OperationException {
+        // Given
+        final CountAllElementsHandler handler = new CountAllElementsHandler();
+        final Store store = mock(Store.class);
+        final Context context = new Context();
+
+        given(store.isSupported(GetGroupCounts.class)).willReturn(false);
+        given(store._execute(any(OperationChain.class), eq(context)))
+                .willReturn(new WrappedCloseableIterable<>(Arrays.asList(
+                        new Entity("entity"), new Edge("edge"), new Edge("edge"))));
+
+        // When
+        final Long count = handler.doOperation(new CountAllElements(), context, store);
+
+        // Then
+        assertEquals(3L, (long) count);
+        final ArgumentCaptor<OperationChain> captor = ArgumentCaptor.forClass(OperationChain.class);
+        verify(store)._execute(captor.capture(), eq(context));
+        assertTrue(captor.getValue().getOperations().get(0) instanceof GetAllElements);
+    }
+}
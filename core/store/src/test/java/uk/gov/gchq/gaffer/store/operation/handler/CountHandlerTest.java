@@ -17,13 +17,17 @@ package uk.gov.gchq.gaffer.store.operation.handler;
 
 import org.junit.Test;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.Count;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
@@ -45,4 +49,45 @@ public class CountHandlerTest {
         // Then
         assertEquals(8L, (long) result);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldCloseInputOnceCounted() throws OperationException {
+        // Given
+        final CountHandler<String> handler = new CountHandler<>();
+        final AtomicBoolean closed = new AtomicBoolean();
+        final CloseableIterable<String> input = new WrappedCloseableIterable<String>(Arrays.asList("a", "b")) {
+            @Override
+            public void close() {
+                closed.set(true);
+                super.close();
+            }
+        };
+        final Count<String> count = new Count.Builder<String>()
+                .input(input)
+                .build();
+
+        // When
+        final Long result = handler.doOperation(count, new Context(), mock(Store.class));
+
+        // Then
+        assertEquals(2L, (long) result);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void shouldReturnDistinctCount() throws OperationException {
+        // Given
+        final CountHandler<String> handler = new CountHandler<>();
+        final Store store = mock(Store.class);
+        final Count<String> count = new Count.Builder<String>()
+                .input(Arrays.asList("a", "b", "a", "c", "b"))
+                .distinct(true)
+                .build();
+
+        // When
+        final Long result = handler.doOperation(count, new Context(), store);
+
+        // Then
+        assertEquals(3L, (long) result);
+    }
+}
@@ -26,17 +26,25 @@ import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.ScoreOperationChain;
+import uk.gov.gchq.gaffer.operation.impl.generate.GenerateObjects;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreProperties;
+import uk.gov.gchq.gaffer.store.operation.handler.cost.EstimatedCostModel;
+import uk.gov.gchq.gaffer.store.operation.handler.cost.FixedScoreCostModel;
 import uk.gov.gchq.gaffer.store.operationdeclaration.OperationDeclarations;
+import uk.gov.gchq.gaffer.store.statistics.GraphStatistics;
 import uk.gov.gchq.gaffer.user.User;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
@@ -64,6 +72,7 @@ public class ScoreOperationChainHandlerTest {
 
         assertEquals(1, deserialised.getOperations().size());
         assert (deserialised.getOperations().get(0).getHandler() instanceof ScoreOperationChainHandler);
+        assert (((ScoreOperationChainHandler) deserialised.getOperations().get(0).getHandler()).getCostModel() instanceof FixedScoreCostModel);
     }
 
     @Test
@@ -165,4 +174,66 @@ public class ScoreOperationChainHandlerTest {
         exception.expect(IllegalArgumentException.class);
         new ScoreOperationChainHandler();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldScoreChainUsingStoreStatistics() throws OperationException {
+        // Given
+        final ScoreOperationChainHandler operationHandler =
+                new ScoreOperationChainHandler(getClass().getResource("/customOpScores.properties").getPath(),
+                        getClass().getResource("/authScores.properties").getPath());
+        operationHandler.setCostModel(new EstimatedCostModel());
+
+        final Context context = mock(Context.class);
+        final Store store = mock(Store.class);
+        final User user = mock(User.class);
+        final GraphStatistics statistics = new GraphStatistics.Builder()
+                .entityCount("entity", 5000)
+                .build();
+        final OperationChain opChain = new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(new GenerateObjects<>())
+                .build();
+
+        given(context.getUser()).willReturn(user);
+        given(store.getStatistics()).willReturn(statistics);
+
+        // When
+        final Integer result = operationHandler.doOperation(
+                new ScoreOperationChain.Builder()
+                        .operationChain(opChain)
+                        .build(),
+                context, store);
+
+        // Then - GetAllElements scores 2 for each 1000 elements
+        assertEquals(10, (int) result);
+    }
+
+    @Test
+    public void shouldScoreChainUsingFixedScoresUnlessEstimatedCostsAreConfigured() throws OperationException {
+        // Given
+        final ScoreOperationChainHandler operationHandler =
+                new ScoreOperationChainHandler(getClass().getResource("/customOpScores.properties").getPath(),
+                        getClass().getResource("/authScores.properties").getPath());
+        final List<EntitySeed> seeds = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            seeds.add(new EntitySeed(i));
+        }
+        final OperationChain opChain = new OperationChain.Builder()
+                .first(new GetElements.Builder()
+                        .input(seeds)
+                        .build())
+                .build();
+
+        // When
+        final int defaultScore = operationHandler.getChainScore(opChain, new User());
+        operationHandler.setCostModel(new EstimatedCostModel());
+        final int estimatedScore = operationHandler.getChainScore(opChain, new User());
+        operationHandler.setCostModel(null);
+        final int resetScore = operationHandler.getChainScore(opChain, new User());
+
+        // Then
+        assertEquals(2, defaultScore);
+        assertEquals(20, estimatedScore);
+        assertEquals(2, resetScore);
+    }
+}
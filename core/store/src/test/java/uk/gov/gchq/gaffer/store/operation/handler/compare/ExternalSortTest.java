@@ -0,0 +1,209 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.operation.handler.compare;
+
+import com.google.common.collect.Lists;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import uk.gov.gchq.gaffer.commonutil.CommonTestConstants;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.comparison.ElementPropertyComparator;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ExternalSortTest {
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder(CommonTestConstants.TMP_DIRECTORY);
+
+    private static final Comparator<Element> COMPARATOR = new ElementPropertyComparator.Builder()
+            .groups(TestGroups.ENTITY)
+            .property("property")
+            .build();
+
+    @Test
+    public void shouldSortInMemoryWithoutSpillingIfInputFitsInOneRun() throws Exception {
+        // Given
+        final File spillDirectory = testFolder.newFolder();
+        final ExternalSort<Element> sorter = new ExternalSort<>(Element.class, COMPARATOR, 10, spillDirectory);
+        final List<Element> input = createEntities(3, 1, 2);
+
+        // When
+        final CloseableIterable<Element> result = sorter.sort(input);
+
+        // Then
+        assertEquals(Arrays.asList(input.get(1), input.get(2), input.get(0)), Lists.newArrayList(result));
+        assertEquals(0, spillDirectory.list().length);
+    }
+
+    @Test
+    public void shouldSpillRunsAndMergeThemKeepingDuplicatesInInputOrder() throws Exception {
+        // Given
+        final File spillDirectory = testFolder.newFolder();
+        final ExternalSort<Element> sorter = new ExternalSort<>(Element.class, COMPARATOR, 3, spillDirectory);
+        final List<Element> input = createEntities(5, 2, 8, 2, 1, 5, 9, 0, 2, 7);
+        for (int i = 0; i < input.size(); i++) {
+            input.get(i).putProperty("position", i);
+        }
+
+        // When
+        final CloseableIterable<Element> result = sorter.sort(input);
+
+        // Then
+        assertEquals(3, spillDirectory.list().length);
+        final List<Element> resultList = Lists.newArrayList(result);
+        assertEquals(input.size(), resultList.size());
+        final List<Object> properties = new ArrayList<>();
+        final List<Object> positions = new ArrayList<>();
+        for (final Element element : resultList) {
+            properties.add(element.getProperty("property"));
+            positions.add(element.getProperty("position"));
+        }
+        assertEquals(Arrays.asList(0, 1, 2, 2, 2, 5, 5, 7, 8, 9), properties);
+        assertEquals(Arrays.asList(7, 4, 1, 3, 8, 0, 5, 9, 2, 6), positions);
+
+        // When - iterated again
+        final List<Element> secondResultList = Lists.newArrayList(result);
+
+        // Then
+        assertEquals(resultList, secondResultList);
+
+        // When - closed
+        result.close();
+
+        // Then
+        assertEquals(0, spillDirectory.list().length);
+    }
+
+    @Test
+    public void shouldPreserveEdgesAndPropertyTypesWhenSpilling() throws Exception {
+        // Given
+        final ExternalSort<Element> sorter = new ExternalSort<>(Element.class, new ElementPropertyComparator.Builder()
+                .groups(TestGroups.EDGE)
+                .property("property")
+                .build(), 1, testFolder.newFolder());
+        final Edge edge1 = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("A")
+                .dest("B")
+                .directed(true)
+                .property("property", 2L)
+                .build();
+        final Edge edge2 = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("B")
+                .dest("C")
+                .directed(false)
+                .property("property", 1L)
+                .build();
+
+        // When
+        final CloseableIterable<Element> result = sorter.sort(Arrays.asList(edge1, edge2));
+
+        // Then
+        assertEquals(Arrays.asList(edge2, edge1), Lists.newArrayList(result));
+        assertEquals(1L, Lists.newArrayList(result).get(0).getProperty("property"));
+        result.close();
+    }
+
+    @Test
+    public void shouldSortLargeRandomInputAcrossManyRuns() throws Exception {
+        // Given
+        final ExternalSort<Element> sorter = new ExternalSort<>(Element.class, COMPARATOR, 100, testFolder.newFolder());
+        final Random random = new Random(0);
+        final List<Element> input = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            input.add(createEntity(random.nextInt(500)));
+        }
+
+        // When
+        final CloseableIterable<Element> result = sorter.sort(input);
+
+        // Then
+        int count = 0;
+        int prev = Integer.MIN_VALUE;
+        for (final Element element : result) {
+            final int curr = (int) element.getProperty("property");
+            assertTrue(curr >= prev);
+            prev = curr;
+            count++;
+        }
+        assertEquals(input.size(), count);
+        result.close();
+    }
+
+    @Test
+    public void shouldReturnTopItemsKeepingDuplicates() throws Exception {
+        // Given
+        final ExternalSort<Element> sorter = new ExternalSort<>(Element.class, COMPARATOR, 10, null);
+        final List<Element> input = createEntities(5, 2, 8, 2, 1, 5, 9, 0, 2, 7);
+
+        // When
+        final CloseableIterable<Element> result = sorter.top(input, 4);
+
+        // Then
+        final List<Object> properties = new ArrayList<>();
+        for (final Element element : result) {
+            properties.add(element.getProperty("property"));
+        }
+        assertEquals(Arrays.asList(0, 1, 2, 2), properties);
+    }
+
+    @Test
+    public void shouldReturnFirstOfEqualItemsWhenLimitIsOne() throws Exception {
+        // Given
+        final ExternalSort<Element> sorter = new ExternalSort<>(Element.class, COMPARATOR, 10, null);
+        final List<Element> input = createEntities(5, 2, 8, 2);
+        input.add(1, null);
+
+        // When
+        final CloseableIterable<Element> result = sorter.top(input, 1);
+
+        // Then
+        final List<Element> results = new ArrayList<>();
+        result.forEach(results::add);
+        assertEquals(1, results.size());
+        assertSame(input.get(2), results.get(0));
+    }
+
+    private static List<Element> createEntities(final int... values) {
+        final List<Element> entities = new ArrayList<>(values.length);
+        for (final int value : values) {
+            entities.add(createEntity(value));
+        }
+        return entities;
+    }
+
+    private static Entity createEntity(final int value) {
+        return new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertex")
+                .property("property", value)
+                .build();
+    }
+}
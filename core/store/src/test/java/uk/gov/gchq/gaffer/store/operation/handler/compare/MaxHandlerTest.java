@@ -24,6 +24,7 @@ import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.comparison.ElementPropertyComparator;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.compare.Max;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
@@ -227,6 +228,34 @@ public class MaxHandlerTest {
         assertNull(result);
     }
 
+    @Test
+    public void shouldFindFirstMaxOfLargeInput() throws OperationException {
+        // Given
+        final List<Entity> input = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            input.add(new Entity.Builder().group(TestGroups.ENTITY)
+                    .vertex(i)
+                    .property("property", i % 1000)
+                    .build());
+        }
+
+        final Max max = new Max.Builder()
+                .input(input)
+                .comparators(new ElementPropertyComparator.Builder()
+                        .groups(TestGroups.ENTITY)
+                        .property("property")
+                        .build())
+                .build();
+
+        final MaxHandler handler = new MaxHandler();
+
+        // When
+        final Element result = handler.doOperation(max, null, null);
+
+        // Then
+        assertSame(input.get(999), result);
+    }
+
     private static class SimpleElementComparator implements Comparator<Element> {
         @Override
         public int compare(final Element obj1, final Element obj2) {
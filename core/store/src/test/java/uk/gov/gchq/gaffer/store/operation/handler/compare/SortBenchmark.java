@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.operation.handler.compare;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.stream.GafferCollectors;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.comparison.ElementPropertyComparator;
+import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedSet;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Compares the time taken to sort elements by collecting them into a sorted
+ * set, as the SortHandler previously did, with the {@link ExternalSort}, both
+ * entirely in memory and when spilling runs to disk. This is not run as part
+ * of the unit tests; run the main method directly, optionally passing the
+ * number of elements and the maximum run size.
+ */
+public final class SortBenchmark {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SortBenchmark.class);
+    private static final ElementPropertyComparator COMPARATOR = new ElementPropertyComparator.Builder()
+            .groups(TestGroups.ENTITY)
+            .property("property")
+            .build();
+
+    private SortBenchmark() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int numElements = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        final int maxRunSize = args.length > 1 ? Integer.parseInt(args[1]) : 100000;
+        final List<Element> elements = createElements(numElements);
+
+        // Warm up
+        runSortedSet(elements);
+        runExternalSort(elements, numElements);
+
+        final long sortedSetTime = runSortedSet(elements);
+        final long inMemoryTime = runExternalSort(elements, numElements);
+        final long spillingTime = runExternalSort(elements, maxRunSize);
+        LOGGER.info("Sorted set: {} elements in {}ms", numElements, sortedSetTime);
+        LOGGER.info("External sort in memory: {} elements in {}ms", numElements, inMemoryTime);
+        LOGGER.info("External sort with runs of {}: {} elements in {}ms", maxRunSize, numElements, spillingTime);
+    }
+
+    private static long runSortedSet(final List<Element> elements) {
+        final long start = System.currentTimeMillis();
+        final SortedSet<Element> result = elements.stream()
+                .collect(GafferCollectors.toSortedSet(COMPARATOR));
+        long count = 0;
+        for (final Element ignored : result) {
+            count++;
+        }
+        LOGGER.debug("Sorted set contained {} elements", count);
+        return System.currentTimeMillis() - start;
+    }
+
+    private static long runExternalSort(final List<Element> elements, final int maxRunSize) throws Exception {
+        final StoreProperties properties = new StoreProperties();
+        properties.setSortMaxRunSize(maxRunSize);
+        final Store store = mock(Store.class);
+        given(store.getProperties()).willReturn(properties);
+
+        final long start = System.currentTimeMillis();
+        final Iterable<? extends Element> result = new SortHandler().doOperation(
+                new Sort.Builder()
+                        .input(elements)
+                        .comparators(COMPARATOR)
+                        .build(), null, store);
+        long count = 0;
+        for (final Element ignored : result) {
+            count++;
+        }
+        CloseableUtil.close(result);
+        LOGGER.debug("External sort returned {} elements", count);
+        return System.currentTimeMillis() - start;
+    }
+
+    private static List<Element> createElements(final int numElements) {
+        final Random random = new Random(0);
+        final List<Element> elements = new ArrayList<>(numElements);
+        for (int i = 0; i < numElements; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("" + i)
+                    .property("property", random.nextInt())
+                    .build());
+        }
+        return elements;
+    }
+}
@@ -19,6 +19,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import org.junit.Test;
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -26,6 +27,8 @@ import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.comparison.ElementPropertyComparator;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreProperties;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
@@ -37,6 +40,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 
 public class SortHandlerTest {
 
@@ -190,7 +195,7 @@ public class SortHandlerTest {
         final Iterable<? extends Element> result = handler.doOperation(sort, null, null);
 
         // Then
-        assertEquals(Arrays.asList(entity1, entity2, entity3, entity4), Lists.newArrayList(result));
+        assertEquals(Arrays.asList(entity1, entity2, entity3, entity4, entity5), Lists.newArrayList(result));
     }
 
     @Test
@@ -227,7 +232,7 @@ public class SortHandlerTest {
         final Iterable<? extends Element> result = handler.doOperation(sort, null, null);
 
         // Then
-        assertEquals(4, Iterables.size(result));
+        assertEquals(5, Iterables.size(result));
 
         assertNull(Iterables.getLast(result).getProperty("property"));
         assertNotNull(Iterables.getFirst(result, null).getProperty("property"));
@@ -361,6 +366,40 @@ public class SortHandlerTest {
         assertEquals(streamSize, Iterables.size(result));
     }
 
+    @Test
+    public void shouldKeepDuplicatesWhenSpillingToDisk() throws OperationException {
+        // Given
+        final StoreProperties properties = new StoreProperties();
+        properties.setSortMaxRunSize(2);
+        final Store store = mock(Store.class);
+        given(store.getProperties()).willReturn(properties);
+
+        final Entity entity1 = new Entity.Builder().group(TestGroups.ENTITY)
+                .property("property", 1)
+                .build();
+        final Entity entity2 = new Entity.Builder().group(TestGroups.ENTITY)
+                .property("property", 2)
+                .build();
+        final List<Entity> input = Lists.newArrayList(entity2, entity1, entity2, entity1, entity2);
+
+        final Sort sort = new Sort.Builder()
+                .input(input)
+                .comparators(new ElementPropertyComparator.Builder()
+                        .groups(TestGroups.ENTITY)
+                        .property("property")
+                        .build())
+                .build();
+
+        final SortHandler handler = new SortHandler();
+
+        // When
+        final Iterable<? extends Element> result = handler.doOperation(sort, null, store);
+
+        // Then
+        assertEquals(Arrays.asList(entity1, entity1, entity2, entity2, entity2), Lists.newArrayList(result));
+        CloseableUtil.close(result);
+    }
+
     private static class ElementComparatorImpl implements Comparator<Element> {
         @Override
         public int compare(final Element o1, final Element o2) {
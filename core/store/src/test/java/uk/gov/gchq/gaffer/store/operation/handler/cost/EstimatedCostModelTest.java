@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.operation.handler.cost;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.statistics.GraphStatistics;
+import uk.gov.gchq.koryphe.impl.predicate.Exists;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import static org.junit.Assert.assertEquals;
+
+public class EstimatedCostModelTest {
+    private static final ToIntFunction<Operation> SCORE_OF_ONE = op -> 1;
+    private static final GraphStatistics STATISTICS = new GraphStatistics.Builder()
+            .entityCount("entity", 1000)
+            .edgeCount("edge", 5000)
+            .vertexCount(1000L)
+            .build();
+
+    @Test
+    public void shouldScoreConfiguredScoreWhenSizesAreUnknown() {
+        // Given
+        final EstimatedCostModel costModel = new EstimatedCostModel();
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(new GetElements())
+                .build();
+
+        // When
+        final int cost = costModel.getChainCost(opChain, op -> 3, null);
+
+        // Then
+        assertEquals(6, cost);
+    }
+
+    @Test
+    public void shouldScaleScoreWithNumberOfSeeds() {
+        // Given
+        final EstimatedCostModel costModel = new EstimatedCostModel();
+        costModel.setItemsPerScoreUnit(100);
+        final OperationChain<?> oneSeed = new OperationChain.Builder()
+                .first(new GetAdjacentIds.Builder()
+                        .input(new EntitySeed("A"))
+                        .build())
+                .build();
+        final OperationChain<?> manySeeds = new OperationChain.Builder()
+                .first(new GetAdjacentIds.Builder()
+                        .input(getSeeds(1000))
+                        .build())
+                .build();
+
+        // When
+        final int oneSeedCost = costModel.getChainCost(oneSeed, SCORE_OF_ONE, null);
+        final int manySeedsCost = costModel.getChainCost(manySeeds, SCORE_OF_ONE, null);
+
+        // Then
+        assertEquals(1, oneSeedCost);
+        assertEquals(10, manySeedsCost);
+    }
+
+    @Test
+    public void shouldUseStatisticsAndViewToEstimateSizes() {
+        // Given
+        final EstimatedCostModel costModel = new EstimatedCostModel();
+        costModel.setItemsPerScoreUnit(100);
+        final OperationChain<?> allGroups = new OperationChain.Builder()
+                .first(new GetAllElements())
+                .build();
+        final OperationChain<?> filteredEntities = new OperationChain.Builder()
+                .first(new GetAllElements.Builder()
+                        .view(new View.Builder()
+                                .entity("entity", new ViewElementDefinition.Builder()
+                                        .preAggregationFilter(new ElementFilter.Builder()
+                                                .select("property")
+                                                .execute(new Exists())
+                                                .build())
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+        // Each seed finds 1 entity and 10 edges
+        final OperationChain<?> seededEdges = new OperationChain.Builder()
+                .first(new GetElements.Builder()
+                        .input(getSeeds(100))
+                        .build())
+                .build();
+
+        // When
+        final int allGroupsCost = costModel.getChainCost(allGroups, SCORE_OF_ONE, STATISTICS);
+        final int filteredEntitiesCost = costModel.getChainCost(filteredEntities, SCORE_OF_ONE, STATISTICS);
+        final int seededEdgesCost = costModel.getChainCost(seededEdges, SCORE_OF_ONE, STATISTICS);
+
+        // Then
+        assertEquals(60, allGroupsCost);
+        assertEquals(5, filteredEntitiesCost);
+        assertEquals(11, seededEdgesCost);
+    }
+
+    @Test
+    public void shouldCapSizesWithLimit() {
+        // Given
+        final EstimatedCostModel costModel = new EstimatedCostModel();
+        costModel.setItemsPerScoreUnit(100);
+        final OperationChain<?> opChain = new OperationChain<>(Arrays.asList(
+                new GetAllElements(),
+                new Limit<>(100),
+                new GetAdjacentIds()));
+
+        // When
+        final int cost = costModel.getChainCost(opChain, SCORE_OF_ONE, STATISTICS);
+
+        // Then - GetAllElements and Limit handle 100 items, GetAdjacentIds finds 11 items for each of the 100 seeds
+        assertEquals(1 + 1 + 11, cost);
+    }
+
+    private static List<EntitySeed> getSeeds(final int numSeeds) {
+        final List<EntitySeed> seeds = new ArrayList<>(numSeeds);
+        for (int i = 0; i < numSeeds; i++) {
+            seeds.add(new EntitySeed(i));
+        }
+        return seeds;
+    }
+}
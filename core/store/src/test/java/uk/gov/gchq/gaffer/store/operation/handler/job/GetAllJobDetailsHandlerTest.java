@@ -72,4 +72,26 @@ public class GetAllJobDetailsHandlerTest {
         // Then
         assertSame(jobsDetails, results);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldGetPageOfJobDetailsFromJobTracker() throws OperationException {
+        // Given
+        final GetAllJobDetailsHandler handler = new GetAllJobDetailsHandler();
+        final GetAllJobDetails operation = new GetAllJobDetails.Builder()
+                .limit(10)
+                .build();
+        final Store store = mock(Store.class);
+        final JobTracker jobTracker = mock(JobTracker.class);
+        final User user = mock(User.class);
+        final CloseableIterable<JobDetail> jobsDetails = mock(CloseableIterable.class);
+
+        given(store.getJobTracker()).willReturn(jobTracker);
+        given(jobTracker.getJobs(user, 0, 10)).willReturn(jobsDetails);
+
+        // When
+        final CloseableIterable<JobDetail> results = handler.doOperation(operation, new Context(user), store);
+
+        // Then
+        assertSame(jobsDetails, results);
+    }
+}
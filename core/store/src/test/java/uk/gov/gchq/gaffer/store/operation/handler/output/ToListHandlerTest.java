@@ -17,17 +17,20 @@
 package uk.gov.gchq.gaffer.store.operation.handler.output;
 
 import org.junit.Test;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.output.ToList;
 import uk.gov.gchq.gaffer.store.Context;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
@@ -51,6 +54,30 @@ public class ToListHandlerTest {
         assertEquals(originalList, results);
     }
 
+    @Test
+    public void shouldCloseInputOnceConverted() throws OperationException {
+        // Given
+        final AtomicBoolean closed = new AtomicBoolean();
+        final CloseableIterable<Integer> input = new WrappedCloseableIterable<Integer>(Arrays.asList(1, 2, 3)) {
+            @Override
+            public void close() {
+                closed.set(true);
+                super.close();
+            }
+        };
+        final ToListHandler<Integer> handler = new ToListHandler<>();
+        final ToList<Integer> operation = new ToList.Builder<Integer>()
+                .input(input)
+                .build();
+
+        //When
+        final Iterable<? extends Integer> results = handler.doOperation(operation, new Context(), null);
+
+        //Then
+        assertEquals(Arrays.asList(1, 2, 3), results);
+        assertTrue(closed.get());
+    }
+
     @Test
     public void shouldHandleNullInput() throws OperationException {
         // Given
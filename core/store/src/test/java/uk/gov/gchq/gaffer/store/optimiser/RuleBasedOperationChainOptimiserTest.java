@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.CountAllElements;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
+import uk.gov.gchq.gaffer.store.optimiser.rule.CountGroupsRule;
+import uk.gov.gchq.gaffer.store.optimiser.rule.DistinctCountRule;
+import uk.gov.gchq.gaffer.store.optimiser.rule.LimitPushdownRule;
+import uk.gov.gchq.gaffer.store.optimiser.rule.RedundantToListRule;
+import uk.gov.gchq.gaffer.store.optimiser.rule.UnusedOutputRule;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RuleBasedOperationChainOptimiserTest {
+    private static final List<OperationChainRule> RULES = Arrays.asList(
+            new CountGroupsRule(),
+            new LimitPushdownRule(),
+            new DistinctCountRule(),
+            new RedundantToListRule(),
+            new UnusedOutputRule());
+
+    @Test
+    public void shouldApplyRulesToTheResultsOfOtherRulesAndTraceThem() {
+        // Given
+        final TracingOptimiser optimiser = new TracingOptimiser(RULES);
+        final OperationChain<?> opChain = new OperationChain<>(Arrays.asList(
+                new GetAllElements(),
+                new ToList<>(),
+                new Count<>()));
+
+        // When
+        final List<Operation> ops = optimiser.optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(1, ops.size());
+        assertTrue(ops.get(0) instanceof CountAllElements);
+        assertEquals(Arrays.asList("RedundantToListRule", "CountGroupsRule"), optimiser.firedRules);
+    }
+
+    @Test
+    public void shouldPushDownLimitAndCountDistinctItems() {
+        // Given
+        final GetElements getElements = new GetElements.Builder()
+                .input(new EntitySeed("a"))
+                .build();
+        final Limit<?> limit = new Limit<>(10);
+        final OperationChain<?> opChain = new OperationChain<>(Arrays.asList(
+                getElements,
+                limit,
+                new ToSet<>(),
+                new Count<>()));
+
+        // When
+        final List<Operation> ops = new RuleBasedOperationChainOptimiser(RULES).optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(3, ops.size());
+        assertEquals(10, (int) LimitPushdownRule.getResultLimitHint((GetElements) ops.get(0)));
+        assertSame(limit, ops.get(1));
+        assertTrue(((Count) ops.get(2)).isDistinct());
+        assertNull(LimitPushdownRule.getResultLimitHint(getElements));
+        assertSame(getElements, opChain.getOperations().get(0));
+    }
+
+    @Test
+    public void shouldReturnSameChainIfNoRulesApply() {
+        // Given
+        final OperationChain<?> opChain = new OperationChain<>(Arrays.asList(
+                new GetAllElements(),
+                new ToList<>()));
+
+        // When
+        final OperationChain<?> result = new RuleBasedOperationChainOptimiser(RULES).optimise(opChain);
+
+        // Then
+        assertSame(opChain, result);
+    }
+
+    @Test
+    public void shouldStopAfterMaxRewrites() {
+        // Given
+        final TracingOptimiser optimiser = new TracingOptimiser(Collections.singletonList(
+                (op, nextOp) -> Arrays.asList(op, nextOp)));
+        final OperationChain<?> opChain = new OperationChain<>(Arrays.asList(
+                new GetAllElements(),
+                new ToList<>()));
+
+        // When
+        final List<Operation> ops = optimiser.optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(2, ops.size());
+        assertEquals(RuleBasedOperationChainOptimiser.MAX_REWRITES, optimiser.firedRules.size());
+    }
+
+    private static final class TracingOptimiser extends RuleBasedOperationChainOptimiser {
+        private final List<String> firedRules = new ArrayList<>();
+
+        private TracingOptimiser(final List<OperationChainRule> rules) {
+            super(rules);
+        }
+
+        @Override
+        protected void onRewrite(final OperationChainRule rule, final List<Operation> ops, final List<Operation> rewrittenOps) {
+            super.onRewrite(rule, ops, rewrittenOps);
+            firedRules.add(rule.getClass().getSimpleName());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.optimiser.rule;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.CountAllElements;
+import uk.gov.gchq.gaffer.operation.impl.CountGroups;
+import uk.gov.gchq.gaffer.operation.impl.GetGroupCounts;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.optimiser.RuleBasedOperationChainOptimiser;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CountGroupsRuleTest {
+    private static final View VIEW = new View.Builder()
+            .entity(TestGroups.ENTITY)
+            .edge(TestGroups.EDGE)
+            .build();
+
+    @Test
+    public void shouldRewriteGetAllElementsThenCountGroups() {
+        // Given
+        final OperationChain<?> opChain = new OperationChain<>(Arrays.asList(
+                new GetAllElements.Builder()
+                        .view(VIEW)
+                        .directedType(DirectedType.DIRECTED)
+                        .option("key", "value")
+                        .build(),
+                new CountGroups()));
+
+        // When
+        final List<Operation> ops = optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(1, ops.size());
+        final GetGroupCounts getGroupCounts = (GetGroupCounts) ops.get(0);
+        assertSame(VIEW, getGroupCounts.getView());
+        assertEquals(DirectedType.DIRECTED, getGroupCounts.getDirectedType());
+        assertEquals("value", getGroupCounts.getOption("key"));
+    }
+
+    @Test
+    public void shouldRewriteGetAllElementsThenCount() {
+        // Given
+        final OperationChain<?> opChain = new OperationChain<>(Arrays.asList(
+                new Limit<>(10),
+                new GetAllElements.Builder()
+                        .view(VIEW)
+                        .build(),
+                new Count<>()));
+
+        // When
+        final List<Operation> ops = optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(2, ops.size());
+        assertTrue(ops.get(0) instanceof Limit);
+        assertSame(VIEW, ((CountAllElements) ops.get(1)).getView());
+    }
+
+    @Test
+    public void shouldNotRewriteIfCountGroupsHasLimit() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(VIEW)
+                .build();
+        final CountGroups countGroups = new CountGroups(5);
+        final OperationChain<?> opChain = new OperationChain<>(Arrays.asList(getAllElements, countGroups));
+
+        // When
+        final List<Operation> ops = optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(Arrays.asList(getAllElements, countGroups), ops);
+    }
+
+    @Test
+    public void shouldNotRewriteIfViewHasFilters() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                                .postAggregationFilter(new ElementFilter.Builder()
+                                        .select("count")
+                                        .execute(new IsMoreThan(1))
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+        final CountGroups countGroups = new CountGroups();
+        final OperationChain<?> opChain = new OperationChain<>(Arrays.asList(getAllElements, countGroups));
+
+        // When
+        final List<Operation> ops = optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(Arrays.asList(getAllElements, countGroups), ops);
+    }
+
+    @Test
+    public void shouldNotRewriteIfCountIsDistinct() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(VIEW)
+                .build();
+        final Count<?> count = new Count.Builder<>()
+                .distinct(true)
+                .build();
+        final OperationChain<?> opChain = new OperationChain<>(Arrays.asList(getAllElements, count));
+
+        // When
+        final List<Operation> ops = optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(Arrays.asList(getAllElements, count), ops);
+    }
+
+    private static OperationChain<?> optimise(final OperationChain<?> opChain) {
+        return new RuleBasedOperationChainOptimiser(Collections.singletonList(new CountGroupsRule())).optimise(opChain);
+    }
+}
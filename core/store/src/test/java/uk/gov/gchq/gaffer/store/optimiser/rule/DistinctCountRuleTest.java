@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.optimiser.rule;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DistinctCountRuleTest {
+    @Test
+    public void shouldRewriteToSetThenCountToDistinctCount() {
+        // Given
+        final List<String> input = Arrays.asList("a", "b", "a");
+        final ToSet<String> toSet = new ToSet.Builder<String>()
+                .input(input)
+                .build();
+
+        final Count<String> count = new Count<>();
+
+        // When
+        final List<Operation> ops = new DistinctCountRule().rewrite(toSet, count);
+
+        // Then
+        assertEquals(1, ops.size());
+        final Count<?> distinctCount = (Count<?>) ops.get(0);
+        assertTrue(distinctCount.isDistinct());
+        assertSame(input, distinctCount.getInput());
+        assertFalse(count.isDistinct());
+        assertNull(count.getInput());
+    }
+
+    @Test
+    public void shouldNotRewriteIfCountHasItsOwnInput() {
+        // Given
+        final Count<String> count = new Count.Builder<String>()
+                .input("a")
+                .build();
+
+        // When
+        final List<Operation> ops = new DistinctCountRule().rewrite(new ToSet<>(), count);
+
+        // Then
+        assertNull(ops);
+    }
+}
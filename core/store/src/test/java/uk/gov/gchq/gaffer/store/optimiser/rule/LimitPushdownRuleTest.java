@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.optimiser.rule;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class LimitPushdownRuleTest {
+    @Test
+    public void shouldAddResultLimitHintToRetrieval() {
+        // Given
+        final GetElements getElements = new GetElements.Builder()
+                .input(new EntitySeed("a"))
+                .build();
+        final Limit<?> limit = new Limit<>(10);
+
+        // When
+        final List<Operation> ops = new LimitPushdownRule().rewrite(getElements, limit);
+
+        // Then
+        assertEquals(2, ops.size());
+        final GetElements rewrittenGetElements = (GetElements) ops.get(0);
+        assertEquals(10, (int) LimitPushdownRule.getResultLimitHint(rewrittenGetElements));
+        assertSame(getElements.getInput(), rewrittenGetElements.getInput());
+        assertSame(limit, ops.get(1));
+    }
+
+    @Test
+    public void shouldNotModifyTheOriginalRetrieval() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .option("key", "value")
+                .build();
+
+        // When
+        final List<Operation> ops = new LimitPushdownRule().rewrite(getAllElements, new Limit<>(10));
+
+        // Then
+        assertNotSame(getAllElements, ops.get(0));
+        assertEquals("value", ((GetAllElements) ops.get(0)).getOption("key"));
+        assertNull(LimitPushdownRule.getResultLimitHint(getAllElements));
+        assertEquals(1, getAllElements.getOptions().size());
+    }
+
+    @Test
+    public void shouldKeepSmallerResultLimitHint() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .option(LimitPushdownRule.RESULT_LIMIT_HINT, "5")
+                .build();
+
+        // When
+        final List<Operation> ops = new LimitPushdownRule().rewrite(getAllElements, new Limit<>(10));
+
+        // Then
+        assertNull(ops);
+        assertEquals(5, (int) LimitPushdownRule.getResultLimitHint(getAllElements));
+    }
+
+    @Test
+    public void shouldNotAddResultLimitHintIfLimitHasItsOwnInput() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final Limit<String> limit = new Limit.Builder<String>()
+                .input("a", "b")
+                .resultLimit(1)
+                .build();
+
+        // When
+        final List<Operation> ops = new LimitPushdownRule().rewrite(getAllElements, limit);
+
+        // Then
+        assertNull(ops);
+        assertNull(LimitPushdownRule.getResultLimitHint(getAllElements));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.optimiser.rule;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.comparison.ElementPropertyComparator;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RedundantToListRuleTest {
+    @Test
+    public void shouldRemoveToListBeforeCount() {
+        // Given
+        final List<String> input = Arrays.asList("a", "b");
+        final ToList<String> toList = new ToList.Builder<String>()
+                .input(input)
+                .build();
+        final Count<String> count = new Count.Builder<String>()
+                .distinct(true)
+                .build();
+
+        // When
+        final List<Operation> ops = new RedundantToListRule().rewrite(toList, count);
+
+        // Then
+        assertEquals(1, ops.size());
+        final Count<?> rewrittenCount = (Count<?>) ops.get(0);
+        assertSame(input, rewrittenCount.getInput());
+        assertTrue(rewrittenCount.isDistinct());
+        assertNull(count.getInput());
+    }
+
+    @Test
+    public void shouldCopyTheFieldsOfTheNextOperation() {
+        // Given
+        final Comparator<Element> comparator = new ElementPropertyComparator.Builder()
+                .groups("group")
+                .property("property")
+                .build();
+        final Sort sort = new Sort.Builder()
+                .comparators(comparator)
+                .resultLimit(5)
+                .build();
+
+        // When
+        final List<Operation> ops = new RedundantToListRule().rewrite(new ToList<>(), sort);
+
+        // Then
+        final Sort rewrittenSort = (Sort) ops.get(0);
+        assertNotSame(sort, rewrittenSort);
+        assertEquals(Collections.singletonList(comparator), rewrittenSort.getComparators());
+        assertEquals(5, (int) rewrittenSort.getResultLimit());
+    }
+
+    @Test
+    public void shouldNotRemoveToListBeforeLazyOperation() {
+        // When
+        final List<Operation> ops = new RedundantToListRule().rewrite(new ToList<>(), new Limit<>(1));
+
+        // Then
+        assertNull(ops);
+    }
+}
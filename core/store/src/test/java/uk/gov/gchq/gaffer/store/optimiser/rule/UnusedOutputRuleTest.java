@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.optimiser.rule;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.DiscardOutput;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class UnusedOutputRuleTest {
+    @Test
+    public void shouldRemoveOperationBeforeDiscardOutput() {
+        // Given
+        final DiscardOutput discardOutput = new DiscardOutput();
+
+        // When
+        final List<Operation> ops = new UnusedOutputRule().rewrite(new ToList<>(), discardOutput);
+
+        // Then
+        assertEquals(Collections.singletonList(discardOutput), ops);
+    }
+
+    @Test
+    public void shouldNotRemoveOperationIfNextOperationHasItsOwnInput() {
+        // Given
+        final GetElements getElements = new GetElements.Builder()
+                .input(new EntitySeed("a"))
+                .build();
+
+        // When
+        final List<Operation> ops = new UnusedOutputRule().rewrite(new GetAllElements(), getElements);
+
+        // Then
+        assertNull(ops);
+    }
+
+    @Test
+    public void shouldNotRemoveOperationWithSideEffects() {
+        // When
+        final List<Operation> ops = new UnusedOutputRule().rewrite(new AddElements(), new DiscardOutput());
+
+        // Then
+        assertNull(ops);
+    }
+
+    @Test
+    public void shouldNotRemoveOperationThatMayFail() {
+        // Given
+        final GetElements getElements = new GetElements.Builder()
+                .input(new EntitySeed("a"))
+                .build();
+
+        // When
+        final List<Operation> ops = new UnusedOutputRule().rewrite(getElements, new DiscardOutput());
+
+        // Then
+        assertNull(ops);
+    }
+
+    @Test
+    public void shouldNotRemoveOperationIfOutputIsUsed() {
+        // When
+        final List<Operation> ops = new UnusedOutputRule().rewrite(new GetAllElements(), new ToList<>());
+
+        // Then
+        assertNull(ops);
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.util;
+
+import com.google.common.collect.Lists;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import uk.gov.gchq.gaffer.commonutil.CommonTestConstants;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.store.StoreProperties;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static uk.gov.gchq.gaffer.data.util.ElementUtil.assertElementEquals;
+
+public class StreamingAggregatorTest {
+    private static final int NUM_VERTICES = 500;
+
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder(CommonTestConstants.TMP_DIRECTORY);
+
+    @Test
+    public void shouldAggregateUndirectedEdgesWithSwappedVertices() {
+        // Given
+        final Schema schema = Schema.fromJson(StreamUtil.openStreams(getClass(), "schema-groupby"));
+        final List<Element> elements = Arrays.asList(
+                createEdge("vertex1", "vertex2", false, 1, "value1"),
+                createEdge("vertex2", "vertex1", false, 2, "value1"),
+                createEdge("vertex1", "vertex2", true, 4, "value1"),
+                createEdge("vertex2", "vertex1", true, 8, "value1")
+        );
+
+        // When
+        final CloseableIterable<Element> aggregatedElements = AggregatorUtil.ingestAggregate(elements, schema);
+
+        // Then
+        assertElementEquals(Arrays.asList(
+                createEdge("vertex1", "vertex2", false, 3, "value1"),
+                createEdge("vertex1", "vertex2", true, 4, "value1"),
+                createEdge("vertex2", "vertex1", true, 8, "value1")
+        ), aggregatedElements);
+    }
+
+    @Test
+    public void shouldSpillAndMergeToTheSameResultAsInMemoryAggregation() throws Exception {
+        // Given
+        final Schema schema = Schema.fromJson(StreamUtil.openStreams(getClass(), "schema-groupby"));
+        final StoreProperties inMemoryProperties = new StoreProperties();
+        inMemoryProperties.setAggregationThreads(1);
+        final File spillDirectory = testFolder.newFolder();
+        final StoreProperties spillingProperties = new StoreProperties();
+        spillingProperties.setAggregationMaxGroupsInMemory(10);
+        spillingProperties.setAggregationThreads(4);
+        spillingProperties.setAggregationSpillDirectory(spillDirectory.getAbsolutePath());
+
+        // When
+        final CloseableIterable<Element> expected = AggregatorUtil.ingestAggregate(createElements(), schema, inMemoryProperties);
+        final CloseableIterable<Element> result = AggregatorUtil.ingestAggregate(createElements(), schema, spillingProperties);
+
+        // Then
+        assertTrue(spillDirectory.list().length > 0);
+        final Map<String, Integer> expectedCounts = getCounts(expected);
+        assertEquals(2 * NUM_VERTICES, expectedCounts.size());
+        assertEquals(expectedCounts, getCounts(result));
+
+        // When - iterated again
+        final Map<String, Integer> secondCounts = getCounts(result);
+
+        // Then
+        assertEquals(expectedCounts, secondCounts);
+
+        // When - closed
+        result.close();
+
+        // Then
+        assertEquals(0, spillDirectory.list().length);
+    }
+
+    @Test
+    public void shouldSplitSpilledPartitionsThatHaveTooManyGroups() throws Exception {
+        // Given
+        final Schema schema = Schema.fromJson(StreamUtil.openStreams(getClass(), "schema-groupby"));
+        final StoreProperties properties = new StoreProperties();
+        properties.setAggregationMaxGroupsInMemory(2);
+        properties.setAggregationThreads(1);
+        properties.setAggregationSpillDirectory(testFolder.newFolder().getAbsolutePath());
+
+        // When
+        final CloseableIterable<Element> result = AggregatorUtil.ingestAggregate(createElements(), schema, properties);
+
+        // Then
+        final Map<String, Integer> counts = getCounts(result);
+        assertEquals(2 * NUM_VERTICES, counts.size());
+        for (final Integer count : counts.values()) {
+            assertEquals(55, (int) count);
+        }
+        result.close();
+    }
+
+    @Test
+    public void shouldReturnNonAggregatedElementsAfterAggregatedElements() throws Exception {
+        // Given
+        final Schema schema = Schema.fromJson(StreamUtil.openStreams(getClass(), "schema-groupby"));
+        final Entity entity = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertex1")
+                .property("count", 1)
+                .property("property2", "value1")
+                .build();
+        final Entity nonAggregatedEntity = new Entity.Builder()
+                .group(TestGroups.NON_AGG_ENTITY)
+                .vertex("vertex1")
+                .property("count", 1)
+                .build();
+        final StoreProperties properties = new StoreProperties();
+        properties.setAggregationMaxGroupsInMemory(1);
+        properties.setAggregationSpillDirectory(testFolder.newFolder().getAbsolutePath());
+
+        // When
+        final CloseableIterable<Element> result = AggregatorUtil.ingestAggregate(
+                Arrays.asList(nonAggregatedEntity, entity, nonAggregatedEntity, entity), schema, properties);
+
+        // Then
+        final List<Element> resultList = Lists.newArrayList(result);
+        assertEquals(3, resultList.size());
+        assertEquals(TestGroups.ENTITY, resultList.get(0).getGroup());
+        assertEquals(2, resultList.get(0).getProperty("count"));
+        assertEquals(Arrays.asList(nonAggregatedEntity, nonAggregatedEntity), resultList.subList(1, 3));
+        result.close();
+    }
+
+    @Test
+    public void shouldReadNonAggregatedElementsFromTheInputWhenTheResultIsIterated() {
+        // Given
+        final Schema schema = Schema.fromJson(StreamUtil.openStreams(getClass(), "schema-groupby"));
+        final List<Element> elements = new ArrayList<>(Arrays.asList(
+                new Entity.Builder()
+                        .group(TestGroups.NON_AGG_ENTITY)
+                        .vertex("vertex1")
+                        .property("count", 1)
+                        .build(),
+                new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex1")
+                        .property("count", 1)
+                        .property("property2", "value1")
+                        .build()));
+        final CloseableIterable<Element> result = AggregatorUtil.ingestAggregate(elements, schema);
+        final Entity replacement = new Entity.Builder()
+                .group(TestGroups.NON_AGG_ENTITY)
+                .vertex("vertex2")
+                .property("count", 2)
+                .build();
+
+        // When
+        elements.set(0, replacement);
+        final List<Element> resultList = Lists.newArrayList(result);
+
+        // Then
+        assertEquals(2, resultList.size());
+        assertEquals(TestGroups.ENTITY, resultList.get(0).getGroup());
+        assertEquals(replacement, resultList.get(1));
+        result.close();
+    }
+
+    @Test
+    public void shouldShareThreadsBetweenAggregations() throws Exception {
+        // Given
+        final Schema schema = Schema.fromJson(StreamUtil.openStreams(getClass(), "schema-groupby"));
+        final StoreProperties properties = new StoreProperties();
+        properties.setAggregationThreads(4);
+        properties.setAggregationSpillDirectory(testFolder.newFolder().getAbsolutePath());
+        final Map<String, Integer> expectedCounts = getCounts(AggregatorUtil.ingestAggregate(createElements(), schema, properties));
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            try (final CloseableIterable<Element> result = AggregatorUtil.ingestAggregate(createElements(), schema, properties)) {
+                assertEquals(expectedCounts, getCounts(result));
+            }
+        }
+
+        // Then
+        int numAggregationThreads = 0;
+        for (final Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("gaffer-aggregation-")) {
+                numAggregationThreads++;
+            }
+        }
+        assertTrue(numAggregationThreads <= Runtime.getRuntime().availableProcessors());
+    }
+
+    private static List<Element> createElements() {
+        // Each group is added 10 times, with counts from 1 to 10, interleaved with the other groups
+        final Random random = new Random(0);
+        final List<Element> elements = new ArrayList<>();
+        for (int count = 1; count <= 10; count++) {
+            final List<Element> round = new ArrayList<>();
+            for (int i = 0; i < NUM_VERTICES; i++) {
+                round.add(new Entity.Builder()
+                        .group(TestGroups.ENTITY)
+                        .vertex("vertex" + i)
+                        .property("count", count)
+                        .property("property2", "value" + (i % 3))
+                        .build());
+                round.add(createEdge("vertex" + i, "vertex" + ((i + 1) % NUM_VERTICES), true, count, "value1"));
+            }
+            Collections.shuffle(round, random);
+            elements.addAll(round);
+        }
+        return elements;
+    }
+
+    private static Edge createEdge(final String source, final String destination, final boolean directed,
+                                   final int count, final String property2) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source(source)
+                .dest(destination)
+                .directed(directed)
+                .property("count", count)
+                .property("property2", property2)
+                .build();
+    }
+
+    private static Map<String, Integer> getCounts(final Iterable<Element> elements) {
+        final Map<String, Integer> counts = new HashMap<>();
+        for (final Element element : elements) {
+            final String key;
+            if (element instanceof Entity) {
+                key = ((Entity) element).getVertex() + "," + element.getProperty("property2");
+            } else {
+                key = ((Edge) element).getSource() + "->" + ((Edge) element).getDestination();
+            }
+            assertEquals(null, counts.put(key, (Integer) element.getProperty("count")));
+        }
+        return counts;
+    }
+}
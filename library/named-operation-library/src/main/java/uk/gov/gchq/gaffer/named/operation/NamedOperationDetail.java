@@ -28,11 +28,9 @@ import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.user.User;
 import java.io.Serializable;
-import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 public class NamedOperationDetail implements Serializable {
     private static final JSONSerialiser SERIALISER = new JSONSerialiser();
@@ -94,10 +92,6 @@ public class NamedOperationDetail implements Serializable {
         return parameters;
     }
 
-    private String buildParamNameString(final String paramKey) {
-        return "\"${" + paramKey + "}\"";
-    }
-
     /**
      * Gets the OperationChain after adding in default values for any parameters. If a parameter
      * does not have a default, null is inserted.
@@ -107,81 +101,20 @@ public class NamedOperationDetail implements Serializable {
      */
     @JsonIgnore
     public OperationChain getOperationChainWithDefaultParams() {
-        String opStringWithDefaults = operations;
-
-        if (parameters != null) {
-            for (final Map.Entry<String, ParameterDetail> parameterDetailPair : parameters.entrySet()) {
-                String paramKey = parameterDetailPair.getKey();
-
-                try {
-                    opStringWithDefaults = opStringWithDefaults.replace(buildParamNameString(paramKey),
-                            new String(SERIALISER.serialise(parameterDetailPair.getValue().getDefaultValue(), CHARSET_NAME), CHARSET_NAME));
-                } catch (SerialisationException | UnsupportedEncodingException e) {
-                    throw new IllegalArgumentException(e.getMessage());
-                }
-            }
-        }
-
-        OperationChain opChain;
-        try {
-            opChain = SERIALISER.deserialise(opStringWithDefaults.getBytes(CHARSET_NAME), OperationChain.class);
-        } catch (Exception e) {
-            throw new IllegalArgumentException(e.getMessage());
-        }
-
-        return opChain;
+        return new NamedOperationTemplate(this).getOperationChainWithDefaultParams();
     }
 
     /**
-     * Gets the OperationChain after adding in any provided parameters.
+     * Gets the OperationChain after adding in any provided parameters. This compiles the operation chain on every
+     * call, so when the same named operation is executed repeatedly a cached {@link NamedOperationTemplate} should be
+     * used instead.
      *
      * @param executionParams the parameters for the {@link uk.gov.gchq.gaffer.operation.Operation} to be executed
      * @return The {@link OperationChain}
      * @throws IllegalArgumentException if substituting the parameters fails
      */
     public OperationChain getOperationChain(final Map<String, Object> executionParams) {
-        String opStringWithParams = operations;
-
-        // First check all the parameters supplied are expected parameter names
-        if (parameters != null) {
-            if (executionParams != null) {
-                Set<String> paramDetailKeys = parameters.keySet();
-                Set<String> paramKeys = executionParams.keySet();
-
-                if (!paramDetailKeys.containsAll(paramKeys)) {
-                    throw new IllegalArgumentException("Unexpected parameter name in NamedOperation");
-                }
-            }
-
-            for (final Map.Entry<String, ParameterDetail> parameterDetailPair : parameters.entrySet()) {
-                String paramKey = parameterDetailPair.getKey();
-                try {
-                    if (executionParams != null && executionParams.containsKey(paramKey)) {
-                        Object paramObj = SERIALISER.deserialise(SERIALISER.serialise(executionParams.get(paramKey)), parameterDetailPair.getValue().getValueClass());
-
-                        opStringWithParams = opStringWithParams.replace(buildParamNameString(paramKey),
-                                new String(SERIALISER.serialise(paramObj, CHARSET_NAME), CHARSET_NAME));
-                    } else if (!parameterDetailPair.getValue().isRequired()) {
-                        opStringWithParams = opStringWithParams.replace(buildParamNameString(paramKey),
-                                new String(SERIALISER.serialise(parameterDetailPair.getValue().getDefaultValue(), CHARSET_NAME), CHARSET_NAME));
-                    } else {
-                        throw new IllegalArgumentException("Missing parameter " + paramKey + " with no default");
-                    }
-                } catch (SerialisationException | UnsupportedEncodingException e) {
-                    throw new IllegalArgumentException(e.getMessage());
-                }
-            }
-        }
-
-        OperationChain opChain;
-
-        try {
-            opChain = SERIALISER.deserialise(opStringWithParams.getBytes(CHARSET_NAME), OperationChain.class);
-        } catch (Exception e) {
-            throw new IllegalArgumentException(e.getMessage());
-        }
-
-        return opChain;
+        return new NamedOperationTemplate(this).getOperationChain(executionParams);
     }
 
     @Override
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.named.operation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A NamedOperationTemplate is a compiled form of a {@link NamedOperationDetail}. The operation chain JSON is parsed
+ * into a tree once, and the positions of the parameter placeholders are recorded. Creating an
+ * {@link OperationChain} then only binds the parameter values directly into the placeholder positions and converts
+ * the tree into a new chain, so the parameters and the chain are not written out and re-parsed as JSON text.
+ * <p>
+ * Placeholders are bound wherever they are a whole JSON string, either as a value or as a field name. A parameter
+ * used as a field name must be bound to a string value.
+ * <p>
+ * Only the parts of the tree that contain placeholders are copied when binding, the rest of the tree is shared and
+ * is never modified, so a template can be used by many threads at once.
+ */
+public class NamedOperationTemplate {
+    private static final ObjectMapper MAPPER = new JSONSerialiser().getMapper();
+
+    private final String operationName;
+    private final String operations;
+    private final Map<String, ParameterDetail> parameters;
+    private final JsonNode tree;
+    private final Map<String, String> placeholderToParam = new HashMap<>();
+    private final Set<JsonNode> nodesWithPlaceholders = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Compiles the operation chain of the given {@link NamedOperationDetail}.
+     *
+     * @param namedOperation the named operation to compile
+     * @throws IllegalArgumentException if the operation chain is not valid JSON
+     */
+    public NamedOperationTemplate(final NamedOperationDetail namedOperation) {
+        this.operationName = namedOperation.getOperationName();
+        this.operations = namedOperation.getOperations();
+        this.parameters = null != namedOperation.getParameters() ? new HashMap<>(namedOperation.getParameters()) : null;
+        try {
+            this.tree = MAPPER.readTree(operations);
+        } catch (final IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+
+        if (null != parameters) {
+            for (final String paramKey : parameters.keySet()) {
+                placeholderToParam.put("${" + paramKey + "}", paramKey);
+            }
+            findPlaceholders(tree);
+        }
+    }
+
+    public String getOperationName() {
+        return operationName;
+    }
+
+    /**
+     * Checks whether this template was compiled from the same version of a named operation as the one provided.
+     *
+     * @param namedOperation the named operation to check
+     * @return true if the operation chain and parameters of the named operation are the ones that were compiled
+     */
+    public boolean isCompiledFrom(final NamedOperationDetail namedOperation) {
+        return null != namedOperation
+                && Objects.equals(operationName, namedOperation.getOperationName())
+                && Objects.equals(operations, namedOperation.getOperations())
+                && Objects.equals(parameters, namedOperation.getParameters());
+    }
+
+    /**
+     * Gets the OperationChain after binding in any provided parameters.
+     *
+     * @param executionParams the parameters for the {@link uk.gov.gchq.gaffer.operation.Operation} to be executed
+     * @return The {@link OperationChain}
+     * @throws IllegalArgumentException if binding the parameters fails
+     */
+    public OperationChain getOperationChain(final Map<String, Object> executionParams) {
+        final Map<String, JsonNode> boundParams = new HashMap<>();
+        if (null != parameters) {
+            // First check all the parameters supplied are expected parameter names
+            if (null != executionParams && !parameters.keySet().containsAll(executionParams.keySet())) {
+                throw new IllegalArgumentException("Unexpected parameter name in NamedOperation");
+            }
+
+            for (final Map.Entry<String, ParameterDetail> parameterDetailPair : parameters.entrySet()) {
+                final String paramKey = parameterDetailPair.getKey();
+                final ParameterDetail paramDetail = parameterDetailPair.getValue();
+                if (null != executionParams && executionParams.containsKey(paramKey)) {
+                    final Object paramObj = MAPPER.convertValue(executionParams.get(paramKey), paramDetail.getValueClass());
+                    boundParams.put(paramKey, MAPPER.valueToTree(paramObj));
+                } else if (!paramDetail.isRequired()) {
+                    boundParams.put(paramKey, MAPPER.valueToTree(paramDetail.getDefaultValue()));
+                } else {
+                    throw new IllegalArgumentException("Missing parameter " + paramKey + " with no default");
+                }
+            }
+        }
+
+        return toOperationChain(boundParams);
+    }
+
+    /**
+     * Gets the OperationChain after binding in default values for any parameters. If a parameter
+     * does not have a default, null is inserted.
+     *
+     * @return The {@link OperationChain}
+     * @throws IllegalArgumentException if binding the parameters fails
+     */
+    public OperationChain getOperationChainWithDefaultParams() {
+        final Map<String, JsonNode> boundParams = new HashMap<>();
+        if (null != parameters) {
+            for (final Map.Entry<String, ParameterDetail> parameterDetailPair : parameters.entrySet()) {
+                boundParams.put(parameterDetailPair.getKey(), MAPPER.valueToTree(parameterDetailPair.getValue().getDefaultValue()));
+            }
+        }
+
+        return toOperationChain(boundParams);
+    }
+
+    private OperationChain toOperationChain(final Map<String, JsonNode> boundParams) {
+        try {
+            return MAPPER.treeToValue(bind(tree, boundParams), OperationChain.class);
+        } catch (final Exception e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    // Returns true if the node is, or contains, a placeholder. The containers that hold placeholders are recorded.
+    private boolean findPlaceholders(final JsonNode node) {
+        boolean found = false;
+        if (node.isTextual()) {
+            found = placeholderToParam.containsKey(node.textValue());
+        } else if (node.isContainerNode()) {
+            for (final JsonNode child : node) {
+                found |= findPlaceholders(child);
+            }
+            final Iterator<String> fieldNames = node.fieldNames();
+            while (fieldNames.hasNext()) {
+                found |= placeholderToParam.containsKey(fieldNames.next());
+            }
+            if (found) {
+                nodesWithPlaceholders.add(node);
+            }
+        }
+        return found;
+    }
+
+    // Copies only the containers on the path to a placeholder, sharing all other nodes with the compiled tree.
+    private JsonNode bind(final JsonNode node, final Map<String, JsonNode> boundParams) {
+        if (node.isTextual()) {
+            final String paramKey = placeholderToParam.get(node.textValue());
+            return null != paramKey ? boundParams.get(paramKey) : node;
+        }
+        if (!nodesWithPlaceholders.contains(node)) {
+            return node;
+        }
+        if (node.isArray()) {
+            final ArrayNode copy = JsonNodeFactory.instance.arrayNode();
+            for (final JsonNode child : node) {
+                copy.add(bind(child, boundParams));
+            }
+            return copy;
+        }
+        final ObjectNode copy = JsonNodeFactory.instance.objectNode();
+        final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            copy.set(bindFieldName(field.getKey(), boundParams), bind(field.getValue(), boundParams));
+        }
+        return copy;
+    }
+
+    private String bindFieldName(final String fieldName, final Map<String, JsonNode> boundParams) {
+        final String paramKey = placeholderToParam.get(fieldName);
+        if (null == paramKey) {
+            return fieldName;
+        }
+        final JsonNode value = boundParams.get(paramKey);
+        if (null == value || !value.isTextual()) {
+            throw new IllegalArgumentException("Parameter " + paramKey + " is used as a field name so it must be bound to a string, but was: " + value);
+        }
+        return value.textValue();
+    }
+}
@@ -24,14 +24,36 @@ import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.named.operation.NamedOperationDetail;
+import uk.gov.gchq.gaffer.named.operation.NamedOperationTemplate;
 import uk.gov.gchq.gaffer.user.User;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 public class NamedOperationCache {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NamedOperationCache.class);
     private static final String CACHE_NAME = "NamedOperation";
+    public static final int MAX_TEMPLATES = 100;
+
+    /**
+     * Compiled templates of the named operations held in the cache service, keyed by name. These are held locally
+     * rather than in the cache service as they are not serialisable. Templates are dropped when their named operation
+     * is updated or deleted through this class, and are also checked against the current version of the named
+     * operation before they are used, in case the cache service was updated elsewhere. At most
+     * {@link #MAX_TEMPLATES} templates are held, and the least recently used template is dropped when full.
+     */
+    private static final Map<String, NamedOperationTemplate> TEMPLATES = Collections.synchronizedMap(
+            new LinkedHashMap<String, NamedOperationTemplate>(16, 0.75f, true) {
+                private static final long serialVersionUID = 4302548815329427117L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, NamedOperationTemplate> eldest) {
+                    return size() > MAX_TEMPLATES;
+                }
+            });
 
     /**
      * If the user is just adding to the cache, ie the overwrite flag is set to false, then no security is added.
@@ -117,6 +139,26 @@ public class NamedOperationCache {
         }
     }
 
+    /**
+     * Gets the compiled template of a NamedOperationDetail, checking whether the user has read access first. The
+     * template is compiled the first time it is requested for each version of the NamedOperationDetail and then reused.
+     *
+     * @param name The name of the NamedOperationDetail held in the cache.
+     * @param user The {@link User} object that is used for checking read permissions.
+     * @return the compiled template of the NamedOperationDetail
+     * @throws CacheOperationFailedException thrown if the NamedOperationDetail doesn't exist or the User doesn't have permission
+     *                                       to read it.
+     */
+    public NamedOperationTemplate getNamedOperationTemplate(final String name, final User user) throws CacheOperationFailedException {
+        final NamedOperationDetail op = getNamedOperation(name, user);
+        NamedOperationTemplate template = TEMPLATES.get(name);
+        if (null == template || !template.isCompiledFrom(op)) {
+            template = new NamedOperationTemplate(op);
+            TEMPLATES.put(name, template);
+        }
+        return template;
+    }
+
     public CloseableIterable<NamedOperationDetail> getAllNamedOperations(final User user) {
         Set<String> keys = CacheServiceLoader.getService().getAllKeysFromCache(CACHE_NAME);
         Set<NamedOperationDetail> executables = new HashSet<>();
@@ -135,6 +177,7 @@ public class NamedOperationCache {
     }
 
     public void clear() throws CacheOperationFailedException {
+        TEMPLATES.clear();
         try {
             CacheServiceLoader.getService().clearCache(CACHE_NAME);
         } catch (CacheOperationException e) {
@@ -143,6 +186,7 @@ public class NamedOperationCache {
     }
 
     public void deleteFromCache(final String name) throws CacheOperationFailedException {
+        TEMPLATES.remove(name);
         CacheServiceLoader.getService().removeFromCache(CACHE_NAME, name);
 
         if (CacheServiceLoader.getService().getFromCache(CACHE_NAME, name) != null) {
@@ -151,6 +195,7 @@ public class NamedOperationCache {
     }
 
     public void addToCache(final String name, final NamedOperationDetail operation, final boolean overwrite) throws CacheOperationFailedException {
+        TEMPLATES.remove(name);
         try {
             if (overwrite) {
                 CacheServiceLoader.getService().putInCache(CACHE_NAME, name, operation);
@@ -18,7 +18,7 @@ package uk.gov.gchq.gaffer.named.operation.handler;
 
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.named.operation.NamedOperation;
-import uk.gov.gchq.gaffer.named.operation.NamedOperationDetail;
+import uk.gov.gchq.gaffer.named.operation.NamedOperationTemplate;
 import uk.gov.gchq.gaffer.named.operation.cache.CacheOperationFailedException;
 import uk.gov.gchq.gaffer.named.operation.cache.NamedOperationCache;
 import uk.gov.gchq.gaffer.operation.Operation;
@@ -61,7 +61,7 @@ public class NamedOperationHandler implements OutputOperationHandler<NamedOperat
     @Override
     public Object doOperation(final NamedOperation operation, final Context context, final Store store) throws OperationException {
         try {
-            final NamedOperationDetail namedOperation = cache.getNamedOperation(operation.getOperationName(), context.getUser());
+            final NamedOperationTemplate namedOperation = cache.getNamedOperationTemplate(operation.getOperationName(), context.getUser());
             final Map<String, Object> params = operation.getParameters();
             OperationChain<?> operationChain = namedOperation.getOperationChain(params);
             operationChain = new OperationChain<>(exposeNamedOperations(operationChain, context.getUser(), cache, params));
@@ -125,7 +125,7 @@ public class NamedOperationHandler implements OutputOperationHandler<NamedOperat
         for (final Operation operation : opChain.getOperations()) {
             if (operation instanceof NamedOperation) {
                 final NamedOperation namedOp = (NamedOperation) operation;
-                final OperationChain<?> innerChain = cache.getNamedOperation(namedOp.getOperationName(), user).getOperationChain(params);
+                final OperationChain<?> innerChain = cache.getNamedOperationTemplate(namedOp.getOperationName(), user).getOperationChain(params);
                 updateOperationInput(innerChain.getOperations().get(0), namedOp.getInput());
                 operations.addAll(exposeNamedOperations(innerChain, user, cache, params));
             } else {
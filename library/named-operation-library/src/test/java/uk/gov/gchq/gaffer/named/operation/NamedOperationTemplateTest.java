@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.named.operation;
+
+import com.google.common.collect.Maps;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class NamedOperationTemplateTest {
+    private static final String FIELD_NAME_CHAIN = "{ \"operations\": [ { \"class\":\"uk.gov.gchq.gaffer.operation.impl.get.GetAllElements\", "
+            + "\"view\": { \"edges\": { \"${group}\": {} } } } ] }";
+
+    @Test
+    public void shouldBindParameterUsedAsFieldName() {
+        // Given
+        final NamedOperationTemplate template = new NamedOperationTemplate(createNamedOperation(String.class, "defaultGroup"));
+
+        // When
+        final OperationChain<?> opChain = template.getOperationChain(Collections.singletonMap("group", "BasicEdge"));
+
+        // Then
+        final GetAllElements getAllElements = (GetAllElements) opChain.getOperations().get(0);
+        assertEquals(Collections.singleton("BasicEdge"), getAllElements.getView().getEdgeGroups());
+    }
+
+    @Test
+    public void shouldBindDefaultParameterUsedAsFieldName() {
+        // Given
+        final NamedOperationTemplate template = new NamedOperationTemplate(createNamedOperation(String.class, "defaultGroup"));
+
+        // When
+        final OperationChain<?> opChain = template.getOperationChainWithDefaultParams();
+
+        // Then
+        final GetAllElements getAllElements = (GetAllElements) opChain.getOperations().get(0);
+        assertEquals(Collections.singleton("defaultGroup"), getAllElements.getView().getEdgeGroups());
+    }
+
+    @Test
+    public void shouldRejectNonStringParameterUsedAsFieldName() {
+        // Given
+        final NamedOperationTemplate template = new NamedOperationTemplate(createNamedOperation(Long.class, 1L));
+
+        // When / Then
+        try {
+            template.getOperationChain(Collections.singletonMap("group", 2L));
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("group"));
+        }
+    }
+
+    private NamedOperationDetail createNamedOperation(final Class<?> valueClass, final Object defaultValue) {
+        final Map<String, ParameterDetail> parameters = Maps.newHashMap();
+        parameters.put("group", new ParameterDetail.Builder()
+                .defaultValue(defaultValue)
+                .description("Edge group")
+                .valueClass(valueClass)
+                .build());
+        return new NamedOperationDetail.Builder()
+                .operationName("opName")
+                .operationChain(FIELD_NAME_CHAIN)
+                .parameters(parameters)
+                .build();
+    }
+}
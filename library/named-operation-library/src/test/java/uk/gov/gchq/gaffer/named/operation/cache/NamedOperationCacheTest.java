@@ -14,6 +14,7 @@ import uk.gov.gchq.gaffer.cache.impl.HashMapCacheService;
 import uk.gov.gchq.gaffer.cache.util.CacheProperties;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.named.operation.NamedOperationDetail;
+import uk.gov.gchq.gaffer.named.operation.NamedOperationTemplate;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
@@ -25,6 +26,9 @@ import java.util.Properties;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class NamedOperationCacheTest {
 
@@ -243,4 +247,71 @@ public class NamedOperationCacheTest {
         assert (actual.contains(alt));
         assert (actual.size() == 2);
     }
+
+    @Test
+    public void shouldReuseCompiledTemplateForSameNamedOperation() throws CacheOperationFailedException {
+        // Given
+        cache.addNamedOperation(standard, false, standardUser);
+
+        // When
+        final NamedOperationTemplate first = cache.getNamedOperationTemplate(OPERATION_NAME, standardUser);
+        final NamedOperationTemplate second = cache.getNamedOperationTemplate(OPERATION_NAME, standardUser);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(AddElements.class, first.getOperationChain(null).getOperations().get(0).getClass());
+    }
+
+    @Test
+    public void shouldRecompileTemplateWhenNamedOperationIsOverwritten() throws CacheOperationFailedException {
+        // Given
+        cache.addNamedOperation(standard, false, standardUser);
+        final NamedOperationTemplate original = cache.getNamedOperationTemplate(OPERATION_NAME, standardUser);
+
+        // When
+        cache.addNamedOperation(alternative, true, advancedUser);
+        final NamedOperationTemplate updated = cache.getNamedOperationTemplate(OPERATION_NAME, standardUser);
+
+        // Then
+        assertNotSame(original, updated);
+        assertTrue(updated.isCompiledFrom(alternative));
+        assertEquals(GetElements.class, updated.getOperationChain(null).getOperations().get(0).getClass());
+    }
+
+    @Test
+    public void shouldOnlyKeepTheMostRecentlyUsedTemplates() throws CacheOperationFailedException {
+        // Given
+        cache.addNamedOperation(standard, false, standardUser);
+        final NamedOperationTemplate original = cache.getNamedOperationTemplate(OPERATION_NAME, standardUser);
+
+        // When
+        for (int i = 0; i < NamedOperationCache.MAX_TEMPLATES; i++) {
+            final String name = OPERATION_NAME + i;
+            cache.addNamedOperation(new NamedOperationDetail.Builder()
+                    .operationName(name)
+                    .creatorId(standardUser.getUserId())
+                    .readers(readers)
+                    .writers(writers)
+                    .operationChain(standardOpChain)
+                    .build(), false, standardUser);
+            cache.getNamedOperationTemplate(name, standardUser);
+        }
+
+        // Then
+        assertNotSame(original, cache.getNamedOperationTemplate(OPERATION_NAME, standardUser));
+    }
+
+    @Test
+    public void shouldNotReturnTemplateOfDeletedNamedOperation() throws CacheOperationFailedException {
+        // Given
+        cache.addNamedOperation(standard, false, standardUser);
+        cache.getNamedOperationTemplate(OPERATION_NAME, standardUser);
+
+        // When
+        cache.deleteNamedOperation(OPERATION_NAME, advancedUser);
+
+        // Then
+        exception.expect(CacheOperationFailedException.class);
+        cache.getNamedOperationTemplate(OPERATION_NAME, standardUser);
+    }
 }
@@ -29,6 +29,7 @@ import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.named.operation.NamedOperation;
 import uk.gov.gchq.gaffer.named.operation.NamedOperationDetail;
+import uk.gov.gchq.gaffer.named.operation.NamedOperationTemplate;
 import uk.gov.gchq.gaffer.named.operation.ParameterDetail;
 import uk.gov.gchq.gaffer.named.operation.cache.CacheOperationFailedException;
 import uk.gov.gchq.gaffer.named.operation.cache.NamedOperationCache;
@@ -86,7 +87,7 @@ public class NamedOperationHandlerTest {
         final Context context = mock(Context.class);
         final Store store = mock(Store.class);
         final User user = mock(User.class);
-        final NamedOperationDetail extendedNamedOperation = mock(NamedOperationDetail.class);
+        final NamedOperationTemplate extendedNamedOperation = mock(NamedOperationTemplate.class);
 
         final GetAdjacentIds op1 = mock(GetAdjacentIds.class);
         final GetElements op2 = mock(GetElements.class);
@@ -106,7 +107,7 @@ public class NamedOperationHandlerTest {
         given(op2View.hasGroups()).willReturn(true);
         given(view.clone()).willReturn(clonedView);
         given(context.getUser()).willReturn(user);
-        given(cache.getNamedOperation(opName, user)).willReturn(extendedNamedOperation);
+        given(cache.getNamedOperationTemplate(opName, user)).willReturn(extendedNamedOperation);
         given(extendedNamedOperation.getOperationChain(params)).willReturn(opChain);
         given(store._execute(opChainCaptor.capture(), eq(context))).willReturn(expectedResult);
 
@@ -143,7 +144,7 @@ public class NamedOperationHandlerTest {
         final Context context = mock(Context.class);
         final Store store = mock(Store.class);
         final User user = mock(User.class);
-        final NamedOperationDetail extendedNamedOperation = mock(NamedOperationDetail.class);
+        final NamedOperationTemplate extendedNamedOperation = mock(NamedOperationTemplate.class);
 
         final GetAdjacentIds op1 = mock(GetAdjacentIds.class);
         final GetElements op2 = mock(GetElements.class);
@@ -163,7 +164,7 @@ public class NamedOperationHandlerTest {
         given(op2View.hasGroups()).willReturn(true);
         given(view.clone()).willReturn(clonedView);
         given(context.getUser()).willReturn(user);
-        given(cache.getNamedOperation(opName, user)).willReturn(extendedNamedOperation);
+        given(cache.getNamedOperationTemplate(opName, user)).willReturn(extendedNamedOperation);
         given(extendedNamedOperation.getOperationChain(params)).willReturn(opChain);
         given(store._execute(opChainCaptor.capture(), eq(context))).willReturn(expectedResult);
 
@@ -227,7 +228,7 @@ public class NamedOperationHandlerTest {
 
         given(view.clone()).willReturn(clonedView);
         given(context.getUser()).willReturn(user);
-        given(cache.getNamedOperation(opName, user)).willReturn(extendedNamedOperation);
+        given(cache.getNamedOperationTemplate(opName, user)).willReturn(new NamedOperationTemplate(extendedNamedOperation));
         given(store._execute(opChainCaptor.capture(), eq(context))).willReturn(expectedResult);
 
         // When
@@ -289,7 +290,7 @@ public class NamedOperationHandlerTest {
 
         given(view.clone()).willReturn(clonedView);
         given(context.getUser()).willReturn(user);
-        given(cache.getNamedOperation(opName, user)).willReturn(extendedNamedOperation);
+        given(cache.getNamedOperationTemplate(opName, user)).willReturn(new NamedOperationTemplate(extendedNamedOperation));
         given(store._execute(opChainCaptor.capture(), eq(context))).willReturn(expectedResult);
 
         // When
@@ -341,7 +342,7 @@ public class NamedOperationHandlerTest {
 
         given(view.clone()).willReturn(clonedView);
         given(context.getUser()).willReturn(user);
-        given(cache.getNamedOperation(opName, user)).willReturn(extendedNamedOperation);
+        given(cache.getNamedOperationTemplate(opName, user)).willReturn(new NamedOperationTemplate(extendedNamedOperation));
         given(store._execute(opChainCaptor.capture(), eq(context))).willReturn(expectedResult);
 
         // When
@@ -392,7 +393,7 @@ public class NamedOperationHandlerTest {
 
         given(view.clone()).willReturn(clonedView);
         given(context.getUser()).willReturn(user);
-        given(cache.getNamedOperation(opName, user)).willReturn(extendedNamedOperation);
+        given(cache.getNamedOperationTemplate(opName, user)).willReturn(new NamedOperationTemplate(extendedNamedOperation));
         given(store._execute(opChainCaptor.capture(), eq(context))).willReturn(expectedResult);
 
         // When
@@ -26,7 +26,9 @@ import scala.runtime.AbstractFunction1;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.RangeFactoryException;
-import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.accumulostore.key.impl.PropertyProjectionIterator;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorSettingBuilder;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
 import uk.gov.gchq.gaffer.operation.Operation;
@@ -35,12 +37,10 @@ import uk.gov.gchq.gaffer.operation.Options;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Input;
 import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.spark.operation.utils.HadoopConfigurationUtil;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.user.User;
-import java.io.ByteArrayInputStream;
-import java.io.DataInputStream;
-import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -48,7 +48,7 @@ import java.util.List;
 public abstract class AbstractGetRDDHandler<OP extends Output<O> & GraphFilters & Options, O>
         implements OutputOperationHandler<OP, O> {
 
-    public static final String HADOOP_CONFIGURATION_KEY = "Hadoop_Configuration_Key";
+    public static final String HADOOP_CONFIGURATION_KEY = HadoopConfigurationUtil.HADOOP_CONFIGURATION_KEY;
 
     public void addIterators(final AccumuloStore accumuloStore,
                              final Configuration conf,
@@ -70,6 +70,17 @@ public abstract class AbstractGetRDDHandler<OP extends Output<O> & GraphFilters
             if (queryTimeAggregator != null) {
                 InputConfigurator.addIterator(AccumuloInputFormat.class, conf, queryTimeAggregator);
             }
+            // Only send the required properties to the executors
+            final String requiredProperties = operation.getOption(AccumuloStoreConstants.OPERATION_REQUIRED_PROPERTIES);
+            if (requiredProperties != null) {
+                InputConfigurator.addIterator(AccumuloInputFormat.class, conf, new IteratorSettingBuilder(
+                        AccumuloStoreConstants.PROPERTY_PROJECTION_ITERATOR_PRIORITY,
+                        AccumuloStoreConstants.PROPERTY_PROJECTION_ITERATOR_NAME, PropertyProjectionIterator.class)
+                        .schema(accumuloStore.getSchema())
+                        .keyConverter(accumuloStore.getKeyPackage().getKeyConverter())
+                        .option(AccumuloStoreConstants.PROPERTIES, requiredProperties)
+                        .build());
+            }
         } catch (final StoreException | IteratorSettingException e) {
             throw new OperationException("Failed to update configuration", e);
         }
@@ -94,17 +105,7 @@ public abstract class AbstractGetRDDHandler<OP extends Output<O> & GraphFilters
     }
 
     protected Configuration getConfiguration(final OP operation) throws OperationException {
-        final Configuration conf = new Configuration();
-        final String serialisedConf = operation.getOption(AbstractGetRDDHandler.HADOOP_CONFIGURATION_KEY);
-        if (serialisedConf != null) {
-            try {
-                final ByteArrayInputStream bais = new ByteArrayInputStream(serialisedConf.getBytes(CommonConstants.UTF_8));
-                conf.readFields(new DataInputStream(bais));
-            } catch (final IOException e) {
-                throw new OperationException("Exception decoding Configuration from options", e);
-            }
-        }
-        return conf;
+        return HadoopConfigurationUtil.addOperationConfiguration(operation, new Configuration());
     }
 
     public static class FirstElement extends AbstractFunction1<Tuple2<Element, NullWritable>, Element> implements Serializable {
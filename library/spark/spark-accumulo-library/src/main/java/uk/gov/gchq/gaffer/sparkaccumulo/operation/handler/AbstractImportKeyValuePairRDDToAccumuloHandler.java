@@ -18,22 +18,19 @@ package uk.gov.gchq.gaffer.sparkaccumulo.operation.handler;
 import org.apache.hadoop.conf.Configuration;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.operation.ImportAccumuloKeyValueFiles;
-import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.Options;
+import uk.gov.gchq.gaffer.spark.operation.utils.HadoopConfigurationUtil;
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.utils.AccumuloKeyRangePartitioner;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
-import java.io.ByteArrayInputStream;
-import java.io.DataInputStream;
-import java.io.IOException;
 
 public abstract class AbstractImportKeyValuePairRDDToAccumuloHandler<OP extends Operation & Options> implements OperationHandler<OP> {
 
-    protected abstract void prepareKeyValues(final OP operation, final AccumuloKeyRangePartitioner partitioner) throws OperationException;
+    protected abstract void prepareKeyValues(final OP operation, final AccumuloKeyRangePartitioner partitioner, final AccumuloStore store) throws OperationException;
 
     protected abstract String getFailurePath(final OP operation);
 
@@ -55,7 +52,7 @@ public abstract class AbstractImportKeyValuePairRDDToAccumuloHandler<OP extends
             throw new OperationException("Option failurePath must be set for this option to be run against the accumulostore");
         }
 
-        prepareKeyValues(operation, new AccumuloKeyRangePartitioner(store));
+        prepareKeyValues(operation, new AccumuloKeyRangePartitioner(store), store);
 
         final ImportAccumuloKeyValueFiles importAccumuloKeyValueFiles =
                 new ImportAccumuloKeyValueFiles.Builder()
@@ -66,17 +63,7 @@ public abstract class AbstractImportKeyValuePairRDDToAccumuloHandler<OP extends
     }
 
     protected Configuration getConfiguration(final OP operation) throws OperationException {
-        final Configuration conf = new Configuration();
-        final String serialisedConf = operation.getOption(AbstractGetRDDHandler.HADOOP_CONFIGURATION_KEY);
-        if (serialisedConf != null) {
-            try {
-                final ByteArrayInputStream bais = new ByteArrayInputStream(serialisedConf.getBytes(CommonConstants.UTF_8));
-                conf.readFields(new DataInputStream(bais));
-            } catch (final IOException e) {
-                throw new OperationException("Exception decoding Configuration from options", e);
-            }
-        }
-        return conf;
+        return HadoopConfigurationUtil.addOperationConfiguration(operation, new Configuration());
     }
 
 }
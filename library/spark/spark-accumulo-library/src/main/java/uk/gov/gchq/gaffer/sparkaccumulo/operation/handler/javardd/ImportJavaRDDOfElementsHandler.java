@@ -34,6 +34,7 @@ public class ImportJavaRDDOfElementsHandler implements OperationHandler<ImportJa
 
     private static final String OUTPUT_PATH = "outputPath";
     private static final String FAILURE_PATH = "failurePath";
+    private static final String AGGREGATE = "aggregate";
 
     @Override
     public Void doOperation(final ImportJavaRDDOfElements operation, final Context context, final Store store) throws OperationException {
@@ -59,6 +60,7 @@ public class ImportJavaRDDOfElementsHandler implements OperationHandler<ImportJa
                         .input(rdd)
                         .failurePath(failurePath)
                         .outputPath(outputPath)
+                        .aggregate(Boolean.parseBoolean(operation.getOption(AGGREGATE)))
                         .build();
         store._execute(new OperationChain(op), context);
     }
@@ -19,15 +19,26 @@ import org.apache.accumulo.core.client.mapreduce.AccumuloFileOutputFormat;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
 import org.apache.spark.api.java.JavaPairRDD;
+import scala.reflect.ClassTag;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.AbstractImportKeyValuePairRDDToAccumuloHandler;
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.javardd.ImportKeyValueJavaPairRDDToAccumulo;
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.utils.AccumuloKeyRangePartitioner;
+import uk.gov.gchq.gaffer.sparkaccumulo.operation.utils.KeyValueAggregation;
 
 public class ImportKeyValueJavaPairRDDToAccumuloHandler extends AbstractImportKeyValuePairRDDToAccumuloHandler<ImportKeyValueJavaPairRDDToAccumulo> {
+    private static final ClassTag<Key> KEY_CLASS_TAG = scala.reflect.ClassTag$.MODULE$.apply(Key.class);
+    private static final ClassTag<Value> VALUE_CLASS_TAG = scala.reflect.ClassTag$.MODULE$.apply(Value.class);
+
     @Override
-    protected void prepareKeyValues(final ImportKeyValueJavaPairRDDToAccumulo operation, final AccumuloKeyRangePartitioner partitioner) throws OperationException {
-        final JavaPairRDD<Key, Value> rdd = operation.getInput().repartitionAndSortWithinPartitions(partitioner);
+    protected void prepareKeyValues(final ImportKeyValueJavaPairRDDToAccumulo operation, final AccumuloKeyRangePartitioner partitioner, final AccumuloStore store) throws OperationException {
+        final JavaPairRDD<Key, Value> rdd;
+        if (operation.isAggregate()) {
+            rdd = JavaPairRDD.fromRDD(KeyValueAggregation.aggregateAndSort(operation.getInput().rdd(), partitioner, store), KEY_CLASS_TAG, VALUE_CLASS_TAG);
+        } else {
+            rdd = operation.getInput().repartitionAndSortWithinPartitions(partitioner);
+        }
         rdd.saveAsNewAPIHadoopFile(operation.getOutputPath(), Key.class, Value.class, AccumuloFileOutputFormat.class, getConfiguration(operation));
     }
 
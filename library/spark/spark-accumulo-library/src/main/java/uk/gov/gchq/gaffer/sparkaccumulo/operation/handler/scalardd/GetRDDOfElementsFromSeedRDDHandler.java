@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.scalardd;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.spark.rdd.OrderedRDDFunctions;
+import org.apache.spark.rdd.RDD;
+import scala.Tuple2;
+import scala.math.Ordering;
+import scala.math.Ordering$;
+import scala.reflect.ClassTag;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.ClassTagConstants;
+import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfElementsFromSeedRDD;
+import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.AbstractGetRDDHandler;
+import uk.gov.gchq.gaffer.sparkaccumulo.operation.utils.AccumuloKeyRangePartitioner;
+import uk.gov.gchq.gaffer.sparkaccumulo.operation.utils.AccumuloSerialisedConfiguration;
+import uk.gov.gchq.gaffer.sparkaccumulo.operation.utils.scala.ElementIdToRangesFunction;
+import uk.gov.gchq.gaffer.sparkaccumulo.operation.utils.scala.ScanRangesFunction;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import java.util.Comparator;
+
+/**
+ * Handles {@link GetRDDOfElementsFromSeedRDD} operations without collecting the seeds on the driver. Each seed is
+ * converted into its ranges on the executors, the ranges are partitioned by tablet using an
+ * {@link AccumuloKeyRangePartitioner} and sorted, and then each partition scans its own ranges with a local
+ * batch scanner configured with the same iterators as {@link GetRDDOfElementsHandler}.
+ */
+public class GetRDDOfElementsFromSeedRDDHandler extends AbstractGetRDDHandler<GetRDDOfElementsFromSeedRDD, RDD<Element>> {
+    private static final ClassTag<Key> KEY_CLASS_TAG = scala.reflect.ClassTag$.MODULE$.apply(Key.class);
+    private static final ClassTag<Range> RANGE_CLASS_TAG = scala.reflect.ClassTag$.MODULE$.apply(Range.class);
+    private static final ClassTag<Tuple2<Key, Range>> TUPLE2_CLASS_TAG = scala.reflect.ClassTag$.MODULE$.apply(Tuple2.class);
+    private static final Ordering<Key> KEY_ORDERING = Ordering$.MODULE$.comparatorToOrdering(Comparator.<Key>naturalOrder());
+
+    @Override
+    public RDD<Element> doOperation(final GetRDDOfElementsFromSeedRDD operation,
+                                    final Context context,
+                                    final Store store)
+            throws OperationException {
+        return doOperation(operation, context, (AccumuloStore) store);
+    }
+
+    private RDD<Element> doOperation(final GetRDDOfElementsFromSeedRDD operation,
+                                     final Context context,
+                                     final AccumuloStore accumuloStore)
+            throws OperationException {
+        if (null == operation.getInput()) {
+            throw new OperationException("An RDD of seeds must be provided");
+        }
+        final Configuration conf = getConfiguration(operation);
+        addIterators(accumuloStore, conf, context.getUser(), operation);
+        final AccumuloSerialisedConfiguration serialisedConf = new AccumuloSerialisedConfiguration(conf);
+
+        final RDD<Tuple2<Key, Range>> ranges = operation.getInput().flatMap(
+                new ElementIdToRangesFunction(serialisedConf, operation.getDirectedType(), operation.getIncludeIncomingOutGoing()),
+                TUPLE2_CLASS_TAG);
+        final OrderedRDDFunctions<Key, Range, Tuple2<Key, Range>> orderedRanges =
+                new OrderedRDDFunctions<>(ranges, KEY_ORDERING, KEY_CLASS_TAG, RANGE_CLASS_TAG, TUPLE2_CLASS_TAG);
+        final RDD<Tuple2<Key, Range>> partitionedRanges =
+                orderedRanges.repartitionAndSortWithinPartitions(new AccumuloKeyRangePartitioner(accumuloStore));
+        return partitionedRanges.mapPartitions(
+                new ScanRangesFunction(serialisedConf,
+                        accumuloStore.getProperties().getMaxEntriesForBatchScanner(),
+                        accumuloStore.getProperties().getThreadsForBatchScanner()),
+                false,
+                ClassTagConstants.ELEMENT_CLASS_TAG);
+    }
+}
@@ -20,14 +20,17 @@ import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
 import org.apache.spark.rdd.OrderedRDDFunctions;
 import org.apache.spark.rdd.PairRDDFunctions;
+import org.apache.spark.rdd.RDD;
 import scala.Tuple2;
 import scala.math.Ordering;
 import scala.math.Ordering$;
 import scala.reflect.ClassTag;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.AbstractImportKeyValuePairRDDToAccumuloHandler;
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.scalardd.ImportKeyValuePairRDDToAccumulo;
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.utils.AccumuloKeyRangePartitioner;
+import uk.gov.gchq.gaffer.sparkaccumulo.operation.utils.KeyValueAggregation;
 import java.util.Comparator;
 
 public class ImportKeyValuePairRDDToAccumuloHandler extends AbstractImportKeyValuePairRDDToAccumuloHandler<ImportKeyValuePairRDDToAccumulo> {
@@ -36,9 +39,15 @@ public class ImportKeyValuePairRDDToAccumuloHandler extends AbstractImportKeyVal
     private static final Ordering<Key> ORDERING_CLASS_TAG = Ordering$.MODULE$.comparatorToOrdering(Comparator.<Key>naturalOrder());
 
     @Override
-    protected void prepareKeyValues(final ImportKeyValuePairRDDToAccumulo operation, final AccumuloKeyRangePartitioner partitioner) throws OperationException {
-        final OrderedRDDFunctions orderedRDDFunctions = new OrderedRDDFunctions(operation.getInput(), ORDERING_CLASS_TAG, KEY_CLASS_TAG, VALUE_CLASS_TAG, scala.reflect.ClassTag$.MODULE$.apply(Tuple2.class));
-        final PairRDDFunctions pairRDDFunctions = new PairRDDFunctions(orderedRDDFunctions.repartitionAndSortWithinPartitions(partitioner), KEY_CLASS_TAG, VALUE_CLASS_TAG, ORDERING_CLASS_TAG);
+    protected void prepareKeyValues(final ImportKeyValuePairRDDToAccumulo operation, final AccumuloKeyRangePartitioner partitioner, final AccumuloStore store) throws OperationException {
+        final RDD<Tuple2<Key, Value>> sortedKeyValues;
+        if (operation.isAggregate()) {
+            sortedKeyValues = KeyValueAggregation.aggregateAndSort(operation.getInput(), partitioner, store);
+        } else {
+            final OrderedRDDFunctions orderedRDDFunctions = new OrderedRDDFunctions(operation.getInput(), ORDERING_CLASS_TAG, KEY_CLASS_TAG, VALUE_CLASS_TAG, scala.reflect.ClassTag$.MODULE$.apply(Tuple2.class));
+            sortedKeyValues = orderedRDDFunctions.repartitionAndSortWithinPartitions(partitioner);
+        }
+        final PairRDDFunctions pairRDDFunctions = new PairRDDFunctions(sortedKeyValues, KEY_CLASS_TAG, VALUE_CLASS_TAG, ORDERING_CLASS_TAG);
         pairRDDFunctions.saveAsNewAPIHadoopFile(operation.getOutputPath(), Key.class, Value.class, AccumuloFileOutputFormat.class, getConfiguration(operation));
     }
 
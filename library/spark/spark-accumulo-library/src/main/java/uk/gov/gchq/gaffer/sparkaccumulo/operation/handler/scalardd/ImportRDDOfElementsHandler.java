@@ -34,6 +34,7 @@ import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 public class ImportRDDOfElementsHandler implements OperationHandler<ImportRDDOfElements> {
     private static final String OUTPUT_PATH = "outputPath";
     private static final String FAILURE_PATH = "failurePath";
+    private static final String AGGREGATE = "aggregate";
     private static final ClassTag<Tuple2<Key, Value>> TUPLE2_CLASS_TAG = scala.reflect.ClassTag$.MODULE$.apply(Tuple2.class);
     private static final ClassTag<AccumuloElementConverter> ACCUMULO_ELEMENT_CONVERTER_CLASS_TAG = scala.reflect.ClassTag$.MODULE$.apply(AccumuloElementConverter.class);
 
@@ -59,6 +60,7 @@ public class ImportRDDOfElementsHandler implements OperationHandler<ImportRDDOfE
                         .input(rdd)
                         .failurePath(failurePath)
                         .outputPath(outputPath)
+                        .aggregate(Boolean.parseBoolean(operation.getOption(AGGREGATE)))
                         .build();
         store._execute(new OperationChain<>(op), context);
     }
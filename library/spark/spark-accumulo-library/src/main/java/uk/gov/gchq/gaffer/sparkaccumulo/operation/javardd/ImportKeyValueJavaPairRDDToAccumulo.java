@@ -33,6 +33,7 @@ public class ImportKeyValueJavaPairRDDToAccumulo implements
     private String outputPath;
     @Required
     private String failurePath;
+    private boolean aggregate;
     private JavaPairRDD<Key, Value> input;
     private Map<String, String> options;
 
@@ -48,6 +49,14 @@ public class ImportKeyValueJavaPairRDDToAccumulo implements
         return failurePath;
     }
 
+    public boolean isAggregate() {
+        return aggregate;
+    }
+
+    public void setAggregate(final boolean aggregate) {
+        this.aggregate = aggregate;
+    }
+
     public void setFailurePath(final String failurePath) {
         this.failurePath = failurePath;
     }
@@ -88,5 +97,10 @@ public class ImportKeyValueJavaPairRDDToAccumulo implements
             _getOp().setFailurePath(failurePath);
             return _self();
         }
+
+        public Builder aggregate(final boolean aggregate) {
+            _getOp().setAggregate(aggregate);
+            return _self();
+        }
     }
 }
@@ -32,6 +32,7 @@ public class ImportKeyValuePairRDDToAccumulo implements
     private RDD<Tuple2<Key, Value>> input;
     private String outputPath;
     private String failurePath;
+    private boolean aggregate;
     private Map<String, String> options;
 
     public String getOutputPath() {
@@ -50,6 +51,14 @@ public class ImportKeyValuePairRDDToAccumulo implements
         return failurePath;
     }
 
+    public boolean isAggregate() {
+        return aggregate;
+    }
+
+    public void setAggregate(final boolean aggregate) {
+        this.aggregate = aggregate;
+    }
+
     @Override
     public RDD<Tuple2<Key, Value>> getInput() {
         return input;
@@ -86,5 +95,10 @@ public class ImportKeyValuePairRDDToAccumulo implements
             _getOp().setFailurePath(failurePath);
             return _self();
         }
+
+        public Builder aggregate(final boolean aggregate) {
+            _getOp().setAggregate(aggregate);
+            return _self();
+        }
     }
 }
@@ -21,11 +21,11 @@ import org.apache.accumulo.core.client.Connector;
 import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.data.Key;
 import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.WritableComparator;
 import org.apache.spark.Partitioner;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.store.StoreException;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.stream.Collectors;
 
@@ -35,11 +35,11 @@ import java.util.stream.Collectors;
 public class AccumuloKeyRangePartitioner extends Partitioner {
 
     private static final long serialVersionUID = -5616778533667038166L;
-    private String[] splits;
+    private byte[][] splits;
     private int numSubBins = 0;
 
     public AccumuloKeyRangePartitioner(final AccumuloStore store) throws OperationException {
-        this.splits = getSplits(store);
+        this.splits = listSplits(store).stream().map(Text::copyBytes).toArray(byte[][]::new);
     }
 
     private synchronized int getNumSubBins() {
@@ -66,18 +66,45 @@ public class AccumuloKeyRangePartitioner extends Partitioner {
 
     private int findPartition(final Text key, final int numSubBins) {
         // find the bin for the range, and guarantee it is positive
-        int index = Arrays.binarySearch(splits, key.toString());
-        index = index < 0 ? (index + 1) * -1 : index;
+        final int index = findSplit(key);
 
         // both conditions work with numSubBins == 1, but this check is to avoid
         // hashing, when we don't need to, for speed
         if (numSubBins < 2) {
             return index;
         }
-        return (key.toString().hashCode() & Integer.MAX_VALUE) % numSubBins + index * numSubBins;
+        return (key.hashCode() & Integer.MAX_VALUE) % numSubBins + index * numSubBins;
+    }
+
+    /**
+     * Finds the index of the first split that is not less than the row, comparing the
+     * raw bytes as Accumulo does, so that each partition holds the rows of exactly one tablet.
+     *
+     * @param row the row
+     * @return the index of the tablet containing the row
+     */
+    private int findSplit(final Text row) {
+        int low = 0;
+        int high = splits.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            final byte[] split = splits[mid];
+            if (WritableComparator.compareBytes(split, 0, split.length, row.getBytes(), 0, row.getLength()) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
     }
 
     public static synchronized String[] getSplits(final AccumuloStore store) throws OperationException {
+        final Collection<Text> splits = listSplits(store);
+        final String[] arr = new String[splits.size()];
+        return splits.parallelStream().map(text -> text.toString()).collect(Collectors.toList()).toArray(arr);
+    }
+
+    private static Collection<Text> listSplits(final AccumuloStore store) throws OperationException {
         final Connector connector;
         try {
             connector = store.getConnection();
@@ -87,9 +114,7 @@ public class AccumuloKeyRangePartitioner extends Partitioner {
 
         final String table = store.getProperties().getTable();
         try {
-            final Collection<Text> splits = connector.tableOperations().listSplits(table);
-            final String[] arr = new String[splits.size()];
-            return splits.parallelStream().map(text -> text.toString()).collect(Collectors.toList()).toArray(arr);
+            return connector.tableOperations().listSplits(table);
         } catch (final TableNotFoundException | AccumuloSecurityException | AccumuloException e) {
             throw new OperationException("Failed to get accumulo split points from table " + table, e);
         }
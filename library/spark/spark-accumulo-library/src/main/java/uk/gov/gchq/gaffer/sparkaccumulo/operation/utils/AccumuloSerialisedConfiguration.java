@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sparkaccumulo.operation.utils;
+
+import org.apache.hadoop.conf.Configuration;
+import uk.gov.gchq.gaffer.accumulostore.inputformat.ElementInputFormat;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloKeyPackage;
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.spark.operation.utils.SerialisedConfiguration;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import java.io.UnsupportedEncodingException;
+
+/**
+ * A {@link SerialisedConfiguration} for a Hadoop {@link Configuration} that has been updated by
+ * {@link uk.gov.gchq.gaffer.accumulostore.AccumuloStore#updateConfiguration}, so that Spark functions can
+ * connect to Accumulo and convert its keys and values on the executors without recreating the store.
+ */
+public class AccumuloSerialisedConfiguration extends SerialisedConfiguration {
+    private static final long serialVersionUID = 2787237146475447463L;
+    private transient AccumuloKeyPackage keyPackage;
+    private transient View view;
+
+    public AccumuloSerialisedConfiguration(final Configuration configuration) {
+        super(configuration);
+    }
+
+    public AccumuloKeyPackage getKeyPackage() {
+        if (null == keyPackage) {
+            final Configuration conf = getConfiguration();
+            final String keyPackageClass = conf.get(ElementInputFormat.KEY_PACKAGE);
+            final AccumuloKeyPackage newKeyPackage;
+            try {
+                newKeyPackage = Class.forName(keyPackageClass).asSubclass(AccumuloKeyPackage.class).newInstance();
+                newKeyPackage.setSchema(Schema.fromJson(conf.get(ElementInputFormat.SCHEMA).getBytes(CommonConstants.UTF_8)));
+            } catch (final InstantiationException | IllegalAccessException | ClassNotFoundException | UnsupportedEncodingException e) {
+                throw new GafferRuntimeException("Unable to construct an instance of key package: " + keyPackageClass, e);
+            }
+            keyPackage = newKeyPackage;
+        }
+        return keyPackage;
+    }
+
+    public View getView() {
+        if (null == view) {
+            try {
+                view = View.fromJson(getConfiguration().get(ElementInputFormat.VIEW).getBytes(CommonConstants.UTF_8));
+            } catch (final UnsupportedEncodingException e) {
+                throw new GafferRuntimeException("Unable to deserialise the view", e);
+            }
+        }
+        return view;
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sparkaccumulo.operation.utils;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.spark.Aggregator;
+import org.apache.spark.rdd.RDD;
+import org.apache.spark.rdd.ShuffledRDD;
+import scala.Tuple2;
+import scala.collection.JavaConverters;
+import scala.collection.TraversableOnce;
+import scala.math.Ordering;
+import scala.math.Ordering$;
+import scala.reflect.ClassTag;
+import scala.runtime.AbstractFunction1;
+import scala.runtime.AbstractFunction2;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import java.io.Serializable;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregates Accumulo key-value pairs using the schema's ingest aggregators before they are written to files
+ * for a bulk import. The pairs are combined on the map side and again after they have been shuffled to the
+ * partitions of an {@link AccumuloKeyRangePartitioner}, and each partition is sorted, in a single shuffle.
+ * <p>
+ * As with the {@link uk.gov.gchq.gaffer.accumulostore.key.impl.AggregatorIterator}, keys of aggregated groups
+ * that only differ by timestamp are combined and the most recent timestamp is kept. Keys of groups that are not
+ * aggregated are never combined, so every pair is kept, even if their keys are identical.
+ */
+public final class KeyValueAggregation {
+    private static final ClassTag<Key> KEY_CLASS_TAG = scala.reflect.ClassTag$.MODULE$.apply(Key.class);
+    private static final ClassTag<Tuple2<Key, Value>> TUPLE2_CLASS_TAG = scala.reflect.ClassTag$.MODULE$.apply(Tuple2.class);
+    private static final ClassTag<Tuple2<Key, Tuple2<Key, Value>>> KEYED_TUPLE2_CLASS_TAG = scala.reflect.ClassTag$.MODULE$.apply(Tuple2.class);
+    private static final ClassTag<List<Tuple2<Key, Value>>> LIST_CLASS_TAG = scala.reflect.ClassTag$.MODULE$.apply(List.class);
+    private static final Ordering<Key> KEY_ORDERING = Ordering$.MODULE$.comparatorToOrdering(Comparator.<Key>naturalOrder());
+
+    private KeyValueAggregation() {
+        // Private constructor to prevent instantiation.
+    }
+
+    public static RDD<Tuple2<Key, Value>> aggregateAndSort(final RDD<Tuple2<Key, Value>> keyValues,
+                                                           final AccumuloKeyRangePartitioner partitioner,
+                                                           final AccumuloStore store) {
+        final SchemaConverter schemaConverter = new SchemaConverter(store);
+        final RDD<Tuple2<Key, Tuple2<Key, Value>>> groupedKeyValues =
+                keyValues.map(new ToAggregationKey(schemaConverter), KEYED_TUPLE2_CLASS_TAG);
+        final ShuffledRDD<Key, Tuple2<Key, Value>, List<Tuple2<Key, Value>>> aggregated =
+                new ShuffledRDD<Key, Tuple2<Key, Value>, List<Tuple2<Key, Value>>>(groupedKeyValues, partitioner, KEY_CLASS_TAG, TUPLE2_CLASS_TAG, LIST_CLASS_TAG)
+                        .setAggregator(new Aggregator<>(new CreateKeyValues(), new MergeKeyValue(schemaConverter), new MergeKeyValues(schemaConverter)))
+                        .setMapSideCombine(true)
+                        .setKeyOrdering(KEY_ORDERING);
+        return aggregated.flatMap(new KeyValues(), TUPLE2_CLASS_TAG);
+    }
+
+    private static final class SchemaConverter implements Serializable {
+        private static final long serialVersionUID = -6139410268557536290L;
+        private final byte[] schemaJson;
+        private final String converterClass;
+        private transient Schema schema;
+        private transient AccumuloElementConverter converter;
+        private transient Map<String, ElementAggregator> ingestAggregators;
+
+        private SchemaConverter(final AccumuloStore store) {
+            this.schemaJson = store.getSchema().toCompactJson();
+            this.converterClass = store.getKeyPackage().getKeyConverter().getClass().getName();
+        }
+
+        private Schema getSchema() {
+            if (null == schema) {
+                schema = Schema.fromJson(schemaJson);
+            }
+            return schema;
+        }
+
+        private AccumuloElementConverter getConverter() {
+            if (null == converter) {
+                try {
+                    converter = Class.forName(converterClass).asSubclass(AccumuloElementConverter.class)
+                            .getConstructor(Schema.class)
+                            .newInstance(getSchema());
+                } catch (final ClassNotFoundException | InstantiationException | IllegalAccessException
+                        | InvocationTargetException | NoSuchMethodException e) {
+                    throw new GafferRuntimeException("Failed to create accumulo element converter from class " + converterClass, e);
+                }
+            }
+            return converter;
+        }
+
+        private ElementAggregator getIngestAggregator(final String group) {
+            if (null == ingestAggregators) {
+                ingestAggregators = new HashMap<>();
+            }
+            return ingestAggregators.computeIfAbsent(group, g -> getSchema().getElement(g).getIngestAggregator());
+        }
+
+        private String getGroup(final Key key) {
+            return getConverter().getGroupFromColumnFamily(key.getColumnFamilyData().getBackingArray());
+        }
+
+        private boolean isAggregate(final Key key) {
+            final SchemaElementDefinition elementDef = getSchema().getElement(getGroup(key));
+            return null != elementDef && elementDef.isAggregate();
+        }
+
+        private Tuple2<Key, Value> aggregate(final Tuple2<Key, Value> first, final Tuple2<Key, Value> second) {
+            final Key key = first._1().getTimestamp() >= second._1().getTimestamp() ? first._1() : second._1();
+            final String group = getGroup(key);
+            final AccumuloElementConverter elementConverter = getConverter();
+            final Properties properties = getIngestAggregator(group).apply(
+                    elementConverter.getPropertiesFromValue(group, first._2()),
+                    elementConverter.getPropertiesFromValue(group, second._2()));
+            return new Tuple2<>(key, elementConverter.getValueFromProperties(group, properties));
+        }
+    }
+
+    private static final class ToAggregationKey extends AbstractFunction1<Tuple2<Key, Value>, Tuple2<Key, Tuple2<Key, Value>>> implements Serializable {
+        private static final long serialVersionUID = 3904932727532429196L;
+        private final SchemaConverter schemaConverter;
+
+        private ToAggregationKey(final SchemaConverter schemaConverter) {
+            this.schemaConverter = schemaConverter;
+        }
+
+        @Override
+        public Tuple2<Key, Tuple2<Key, Value>> apply(final Tuple2<Key, Value> keyValue) {
+            final Key key = keyValue._1();
+            if (!schemaConverter.isAggregate(key)) {
+                return new Tuple2<>(key, keyValue);
+            }
+            final Key aggregationKey = new Key(key);
+            aggregationKey.setTimestamp(0L);
+            return new Tuple2<>(aggregationKey, keyValue);
+        }
+    }
+
+    private static final class CreateKeyValues extends AbstractFunction1<Tuple2<Key, Value>, List<Tuple2<Key, Value>>> implements Serializable {
+        private static final long serialVersionUID = -2271587429463453146L;
+
+        @Override
+        public List<Tuple2<Key, Value>> apply(final Tuple2<Key, Value> keyValue) {
+            final List<Tuple2<Key, Value>> keyValues = new ArrayList<>(1);
+            keyValues.add(keyValue);
+            return keyValues;
+        }
+    }
+
+    /**
+     * Adds a pair to the pairs with the same shuffle key. The pairs of an aggregated group are merged into one pair,
+     * whereas the pairs of other groups are all kept.
+     */
+    private static final class MergeKeyValue extends AbstractFunction2<List<Tuple2<Key, Value>>, Tuple2<Key, Value>, List<Tuple2<Key, Value>>> implements Serializable {
+        private static final long serialVersionUID = 5526463466213618154L;
+        private final SchemaConverter schemaConverter;
+
+        private MergeKeyValue(final SchemaConverter schemaConverter) {
+            this.schemaConverter = schemaConverter;
+        }
+
+        @Override
+        public List<Tuple2<Key, Value>> apply(final List<Tuple2<Key, Value>> keyValues, final Tuple2<Key, Value> keyValue) {
+            if (schemaConverter.isAggregate(keyValue._1())) {
+                keyValues.set(0, schemaConverter.aggregate(keyValues.get(0), keyValue));
+            } else {
+                keyValues.add(keyValue);
+            }
+            return keyValues;
+        }
+    }
+
+    private static final class MergeKeyValues extends AbstractFunction2<List<Tuple2<Key, Value>>, List<Tuple2<Key, Value>>, List<Tuple2<Key, Value>>> implements Serializable {
+        private static final long serialVersionUID = 4386937281613470571L;
+        private final SchemaConverter schemaConverter;
+
+        private MergeKeyValues(final SchemaConverter schemaConverter) {
+            this.schemaConverter = schemaConverter;
+        }
+
+        @Override
+        public List<Tuple2<Key, Value>> apply(final List<Tuple2<Key, Value>> first, final List<Tuple2<Key, Value>> second) {
+            if (schemaConverter.isAggregate(first.get(0)._1())) {
+                first.set(0, schemaConverter.aggregate(first.get(0), second.get(0)));
+            } else {
+                first.addAll(second);
+            }
+            return first;
+        }
+    }
+
+    private static final class KeyValues extends AbstractFunction1<Tuple2<Key, List<Tuple2<Key, Value>>>, TraversableOnce<Tuple2<Key, Value>>> implements Serializable {
+        private static final long serialVersionUID = 7427613418386472781L;
+
+        @Override
+        public TraversableOnce<Tuple2<Key, Value>> apply(final Tuple2<Key, List<Tuple2<Key, Value>>> tuple) {
+            return JavaConverters.asScalaBufferConverter(tuple._2()).asScala();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sparkaccumulo.operation.utils.scala;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import scala.Tuple2;
+import scala.collection.TraversableOnce;
+import scala.collection.mutable.ArrayBuffer;
+import scala.runtime.AbstractFunction1;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.RangeFactoryException;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.sparkaccumulo.operation.utils.AccumuloSerialisedConfiguration;
+import java.io.Serializable;
+
+/**
+ * Converts an {@link ElementId} into the Accumulo {@link Range}s that contain its elements, keyed by the start
+ * {@link Key} of each range so that the ranges can be partitioned by
+ * {@link uk.gov.gchq.gaffer.sparkaccumulo.operation.utils.AccumuloKeyRangePartitioner}.
+ */
+public class ElementIdToRangesFunction extends AbstractFunction1<ElementId, TraversableOnce<Tuple2<Key, Range>>> implements Serializable {
+    private static final long serialVersionUID = -2946785730381364717L;
+    private final AccumuloSerialisedConfiguration configuration;
+    private final DirectedType directedType;
+    private final IncludeIncomingOutgoingType inOutType;
+    private transient GetElements graphFilters;
+
+    public ElementIdToRangesFunction(final AccumuloSerialisedConfiguration configuration,
+                                     final DirectedType directedType,
+                                     final IncludeIncomingOutgoingType inOutType) {
+        this.configuration = configuration;
+        this.directedType = directedType;
+        this.inOutType = inOutType;
+    }
+
+    @Override
+    public TraversableOnce<Tuple2<Key, Range>> apply(final ElementId elementId) {
+        final ArrayBuffer<Tuple2<Key, Range>> buf = new ArrayBuffer<>();
+        try {
+            for (final Range range : configuration.getKeyPackage().getRangeFactory().getRange(elementId, getGraphFilters())) {
+                final Key startKey = null != range.getStartKey() ? range.getStartKey() : new Key();
+                buf.$plus$eq(new Tuple2<>(startKey, range));
+            }
+        } catch (final RangeFactoryException e) {
+            throw new GafferRuntimeException("Failed to create ranges for seed " + elementId, e);
+        }
+        return buf;
+    }
+
+    private GetElements getGraphFilters() {
+        if (null == graphFilters) {
+            graphFilters = new GetElements.Builder()
+                    .view(configuration.getView())
+                    .directedType(directedType)
+                    .inOutType(inOutType)
+                    .build();
+        }
+        return graphFilters;
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sparkaccumulo.operation.utils.scala;
+
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.client.Connector;
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.client.mapreduce.AccumuloInputFormat;
+import org.apache.accumulo.core.client.mapreduce.lib.impl.InputConfigurator;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.spark.TaskContext;
+import org.apache.spark.util.TaskCompletionListener;
+import scala.Tuple2;
+import scala.collection.Iterator;
+import scala.collection.JavaConverters;
+import scala.runtime.AbstractFunction1;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.sparkaccumulo.operation.utils.AccumuloSerialisedConfiguration;
+import java.io.Closeable;
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Scans the {@link Range}s in a partition with local {@link BatchScanner}s, using the table, user, authorisations
+ * and iterators in the {@link AccumuloSerialisedConfiguration}, and returns the {@link Element}s that are found. The ranges
+ * are scanned lazily in batches of at most <code>maxEntriesForBatchScanner</code> ranges. Identical ranges
+ * should be adjacent in the partition, e.g. by sorting the partition, as only consecutive duplicates are skipped.
+ */
+public class ScanRangesFunction extends AbstractFunction1<Iterator<Tuple2<Key, Range>>, Iterator<Element>> implements Serializable {
+    private static final long serialVersionUID = 8153427624573451374L;
+    private final AccumuloSerialisedConfiguration configuration;
+    private final int maxEntriesForBatchScanner;
+    private final int threadsForBatchScanner;
+
+    public ScanRangesFunction(final AccumuloSerialisedConfiguration configuration,
+                              final int maxEntriesForBatchScanner,
+                              final int threadsForBatchScanner) {
+        this.configuration = configuration;
+        this.maxEntriesForBatchScanner = maxEntriesForBatchScanner;
+        this.threadsForBatchScanner = threadsForBatchScanner;
+    }
+
+    @Override
+    public Iterator<Element> apply(final Iterator<Tuple2<Key, Range>> ranges) {
+        final ElementIterator elementIterator = new ElementIterator(ranges);
+        final TaskContext taskContext = TaskContext.get();
+        if (null != taskContext) {
+            taskContext.addTaskCompletionListener(new TaskCompletionListener() {
+                @Override
+                public void onTaskCompletion(final TaskContext context) {
+                    elementIterator.close();
+                }
+            });
+        }
+        return JavaConverters.asScalaIteratorConverter(elementIterator).asScala();
+    }
+
+    private final class ElementIterator implements java.util.Iterator<Element>, Closeable {
+        private final Iterator<Tuple2<Key, Range>> ranges;
+        private final AccumuloElementConverter converter;
+        private final View view;
+        private Connector connector;
+        private Range previousRange;
+        private BatchScanner scanner;
+        private java.util.Iterator<Entry<Key, Value>> scannerIterator;
+        private Element nextElement;
+
+        private ElementIterator(final Iterator<Tuple2<Key, Range>> ranges) {
+            this.ranges = ranges;
+            this.converter = configuration.getKeyPackage().getKeyConverter();
+            this.view = configuration.getView();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == nextElement) {
+                if (null != scannerIterator && scannerIterator.hasNext()) {
+                    nextElement = convert(scannerIterator.next());
+                } else {
+                    close();
+                    if (!ranges.hasNext()) {
+                        return false;
+                    }
+                    final Set<Range> batch = getNextBatch();
+                    if (!batch.isEmpty()) {
+                        scanner = createScanner(batch);
+                        scannerIterator = scanner.iterator();
+                    }
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Element element = nextElement;
+            nextElement = null;
+            return element;
+        }
+
+        @Override
+        public void close() {
+            if (null != scanner) {
+                scanner.close();
+                scanner = null;
+            }
+            scannerIterator = null;
+        }
+
+        private Set<Range> getNextBatch() {
+            final Set<Range> batch = new HashSet<>();
+            while (ranges.hasNext() && batch.size() < maxEntriesForBatchScanner) {
+                final Range range = ranges.next()._2();
+                if (null == previousRange || !range.equals(previousRange)) {
+                    batch.add(range);
+                    previousRange = range;
+                }
+            }
+            return batch;
+        }
+
+        private BatchScanner createScanner(final Set<Range> batch) {
+            final Configuration conf = configuration.getConfiguration();
+            final String table = InputConfigurator.getInputTableName(AccumuloInputFormat.class, conf);
+            final BatchScanner batchScanner;
+            try {
+                batchScanner = getConnector().createBatchScanner(table,
+                        InputConfigurator.getScanAuthorizations(AccumuloInputFormat.class, conf),
+                        threadsForBatchScanner);
+            } catch (final TableNotFoundException e) {
+                throw new GafferRuntimeException("Failed to create a batch scanner for table " + table, e);
+            }
+            for (final IteratorSetting iteratorSetting : InputConfigurator.getIterators(AccumuloInputFormat.class, conf)) {
+                batchScanner.addScanIterator(iteratorSetting);
+            }
+            batchScanner.setRanges(batch);
+            return batchScanner;
+        }
+
+        private Connector getConnector() {
+            if (null == connector) {
+                final Configuration conf = configuration.getConfiguration();
+                try {
+                    connector = InputConfigurator.getInstance(AccumuloInputFormat.class, conf)
+                            .getConnector(InputConfigurator.getPrincipal(AccumuloInputFormat.class, conf),
+                                    InputConfigurator.getAuthenticationToken(AccumuloInputFormat.class, conf));
+                } catch (final AccumuloException | AccumuloSecurityException e) {
+                    throw new GafferRuntimeException("Failed to create accumulo connection", e);
+                }
+            }
+            return connector;
+        }
+
+        private Element convert(final Entry<Key, Value> entry) {
+            final Element element = converter.getFullElement(entry.getKey(), entry.getValue());
+            final ViewElementDefinition viewDef = view.getElement(element.getGroup());
+            if (null != viewDef) {
+                final ElementTransformer transformer = viewDef.getTransformer();
+                if (null != transformer) {
+                    transformer.apply(element);
+                }
+            }
+            return element;
+        }
+    }
+}
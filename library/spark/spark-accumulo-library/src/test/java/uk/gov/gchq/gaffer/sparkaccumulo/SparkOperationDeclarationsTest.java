@@ -26,6 +26,7 @@ import uk.gov.gchq.gaffer.spark.operation.javardd.GetJavaRDDOfElements;
 import uk.gov.gchq.gaffer.spark.operation.javardd.ImportJavaRDDOfElements;
 import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfAllElements;
 import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfElements;
+import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfElementsFromSeedRDD;
 import uk.gov.gchq.gaffer.spark.operation.scalardd.ImportRDDOfElements;
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.dataframe.GetDataFrameOfElementsHandler;
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.javardd.GetJavaRDDOfAllElementsHandler;
@@ -33,6 +34,7 @@ import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.javardd.GetJavaRDDOfEl
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.javardd.ImportJavaRDDOfElementsHandler;
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.javardd.ImportKeyValueJavaPairRDDToAccumuloHandler;
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.scalardd.GetRDDOfAllElementsHandler;
+import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.scalardd.GetRDDOfElementsFromSeedRDDHandler;
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.scalardd.GetRDDOfElementsHandler;
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.scalardd.ImportKeyValuePairRDDToAccumuloHandler;
 import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.scalardd.ImportRDDOfElementsHandler;
@@ -57,7 +59,7 @@ public class SparkOperationDeclarationsTest {
                 .deserialise(StreamUtil.openStream(getClass(), ACCUMULO_OP_DECLARATIONS_JSON_PATH), OperationDeclarations.class);
 
         // Then
-        assertEquals(9, deserialised.getOperations().size());
+        assertEquals(10, deserialised.getOperations().size());
 
         final OperationDeclaration od0 = deserialised.getOperations().get(0);
         assertEquals(GetJavaRDDOfElements.class, od0.getOperation());
@@ -68,32 +70,36 @@ public class SparkOperationDeclarationsTest {
         assertTrue(od1.getHandler() instanceof GetRDDOfElementsHandler);
 
         final OperationDeclaration od2 = deserialised.getOperations().get(2);
-        assertEquals(GetRDDOfAllElements.class, od2.getOperation());
-        assertTrue(od2.getHandler() instanceof GetRDDOfAllElementsHandler);
+        assertEquals(GetRDDOfElementsFromSeedRDD.class, od2.getOperation());
+        assertTrue(od2.getHandler() instanceof GetRDDOfElementsFromSeedRDDHandler);
 
         final OperationDeclaration od3 = deserialised.getOperations().get(3);
-        assertEquals(GetJavaRDDOfAllElements.class, od3.getOperation());
-        assertTrue(od3.getHandler() instanceof GetJavaRDDOfAllElementsHandler);
+        assertEquals(GetRDDOfAllElements.class, od3.getOperation());
+        assertTrue(od3.getHandler() instanceof GetRDDOfAllElementsHandler);
 
         final OperationDeclaration od4 = deserialised.getOperations().get(4);
-        assertEquals(GetDataFrameOfElements.class, od4.getOperation());
-        assertTrue(od4.getHandler() instanceof GetDataFrameOfElementsHandler);
+        assertEquals(GetJavaRDDOfAllElements.class, od4.getOperation());
+        assertTrue(od4.getHandler() instanceof GetJavaRDDOfAllElementsHandler);
 
         final OperationDeclaration od5 = deserialised.getOperations().get(5);
-        assertEquals(ImportKeyValueJavaPairRDDToAccumulo.class, od5.getOperation());
-        assertTrue(od5.getHandler() instanceof ImportKeyValueJavaPairRDDToAccumuloHandler);
+        assertEquals(GetDataFrameOfElements.class, od5.getOperation());
+        assertTrue(od5.getHandler() instanceof GetDataFrameOfElementsHandler);
 
         final OperationDeclaration od6 = deserialised.getOperations().get(6);
-        assertEquals(ImportJavaRDDOfElements.class, od6.getOperation());
-        assertTrue(od6.getHandler() instanceof ImportJavaRDDOfElementsHandler);
+        assertEquals(ImportKeyValueJavaPairRDDToAccumulo.class, od6.getOperation());
+        assertTrue(od6.getHandler() instanceof ImportKeyValueJavaPairRDDToAccumuloHandler);
 
         final OperationDeclaration od7 = deserialised.getOperations().get(7);
-        assertEquals(ImportKeyValuePairRDDToAccumulo.class, od7.getOperation());
-        assertTrue(od7.getHandler() instanceof ImportKeyValuePairRDDToAccumuloHandler);
+        assertEquals(ImportJavaRDDOfElements.class, od7.getOperation());
+        assertTrue(od7.getHandler() instanceof ImportJavaRDDOfElementsHandler);
 
         final OperationDeclaration od8 = deserialised.getOperations().get(8);
-        assertEquals(ImportRDDOfElements.class, od8.getOperation());
-        assertTrue(od8.getHandler() instanceof ImportRDDOfElementsHandler);
+        assertEquals(ImportKeyValuePairRDDToAccumulo.class, od8.getOperation());
+        assertTrue(od8.getHandler() instanceof ImportKeyValuePairRDDToAccumuloHandler);
+
+        final OperationDeclaration od9 = deserialised.getOperations().get(9);
+        assertEquals(ImportRDDOfElements.class, od9.getOperation());
+        assertTrue(od9.getHandler() instanceof ImportRDDOfElementsHandler);
 
 
 
@@ -192,6 +192,20 @@ public class AccumuloStoreRelationTest {
                 requiredColumns, filters, returnElement);
     }
 
+    @Test
+    public void testBuildScanSpecifyColumnsAndGroupByFilterFullView() throws OperationException, StoreException {
+        final Schema schema = getSchema();
+        final View view = getViewFromSchema(schema);
+
+        final String[] requiredColumns = new String[]{"columnQualifier", "property4"};
+        final Filter[] filters = new Filter[1];
+        filters[0] = new GreaterThan("columnQualifier", 1);
+        final Predicate<Element> returnElement = (Element element) -> null != element.getProperty("columnQualifier")
+                && ((Integer) element.getProperty("columnQualifier")) > 1;
+        testBuildScanSpecifyColumnsAndFiltersWithView("testBuildScanSpecifyColumnsAndGroupByFilterFullView", view,
+                requiredColumns, filters, returnElement);
+    }
+
     private void testBuildScanSpecifyColumnsAndFiltersWithView(final String name, final View view,
                                                                final String[] requiredColumns, final Filter[] filters,
                                                                final Predicate<Element> returnElement)
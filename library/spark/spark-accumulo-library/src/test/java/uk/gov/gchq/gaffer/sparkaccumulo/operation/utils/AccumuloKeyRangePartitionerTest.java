@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sparkaccumulo.operation.utils;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+
+public class AccumuloKeyRangePartitionerTest {
+
+    @Test
+    public void shouldPartitionBinaryRowsByTheirRawBytes() throws Exception {
+        // Given
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(Schema.fromJson(
+                        StreamUtil.openStream(getClass(), "/schema/dataSchema.json"),
+                        StreamUtil.openStream(getClass(), "/schema/dataTypes.json"),
+                        StreamUtil.openStream(getClass(), "/schema/storeTypes.json"),
+                        StreamUtil.openStream(getClass(), "/schema/storeSchema.json")),
+                AccumuloProperties.loadStoreProperties(StreamUtil.openStream(getClass(), "/store.properties")));
+        // Split points that are not valid UTF-8, so they do not sort correctly once decoded to strings
+        final SortedSet<Text> splits = new TreeSet<>();
+        splits.add(new Text(new byte[]{0x01}));
+        splits.add(new Text(new byte[]{0x7F}));
+        splits.add(new Text(new byte[]{(byte) 0x80}));
+        splits.add(new Text(new byte[]{(byte) 0xC3, 0x28}));
+        store.getConnection().tableOperations().addSplits(store.getProperties().getTable(), splits);
+
+        // When
+        final AccumuloKeyRangePartitioner partitioner = new AccumuloKeyRangePartitioner(store);
+
+        // Then
+        assertEquals(5, partitioner.numPartitions());
+        // Each tablet holds the rows after the previous split point, up to and including its own split point
+        assertEquals(0, partitioner.getPartition(new Key(new Text(new byte[]{0x00}))));
+        assertEquals(0, partitioner.getPartition(new Key(new Text(new byte[]{0x01}))));
+        assertEquals(1, partitioner.getPartition(new Key(new Text(new byte[]{0x01, 0x00}))));
+        assertEquals(1, partitioner.getPartition(new Key(new Text(new byte[]{0x7F}))));
+        assertEquals(2, partitioner.getPartition(new Key(new Text(new byte[]{(byte) 0x80}))));
+        assertEquals(3, partitioner.getPartition(new Key(new Text(new byte[]{(byte) 0x80, 0x00}))));
+        assertEquals(3, partitioner.getPartition(new Key(new Text(new byte[]{(byte) 0xC3, 0x28}))));
+        assertEquals(4, partitioner.getPartition(new Key(new Text(new byte[]{(byte) 0xC3, 0x29}))));
+        assertEquals(4, partitioner.getPartition(new Key(new Text(new byte[]{(byte) 0xFF}))));
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sparkaccumulo.operation.utils;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.spark.SparkConf;
+import org.apache.spark.SparkContext;
+import org.apache.spark.rdd.RDD;
+import org.junit.Test;
+import scala.Tuple2;
+import scala.collection.mutable.ArrayBuffer;
+import scala.reflect.ClassTag;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class KeyValueAggregationTest {
+    private static final ClassTag<Tuple2<Key, Value>> TUPLE2_CLASS_TAG = scala.reflect.ClassTag$.MODULE$.apply(Tuple2.class);
+    private static final int NUM_VERTICES = 10;
+    private static final int NUM_DUPLICATES = 3;
+
+    @Test
+    public void shouldAggregateAndSortKeyValuesByteEntityStore() throws OperationException, StoreException {
+        shouldAggregateAndSortKeyValues("/store.properties");
+    }
+
+    @Test
+    public void shouldAggregateAndSortKeyValuesGaffer1Store() throws OperationException, StoreException {
+        shouldAggregateAndSortKeyValues("/accumuloStoreClassicKeys.properties");
+    }
+
+    @Test
+    public void shouldKeepAllValuesOfIdenticalKeysInNonAggregatedGroupByteEntityStore() throws OperationException, StoreException {
+        shouldKeepAllValuesOfIdenticalKeysInNonAggregatedGroup("/store.properties");
+    }
+
+    @Test
+    public void shouldKeepAllValuesOfIdenticalKeysInNonAggregatedGroupGaffer1Store() throws OperationException, StoreException {
+        shouldKeepAllValuesOfIdenticalKeysInNonAggregatedGroup("/accumuloStoreClassicKeys.properties");
+    }
+
+    private void shouldAggregateAndSortKeyValues(final String propertiesPath) throws OperationException, StoreException {
+        // Given
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(Schema.fromJson(
+                        StreamUtil.openStream(getClass(), "/schema/dataSchema.json"),
+                        StreamUtil.openStream(getClass(), "/schema/dataTypes.json"),
+                        StreamUtil.openStream(getClass(), "/schema/storeTypes.json"),
+                        StreamUtil.openStream(getClass(), "/schema/storeSchema.json")),
+                AccumuloProperties.loadStoreProperties(StreamUtil.openStream(getClass(), propertiesPath)));
+        final AccumuloElementConverter converter = store.getKeyPackage().getKeyConverter();
+
+        final ArrayBuffer<Tuple2<Key, Value>> keyValues = new ArrayBuffer<>();
+        for (int i = 0; i < NUM_DUPLICATES; i++) {
+            for (int vertex = 0; vertex < NUM_VERTICES; vertex++) {
+                final Entity entity = new Entity(TestGroups.ENTITY, "" + vertex);
+                entity.putProperty(TestPropertyNames.COUNT, 1);
+                final Key key = converter.getKeysFromElement(entity).getFirst();
+                // Keys that only differ by timestamp should still be aggregated
+                key.setTimestamp(i);
+                keyValues.$plus$eq(new Tuple2<>(key, converter.getValueFromElement(entity)));
+            }
+        }
+
+        final SparkContext sparkContext = createSparkContext("testAggregateAndSortKeyValues");
+
+        // When
+        final RDD<Tuple2<Key, Value>> aggregated = KeyValueAggregation.aggregateAndSort(
+                sparkContext.parallelize(keyValues, 4, TUPLE2_CLASS_TAG),
+                new AccumuloKeyRangePartitioner(store),
+                store);
+        final Tuple2<Key, Value>[] results = (Tuple2<Key, Value>[]) aggregated.collect();
+        sparkContext.stop();
+
+        // Then
+        assertEquals(NUM_VERTICES, results.length);
+        final List<Object> vertices = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            if (i > 0) {
+                assertTrue(results[i - 1]._1().compareTo(results[i]._1()) < 0);
+            }
+            assertEquals(NUM_DUPLICATES - 1, results[i]._1().getTimestamp());
+            final Element element = converter.getFullElement(results[i]._1(), results[i]._2());
+            assertEquals(NUM_DUPLICATES, element.getProperty(TestPropertyNames.COUNT));
+            vertices.add(((Entity) element).getVertex());
+        }
+        final List<Object> expectedVertices = new ArrayList<>();
+        for (int vertex = 0; vertex < NUM_VERTICES; vertex++) {
+            expectedVertices.add("" + vertex);
+        }
+        assertEquals(expectedVertices, vertices);
+    }
+
+    private void shouldKeepAllValuesOfIdenticalKeysInNonAggregatedGroup(final String propertiesPath) throws OperationException, StoreException {
+        // Given
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(new Schema.Builder()
+                        .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                                .vertex("string")
+                                .property(TestPropertyNames.COUNT, "int")
+                                .aggregate(false)
+                                .build())
+                        .type("string", String.class)
+                        .type("int", Integer.class)
+                        .vertexSerialiser(new StringSerialiser())
+                        .build(),
+                AccumuloProperties.loadStoreProperties(StreamUtil.openStream(getClass(), propertiesPath)));
+        final AccumuloElementConverter converter = store.getKeyPackage().getKeyConverter();
+
+        final ArrayBuffer<Tuple2<Key, Value>> keyValues = new ArrayBuffer<>();
+        for (int count = 0; count < NUM_DUPLICATES; count++) {
+            final Entity entity = new Entity(TestGroups.ENTITY, "vertex");
+            entity.putProperty(TestPropertyNames.COUNT, count);
+            final Key key = converter.getKeysFromElement(entity).getFirst();
+            key.setTimestamp(1L);
+            keyValues.$plus$eq(new Tuple2<>(key, converter.getValueFromElement(entity)));
+        }
+
+        final SparkContext sparkContext = createSparkContext("testKeepNonAggregatedKeyValues");
+
+        // When
+        final RDD<Tuple2<Key, Value>> aggregated = KeyValueAggregation.aggregateAndSort(
+                sparkContext.parallelize(keyValues, 2, TUPLE2_CLASS_TAG),
+                new AccumuloKeyRangePartitioner(store),
+                store);
+        final Tuple2<Key, Value>[] results = (Tuple2<Key, Value>[]) aggregated.collect();
+        sparkContext.stop();
+
+        // Then
+        assertEquals(NUM_DUPLICATES, results.length);
+        final List<Integer> counts = new ArrayList<>();
+        for (final Tuple2<Key, Value> result : results) {
+            assertEquals(keyValues.apply(0)._1(), result._1());
+            counts.add((Integer) converter.getFullElement(result._1(), result._2()).getProperty(TestPropertyNames.COUNT));
+        }
+        Collections.sort(counts);
+        final List<Integer> expectedCounts = new ArrayList<>();
+        for (int count = 0; count < NUM_DUPLICATES; count++) {
+            expectedCounts.add(count);
+        }
+        assertEquals(expectedCounts, counts);
+    }
+
+    private SparkContext createSparkContext(final String appName) {
+        final SparkConf sparkConf = new SparkConf()
+                .setMaster("local")
+                .setAppName(appName)
+                .set("spark.serializer", "org.apache.spark.serializer.KryoSerializer")
+                .set("spark.kryo.registrator", "uk.gov.gchq.gaffer.spark.serialisation.kryo.Registrator")
+                .set("spark.driver.allowMultipleContexts", "true");
+        return new SparkContext(sparkConf);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sparkhbase.operation.handler;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter.RowRange;
+import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
+import org.apache.hadoop.hbase.mapreduce.TableInputFormat;
+import org.apache.hadoop.hbase.mapreduce.TableMapReduceUtil;
+import org.apache.hadoop.hbase.security.visibility.Authorizations;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.spark.SparkContext;
+import org.apache.spark.rdd.RDD;
+import scala.Tuple2;
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
+import uk.gov.gchq.gaffer.hbasestore.retriever.RowRangeFactory;
+import uk.gov.gchq.gaffer.hbasestore.utils.HBaseStoreConstants;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.Options;
+import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
+import uk.gov.gchq.gaffer.operation.io.Input;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.ClassTagConstants;
+import uk.gov.gchq.gaffer.spark.operation.utils.HadoopConfigurationUtil;
+import uk.gov.gchq.gaffer.sparkhbase.operation.utils.scala.ResultToElementsFunction;
+import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.user.User;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates {@link RDD}s of {@link Element}s by reading the HBase table with a {@link TableInputFormat}, so there is
+ * one Spark partition per region. The {@link Scan} is given the same attributes as the scans created by
+ * {@link uk.gov.gchq.gaffer.hbasestore.retriever.HBaseRetriever}, so the Gaffer coprocessor filters and aggregates
+ * the elements in the view in the region servers before they are sent to the executors.
+ */
+public abstract class AbstractGetRDDHandler<OP extends Output<O> & GraphFilters & Options, O>
+        implements OutputOperationHandler<OP, O> {
+
+    public static final String HADOOP_CONFIGURATION_KEY = HadoopConfigurationUtil.HADOOP_CONFIGURATION_KEY;
+
+    public void addScan(final HBaseStore hbaseStore,
+                        final Configuration conf,
+                        final User user,
+                        final OP operation,
+                        final List<RowRange> rowRanges,
+                        final Class<?>... extraProcessors) throws OperationException {
+        final Scan scan = new Scan();
+        if (null != rowRanges) {
+            final MultiRowRangeFilter filter;
+            try {
+                filter = new MultiRowRangeFilter(rowRanges);
+            } catch (final IOException e) {
+                throw new OperationException("Failed to create row range filter", e);
+            }
+            scan.setFilter(filter);
+            // Restrict the scan to the merged ranges so only the regions containing them are split into partitions
+            final List<RowRange> sortedRowRanges = filter.getRowRanges();
+            scan.setStartRow(sortedRowRanges.get(0).getStartRow());
+            final RowRange lastRowRange = sortedRowRanges.get(sortedRowRanges.size() - 1);
+            if (lastRowRange.isStopRowInclusive() && lastRowRange.getStopRow().length > 0) {
+                scan.setStopRow(Bytes.add(lastRowRange.getStopRow(), new byte[]{0}));
+            } else {
+                scan.setStopRow(lastRowRange.getStopRow());
+            }
+        }
+
+        if (null != user && null != user.getDataAuths()) {
+            scan.setAuthorizations(new Authorizations(
+                    user.getDataAuths().toArray(new String[user.getDataAuths().size()])));
+        } else {
+            scan.setAuthorizations(new Authorizations());
+        }
+        // The schema is not added as the coprocessor already has it
+        scan.setAttribute(HBaseStoreConstants.VIEW, operation.getView().toCompactJson());
+        if (null != operation.getDirectedType()) {
+            scan.setAttribute(HBaseStoreConstants.DIRECTED_TYPE, Bytes.toBytes(operation.getDirectedType().name()));
+        }
+        if (null != extraProcessors && extraProcessors.length > 0) {
+            scan.setAttribute(HBaseStoreConstants.EXTRA_PROCESSORS, StringUtil.toCsv(extraProcessors));
+        }
+        scan.setMaxVersions();
+        // Each row is only read once, so do not fill the region servers' block caches
+        scan.setCacheBlocks(false);
+
+        conf.set(TableInputFormat.INPUT_TABLE, hbaseStore.getProperties().getTable().getNameAsString());
+        try {
+            conf.set(TableInputFormat.SCAN, TableMapReduceUtil.convertScanToString(scan));
+        } catch (final IOException e) {
+            throw new OperationException("Failed to add scan to configuration", e);
+        }
+    }
+
+    public <INPUT_OP extends Operation & GraphFilters & Options & Input<Iterable<? extends ElementId>>>
+    List<RowRange> getRowRanges(final HBaseStore hbaseStore,
+                                final INPUT_OP operation)
+            throws OperationException {
+        final RowRangeFactory rowRangeFactory = new RowRangeFactory(hbaseStore.getSchema());
+        final List<RowRange> rowRanges = new ArrayList<>();
+        for (final ElementId elementId : operation.getInput()) {
+            try {
+                rowRanges.addAll(rowRangeFactory.getRowRange(elementId, operation));
+            } catch (final SerialisationException e) {
+                throw new OperationException("Failed to create row ranges for seed " + elementId, e);
+            }
+        }
+        return rowRanges;
+    }
+
+    public RDD<Element> getElements(final SparkContext sparkContext,
+                                    final Configuration conf,
+                                    final HBaseStore hbaseStore,
+                                    final OP operation) {
+        final RDD<Tuple2<ImmutableBytesWritable, Result>> pairRDD = sparkContext.newAPIHadoopRDD(conf,
+                TableInputFormat.class,
+                ImmutableBytesWritable.class,
+                Result.class);
+        return pairRDD.flatMap(new ResultToElementsFunction(hbaseStore.getSchema(), operation.getView(), operation.getOptions()),
+                ClassTagConstants.ELEMENT_CLASS_TAG);
+    }
+
+    protected Configuration getConfiguration(final OP operation, final HBaseStore hbaseStore) throws OperationException {
+        return HadoopConfigurationUtil.addOperationConfiguration(operation, new Configuration(hbaseStore.getConfiguration()));
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sparkhbase.operation.handler.dataframe;
+
+import org.apache.spark.sql.SQLContext;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.AbstractStoreRelation;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.property.Converter;
+import uk.gov.gchq.gaffer.user.User;
+import java.util.List;
+
+/**
+ * Allows Apache Spark to retrieve data from an {@link HBaseStore} as a <code>DataFrame</code>. The schema of the
+ * <code>DataFrame</code> is formed from the schemas of the groups specified in the view.
+ * <p>
+ * If two of the specified groups have properties with the same name, then the types of those properties must be the
+ * same.
+ * <p>
+ * <code>HBaseStoreRelation</code> implements the {@link org.apache.spark.sql.sources.TableScan} and {@link
+ * org.apache.spark.sql.sources.PrunedScan} interfaces which allow all {@link
+ * uk.gov.gchq.gaffer.data.element.Element}s of the specified groups to be returned to the <code>DataFrame</code>,
+ * optionally with only the specified columns.
+ * <p>
+ * <code>HBaseStoreRelation</code> implements the {@link org.apache.spark.sql.sources.PrunedFilteredScan} interface
+ * which allows only <code>Element</code>s that match the the provided {@link org.apache.spark.sql.sources.Filter}s
+ * to be returned. The majority of these are implemented by adding them to the {@link View}, which causes them to be
+ * applied by the Gaffer coprocessor in HBase's region servers. If a <code>Filter</code> specifies either the vertex
+ * in an <code>Entity</code> or either the source or destination vertex in an <code>Edge</code> then only the rows
+ * for that vertex are scanned.
+ */
+public class HBaseStoreRelation extends AbstractStoreRelation {
+
+    public HBaseStoreRelation(final SQLContext sqlContext,
+                              final List<Converter> converters,
+                              final View view,
+                              final HBaseStore store,
+                              final User user) {
+        super(sqlContext, converters, view, store, user);
+    }
+}
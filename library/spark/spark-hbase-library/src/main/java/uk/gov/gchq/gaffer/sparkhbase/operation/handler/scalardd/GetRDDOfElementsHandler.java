@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sparkhbase.operation.handler.scalardd;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter.RowRange;
+import org.apache.spark.rdd.RDD;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.ClassTagConstants;
+import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfElements;
+import uk.gov.gchq.gaffer.sparkhbase.operation.handler.AbstractGetRDDHandler;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import java.util.List;
+
+public class GetRDDOfElementsHandler extends AbstractGetRDDHandler<GetRDDOfElements, RDD<Element>> {
+
+    @Override
+    public RDD<Element> doOperation(final GetRDDOfElements operation,
+                                    final Context context,
+                                    final Store store)
+            throws OperationException {
+        return doOperation(operation, context, (HBaseStore) store);
+    }
+
+    private RDD<Element> doOperation(final GetRDDOfElements operation,
+                                     final Context context,
+                                     final HBaseStore hbaseStore)
+            throws OperationException {
+        final List<RowRange> rowRanges = getRowRanges(hbaseStore, operation);
+        if (rowRanges.isEmpty()) {
+            return operation.getSparkContext().emptyRDD(ClassTagConstants.ELEMENT_CLASS_TAG);
+        }
+        final Configuration conf = getConfiguration(operation, hbaseStore);
+        addScan(hbaseStore, conf, context.getUser(), operation, rowRanges);
+        return getElements(operation.getSparkContext(), conf, hbaseStore, operation);
+    }
+}
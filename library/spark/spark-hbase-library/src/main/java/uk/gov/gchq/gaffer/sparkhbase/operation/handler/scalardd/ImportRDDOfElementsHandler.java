@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sparkhbase.operation.handler.scalardd;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
+import org.apache.hadoop.hbase.mapreduce.HFileOutputFormat2;
+import org.apache.hadoop.hbase.mapreduce.LoadIncrementalHFiles;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.util.ToolRunner;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.rdd.OrderedRDDFunctions;
+import org.apache.spark.rdd.RDD;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scala.Tuple2;
+import scala.math.Ordering;
+import scala.math.Ordering$;
+import scala.reflect.ClassTag;
+import scala.runtime.AbstractFunction1;
+import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
+import uk.gov.gchq.gaffer.hbasestore.utils.IngestUtils;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.spark.operation.scalardd.ImportRDDOfElements;
+import uk.gov.gchq.gaffer.spark.operation.utils.SerialisedConfiguration;
+import uk.gov.gchq.gaffer.sparkhbase.operation.utils.HBaseRegionPartitioner;
+import uk.gov.gchq.gaffer.sparkhbase.operation.utils.scala.ElementToKeyValuesFunction;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Comparator;
+
+/**
+ * Handles {@link ImportRDDOfElements} operations by bulk importing the elements into HBase. The elements are
+ * converted into {@link KeyValue}s, partitioned by region and sorted in a single shuffle, written to HFiles in the
+ * outputPath and then loaded into the table with {@link LoadIncrementalHFiles}, as
+ * {@link uk.gov.gchq.gaffer.hbasestore.operation.hdfs.handler.AddElementsFromHdfsHandler} does.
+ */
+public class ImportRDDOfElementsHandler implements OperationHandler<ImportRDDOfElements> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportRDDOfElementsHandler.class);
+    private static final String OUTPUT_PATH = "outputPath";
+    private static final ClassTag<byte[]> BYTES_CLASS_TAG = scala.reflect.ClassTag$.MODULE$.apply(byte[].class);
+    private static final ClassTag<Tuple2<byte[], byte[]>> TUPLE2_CLASS_TAG = scala.reflect.ClassTag$.MODULE$.apply(Tuple2.class);
+    private static final ClassTag<ImmutableBytesWritable> ROW_CLASS_TAG = scala.reflect.ClassTag$.MODULE$.apply(ImmutableBytesWritable.class);
+    private static final ClassTag<KeyValue> KEY_VALUE_CLASS_TAG = scala.reflect.ClassTag$.MODULE$.apply(KeyValue.class);
+    private static final ClassTag<Tuple2<ImmutableBytesWritable, KeyValue>> CELL_TUPLE2_CLASS_TAG = scala.reflect.ClassTag$.MODULE$.apply(Tuple2.class);
+    private static final Ordering<byte[]> KEY_VALUE_ORDERING = Ordering$.MODULE$.comparatorToOrdering(new KeyValueComparator());
+
+    @Override
+    public Void doOperation(final ImportRDDOfElements operation, final Context context, final Store store) throws OperationException {
+        doOperation(operation, (HBaseStore) store);
+        return null;
+    }
+
+    public void doOperation(final ImportRDDOfElements operation, final HBaseStore store) throws OperationException {
+        final String outputPath = operation.getOption(OUTPUT_PATH);
+        if (null == outputPath || outputPath.isEmpty()) {
+            throw new OperationException("Option outputPath must be set for this option to be run against the hbasestore");
+        }
+        writeHFiles(operation, store, outputPath);
+        importHFiles(store, outputPath);
+    }
+
+    private void writeHFiles(final ImportRDDOfElements operation, final HBaseStore store, final String outputPath)
+            throws OperationException {
+        final Configuration conf = store.getConfiguration();
+        final Job job;
+        try {
+            job = Job.getInstance(conf);
+            // Uses the compression, bloom filter and block size of the table's column family
+            HFileOutputFormat2.configureIncrementalLoadMap(job, store.getTable());
+        } catch (final IOException | StoreException e) {
+            throw new OperationException("Failed to configure HFile output", e);
+        }
+
+        final RDD<Tuple2<byte[], byte[]>> keyValues = operation.getInput().flatMap(
+                new ElementToKeyValuesFunction(store.getSchema(), new SerialisedConfiguration(conf)),
+                TUPLE2_CLASS_TAG);
+        final OrderedRDDFunctions<byte[], byte[], Tuple2<byte[], byte[]>> orderedKeyValues =
+                new OrderedRDDFunctions<>(keyValues, KEY_VALUE_ORDERING, BYTES_CLASS_TAG, BYTES_CLASS_TAG, TUPLE2_CLASS_TAG);
+        final RDD<Tuple2<ImmutableBytesWritable, KeyValue>> cells = orderedKeyValues
+                .repartitionAndSortWithinPartitions(new HBaseRegionPartitioner(store))
+                .map(new ToHFileCell(), CELL_TUPLE2_CLASS_TAG);
+
+        LOGGER.info("Writing HFiles to {}", outputPath);
+        JavaPairRDD.fromRDD(cells, ROW_CLASS_TAG, KEY_VALUE_CLASS_TAG).saveAsNewAPIHadoopFile(outputPath,
+                ImmutableBytesWritable.class,
+                KeyValue.class,
+                HFileOutputFormat2.class,
+                job.getConfiguration());
+    }
+
+    private void importHFiles(final HBaseStore store, final String outputPath)
+            throws OperationException {
+        final LoadIncrementalHFiles importTool;
+        try {
+            final Configuration conf = store.getConfiguration();
+            conf.set(LoadIncrementalHFiles.CREATE_TABLE_CONF_KEY, "no");
+
+            final FileSystem fs = FileSystem.get(conf);
+
+            // Remove the _SUCCESS file to prevent warning in HBase
+            LOGGER.info("Removing file {}/_SUCCESS", outputPath);
+            fs.delete(new Path(outputPath + "/_SUCCESS"), false);
+
+            // Set all permissions
+            IngestUtils.setDirectoryPermsForHbase(fs, new Path(outputPath));
+
+            importTool = new LoadIncrementalHFiles(conf);
+        } catch (final Exception e) {
+            throw new OperationException("Failed to import elements into HBase", e);
+        }
+
+        try {
+            LOGGER.info("Running import job");
+            ToolRunner.run(importTool, new String[]{outputPath, store.getProperties().getTable().getNameAsString()});
+            LOGGER.info("Finished running import job");
+        } catch (final Exception e) {
+            LOGGER.error("Failed to import elements into HBase: {}", e.getMessage());
+            throw new OperationException("Failed to import elements into HBase", e);
+        }
+    }
+
+    private static final class KeyValueComparator implements Comparator<byte[]>, Serializable {
+        private static final long serialVersionUID = -1436932290768311853L;
+
+        @Override
+        public int compare(final byte[] first, final byte[] second) {
+            return KeyValue.COMPARATOR.compare(new KeyValue(first, 0, first.length), new KeyValue(second, 0, second.length));
+        }
+    }
+
+    private static final class ToHFileCell extends AbstractFunction1<Tuple2<byte[], byte[]>, Tuple2<ImmutableBytesWritable, KeyValue>> implements Serializable {
+        private static final long serialVersionUID = 4925309813622604364L;
+
+        @Override
+        public Tuple2<ImmutableBytesWritable, KeyValue> apply(final Tuple2<byte[], byte[]> keyValue) {
+            final KeyValue kv = new KeyValue(keyValue._1(), 0, keyValue._1().length);
+            return new Tuple2<>(new ImmutableBytesWritable(kv.getRowArray(), kv.getRowOffset(), kv.getRowLength()), kv);
+        }
+    }
+}
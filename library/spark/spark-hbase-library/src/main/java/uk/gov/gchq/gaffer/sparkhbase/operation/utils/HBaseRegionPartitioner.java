@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sparkhbase.operation.utils;
+
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.RegionLocator;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.spark.Partitioner;
+import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.store.StoreException;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A Spark {@link Partitioner} with a partition for each region of the HBase table, so that each partition holds
+ * the rows of exactly one region. The keys must be serialised {@link KeyValue}s.
+ */
+public class HBaseRegionPartitioner extends Partitioner {
+    private static final long serialVersionUID = 6581437276453524374L;
+    private final byte[][] splits;
+
+    public HBaseRegionPartitioner(final HBaseStore store) throws OperationException {
+        final byte[][] startKeys;
+        try (final RegionLocator regionLocator = store.getConnection().getRegionLocator(store.getProperties().getTable())) {
+            startKeys = regionLocator.getStartKeys();
+        } catch (final StoreException | IOException e) {
+            throw new OperationException("Failed to get the region start keys of table " + store.getProperties().getTable(), e);
+        }
+        // The first region always starts with the empty row
+        this.splits = startKeys.length > 1 ? Arrays.copyOfRange(startKeys, 1, startKeys.length) : new byte[0][];
+    }
+
+    @Override
+    public int numPartitions() {
+        return splits.length + 1;
+    }
+
+    @Override
+    public int getPartition(final Object o) {
+        final byte[] bytes = (byte[]) o;
+        final KeyValue kv = new KeyValue(bytes, 0, bytes.length);
+        return findRegion(kv.getRowArray(), kv.getRowOffset(), kv.getRowLength());
+    }
+
+    /**
+     * Finds the index of the last region whose start key is not greater than the row.
+     *
+     * @param row    the array containing the row
+     * @param offset the offset of the row in the array
+     * @param length the length of the row
+     * @return the index of the region containing the row
+     */
+    private int findRegion(final byte[] row, final int offset, final int length) {
+        int low = 0;
+        int high = splits.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            final byte[] split = splits[mid];
+            if (Bytes.compareTo(split, 0, split.length, row, offset, length) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
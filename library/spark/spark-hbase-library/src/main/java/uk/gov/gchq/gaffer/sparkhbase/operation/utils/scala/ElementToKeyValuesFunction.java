@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sparkhbase.operation.utils.scala;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.KeyValueUtil;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.exceptions.DeserializationException;
+import org.apache.hadoop.hbase.mapreduce.CellCreator;
+import org.apache.hadoop.hbase.security.visibility.CellVisibility;
+import scala.Tuple2;
+import scala.collection.TraversableOnce;
+import scala.collection.mutable.ArrayBuffer;
+import scala.runtime.AbstractFunction1;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
+import uk.gov.gchq.gaffer.spark.operation.utils.SerialisedConfiguration;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Converts an {@link Element} into the {@link KeyValue}s that are written to HFiles, using the same
+ * {@link ElementSerialisation} as the rest of the HBase store. Each {@link KeyValue} is returned as its serialised
+ * bytes, so that it can be shuffled, with an empty value.
+ * <p>
+ * As in {@link org.apache.hadoop.hbase.mapreduce.PutSortReducer}, the visibility of each {@link Put} is converted
+ * into the tags of its cells, as visibilities in HFiles are not processed by the region servers.
+ */
+public class ElementToKeyValuesFunction extends AbstractFunction1<Element, TraversableOnce<Tuple2<byte[], byte[]>>> implements Serializable {
+    private static final long serialVersionUID = 8291645436592542735L;
+    private static final byte[] EMPTY_BYTES = new byte[0];
+    private final byte[] schemaJson;
+    private final SerialisedConfiguration configuration;
+    private transient ElementSerialisation serialisation;
+    private transient CellCreator cellCreator;
+
+    public ElementToKeyValuesFunction(final Schema schema, final SerialisedConfiguration configuration) {
+        this.schemaJson = schema.toCompactJson();
+        this.configuration = configuration;
+    }
+
+    @Override
+    public TraversableOnce<Tuple2<byte[], byte[]>> apply(final Element element) {
+        final ArrayBuffer<Tuple2<byte[], byte[]>> buf = new ArrayBuffer<>();
+        final Pair<Put, Put> puts;
+        try {
+            puts = getSerialisation().getPuts(element);
+        } catch (final SerialisationException e) {
+            throw new GafferRuntimeException("Failed to serialise element " + element, e);
+        }
+        // Cells without a timestamp are given the same time, as HFiles cannot contain the latest timestamp
+        final long now = System.currentTimeMillis();
+        addKeyValues(puts.getFirst(), now, buf);
+        if (null != puts.getSecond()) {
+            addKeyValues(puts.getSecond(), now, buf);
+        }
+        return buf;
+    }
+
+    private void addKeyValues(final Put put, final long now, final ArrayBuffer<Tuple2<byte[], byte[]>> buf) {
+        final CellVisibility cellVisibility;
+        try {
+            cellVisibility = put.getCellVisibility();
+        } catch (final DeserializationException e) {
+            throw new GafferRuntimeException("Failed to read the visibility of " + put, e);
+        }
+        final String visibility = null != cellVisibility ? cellVisibility.getExpression() : null;
+        for (final List<Cell> cells : put.getFamilyCellMap().values()) {
+            for (final Cell cell : cells) {
+                final long timestamp = HConstants.LATEST_TIMESTAMP == cell.getTimestamp() ? now : cell.getTimestamp();
+                final Cell keyValue;
+                if (null == visibility) {
+                    keyValue = new KeyValue(cell.getRowArray(), cell.getRowOffset(), cell.getRowLength(),
+                            cell.getFamilyArray(), cell.getFamilyOffset(), cell.getFamilyLength(),
+                            cell.getQualifierArray(), cell.getQualifierOffset(), cell.getQualifierLength(),
+                            timestamp, KeyValue.Type.Put,
+                            cell.getValueArray(), cell.getValueOffset(), cell.getValueLength());
+                } else {
+                    try {
+                        keyValue = getCellCreator().create(cell.getRowArray(), cell.getRowOffset(), cell.getRowLength(),
+                                cell.getFamilyArray(), cell.getFamilyOffset(), cell.getFamilyLength(),
+                                cell.getQualifierArray(), cell.getQualifierOffset(), cell.getQualifierLength(),
+                                timestamp,
+                                cell.getValueArray(), cell.getValueOffset(), cell.getValueLength(),
+                                visibility);
+                    } catch (final IOException e) {
+                        throw new GafferRuntimeException("Failed to create cell with visibility " + visibility, e);
+                    }
+                }
+                buf.$plus$eq(new Tuple2<>(KeyValueUtil.copyToNewByteArray(keyValue), EMPTY_BYTES));
+            }
+        }
+    }
+
+    private ElementSerialisation getSerialisation() {
+        if (null == serialisation) {
+            serialisation = new ElementSerialisation(Schema.fromJson(schemaJson));
+        }
+        return serialisation;
+    }
+
+    private CellCreator getCellCreator() {
+        if (null == cellCreator) {
+            // Only created when a visibility is needed, as it reads the visibility labels from HBase
+            cellCreator = new CellCreator(configuration.getConfiguration());
+        }
+        return cellCreator;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sparkhbase.operation.utils.scala;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
+import scala.Tuple2;
+import scala.collection.TraversableOnce;
+import scala.collection.mutable.ArrayBuffer;
+import scala.runtime.AbstractFunction1;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
+import uk.gov.gchq.gaffer.store.ElementValidator;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Converts the cells in an HBase {@link Result} into {@link Element}s, then applies the transform functions and the
+ * post transform filters in the view, as {@link uk.gov.gchq.gaffer.hbasestore.retriever.HBaseRetriever} does.
+ */
+public class ResultToElementsFunction extends AbstractFunction1<Tuple2<ImmutableBytesWritable, Result>, TraversableOnce<Element>> implements Serializable {
+    private static final long serialVersionUID = -3392604393581451546L;
+    private final byte[] schemaJson;
+    private final byte[] viewJson;
+    private final HashMap<String, String> options;
+    private transient ElementSerialisation serialisation;
+    private transient View view;
+    private transient ElementValidator validator;
+
+    public ResultToElementsFunction(final Schema schema, final View view, final Map<String, String> options) {
+        this.schemaJson = schema.toCompactJson();
+        this.viewJson = view.toCompactJson();
+        this.options = null != options ? new HashMap<>(options) : null;
+    }
+
+    @Override
+    public TraversableOnce<Element> apply(final Tuple2<ImmutableBytesWritable, Result> tuple) {
+        final ArrayBuffer<Element> buf = new ArrayBuffer<>();
+        final Cell[] cells = tuple._2().rawCells();
+        if (null != cells) {
+            for (final Cell cell : cells) {
+                final Element element = deserialiseAndTransform(cell);
+                if (getValidator().validateTransform(element)) {
+                    buf.$plus$eq(element);
+                }
+            }
+        }
+        return buf;
+    }
+
+    private Element deserialiseAndTransform(final Cell cell) {
+        Element element;
+        try {
+            element = getSerialisation().getElement(cell, options);
+        } catch (final SerialisationException e) {
+            throw new GafferRuntimeException("Failed to deserialise element from HBase cell", e);
+        }
+        final ViewElementDefinition viewDef = getView().getElement(element.getGroup());
+        if (null != viewDef) {
+            final ElementTransformer transformer = viewDef.getTransformer();
+            if (null != transformer) {
+                element = transformer.apply(element);
+            }
+        }
+        return element;
+    }
+
+    private ElementSerialisation getSerialisation() {
+        if (null == serialisation) {
+            serialisation = new ElementSerialisation(Schema.fromJson(schemaJson));
+        }
+        return serialisation;
+    }
+
+    private View getView() {
+        if (null == view) {
+            view = View.fromJson(viewJson);
+        }
+        return view;
+    }
+
+    private ElementValidator getValidator() {
+        if (null == validator) {
+            validator = new ElementValidator(getView());
+        }
+        return validator;
+    }
+}
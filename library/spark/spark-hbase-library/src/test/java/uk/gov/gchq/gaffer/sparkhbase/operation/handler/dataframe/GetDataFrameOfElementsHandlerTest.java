@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sparkhbase.operation.handler.dataframe;
+
+import org.apache.spark.SparkConf;
+import org.apache.spark.SparkContext;
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.RowFactory;
+import org.apache.spark.sql.SQLContext;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.GetDataFrameOfElements;
+import uk.gov.gchq.gaffer.user.User;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class GetDataFrameOfElementsHandlerTest {
+
+    private static final String ENTITY_GROUP = "BasicEntity";
+    private static final String EDGE_GROUP = "BasicEdge";
+    private static final int NUM_ELEMENTS = 10;
+
+    @Test
+    public void checkGetCorrectElementsInDataFrame() throws OperationException {
+        final Graph graph = getGraph();
+        final SQLContext sqlContext = getSqlContext("checkGetCorrectElementsInDataFrame");
+
+        // Edges group - check get correct edges
+        GetDataFrameOfElements dfOperation = new GetDataFrameOfElements.Builder()
+                .sqlContext(sqlContext)
+                .view(new View.Builder().edge(EDGE_GROUP).build())
+                .build();
+        Dataset<Row> dataFrame = graph.execute(dfOperation, new User());
+        Set<Row> results = new HashSet<>(dataFrame.select("group", "src", "dst", "count").collectAsList());
+        final Set<Row> expectedRows = new HashSet<>();
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            expectedRows.add(RowFactory.create(EDGE_GROUP, "" + i, "B", 2));
+            expectedRows.add(RowFactory.create(EDGE_GROUP, "" + i, "C", 4));
+        }
+        assertEquals(expectedRows, results);
+
+        // Entities group - check get correct entities
+        dfOperation = new GetDataFrameOfElements.Builder()
+                .sqlContext(sqlContext)
+                .view(new View.Builder().entity(ENTITY_GROUP).build())
+                .build();
+        dataFrame = graph.execute(dfOperation, new User());
+        results = new HashSet<>(dataFrame.select("group", "vertex", "count").collectAsList());
+        expectedRows.clear();
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            expectedRows.add(RowFactory.create(ENTITY_GROUP, "" + i, i));
+        }
+        assertEquals(expectedRows, results);
+
+        sqlContext.sparkContext().stop();
+    }
+
+    @Test
+    public void checkCanFilterDataFrameOnVertexAndProperty() throws OperationException {
+        final Graph graph = getGraph();
+        final SQLContext sqlContext = getSqlContext("checkCanFilterDataFrameOnVertexAndProperty");
+
+        final GetDataFrameOfElements dfOperation = new GetDataFrameOfElements.Builder()
+                .sqlContext(sqlContext)
+                .view(new View.Builder().edge(EDGE_GROUP).build())
+                .build();
+        final Dataset<Row> dataFrame = graph.execute(dfOperation, new User());
+
+        // Check get correct edges for a source vertex
+        Set<Row> results = new HashSet<>(dataFrame.filter("src = '5'").select("dst", "count").collectAsList());
+        Set<Row> expectedRows = new HashSet<>();
+        expectedRows.add(RowFactory.create("B", 2));
+        expectedRows.add(RowFactory.create("C", 4));
+        assertEquals(expectedRows, results);
+
+        // Check get correct edges for a property filter
+        results = new HashSet<>(dataFrame.filter("count > 2").select("src", "dst").collectAsList());
+        expectedRows = new HashSet<>();
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            expectedRows.add(RowFactory.create("" + i, "C"));
+        }
+        assertEquals(expectedRows, results);
+
+        sqlContext.sparkContext().stop();
+    }
+
+    private Graph getGraph() throws OperationException {
+        final Graph graph = new Graph.Builder()
+                .addSchema(getClass().getResourceAsStream("/schema/dataSchema.json"))
+                .addSchema(getClass().getResourceAsStream("/schema/dataTypes.json"))
+                .addSchema(getClass().getResourceAsStream("/schema/storeTypes.json"))
+                .storeProperties(getClass().getResourceAsStream("/store.properties"))
+                .build();
+        graph.execute(new AddElements.Builder().input(getElements()).build(), new User());
+        return graph;
+    }
+
+    private SQLContext getSqlContext(final String appName) {
+        final SparkConf sparkConf = new SparkConf()
+                .setMaster("local")
+                .setAppName(appName)
+                .set("spark.serializer", "org.apache.spark.serializer.KryoSerializer")
+                .set("spark.kryo.registrator", "uk.gov.gchq.gaffer.spark.serialisation.kryo.Registrator")
+                .set("spark.driver.allowMultipleContexts", "true");
+        return new SQLContext(new SparkContext(sparkConf));
+    }
+
+    private static List<Element> getElements() {
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            final Entity entity = new Entity(ENTITY_GROUP);
+            entity.setVertex("" + i);
+            entity.putProperty("count", i);
+
+            final Edge edge1 = new Edge(EDGE_GROUP);
+            edge1.setSource("" + i);
+            edge1.setDestination("B");
+            edge1.setDirected(true);
+            edge1.putProperty("count", 2);
+
+            final Edge edge2 = new Edge(EDGE_GROUP);
+            edge2.setSource("" + i);
+            edge2.setDestination("C");
+            edge2.setDirected(true);
+            edge2.putProperty("count", 4);
+
+            elements.add(entity);
+            elements.add(edge1);
+            elements.add(edge2);
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sparkhbase.operation.handler.scalardd;
+
+import org.apache.spark.SparkConf;
+import org.apache.spark.SparkContext;
+import org.apache.spark.rdd.RDD;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfAllElements;
+import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfElements;
+import uk.gov.gchq.gaffer.user.User;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class GetRDDOfElementsHandlerTest {
+
+    private static final String ENTITY_GROUP = "BasicEntity";
+    private static final String EDGE_GROUP = "BasicEdge";
+
+    @Test
+    public void checkGetCorrectElementsInRDDForSeeds() throws OperationException {
+        final Graph graph1 = createGraph();
+        final User user = new User();
+        graph1.execute(new AddElements.Builder().input(getElements()).build(), user);
+
+        final SparkContext sparkContext = createSparkContext("testCheckGetCorrectElementsInRDDForSeeds");
+
+        // Check get correct elements for "1" and "5"
+        GetRDDOfElements rddQuery = new GetRDDOfElements.Builder()
+                .sparkContext(sparkContext)
+                .input(new EntitySeed("1"), new EntitySeed("5"))
+                .build();
+        RDD<Element> rdd = graph1.execute(rddQuery, user);
+        if (rdd == null) {
+            fail("No RDD returned");
+        }
+        // NB: IDE suggests the cast in the following line is unnecessary but compilation fails without it
+        List<Element> results = Arrays.asList((Element[]) rdd.collect());
+
+        final List<Element> expectedElements = new ArrayList<>();
+        expectedElements.addAll(getElements("1"));
+        expectedElements.addAll(getElements("5"));
+        assertEquals(expectedElements.size(), results.size());
+        assertEquals(new HashSet<>(expectedElements), new HashSet<>(results));
+
+        // Check get correct edge for an edge seed when specify edges only
+        rddQuery = new GetRDDOfElements.Builder()
+                .sparkContext(sparkContext)
+                .input(new EdgeSeed("1", "B", false))
+                .view(new View.Builder()
+                        .edge(EDGE_GROUP)
+                        .build())
+                .build();
+        rdd = graph1.execute(rddQuery, user);
+        if (rdd == null) {
+            fail("No RDD returned");
+        }
+        results = Arrays.asList((Element[]) rdd.collect());
+
+        assertEquals(Collections.singleton(getElements("1").get(1)), new HashSet<>(results));
+        sparkContext.stop();
+    }
+
+    @Test
+    public void checkGetAllElementsInRDD() throws OperationException {
+        final Graph graph1 = createGraph();
+        final User user = new User();
+        graph1.execute(new AddElements.Builder().input(getElements()).build(), user);
+
+        final SparkContext sparkContext = createSparkContext("testCheckGetAllElementsInRDD");
+
+        final GetRDDOfAllElements rddQuery = new GetRDDOfAllElements.Builder()
+                .sparkContext(sparkContext)
+                .build();
+        final RDD<Element> rdd = graph1.execute(rddQuery, user);
+        if (rdd == null) {
+            fail("No RDD returned");
+        }
+        final List<Element> results = Arrays.asList((Element[]) rdd.collect());
+
+        // Each undirected edge is stored twice but should only be returned once
+        final List<Element> expectedElements = getElements();
+        assertEquals(expectedElements.size(), results.size());
+        assertEquals(new HashSet<>(expectedElements), new HashSet<>(results));
+        sparkContext.stop();
+    }
+
+    private SparkContext createSparkContext(final String appName) {
+        final SparkConf sparkConf = new SparkConf()
+                .setMaster("local")
+                .setAppName(appName)
+                .set("spark.serializer", "org.apache.spark.serializer.KryoSerializer")
+                .set("spark.kryo.registrator", "uk.gov.gchq.gaffer.spark.serialisation.kryo.Registrator")
+                .set("spark.driver.allowMultipleContexts", "true");
+        return new SparkContext(sparkConf);
+    }
+
+    private Graph createGraph() {
+        return new Graph.Builder()
+                .addSchema(getClass().getResourceAsStream("/schema/dataSchema.json"))
+                .addSchema(getClass().getResourceAsStream("/schema/dataTypes.json"))
+                .addSchema(getClass().getResourceAsStream("/schema/storeTypes.json"))
+                .storeProperties(getClass().getResourceAsStream("/store.properties"))
+                .build();
+    }
+
+    private static List<Element> getElements() {
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            elements.addAll(getElements("" + i));
+        }
+        return elements;
+    }
+
+    private static List<Element> getElements(final String vertex) {
+        final Entity entity = new Entity(ENTITY_GROUP);
+        entity.setVertex(vertex);
+
+        final Edge edge1 = new Edge(EDGE_GROUP);
+        edge1.setSource(vertex);
+        edge1.setDestination("B");
+        edge1.setDirected(false);
+        edge1.putProperty("count", 2);
+
+        final Edge edge2 = new Edge(EDGE_GROUP);
+        edge2.setSource(vertex);
+        edge2.setDestination("C");
+        edge2.setDirected(false);
+        edge2.putProperty("count", 4);
+
+        return Arrays.asList(entity, edge1, edge2);
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.spark.operation.dataframe;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.spark.rdd.RDD;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.SQLContext;
+import org.apache.spark.sql.sources.BaseRelation;
+import org.apache.spark.sql.sources.Filter;
+import org.apache.spark.sql.sources.PrunedFilteredScan;
+import org.apache.spark.sql.sources.PrunedScan;
+import org.apache.spark.sql.sources.TableScan;
+import org.apache.spark.sql.types.StructType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.property.Converter;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.schema.SchemaToStructTypeConverter;
+import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfAllElements;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.user.User;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Allows Apache Spark to retrieve data from a {@link Store} as a <code>DataFrame</code>, by executing
+ * {@link GetRDDOfAllElements} or the operation created by a {@link FiltersToOperationConverter} against the store
+ * and converting the {@link Element}s into {@link Row}s. The schema of the <code>DataFrame</code> is formed from
+ * the schemas of the groups specified in the view.
+ * <p>
+ * Subclasses can override {@link #addRequiredProperties(Output, String[])} to push the projection of the
+ * required columns down to the store.
+ */
+public abstract class AbstractStoreRelation extends BaseRelation implements TableScan, PrunedScan, PrunedFilteredScan {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractStoreRelation.class);
+
+    private final SQLContext sqlContext;
+    private final LinkedHashSet<String> groups;
+    private final View view;
+    private final Store store;
+    private final User user;
+    private final LinkedHashSet<String> usedProperties;
+    private final Map<String, Boolean> propertyNeedsConversion;
+    private final Map<String, Converter> converterByProperty;
+    private final StructType structType;
+
+    protected AbstractStoreRelation(final SQLContext sqlContext,
+                                    final List<Converter> converters,
+                                    final View view,
+                                    final Store store,
+                                    final User user) {
+        this.sqlContext = sqlContext;
+        this.view = view;
+        this.store = store;
+        this.user = user;
+        final SchemaToStructTypeConverter schemaConverter = new SchemaToStructTypeConverter(store.getSchema(), view, converters);
+        this.groups = schemaConverter.getGroups();
+        this.structType = schemaConverter.getStructType();
+        this.usedProperties = schemaConverter.getUsedProperties();
+        this.propertyNeedsConversion = schemaConverter.getPropertyNeedsConversion();
+        this.converterByProperty = schemaConverter.getConverterByProperty();
+    }
+
+    @Override
+    public SQLContext sqlContext() {
+        return sqlContext;
+    }
+
+    @Override
+    public StructType schema() {
+        return structType;
+    }
+
+    /**
+     * Creates a <code>DataFrame</code> of all {@link Element}s from the specified groups.
+     *
+     * @return An {@link RDD} of {@link Row}s containing {@link Element}s whose group is in <code>groups</code>.
+     */
+    @Override
+    public RDD<Row> buildScan() {
+        return execute(getAllElements(), usedProperties);
+    }
+
+    /**
+     * Creates a <code>DataFrame</code> of all {@link Element}s from the specified groups with columns that are not
+     * required filtered out.
+     *
+     * @param requiredColumns The columns to return.
+     * @return An {@link RDD} of {@link Row}s containing the requested columns.
+     */
+    @Override
+    public RDD<Row> buildScan(final String[] requiredColumns) {
+        LOGGER.info("Building scan with required columns: {}", StringUtils.join(requiredColumns, ','));
+        final GetRDDOfAllElements operation = getAllElements();
+        addRequiredProperties(operation, requiredColumns);
+        return execute(operation, new LinkedHashSet<>(Arrays.asList(requiredColumns)));
+    }
+
+    /**
+     * Creates a <code>DataFrame</code> of all {@link Element}s from the specified groups with columns that are not
+     * required filtered out and with (some of) the supplied {@link Filter}s applied.
+     * <p>
+     * Note that Spark also applies the provided {@link Filter}s - applying them here is an optimisation to reduce
+     * the amount of data transferred from the store to Spark's executors (this is known as "predicate pushdown").
+     *
+     * @param requiredColumns The columns to return.
+     * @param filters         The {@link Filter}s to apply (these are applied before aggregation).
+     * @return An {@link RDD} of {@link Row}s containing the requested columns.
+     */
+    @Override
+    public RDD<Row> buildScan(final String[] requiredColumns, final Filter[] filters) {
+        LOGGER.info("Building scan with required columns {} and {} filters ({})",
+                StringUtils.join(requiredColumns, ','),
+                filters.length,
+                StringUtils.join(filters, ','));
+        final Output<RDD<Element>> operation = new FiltersToOperationConverter(sqlContext, view, store.getSchema(), filters)
+                .getOperation();
+        if (operation == null) {
+            // Null indicates that the filters resulted in no data (e.g. if group = X and group = Y, or if group = X
+            // and there is no group X in the schema).
+            return sqlContext.emptyDataFrame().rdd();
+        }
+        addRequiredProperties(operation, requiredColumns);
+        return execute(operation, new LinkedHashSet<>(Arrays.asList(requiredColumns)));
+    }
+
+    /**
+     * Called before an operation that only needs the required columns is executed, so that the store can avoid
+     * returning the other properties. By default nothing is added and all the properties are returned.
+     *
+     * @param operation       The operation that will be executed.
+     * @param requiredColumns The columns to return.
+     */
+    protected void addRequiredProperties(final Output<RDD<Element>> operation, final String[] requiredColumns) {
+    }
+
+    private GetRDDOfAllElements getAllElements() {
+        LOGGER.info("Building GetRDDOfAllElements with view set to groups {}", StringUtils.join(groups, ','));
+        final GetRDDOfAllElements operation = new GetRDDOfAllElements(sqlContext.sparkContext());
+        operation.setView(view);
+        return operation;
+    }
+
+    private RDD<Row> execute(final Output<RDD<Element>> operation, final LinkedHashSet<String> requiredColumns) {
+        try {
+            final RDD<Element> rdd = store.execute(operation, user);
+            return rdd.map(new ConvertElementToRow(requiredColumns, propertyNeedsConversion, converterByProperty),
+                    ClassTagConstants.ROW_CLASS_TAG);
+        } catch (final OperationException e) {
+            LOGGER.error("OperationException while executing operation {}", e);
+            return null;
+        }
+    }
+}
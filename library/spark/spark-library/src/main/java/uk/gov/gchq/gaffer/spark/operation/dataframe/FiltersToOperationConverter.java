@@ -42,6 +42,7 @@ import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.schema.SchemaToStr
 import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfAllElements;
 import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfElements;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.koryphe.impl.predicate.Exists;
 import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
 import uk.gov.gchq.koryphe.impl.predicate.IsIn;
@@ -98,7 +99,9 @@ public class FiltersToOperationConverter {
      * - If the filters specify a particular value for the vertex, source or destination then an operation to return
      * those directly is created (i.e. a GetRDDOfElements operation rather than a GetRDDOfAllElements operation). In
      * this case the view is created to ensure that only entities or only edges are returned as appropriate.
-     * - Other filters are converted to Gaffer filters which are applied to the view.
+     * - Other filters are converted to Gaffer filters which are applied to the view. Filters on properties that are
+     * not changed by aggregation, i.e. group-by properties or properties of groups that are not aggregated, are
+     * applied before aggregation, the others are applied after aggregation.
      *
      * @return an operation to return the required data.
      */
@@ -251,10 +254,8 @@ public class FiltersToOperationConverter {
         for (final String group : derivedView.getEntityGroups()) {
             if (intersection.contains(group)) {
                 if (groupToFunctions.get(group) != null) {
-                    final ViewElementDefinition ved = new ViewElementDefinition.Builder()
-                            .merge(derivedView.getEntity(group))
-                            .postAggregationFilterFunctions(groupToFunctions.get(group))
-                            .build();
+                    final ViewElementDefinition ved = getViewElementDefinition(group, derivedView.getEntity(group),
+                            groupToFunctions.get(group));
                     LOGGER.info("Adding the following filter functions to the view for group {}:", group);
                     for (final TupleAdaptedPredicate<String, ?> cfc : groupToFunctions.get(group)) {
                         if (null != cfc.getSelection()) {
@@ -273,10 +274,8 @@ public class FiltersToOperationConverter {
         for (final String group : derivedView.getEdgeGroups()) {
             if (intersection.contains(group)) {
                 if (groupToFunctions.get(group) != null) {
-                    final ViewElementDefinition ved = new ViewElementDefinition.Builder()
-                            .merge(derivedView.getEdge(group))
-                            .postAggregationFilterFunctions(groupToFunctions.get(group))
-                            .build();
+                    final ViewElementDefinition ved = getViewElementDefinition(group, derivedView.getEdge(group),
+                            groupToFunctions.get(group));
                     LOGGER.info("Adding the following filter functions to the view for group {}:", group);
                     for (final TupleAdaptedPredicate<String, ?> cfc : groupToFunctions.get(group)) {
                         if (null != cfc.getSelection()) {
@@ -300,6 +299,68 @@ public class FiltersToOperationConverter {
         return operation;
     }
 
+    /**
+     * Adds the filter functions to the {@link ViewElementDefinition} for a group. Functions that give the same result
+     * before and after aggregation are added as pre-aggregation filters so that elements are removed before they
+     * are aggregated in Accumulo's tablet servers, the remaining functions are added as post-aggregation filters.
+     *
+     * @param group          the group
+     * @param viewElementDef the current {@link ViewElementDefinition} for the group
+     * @param functions      the filter functions for the group
+     * @return a {@link ViewElementDefinition} containing the current definition and the filter functions
+     */
+    private ViewElementDefinition getViewElementDefinition(final String group,
+                                                           final ViewElementDefinition viewElementDef,
+                                                           final List<TupleAdaptedPredicate<String, ?>> functions) {
+        final List<TupleAdaptedPredicate<String, ?>> preAggFunctions = new ArrayList<>();
+        final List<TupleAdaptedPredicate<String, ?>> postAggFunctions = new ArrayList<>();
+        for (final TupleAdaptedPredicate<String, ?> function : functions) {
+            if (isUnaffectedByAggregation(group, viewElementDef, function.getSelection())) {
+                preAggFunctions.add(function);
+            } else {
+                postAggFunctions.add(function);
+            }
+        }
+        ViewElementDefinition.Builder builder = new ViewElementDefinition.Builder();
+        if (!preAggFunctions.isEmpty()) {
+            builder = builder.preAggregationFilterFunctions(preAggFunctions);
+        }
+        if (!postAggFunctions.isEmpty()) {
+            builder = builder.postAggregationFilterFunctions(postAggFunctions);
+        }
+        return builder.merge(viewElementDef).build();
+    }
+
+    /**
+     * Aggregation does not change the value of a property if the group is not aggregated or if the property is one
+     * of the properties the elements are grouped by, so filters on these properties can be applied before
+     * aggregation.
+     *
+     * @param group          the group
+     * @param viewElementDef the {@link ViewElementDefinition} for the group
+     * @param properties     the properties selected by a filter
+     * @return true if all the properties are unaffected by aggregation
+     */
+    private boolean isUnaffectedByAggregation(final String group,
+                                              final ViewElementDefinition viewElementDef,
+                                              final String[] properties) {
+        final SchemaElementDefinition elementDef = schema.getElement(group);
+        if (null == elementDef || null == properties) {
+            return false;
+        }
+        if (!elementDef.isAggregate()) {
+            return true;
+        }
+        final Set<String> groupBy = null != viewElementDef && null != viewElementDef.getGroupBy()
+                ? viewElementDef.getGroupBy() : elementDef.getGroupBy();
+        for (final String property : properties) {
+            if (!groupBy.contains(property)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private Set<String> getGroupsThatHaveProperty(final String property) {
         final Set<String> groups = new HashSet<>();
         for (final String entityGroup : schema.getEntityGroups()) {
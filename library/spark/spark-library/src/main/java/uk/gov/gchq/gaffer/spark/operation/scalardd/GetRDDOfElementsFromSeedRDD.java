@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.spark.operation.scalardd;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.apache.spark.SparkContext;
+import org.apache.spark.rdd.RDD;
+import uk.gov.gchq.gaffer.commonutil.Required;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.Options;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters;
+import uk.gov.gchq.gaffer.operation.io.InputOutput;
+import uk.gov.gchq.gaffer.spark.serialisation.TypeReferenceSparkImpl;
+import java.util.Map;
+
+/**
+ * A <code>GetRDDOfElementsFromSeedRDD</code> operation retrieves the elements related to the seeds in an
+ * {@link RDD} of {@link ElementId}s and returns them as an {@link RDD} of {@link Element}s.
+ * <p>
+ * Unlike {@link GetRDDOfElements}, the seeds are never collected on the driver, so this should be used when
+ * there are too many seeds to hold in memory on the driver.
+ */
+public class GetRDDOfElementsFromSeedRDD implements
+        Operation,
+        InputOutput<RDD<ElementId>, RDD<Element>>,
+        SeededGraphFilters,
+        Rdd,
+        Options {
+
+    private Map<String, String> options;
+    @Required
+    private SparkContext sparkContext;
+    private RDD<ElementId> input;
+    private IncludeIncomingOutgoingType inOutType;
+    private View view;
+    private DirectedType directedType;
+
+    public GetRDDOfElementsFromSeedRDD() {
+    }
+
+    public GetRDDOfElementsFromSeedRDD(final SparkContext sparkContext) {
+        setSparkContext(sparkContext);
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    @Override
+    public TypeReference<RDD<Element>> getOutputTypeReference() {
+        return new TypeReferenceSparkImpl.RDDElement();
+    }
+
+    @Override
+    public SparkContext getSparkContext() {
+        return sparkContext;
+    }
+
+    @Override
+    public void setSparkContext(final SparkContext sparkContext) {
+        this.sparkContext = sparkContext;
+    }
+
+    @Override
+    public RDD<ElementId> getInput() {
+        return input;
+    }
+
+    @Override
+    public void setInput(final RDD<ElementId> input) {
+        this.input = input;
+    }
+
+    @Override
+    public IncludeIncomingOutgoingType getIncludeIncomingOutGoing() {
+        return inOutType;
+    }
+
+    @Override
+    public void setIncludeIncomingOutGoing(final IncludeIncomingOutgoingType inOutType) {
+        this.inOutType = inOutType;
+    }
+
+    @Override
+    public View getView() {
+        return view;
+    }
+
+    @Override
+    public void setView(final View view) {
+        this.view = view;
+    }
+
+    @Override
+    public DirectedType getDirectedType() {
+        return directedType;
+    }
+
+    @Override
+    public void setDirectedType(final DirectedType directedType) {
+        this.directedType = directedType;
+    }
+
+    public static class Builder extends Operation.BaseBuilder<GetRDDOfElementsFromSeedRDD, Builder>
+            implements InputOutput.Builder<GetRDDOfElementsFromSeedRDD, RDD<ElementId>, RDD<Element>, Builder>,
+            SeededGraphFilters.Builder<GetRDDOfElementsFromSeedRDD, Builder>,
+            Rdd.Builder<GetRDDOfElementsFromSeedRDD, Builder>,
+            Options.Builder<GetRDDOfElementsFromSeedRDD, Builder> {
+        public Builder() {
+            super(new GetRDDOfElementsFromSeedRDD());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.spark.operation.utils;
+
+import org.apache.hadoop.conf.Configuration;
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.Options;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Utility methods for the Hadoop {@link Configuration} that can be passed to the Spark operation handlers in the
+ * {@link #HADOOP_CONFIGURATION_KEY} option.
+ */
+public final class HadoopConfigurationUtil {
+    public static final String HADOOP_CONFIGURATION_KEY = "Hadoop_Configuration_Key";
+
+    private HadoopConfigurationUtil() {
+        // Private constructor to prevent instantiation.
+    }
+
+    /**
+     * Copies the entries of the serialised {@link Configuration} in the operation's
+     * {@link #HADOOP_CONFIGURATION_KEY} option, if there is one, into the given {@link Configuration}.
+     *
+     * @param operation the operation
+     * @param conf      the configuration to update
+     * @return the updated configuration
+     * @throws OperationException if the option cannot be decoded
+     */
+    public static Configuration addOperationConfiguration(final Options operation, final Configuration conf)
+            throws OperationException {
+        final String serialisedConf = operation.getOption(HADOOP_CONFIGURATION_KEY);
+        if (null != serialisedConf) {
+            final Configuration operationConf = new Configuration(false);
+            try {
+                final ByteArrayInputStream bais = new ByteArrayInputStream(serialisedConf.getBytes(CommonConstants.UTF_8));
+                operationConf.readFields(new DataInputStream(bais));
+            } catch (final IOException e) {
+                throw new OperationException("Exception decoding Configuration from options", e);
+            }
+            for (final Map.Entry<String, String> entry : operationConf) {
+                conf.set(entry.getKey(), entry.getValue());
+            }
+        }
+        return conf;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.spark.operation.utils;
+
+import org.apache.hadoop.conf.Configuration;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * A {@link Serializable} wrapper around a Hadoop {@link Configuration}, so that Spark functions can connect to
+ * the store's underlying database on the executors without recreating the store.
+ */
+public class SerialisedConfiguration implements Serializable {
+    private static final long serialVersionUID = -4516224941735367245L;
+    private final byte[] bytes;
+    private transient Configuration configuration;
+
+    public SerialisedConfiguration(final Configuration configuration) {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try {
+            configuration.write(new DataOutputStream(baos));
+        } catch (final IOException e) {
+            throw new GafferRuntimeException("Exception serialising Configuration", e);
+        }
+        this.bytes = baos.toByteArray();
+    }
+
+    public Configuration getConfiguration() {
+        if (null == configuration) {
+            final Configuration conf = new Configuration();
+            try {
+                conf.readFields(new DataInputStream(new ByteArrayInputStream(bytes)));
+            } catch (final IOException e) {
+                throw new GafferRuntimeException("Exception deserialising Configuration", e);
+            }
+            configuration = conf;
+        }
+        return configuration;
+    }
+}
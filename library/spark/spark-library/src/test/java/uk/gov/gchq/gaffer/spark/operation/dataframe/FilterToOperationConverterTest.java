@@ -22,11 +22,13 @@ import org.apache.spark.sql.sources.And;
 import org.apache.spark.sql.sources.EqualTo;
 import org.apache.spark.sql.sources.Filter;
 import org.apache.spark.sql.sources.GreaterThan;
+import org.apache.spark.sql.sources.In;
 import org.apache.spark.sql.sources.LessThan;
 import org.apache.spark.sql.sources.Or;
 import org.junit.Test;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.data.EntitySeed;
@@ -35,6 +37,7 @@ import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.schema.SchemaToStr
 import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfAllElements;
 import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfElements;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.koryphe.impl.predicate.IsIn;
 import uk.gov.gchq.koryphe.impl.predicate.IsLessThan;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
@@ -319,6 +322,42 @@ public class FilterToOperationConverterTest {
         sqlContext.sparkContext().stop();
     }
 
+    @Test
+    public void testSpecifyGroupByPropertyFilterIsAppliedBeforeAggregation() throws OperationException {
+        final Schema schema = getSchema();
+        final SQLContext sqlContext = getSqlContext("testSpecifyGroupByPropertyFilterIsAppliedBeforeAggregation");
+
+        final Filter[] filters = new Filter[2];
+        filters[0] = new GreaterThan("columnQualifier", 1);
+        filters[1] = new In("property1", new Object[]{5, 6});
+        final FiltersToOperationConverter converter = new FiltersToOperationConverter(sqlContext,
+                getViewFromSchema(schema), schema, filters);
+        final Operation operation = converter.getOperation();
+
+        assertTrue(operation instanceof GetRDDOfAllElements);
+        // Only groups ENTITY_GROUP and EDGE_GROUP should be in the view as only they have columnQualifier
+        final View opView = ((GraphFilters) operation).getView();
+        assertEquals(Collections.singleton(ENTITY_GROUP), opView.getEntityGroups());
+        assertEquals(Collections.singleton(EDGE_GROUP), opView.getEdgeGroups());
+        for (final ViewElementDefinition viewElementDef : Arrays.asList(opView.getEntity(ENTITY_GROUP),
+                opView.getEdge(EDGE_GROUP))) {
+            // columnQualifier is a group-by property so is not changed by aggregation
+            final List<TupleAdaptedPredicate<String, ?>> preAggFilters = viewElementDef
+                    .getPreAggregationFilterFunctions();
+            assertEquals(1, preAggFilters.size());
+            assertArrayEquals(new String[]{"columnQualifier"}, preAggFilters.get(0).getSelection());
+            assertEquals(new IsMoreThan(1, false), preAggFilters.get(0).getPredicate());
+            // property1 is aggregated so must be filtered after aggregation
+            final List<TupleAdaptedPredicate<String, ?>> postAggFilters = viewElementDef
+                    .getPostAggregationFilterFunctions();
+            assertEquals(1, postAggFilters.size());
+            assertArrayEquals(new String[]{"property1"}, postAggFilters.get(0).getSelection());
+            assertEquals(new IsIn(new HashSet<>(Arrays.asList(5, 6))), postAggFilters.get(0).getPredicate());
+        }
+
+        sqlContext.sparkContext().stop();
+    }
+
     @Test
     public void testSpecifyVertexAndPropertyFilter() throws OperationException {
         final Schema schema = getSchema();
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.rest;
+
+import io.swagger.annotations.ApiModelProperty;
+
+/**
+ * The status of the chunked output streams returned by the
+ * /graph/doOperation/chunked endpoints.
+ */
+public class ChunkedOutputStatus {
+    @ApiModelProperty(value = "The number of streams currently writing results")
+    private int activeStreams;
+
+    @ApiModelProperty(value = "The number of streams waiting for a thread")
+    private int queuedStreams;
+
+    @ApiModelProperty(value = "The total number of chunks written")
+    private long chunksWritten;
+
+    @ApiModelProperty(value = "The total number of streams stopped because the client disconnected")
+    private long cancelledStreams;
+
+    @ApiModelProperty(value = "The total number of streams rejected because the queue was full")
+    private long rejectedStreams;
+
+    public ChunkedOutputStatus() {
+    }
+
+    public ChunkedOutputStatus(final int activeStreams, final int queuedStreams, final long chunksWritten,
+                               final long cancelledStreams, final long rejectedStreams) {
+        this.activeStreams = activeStreams;
+        this.queuedStreams = queuedStreams;
+        this.chunksWritten = chunksWritten;
+        this.cancelledStreams = cancelledStreams;
+        this.rejectedStreams = rejectedStreams;
+    }
+
+    public int getActiveStreams() {
+        return activeStreams;
+    }
+
+    public void setActiveStreams(final int activeStreams) {
+        this.activeStreams = activeStreams;
+    }
+
+    public int getQueuedStreams() {
+        return queuedStreams;
+    }
+
+    public void setQueuedStreams(final int queuedStreams) {
+        this.queuedStreams = queuedStreams;
+    }
+
+    public long getChunksWritten() {
+        return chunksWritten;
+    }
+
+    public void setChunksWritten(final long chunksWritten) {
+        this.chunksWritten = chunksWritten;
+    }
+
+    public long getCancelledStreams() {
+        return cancelledStreams;
+    }
+
+    public void setCancelledStreams(final long cancelledStreams) {
+        this.cancelledStreams = cancelledStreams;
+    }
+
+    public long getRejectedStreams() {
+        return rejectedStreams;
+    }
+
+    public void setRejectedStreams(final long rejectedStreams) {
+        this.rejectedStreams = rejectedStreams;
+    }
+}
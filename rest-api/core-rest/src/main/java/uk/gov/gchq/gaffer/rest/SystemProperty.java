@@ -37,7 +37,10 @@ public abstract class SystemProperty {
     public static final String OPERATION_SCORES_FILE = OperationChainLimiter.OPERATION_SCORES_FILE_KEY;
     public static final String AUTH_SCORES_FILE = OperationChainLimiter.AUTH_SCORES_FILE_KEY;
     public static final String ENABLE_CHAIN_LIMITER = "gaffer.chain.limiter.enable";
+    public static final String CHAIN_LIMITER_COST_MODEL_FILE = "gaffer.chain.limiter.cost.model.path";
     public static final String REST_DEBUG = uk.gov.gchq.gaffer.core.exception.Error.DEBUG;
+    public static final String CHUNKED_OUTPUT_THREADS = "gaffer.rest-api.chunked.threads";
+    public static final String CHUNKED_OUTPUT_QUEUE_SIZE = "gaffer.rest-api.chunked.queueSize";
 
     // DEFAULTS
     /**
@@ -50,6 +53,8 @@ public abstract class SystemProperty {
     public static final String GRAPH_FACTORY_CLASS_DEFAULT = DefaultGraphFactory.class.getName();
     public static final String USER_FACTORY_CLASS_DEFAULT = UnknownUserFactory.class.getName();
     public static final String REST_DEBUG_DEFAULT = uk.gov.gchq.gaffer.core.exception.Error.DEBUG_DEFAULT;
+    public static final String CHUNKED_OUTPUT_THREADS_DEFAULT = "50";
+    public static final String CHUNKED_OUTPUT_QUEUE_SIZE_DEFAULT = "100";
 
     private SystemProperty() {
         // Private constructor to prevent instantiation.
@@ -75,6 +75,7 @@ public class ApplicationConfig extends ResourceConfig {
         resources.add(ApiListingResource.class);
         resources.add(SwaggerSerializers.class);
         resources.add(RestJsonProvider.class);
+        resources.add(ChunkedOutputLifecycleListener.class);
     }
 
     protected void addExceptionMappers() {
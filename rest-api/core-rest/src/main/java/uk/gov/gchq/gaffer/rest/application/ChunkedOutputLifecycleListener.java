@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest.application;
+
+import org.glassfish.jersey.server.spi.Container;
+import org.glassfish.jersey.server.spi.ContainerLifecycleListener;
+import uk.gov.gchq.gaffer.rest.service.ChunkedOutputExecutor;
+
+/**
+ * A <code>ChunkedOutputLifecycleListener</code> shuts down the shared
+ * {@link ChunkedOutputExecutor} when the Jersey container is reloaded or shut
+ * down, e.g. when the web application is redeployed, so that its threads do
+ * not outlive the application.
+ */
+public class ChunkedOutputLifecycleListener implements ContainerLifecycleListener {
+    @Override
+    public void onStartup(final Container container) {
+        // The executor is created when the first chunked request is made
+    }
+
+    @Override
+    public void onReload(final Container container) {
+        ChunkedOutputExecutor.shutdownInstance();
+    }
+
+    @Override
+    public void onShutdown(final Container container) {
+        ChunkedOutputExecutor.shutdownInstance();
+    }
+}
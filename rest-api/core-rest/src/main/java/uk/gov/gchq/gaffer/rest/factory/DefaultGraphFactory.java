@@ -19,7 +19,11 @@ import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.graph.hook.OperationAuthoriser;
 import uk.gov.gchq.gaffer.graph.hook.OperationChainLimiter;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.rest.SystemProperty;
+import uk.gov.gchq.gaffer.store.operation.handler.cost.CostModel;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
@@ -63,12 +67,25 @@ public class DefaultGraphFactory implements GraphFactory {
                 throw new IllegalArgumentException("Required property has not been set: " + SystemProperty.AUTH_SCORES_FILE);
             }
 
-            return new OperationChainLimiter(Paths.get(System.getProperty(SystemProperty.OPERATION_SCORES_FILE)), Paths.get(System.getProperty(SystemProperty.AUTH_SCORES_FILE)));
+            return new OperationChainLimiter(Paths.get(System.getProperty(SystemProperty.OPERATION_SCORES_FILE)), Paths.get(System.getProperty(SystemProperty.AUTH_SCORES_FILE)), createCostModel());
         }
 
         return null;
     }
 
+    private static CostModel createCostModel() {
+        final String costModelPathStr = System.getProperty(SystemProperty.CHAIN_LIMITER_COST_MODEL_FILE);
+        if (null == costModelPathStr) {
+            return null;
+        }
+
+        try {
+            return new JSONSerialiser().deserialise(Files.readAllBytes(Paths.get(costModelPathStr)), CostModel.class);
+        } catch (final IOException e) {
+            throw new IllegalArgumentException("Unable to read the chain limiter cost model from path: " + costModelPathStr, e);
+        }
+    }
+
     private static boolean isChainLimiterEnabled() {
         return Boolean.parseBoolean(System.getProperty(SystemProperty.ENABLE_CHAIN_LIMITER, "false"));
     }
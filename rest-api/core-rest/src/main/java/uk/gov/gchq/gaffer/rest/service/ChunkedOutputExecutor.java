@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.rest.service;
+
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.core.exception.Status;
+import uk.gov.gchq.gaffer.rest.ChunkedOutputStatus;
+import uk.gov.gchq.gaffer.rest.SystemProperty;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A <code>ChunkedOutputExecutor</code> runs the tasks that write results to
+ * chunked outputs on a bounded pool of threads. The number of threads is
+ * configured using the system property {@link SystemProperty#CHUNKED_OUTPUT_THREADS}
+ * and the number of streams that can wait for a thread is configured using
+ * {@link SystemProperty#CHUNKED_OUTPUT_QUEUE_SIZE}. Streams submitted when the
+ * queue is full are rejected with a {@link Status#SERVICE_UNAVAILABLE} error.
+ */
+public class ChunkedOutputExecutor {
+    private static ChunkedOutputExecutor instance;
+
+    private final ThreadPoolExecutor executor;
+    private final AtomicInteger activeStreams = new AtomicInteger();
+    private final AtomicLong chunksWritten = new AtomicLong();
+    private final AtomicLong cancelledStreams = new AtomicLong();
+    private final AtomicLong rejectedStreams = new AtomicLong();
+
+    public ChunkedOutputExecutor(final int maxThreads, final int queueSize) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+            final Thread thread = new Thread(runnable, "gaffer-chunked-output-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    public static synchronized ChunkedOutputExecutor getInstance() {
+        if (null == instance) {
+            instance = new ChunkedOutputExecutor(
+                    Integer.parseInt(System.getProperty(SystemProperty.CHUNKED_OUTPUT_THREADS,
+                            SystemProperty.CHUNKED_OUTPUT_THREADS_DEFAULT)),
+                    Integer.parseInt(System.getProperty(SystemProperty.CHUNKED_OUTPUT_QUEUE_SIZE,
+                            SystemProperty.CHUNKED_OUTPUT_QUEUE_SIZE_DEFAULT)));
+        }
+        return instance;
+    }
+
+    /**
+     * Submits a task that writes results to a chunked output.
+     *
+     * @param stream the task to run
+     * @throws GafferRuntimeException with status {@link Status#SERVICE_UNAVAILABLE}
+     *                                if there are too many streams waiting for a thread
+     */
+    public void submit(final Runnable stream) {
+        try {
+            executor.execute(() -> {
+                activeStreams.incrementAndGet();
+                try {
+                    stream.run();
+                } finally {
+                    activeStreams.decrementAndGet();
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            rejectedStreams.incrementAndGet();
+            throw new GafferRuntimeException("Too many chunked requests, please try again later", e, Status.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    public void chunkWritten() {
+        chunksWritten.incrementAndGet();
+    }
+
+    public void streamCancelled() {
+        cancelledStreams.incrementAndGet();
+    }
+
+    public ChunkedOutputStatus getStatus() {
+        return new ChunkedOutputStatus(activeStreams.get(), executor.getQueue().size(),
+                chunksWritten.get(), cancelledStreams.get(), rejectedStreams.get());
+    }
+
+    /**
+     * Stops accepting new streams. Streams that are already running are
+     * allowed to finish.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Shuts down the shared instance, if it has been created, so that its
+     * threads do not outlive the application. A new instance is created the
+     * next time {@link #getInstance()} is called.
+     */
+    public static synchronized void shutdownInstance() {
+        if (null != instance) {
+            instance.shutdown();
+            instance = null;
+        }
+    }
+}
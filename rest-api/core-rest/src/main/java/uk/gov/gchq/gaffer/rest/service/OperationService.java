@@ -16,13 +16,16 @@
 
 package uk.gov.gchq.gaffer.rest.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.glassfish.jersey.server.ChunkedOutput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import uk.gov.gchq.gaffer.commonutil.ChunkedConstants;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.operation.Operation;
@@ -38,6 +41,8 @@ import uk.gov.gchq.gaffer.rest.factory.GraphFactory;
 import uk.gov.gchq.gaffer.rest.factory.UserFactory;
 import uk.gov.gchq.gaffer.user.User;
 import javax.inject.Inject;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import java.io.IOException;
 
 import static uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser.createDefaultMapper;
@@ -53,6 +58,12 @@ import static uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser.createDefaultM
  * The createUser() method should be overridden and a {@link User} object should
  * be created from the http request.
  * </p>
+ * <p>
+ * If a chunked request has the {@link ChunkedConstants#STATUS_HEADER} header
+ * set to true, a final status chunk is written after the results, as described
+ * in {@link ChunkedConstants}. This lets clients tell a complete response from
+ * one that was cut short by a failure after the response status had been sent.
+ * </p>
  */
 public class OperationService implements IOperationService {
     private static final Logger LOGGER = LoggerFactory.getLogger(OperationService.class);
@@ -64,6 +75,9 @@ public class OperationService implements IOperationService {
     @Inject
     private UserFactory userFactory;
 
+    @Context
+    private HttpHeaders httpHeaders;
+
     @Override
     public Object execute(final OperationChain opChain) {
         return _execute(opChain);
@@ -78,21 +92,17 @@ public class OperationService implements IOperationService {
     @Override
     public ChunkedOutput<String> executeChunked(final OperationChain opChain) {
         // Create chunked output instance
-        final ChunkedOutput<String> output = new ChunkedOutput<>(String.class, "\r\n");
-
-        // write chunks to the chunked output object
-        new Thread() {
-            @Override
-            public void run() {
-                try {
-                    final Object result = _execute(opChain);
-                    chunkResult(result, output);
-                } finally {
-                    CloseableUtil.close(output);
-                    CloseableUtil.close(opChain);
-                }
-            }
-        }.start();
+        final ChunkedOutput<String> output = new ChunkedOutput<>(String.class, ChunkedConstants.DELIMITER);
+        final boolean writeStatus = isChunkedStatusRequested();
+
+        // write chunks to the chunked output object using the bounded executor
+        try {
+            ChunkedOutputExecutor.getInstance().submit(() -> writeChunked(opChain, output, writeStatus));
+        } catch (final GafferRuntimeException e) {
+            CloseableUtil.close(output);
+            CloseableUtil.close(opChain);
+            throw e;
+        }
 
         return output;
     }
@@ -133,6 +143,52 @@ public class OperationService implements IOperationService {
         _execute(operation);
     }
 
+    /**
+     * Executes the operation chain and writes the result to the chunked
+     * output, followed by a status chunk if one has been requested. The end
+     * status is only written if every result was written; if the operation
+     * chain or the writing of a result fails an error status is written
+     * instead. The output and operation chain are always closed.
+     *
+     * @param opChain     the operation chain to execute
+     * @param output      the chunked output
+     * @param writeStatus true if a status chunk should be written after the results
+     */
+    protected void writeChunked(final OperationChain opChain, final ChunkedOutput<String> output,
+                                final boolean writeStatus) {
+        try {
+            final Object result = _execute(opChain);
+            chunkResult(result, output);
+            if (writeStatus) {
+                writeStatusChunk(output, ChunkedConstants.END);
+            }
+        } catch (final RuntimeException e) {
+            LOGGER.error("Failed to write chunked results", e);
+            if (writeStatus) {
+                final String message = null != e.getMessage() ? e.getMessage() : e.getClass().getName();
+                writeStatusChunk(output, ChunkedConstants.ERROR_PREFIX + message.replaceAll("\\s+", " "));
+            }
+        } finally {
+            CloseableUtil.close(output);
+            CloseableUtil.close(opChain);
+        }
+    }
+
+    private boolean isChunkedStatusRequested() {
+        return null != httpHeaders
+                && Boolean.parseBoolean(httpHeaders.getHeaderString(ChunkedConstants.STATUS_HEADER));
+    }
+
+    private void writeStatusChunk(final ChunkedOutput<String> output, final String status) {
+        if (!output.isClosed()) {
+            try {
+                output.write(status);
+            } catch (final IOException e) {
+                LOGGER.warn("Unable to write the chunked status", e);
+            }
+        }
+    }
+
     protected void preOperationHook(final OperationChain<?> opChain, final User user) {
         // no action by default
     }
@@ -168,24 +224,53 @@ public class OperationService implements IOperationService {
         return result;
     }
 
+    /**
+     * Writes the result to the chunked output. Each chunk is written on the
+     * calling thread, so a slow client slows down the iteration of the result
+     * rather than the results being buffered in memory. If the client
+     * disconnects, the iteration is stopped and the result is closed.
+     *
+     * @param result the result to write
+     * @param output the chunked output
+     * @throws RuntimeException if a result cannot be serialised or written, so
+     *                          the response is not reported as complete
+     */
     protected void chunkResult(final Object result, final ChunkedOutput<String> output) {
+        final ChunkedOutputExecutor executor = ChunkedOutputExecutor.getInstance();
         if (result instanceof Iterable) {
             final Iterable itr = (Iterable) result;
             try {
                 for (final Object item : itr) {
-                    output.write(mapper.writeValueAsString(item));
+                    if (output.isClosed()) {
+                        LOGGER.debug("Chunked output has been closed, stopping iteration");
+                        executor.streamCancelled();
+                        break;
+                    }
+                    writeChunk(item, output, executor);
                 }
-            } catch (final IOException ioe) {
-                LOGGER.warn("IOException (chunks)", ioe);
             } finally {
                 CloseableUtil.close(itr);
             }
         } else {
-            try {
-                output.write(mapper.writeValueAsString(result));
-            } catch (final IOException ioe) {
-                LOGGER.warn("IOException (chunks)", ioe);
-            }
+            writeChunk(result, output, executor);
+        }
+    }
+
+    private void writeChunk(final Object item, final ChunkedOutput<String> output,
+                            final ChunkedOutputExecutor executor) {
+        final String json;
+        try {
+            json = mapper.writeValueAsString(item);
+        } catch (final JsonProcessingException e) {
+            throw new RuntimeException("Unable to serialise a result to JSON: " + e.getMessage(), e);
+        }
+
+        try {
+            output.write(json);
+        } catch (final IOException e) {
+            executor.streamCancelled();
+            throw new RuntimeException("Unable to write a chunk, the client may have disconnected", e);
         }
+        executor.chunkWritten();
     }
 }
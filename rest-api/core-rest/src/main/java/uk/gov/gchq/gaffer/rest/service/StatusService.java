@@ -22,6 +22,7 @@ import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
 import uk.gov.gchq.gaffer.core.exception.Status;
+import uk.gov.gchq.gaffer.rest.ChunkedOutputStatus;
 import uk.gov.gchq.gaffer.rest.SystemStatus;
 import uk.gov.gchq.gaffer.rest.factory.GraphFactory;
 import uk.gov.gchq.gaffer.rest.factory.UserFactory;
@@ -60,4 +61,12 @@ public class StatusService {
 
         return new SystemStatus("Unable to create graph.");
     }
+
+    @GET
+    @Path("/chunked")
+    @ApiOperation(value = "Returns the status of the chunked output streams", response = ChunkedOutputStatus.class)
+    @ApiResponses(value = {@ApiResponse(code = 200, message = "OK")})
+    public ChunkedOutputStatus chunkedOutputStatus() {
+        return ChunkedOutputExecutor.getInstance().getStatus();
+    }
 }
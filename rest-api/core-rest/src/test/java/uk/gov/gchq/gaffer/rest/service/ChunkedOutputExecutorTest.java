@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest.service;
+
+import org.glassfish.jersey.server.ChunkedOutput;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.core.exception.Status;
+import uk.gov.gchq.gaffer.rest.ChunkedOutputStatus;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+public class ChunkedOutputExecutorTest {
+    @Test
+    public void shouldRejectStreamsWhenQueueIsFull() throws InterruptedException {
+        // Given
+        final ChunkedOutputExecutor executor = new ChunkedOutputExecutor(1, 1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(2);
+        final Runnable stream = () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            finished.countDown();
+        };
+        executor.submit(stream);
+        started.await(10, TimeUnit.SECONDS);
+        executor.submit(stream);
+
+        // When
+        try {
+            executor.submit(stream);
+            fail("Exception expected");
+        } catch (final GafferRuntimeException e) {
+            assertEquals(Status.SERVICE_UNAVAILABLE, e.getStatus());
+        }
+
+        // Then
+        final ChunkedOutputStatus status = executor.getStatus();
+        assertEquals(1, status.getActiveStreams());
+        assertEquals(1, status.getQueuedStreams());
+        assertEquals(1, status.getRejectedStreams());
+
+        release.countDown();
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldStopIteratingAndCloseResultWhenChunkedOutputIsClosed() throws Exception {
+        // Given
+        final OperationService service = new OperationService();
+        final ChunkedOutput<String> output = new ChunkedOutput<>(String.class, "\r\n");
+        output.close();
+        final CloseableIterable<Object> result = spy(new WrappedCloseableIterable<Object>(Arrays.asList("a", "b")));
+        final long cancelledStreams = ChunkedOutputExecutor.getInstance().getStatus().getCancelledStreams();
+
+        // When
+        service.chunkResult(result, output);
+
+        // Then
+        verify(result).close();
+        assertEquals(cancelledStreams + 1, ChunkedOutputExecutor.getInstance().getStatus().getCancelledStreams());
+    }
+
+    @Test
+    public void shouldCreateNewInstanceAfterSharedInstanceIsShutDown() {
+        // Given
+        final ChunkedOutputExecutor executor = ChunkedOutputExecutor.getInstance();
+
+        // When
+        ChunkedOutputExecutor.shutdownInstance();
+
+        // Then
+        try {
+            executor.submit(() -> {
+            });
+            fail("Exception expected");
+        } catch (final GafferRuntimeException e) {
+            assertEquals(Status.SERVICE_UNAVAILABLE, e.getStatus());
+        }
+        assertNotSame(executor, ChunkedOutputExecutor.getInstance());
+    }
+}
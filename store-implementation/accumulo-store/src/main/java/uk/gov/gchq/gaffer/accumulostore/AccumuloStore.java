@@ -46,6 +46,7 @@ import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetElementsBetweenSets
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetElementsHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetElementsInRangesHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetElementsWithinSetHandler;
+import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetGroupCountsHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.SummariseGroupOverRangesHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.AddElementsFromHdfsHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.ImportAccumuloKeyValueFilesHandler;
@@ -69,6 +70,7 @@ import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.hdfs.operation.AddElementsFromHdfs;
 import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.GetGroupCounts;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
@@ -210,6 +212,12 @@ public class AccumuloStore extends Store {
                         .getElementPostAggregationFilterIteratorSetting(view, this);
                 InputConfigurator.addIterator(AccumuloInputFormat.class, conf, elementPostFilter);
                 InputConfigurator.addIterator(AccumuloInputFormat.class, conf, elementPreFilter);
+                IteratorSetting elementPostTransformFilter = getKeyPackage()
+                        .getIteratorFactory()
+                        .getElementPostTransformFilterIteratorSetting(view, this);
+                if (null != elementPostTransformFilter) {
+                    InputConfigurator.addIterator(AccumuloInputFormat.class, conf, elementPostTransformFilter);
+                }
             }
         } catch (final AccumuloSecurityException | IteratorSettingException | UnsupportedEncodingException e) {
             throw new StoreException(e);
@@ -254,6 +262,7 @@ public class AccumuloStore extends Store {
 
     @Override
     protected void addAdditionalOperationHandlers() {
+        addOperationHandler(GetGroupCounts.class, new GetGroupCountsHandler());
         try {
             addOperationHandler(AddElementsFromHdfs.class, new AddElementsFromHdfsHandler());
             addOperationHandler(GetElementsBetweenSets.class, new GetElementsBetweenSetsHandler());
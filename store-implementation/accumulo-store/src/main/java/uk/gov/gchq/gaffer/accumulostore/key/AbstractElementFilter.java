@@ -25,20 +25,16 @@ import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.ElementFilterException;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
-import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsCache;
 import uk.gov.gchq.gaffer.data.element.Element;
-import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
-import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.store.ElementValidator;
-import uk.gov.gchq.gaffer.store.schema.Schema;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Map;
 
 /**
  * The AbstractElementFilter will filter out {@link Element}s based on the filtering
- * instructions given in the {@link View} that is passed to this iterator
+ * instructions given in the {@link uk.gov.gchq.gaffer.data.elementdefinition.view.View} that is passed to this iterator
  */
 public abstract class AbstractElementFilter extends Filter {
     @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "validator is initialised in validateOptions method, which is always called first")
@@ -48,14 +44,13 @@ public abstract class AbstractElementFilter extends Filter {
 
     @Override
     public boolean accept(final Key key, final Value value) {
-        final Element element;
         try {
-            element = elementConverter.getFullElement(key, value);
+            // Identifiers and properties are only deserialised when they are used by the validator
+            return validate(elementConverter.getLazyElement(key, value));
         } catch (final AccumuloElementConversionException e) {
             throw new ElementFilterException(
                     "Element filter iterator failed to create an element from an accumulo key value pair", e);
         }
-        return validate(element);
     }
 
     @Override
@@ -79,18 +74,10 @@ public abstract class AbstractElementFilter extends Filter {
 
         validator = getElementValidator(options);
 
-        final Schema schema;
         try {
-            schema = Schema.fromJson(options.get(AccumuloStoreConstants.SCHEMA).getBytes(CommonConstants.UTF_8));
-        } catch (final UnsupportedEncodingException e) {
-            throw new SchemaException("Unable to deserialise the schema from JSON", e);
-        }
-
-        try {
-            final Class<?> elementConverterClass = Class
-                    .forName(options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS));
-            elementConverter = (AccumuloElementConverter) elementConverterClass.getConstructor(Schema.class)
-                    .newInstance(schema);
+            elementConverter = IteratorOptionsCache.getElementConverter(
+                    options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS),
+                    options.get(AccumuloStoreConstants.SCHEMA));
         } catch (final ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException
                 | InvocationTargetException | NoSuchMethodException | SecurityException e) {
             throw new ElementFilterException("Failed to load element converter from class name provided : "
@@ -106,10 +93,6 @@ public abstract class AbstractElementFilter extends Filter {
             throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.VIEW);
         }
 
-        try {
-            return new ElementValidator(View.fromJson(options.get(AccumuloStoreConstants.VIEW).getBytes(CommonConstants.UTF_8)));
-        } catch (final UnsupportedEncodingException e) {
-            throw new SchemaException("Unable to deserialise view from JSON", e);
-        }
+        return IteratorOptionsCache.getViewValidator(options.get(AccumuloStoreConstants.VIEW));
     }
 }
@@ -24,6 +24,7 @@ import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.Properties;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * The Accumulo ElementConverter Interface details the methods necessary to
@@ -93,6 +94,19 @@ public interface AccumuloElementConverter {
      */
     Properties getPropertiesFromValue(final String group, final Value value);
 
+    /**
+     * Removes the serialised bytes of the properties that are not required from an
+     * Accumulo {@link Value}, without deserialising any of the properties. The returned
+     * {@link Value} can still be converted using {@link #getPropertiesFromValue(String, Value)}
+     * but the properties that were removed will not be set, or will be set to their empty value.
+     *
+     * @param group              the element group
+     * @param value              the Value containing the serialised properties
+     * @param requiredProperties the names of the properties to keep
+     * @return A {@link Value} that only contains the serialised required properties
+     */
+    Value getValueWithProperties(final String group, final Value value, final Set<String> requiredProperties);
+
     /**
      * Gets a new {@link Element} from an Accumulo {@link Key}.
      *
@@ -135,6 +149,32 @@ public interface AccumuloElementConverter {
      */
     Element getFullElement(final Key key, final Value value, final Map<String, String> options);
 
+    /**
+     * Returns an {@link Element} backed by the {@link Key} and {@link Value} that only
+     * deserialises its identifiers and properties when they are requested. This is
+     * intended for iterators that only need to inspect a few of the properties of each element,
+     * e.g. to apply a filter. The {@link Key} and {@link Value} must not be modified whilst the
+     * element is in use.
+     *
+     * @param key   the accumulo Key containing serialised parts of the Element
+     * @param value the accumulo Value containing serialised properties of the Element
+     * @return Returns an {@link Element} that lazily loads the identifiers and properties
+     * defined within the {@link Key} and {@link Value}
+     */
+    Element getLazyElement(final Key key, final Value value);
+
+    /**
+     * Returns {@link Properties} backed by the {@link Key} and {@link Value} that only
+     * deserialises each property when it is requested.
+     *
+     * @param group the element group
+     * @param key   the accumulo Key containing serialised properties of the Element
+     * @param value the accumulo Value containing serialised properties of the Element
+     * @return Returns {@link Properties} that lazily load the properties defined
+     * within the {@link Key} and {@link Value}
+     */
+    Properties getLazyProperties(final String group, final Key key, final Value value);
+
     /**
      * Helper Used to create Bloom Filters, method Serialises a given object
      * (from an {@link uk.gov.gchq.gaffer.data.element.id.EntityId} ) with the Identifier
@@ -238,4 +278,12 @@ public interface AccumuloElementConverter {
      */
     Properties getPropertiesFromTimestamp(final String group, final long timestamp);
 
+    /**
+     * Gets the serialised vertex at the other end of an edge from the vertex at the start of the row key, i.e. the
+     * vertex that is adjacent to a seed that matched the row.
+     *
+     * @param rowKey the row of an accumulo Key
+     * @return the serialised adjacent vertex, or null if the row key is for an entity.
+     */
+    byte[] getAdjacentVertexFromRowKey(final byte[] rowKey);
 }
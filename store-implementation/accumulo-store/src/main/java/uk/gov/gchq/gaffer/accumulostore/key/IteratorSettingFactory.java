@@ -71,6 +71,20 @@ public interface IteratorSettingFactory {
     IteratorSetting getElementPostAggregationFilterIteratorSetting(final View view, final AccumuloStore store)
             throws IteratorSettingException;
 
+    /**
+     * Returns an {@link org.apache.accumulo.core.client.IteratorSetting} that
+     * can be used to apply an iterator that will transform elements and then filter them based on
+     * predicates specified in the postTransformFilter block in the view to a {@link org.apache.accumulo.core.client.Scanner}.
+     * May return null if no group in the view has a postTransformFilter.
+     *
+     * @param view  the operation view
+     * @param store the accumulo store
+     * @return A new {@link IteratorSetting} for an Iterator capable of filtering transformed {@link uk.gov.gchq.gaffer.data.element.Element}s based on a {@link View}
+     * @throws IteratorSettingException if an iterator setting could not be created
+     */
+    IteratorSetting getElementPostTransformFilterIteratorSetting(final View view, final AccumuloStore store)
+            throws IteratorSettingException;
+
     /**
      * Returns an Iterator that will filter out
      * Edges/Entities/Undirected/Directed Edges based on the options in the
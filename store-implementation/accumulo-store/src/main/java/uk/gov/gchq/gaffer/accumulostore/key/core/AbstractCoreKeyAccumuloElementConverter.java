@@ -26,7 +26,12 @@ import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.ElementValueLoader;
 import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.element.LazyEdge;
+import uk.gov.gchq.gaffer.data.element.LazyEntity;
+import uk.gov.gchq.gaffer.data.element.LazyProperties;
 import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
@@ -38,11 +43,16 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 
 @SuppressWarnings("unchecked")
 public abstract class AbstractCoreKeyAccumuloElementConverter implements AccumuloElementConverter {
+    private static final Map<String, String> MATCHED_VERTEX_AS_SOURCE = Collections.singletonMap(
+            AccumuloStoreConstants.OPERATION_RETURN_MATCHED_SEEDS_AS_EDGE_SOURCE, "true");
+
     protected final Schema schema;
 
     public AbstractCoreKeyAccumuloElementConverter(final Schema schema) {
@@ -137,6 +147,41 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return properties;
     }
 
+    @Override
+    public Value getValueWithProperties(final String group, final Value value, final Set<String> requiredProperties) {
+        if (!isNotEmpty(value)) {
+            return value;
+        }
+        final byte[] bytes = value.get();
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        // Properties after the last required property are dropped completely, as the value is only read up to its end
+        int requiredLength = 0;
+        int carriage = 0;
+        final int arrayLength = bytes.length;
+        final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
+        final Iterator<String> propertyNames = elementDefinition.getProperties().iterator();
+        while (propertyNames.hasNext() && carriage < arrayLength) {
+            final String propertyName = propertyNames.next();
+            final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
+            if (isStoredInValue(propertyName, elementDefinition) && null != typeDefinition && null != typeDefinition.getSerialiser()) {
+                final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[carriage]);
+                final int to = carriage + numBytesForLength + getCurrentPropLength(bytes, carriage, numBytesForLength);
+                if (requiredProperties.contains(propertyName)) {
+                    stream.write(bytes, carriage, to - carriage);
+                    requiredLength = stream.size();
+                } else {
+                    try {
+                        writeBytes(AccumuloStoreConstants.EMPTY_BYTES, stream);
+                    } catch (final IOException e) {
+                        throw new AccumuloElementConversionException("Failed to write serialised property to ByteArrayOutputStream" + propertyName, e);
+                    }
+                }
+                carriage = to;
+            }
+        }
+        return new Value(Arrays.copyOf(stream.toByteArray(), requiredLength));
+    }
+
     @Override
     public Element getElementFromKey(final Key key) {
         return getElementFromKey(key, null);
@@ -163,6 +208,25 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return element;
     }
 
+    @Override
+    public Element getLazyElement(final Key key, final Value value) {
+        final String group = getGroupFromKey(key);
+        final byte[] row = key.getRowData().getBackingArray();
+        if (doesKeyRepresentEntity(row)) {
+            return new LazyEntity(new Entity(group), new KeyValueLoader(this, group, key, value, null));
+        }
+
+        // The directed flag is cheap to extract so it is set up front, only the vertices are deserialised lazily
+        final byte[][] sourceDestValues = new byte[3][];
+        final boolean directed = getSourceAndDestinationFromRowKey(row, sourceDestValues, null);
+        return new LazyEdge(new Edge(group, null, null, directed), new KeyValueLoader(this, group, key, value, sourceDestValues));
+    }
+
+    @Override
+    public Properties getLazyProperties(final String group, final Key key, final Value value) {
+        return new LazyProperties(new Properties(), new KeyValueLoader(this, group, key, value, null));
+    }
+
     @Override
     public byte[] buildColumnFamily(final String group) {
         try {
@@ -305,6 +369,72 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return rtn;
     }
 
+    /**
+     * Deserialises a single property from a {@link Key} and {@link Value}. Only the bytes of the requested
+     * property are deserialised, the lengths of the properties serialised before it are used to skip over them.
+     *
+     * @param group        the element group
+     * @param key          the key containing the column qualifier, visibility and timestamp properties
+     * @param value        the value containing the remaining properties
+     * @param propertyName the name of the property to deserialise
+     * @return the deserialised property, or null if the property is not set
+     */
+    protected Object getPropertyFromKeyValue(final String group, final Key key, final Value value, final String propertyName) {
+        final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
+        if (!elementDefinition.containsProperty(propertyName)) {
+            return null;
+        }
+        if (propertyName.equals(schema.getTimestampProperty())) {
+            return getPropertiesFromTimestamp(group, key.getTimestamp()).get(propertyName);
+        }
+        if (propertyName.equals(schema.getVisibilityProperty())) {
+            return getPropertiesFromColumnVisibility(group, key.getColumnVisibilityData().getBackingArray()).get(propertyName);
+        }
+        if (elementDefinition.getGroupBy().contains(propertyName)) {
+            return getDeserialisedProperty(key.getColumnQualifierData().getBackingArray(), elementDefinition.getGroupBy(), elementDefinition, propertyName, false);
+        }
+        if (isNotEmpty(value)) {
+            return getDeserialisedProperty(value.get(), elementDefinition.getProperties(), elementDefinition, propertyName, true);
+        }
+        return null;
+    }
+
+    private Object getDeserialisedProperty(final byte[] bytes, final Iterable<String> serialisedPropertyNames, final SchemaElementDefinition elementDefinition, final String propertyName, final boolean storedInValue) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        int carriage = 0;
+        final int arrayLength = bytes.length;
+        final Iterator<String> propertyNames = serialisedPropertyNames.iterator();
+        while (propertyNames.hasNext() && carriage < arrayLength) {
+            final String currentPropertyName = propertyNames.next();
+            if (storedInValue && !isStoredInValue(currentPropertyName, elementDefinition)) {
+                continue;
+            }
+            final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(currentPropertyName);
+            final ToBytesSerialiser serialiser = (typeDefinition != null) ? (ToBytesSerialiser) typeDefinition.getSerialiser() : null;
+            if (serialiser == null) {
+                if (currentPropertyName.equals(propertyName)) {
+                    return null;
+                }
+            } else {
+                final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[carriage]);
+                final int from = carriage + numBytesForLength;
+                final int to = from + getCurrentPropLength(bytes, carriage, numBytesForLength);
+                if (currentPropertyName.equals(propertyName)) {
+                    try {
+                        return getDeserialisedObject(serialiser, bytes, from, to);
+                    } catch (final SerialisationException e) {
+                        throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
+                    }
+                }
+                carriage = to;
+            }
+        }
+        return null;
+    }
+
     @Override
     public byte[] getPropertiesAsBytesFromColumnQualifier(final String group, final byte[] bytes, final int numProps) {
         byte[] rtn = AccumuloStoreConstants.EMPTY_BYTES;
@@ -378,6 +508,16 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         }
     }
 
+    @Override
+    public byte[] getAdjacentVertexFromRowKey(final byte[] rowKey) {
+        if (doesKeyRepresentEntity(rowKey)) {
+            return null;
+        }
+        final byte[][] result = new byte[3][];
+        getSourceAndDestinationFromRowKey(rowKey, result, MATCHED_VERTEX_AS_SOURCE);
+        return result[1];
+    }
+
     protected abstract byte[] getRowKeyFromEntity(final Entity entity);
 
     protected abstract Pair<byte[], byte[]> getRowKeysFromEdge(final Edge edge);
@@ -386,6 +526,17 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
 
     protected abstract Entity getEntityFromKey(final Key key);
 
+    /**
+     * Deserialises just the vertex of an entity from its {@link Key}. Key-packages
+     * should override this to avoid deserialising the properties in the key.
+     *
+     * @param key the entity key
+     * @return the vertex
+     */
+    protected Object getVertexFromEntityKey(final Key key) {
+        return getEntityFromKey(key).getVertex();
+    }
+
     protected abstract boolean getSourceAndDestinationFromRowKey(final byte[] rowKey,
                                                                  final byte[][] sourceValueDestinationValue, final Map<String, String> options);
 
@@ -484,4 +635,53 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         }
     }
 
+
+    /**
+     * An {@link ElementValueLoader} that deserialises identifiers and properties from
+     * an Accumulo {@link Key} and {@link Value} when they are requested.
+     */
+    private static final class KeyValueLoader implements ElementValueLoader {
+        private static final long serialVersionUID = -3455233436214858218L;
+        private final transient AbstractCoreKeyAccumuloElementConverter converter;
+        private final String group;
+        private final transient Key key;
+        private final transient Value value;
+        private final byte[][] sourceDestValues;
+
+        private KeyValueLoader(final AbstractCoreKeyAccumuloElementConverter converter, final String group,
+                               final Key key, final Value value, final byte[][] sourceDestValues) {
+            this.converter = converter;
+            this.group = group;
+            this.key = key;
+            this.value = value;
+            this.sourceDestValues = sourceDestValues;
+        }
+
+        @Override
+        public Object getProperty(final String name) {
+            return converter.getPropertyFromKeyValue(group, key, value, name);
+        }
+
+        @Override
+        public Object getIdentifier(final IdentifierType idType) {
+            switch (idType) {
+                case VERTEX:
+                    return converter.getVertexFromEntityKey(key);
+                case SOURCE:
+                    return deserialiseVertex(sourceDestValues[0]);
+                case DESTINATION:
+                    return deserialiseVertex(sourceDestValues[1]);
+                default:
+                    return null;
+            }
+        }
+
+        private Object deserialiseVertex(final byte[] bytes) {
+            try {
+                return ((ToBytesSerialiser) converter.schema.getVertexSerialiser()).deserialise(bytes);
+            } catch (final SerialisationException e) {
+                throw new AccumuloElementConversionException("Failed to deserialise vertex from key", e);
+            }
+        }
+    }
 }
@@ -16,6 +16,8 @@
 
 package uk.gov.gchq.gaffer.accumulostore.key.core;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.hadoop.util.bloom.BloomFilter;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
@@ -25,18 +27,32 @@ import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyGroupByAggregatorIt
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.AggregatorIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPostAggregationFilter;
+import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPostTransformFilter;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPreAggregationFilter;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.RowIDAggregator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ValidatorFilter;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.accumulostore.utils.IteratorSettingBuilder;
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.GlobalViewElementDefinition;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import java.io.UnsupportedEncodingException;
+import java.util.List;
 
 public abstract class AbstractCoreKeyIteratorSettingsFactory implements IteratorSettingFactory {
+    private static final int MAX_CACHED_VIEWS = 100;
+
+    // Each operation asks for several iterator settings with the same view, so the JSON of a view is kept for as long
+    // as the view is in use and it is only serialised once. Keys are compared by identity.
+    private final Cache<View, String> viewJsonCache = CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumSize(MAX_CACHED_VIEWS)
+            .build();
 
     @Override
     public IteratorSetting getBloomFilterIteratorSetting(final BloomFilter filter) throws IteratorSettingException {
@@ -49,7 +65,7 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
             throws IteratorSettingException {
         return new IteratorSettingBuilder(AccumuloStoreConstants.ELEMENT_PRE_AGGREGATION_FILTER_ITERATOR_PRIORITY,
                 AccumuloStoreConstants.ELEMENT_PRE_AGGREGATION_FILTER_ITERATOR_NAME, ElementPreAggregationFilter.class).schema(store.getSchema())
-                .view(view).keyConverter(store.getKeyPackage().getKeyConverter()).build();
+                .view(getViewJson(view)).keyConverter(store.getKeyPackage().getKeyConverter()).build();
     }
 
     @Override
@@ -57,7 +73,31 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
             throws IteratorSettingException {
         return new IteratorSettingBuilder(AccumuloStoreConstants.ELEMENT_POST_AGGREGATION_FILTER_ITERATOR_PRIORITY,
                 AccumuloStoreConstants.ELEMENT_POST_AGGREGATION_FILTER_ITERATOR_NAME, ElementPostAggregationFilter.class).schema(store.getSchema())
-                .view(view).keyConverter(store.getKeyPackage().getKeyConverter()).build();
+                .view(getViewJson(view)).keyConverter(store.getKeyPackage().getKeyConverter()).build();
+    }
+
+    @Override
+    public IteratorSetting getElementPostTransformFilterIteratorSetting(final View view, final AccumuloStore store)
+            throws IteratorSettingException {
+        if (!postTransformFilterRequired(view)) {
+            return null;
+        }
+        return new IteratorSettingBuilder(AccumuloStoreConstants.ELEMENT_POST_TRANSFORM_FILTER_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.ELEMENT_POST_TRANSFORM_FILTER_ITERATOR_NAME, ElementPostTransformFilter.class).schema(store.getSchema())
+                .view(getViewJson(view)).keyConverter(store.getKeyPackage().getKeyConverter()).build();
+    }
+
+    public boolean postTransformFilterRequired(final View view) {
+        if (null == view) {
+            return false;
+        }
+        for (final String group : view.getGroups()) {
+            final ViewElementDefinition viewElementDefinition = view.getElement(group);
+            if (null != viewElementDefinition && null != viewElementDefinition.getPostTransformFilter()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -105,7 +145,7 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
                 AccumuloStoreConstants.COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_NAME, CoreKeyGroupByAggregatorIterator.class)
                 .combinerColumnFamilies(store.getSchema().getAggregatedGroups())
                 .schema(store.getSchema())
-                .view(view)
+                .view(getViewJson(view))
                 .keyConverter(store.getKeyPackage().getKeyConverter())
                 .build();
     }
@@ -146,6 +186,39 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
         return false;
     }
 
+    /**
+     * Serialises a view to compact JSON, reusing the JSON from earlier calls with the same view instance. Views that
+     * still have global definitions are always serialised, as expanding the global definitions changes the view.
+     *
+     * @param view the view to serialise
+     * @return the compact JSON of the view
+     */
+    protected String getViewJson(final View view) {
+        if (hasGlobalDefinitions(view.getGlobalElements())
+                || hasGlobalDefinitions(view.getGlobalEntities())
+                || hasGlobalDefinitions(view.getGlobalEdges())) {
+            return toJson(view);
+        }
+        String viewJson = viewJsonCache.getIfPresent(view);
+        if (null == viewJson) {
+            viewJson = toJson(view);
+            viewJsonCache.put(view, viewJson);
+        }
+        return viewJson;
+    }
+
+    private static boolean hasGlobalDefinitions(final List<GlobalViewElementDefinition> globalDefinitions) {
+        return null != globalDefinitions && !globalDefinitions.isEmpty();
+    }
+
+    private static String toJson(final View view) {
+        try {
+            return new String(view.toCompactJson(), CommonConstants.UTF_8);
+        } catch (final UnsupportedEncodingException e) {
+            throw new SchemaException("Unable to serialise view to JSON", e);
+        }
+    }
+
     @Override
     public IteratorSetting getIteratorSetting(final AccumuloStore store, final String iteratorName) throws IteratorSettingException {
         switch (iteratorName) {
@@ -31,13 +31,11 @@ import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionE
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.accumulostore.utils.ByteUtils;
 import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
-import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsCache;
 import uk.gov.gchq.gaffer.data.element.Properties;
-import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
@@ -147,7 +145,11 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
 
             final Properties properties = new Properties();
             try {
-                properties.putAll(elementConverter.getPropertiesFromColumnQualifier(group, topColumnQualifier));
+                // The column qualifier only contains group by properties, so it only needs
+                // deserialising if some of them are not in the query group by and are aggregated.
+                if (null != groupBy && null != schemaGroupBy && !groupBy.containsAll(schemaGroupBy)) {
+                    properties.putAll(elementConverter.getPropertiesFromColumnQualifier(group, topColumnQualifier));
+                }
                 properties.putAll(elementConverter.getPropertiesFromColumnVisibility(group, topColumnVisibility));
                 properties.putAll(elementConverter.getPropertiesFromValue(group, topValue));
                 properties.putAll(elementConverter.getPropertiesFromTimestamp(group, topTimestamp));
@@ -348,20 +350,12 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
         if (!options.containsKey(AccumuloStoreConstants.SCHEMA)) {
             throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA);
         }
-        try {
-            schema = Schema.fromJson(options.get(AccumuloStoreConstants.SCHEMA).getBytes(CommonConstants.UTF_8));
-        } catch (final UnsupportedEncodingException e) {
-            throw new SchemaException("Unable to deserialise the schema", e);
-        }
+        schema = IteratorOptionsCache.getSchema(options.get(AccumuloStoreConstants.SCHEMA));
 
         if (!options.containsKey(AccumuloStoreConstants.VIEW)) {
             throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.VIEW);
         }
-        try {
-            view = View.fromJson(options.get(AccumuloStoreConstants.VIEW).getBytes(CommonConstants.UTF_8));
-        } catch (final UnsupportedEncodingException e) {
-            throw new SchemaException("Unable to deserialise the view", e);
-        }
+        view = IteratorOptionsCache.getView(options.get(AccumuloStoreConstants.VIEW));
 
         return true;
     }
@@ -119,12 +119,17 @@ public class ByteEntityAccumuloElementConverter extends AbstractCoreKeyAccumuloE
 
     @Override
     protected Entity getEntityFromKey(final Key key) {
+        final Entity entity = new Entity(getGroupFromKey(key), getVertexFromEntityKey(key));
+        addPropertiesToElement(entity, key);
+        return entity;
+    }
+
+    @Override
+    protected Object getVertexFromEntityKey(final Key key) {
         try {
-            final Entity entity = new Entity(getGroupFromKey(key), ((ToBytesSerialiser) schema.getVertexSerialiser())
+            return ((ToBytesSerialiser) schema.getVertexSerialiser())
                     .deserialise(ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(key.getRowData().getBackingArray(), 0,
-                            key.getRowData().getBackingArray().length - 2))));
-            addPropertiesToElement(entity, key);
-            return entity;
+                            key.getRowData().getBackingArray().length - 2)));
         } catch (final SerialisationException e) {
             throw new AccumuloElementConversionException("Failed to re-create Entity from key", e);
         }
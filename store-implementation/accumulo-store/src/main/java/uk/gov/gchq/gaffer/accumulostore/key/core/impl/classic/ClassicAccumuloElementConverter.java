@@ -120,11 +120,16 @@ public class ClassicAccumuloElementConverter extends AbstractCoreKeyAccumuloElem
 
     @Override
     protected Entity getEntityFromKey(final Key key) {
+        final Entity entity = new Entity(getGroupFromKey(key), getVertexFromEntityKey(key));
+        addPropertiesToElement(entity, key);
+        return entity;
+    }
+
+    @Override
+    protected Object getVertexFromEntityKey(final Key key) {
         try {
-            final Entity entity = new Entity(getGroupFromKey(key), ((ToBytesSerialiser) schema.getVertexSerialiser())
-                    .deserialise(ByteArrayEscapeUtils.unEscape(key.getRowData().getBackingArray())));
-            addPropertiesToElement(entity, key);
-            return entity;
+            return ((ToBytesSerialiser) schema.getVertexSerialiser())
+                    .deserialise(ByteArrayEscapeUtils.unEscape(key.getRowData().getBackingArray()));
         } catch (final SerialisationException e) {
             throw new AccumuloElementConversionException("Failed to re-create Entity from key", e);
         }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import uk.gov.gchq.gaffer.accumulostore.key.AbstractElementFilter;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+
+/**
+ * The ElementPostTransformFilter applies the transformer from the {@link uk.gov.gchq.gaffer.data.elementdefinition.view.View}
+ * to each {@link Element} and then only returns the elements that pass the postTransformFilter, so elements that
+ * would be discarded are not sent to the client.
+ * <p>
+ * The transformed element is only used to decide whether to keep the key value pair; the original key value pair is
+ * returned unchanged and the transformation is repeated on the client. This is because transient properties
+ * created by a transform do not have serialisers in the schema.
+ */
+public class ElementPostTransformFilter extends AbstractElementFilter {
+
+    @Override
+    protected boolean validate(final Element element) {
+        final ViewElementDefinition viewDef = validator.getView().getElement(element.getGroup());
+        if (null == viewDef || null == viewDef.getPostTransformFilter()) {
+            return true;
+        }
+        if (null != viewDef.getTransformer()) {
+            viewDef.getTransformer().apply(element);
+        }
+        return viewDef.getPostTransformFilter().test(element);
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(super.describeOptions()).addViewNamedOption().addSchemaNamedOption()
+                .addElementConverterClassNamedOption().setIteratorName(AccumuloStoreConstants.ELEMENT_POST_TRANSFORM_FILTER_ITERATOR_NAME)
+                .setIteratorDescription("Only returns elements that pass the post transform filter in the given view once transformed").build();
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import org.apache.accumulo.core.data.ArrayByteSequence;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The GroupCountingIterator counts the key value pairs in each column family, i.e. the elements in each group, that
+ * are returned by the iterators below it. When it is seeked it consumes the whole range from its source and returns a
+ * single key value pair, keyed by the last key in the range, whose value holds the count for each column family.
+ * Only the counts are sent to the client, so elements can be counted without being deserialised or transferred.
+ * <p>
+ * As a key is only returned if the range contained at least one key, and that key is the last key in the range, the
+ * scanner will not see the counts twice if it re-seeks after the returned key.
+ */
+public class GroupCountingIterator extends WrappingIterator implements OptionDescriber {
+    private Key topKey;
+    private Value topValue;
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.GROUP_COUNTING_ITERATOR_NAME,
+                "Returns the number of key value pairs in each column family").build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        return true;
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final GroupCountingIterator copy = new GroupCountingIterator();
+        copy.setSource(getSource().deepCopy(env));
+        return copy;
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive) throws IOException {
+        super.seek(range, columnFamilies, inclusive);
+        countGroups();
+    }
+
+    @Override
+    public void next() throws IOException {
+        topKey = null;
+        topValue = null;
+    }
+
+    @Override
+    public boolean hasTop() {
+        return null != topKey;
+    }
+
+    @Override
+    public Key getTopKey() {
+        return topKey;
+    }
+
+    @Override
+    public Value getTopValue() {
+        return topValue;
+    }
+
+    /**
+     * Decodes the counts in a value returned by this iterator.
+     *
+     * @param value                  the value returned by the iterator
+     * @param groupFromColumnFamily  converts a column family into a group
+     * @return the number of elements in each group
+     * @throws IOException if the value could not be decoded
+     */
+    public static Map<String, Long> decodeCounts(final Value value, final Function<byte[], String> groupFromColumnFamily)
+            throws IOException {
+        final Map<String, Long> counts = new HashMap<>();
+        try (final DataInputStream in = new DataInputStream(new ByteArrayInputStream(value.get()))) {
+            final int numColumnFamilies = in.readInt();
+            for (int i = 0; i < numColumnFamilies; i++) {
+                final byte[] columnFamily = new byte[in.readInt()];
+                in.readFully(columnFamily);
+                counts.merge(groupFromColumnFamily.apply(columnFamily), in.readLong(), Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    private void countGroups() throws IOException {
+        topKey = null;
+        topValue = null;
+        final Map<ByteSequence, long[]> counts = new HashMap<>();
+        // Keys are sorted by row, so consecutive keys are often in the same column family
+        ByteSequence previousColumnFamily = null;
+        long[] previousCount = null;
+        Key lastKey = null;
+        while (getSource().hasTop()) {
+            final Key key = getSource().getTopKey();
+            final ByteSequence columnFamily = key.getColumnFamilyData();
+            if (!columnFamily.equals(previousColumnFamily)) {
+                previousColumnFamily = new ArrayByteSequence(columnFamily.toArray());
+                previousCount = counts.computeIfAbsent(previousColumnFamily, k -> new long[1]);
+            }
+            previousCount[0]++;
+            if (null == lastKey) {
+                lastKey = new Key();
+            }
+            lastKey.set(key);
+            getSource().next();
+        }
+
+        if (null != lastKey) {
+            topKey = lastKey;
+            topValue = encodeCounts(counts);
+        }
+    }
+
+    private static Value encodeCounts(final Map<ByteSequence, long[]> counts) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(counts.size());
+            for (final Map.Entry<ByteSequence, long[]> entry : counts.entrySet()) {
+                final byte[] columnFamily = entry.getKey().toArray();
+                out.writeInt(columnFamily.length);
+                out.write(columnFamily);
+                out.writeLong(entry.getValue()[0]);
+            }
+        }
+        return new Value(bytes.toByteArray());
+    }
+}
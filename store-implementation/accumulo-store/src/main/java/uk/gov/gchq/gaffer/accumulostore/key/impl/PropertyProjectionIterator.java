@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.IteratorException;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsCache;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The PropertyProjectionIterator removes the serialised properties that are not required from the values returned
+ * by the iterators below it, so it should be applied after the iterators that filter, aggregate and transform the
+ * elements in the view. The properties are not deserialised, their bytes are just not sent to the client.
+ * <p>
+ * Only the value is changed. The properties stored in the key, e.g. the group-by properties in the column qualifier,
+ * are always returned as changing the key could change the order of the keys, and the scanner needs the keys it is
+ * sent to be sorted so that it can re-seek after any returned key.
+ */
+public class PropertyProjectionIterator extends WrappingIterator implements OptionDescriber {
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "elementConverter is initialised in validateOptions method, which is always called first")
+    private AccumuloElementConverter elementConverter;
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "requiredProperties is initialised in validateOptions method, which is always called first")
+    private Set<String> requiredProperties;
+    private Value topValue;
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+        validateOptions(options);
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.PROPERTY_PROJECTION_ITERATOR_NAME,
+                "Removes the properties that are not required from each value")
+                .addSchemaNamedOption()
+                .addElementConverterClassNamedOption()
+                .addNamedOption(AccumuloStoreConstants.PROPERTIES, "A comma separated list of the required properties")
+                .build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (!options.containsKey(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS);
+        }
+        if (!options.containsKey(AccumuloStoreConstants.SCHEMA)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA);
+        }
+        if (!options.containsKey(AccumuloStoreConstants.PROPERTIES)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.PROPERTIES);
+        }
+
+        try {
+            elementConverter = IteratorOptionsCache.getElementConverter(
+                    options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS),
+                    options.get(AccumuloStoreConstants.SCHEMA));
+        } catch (final ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException
+                | InvocationTargetException | NoSuchMethodException | SecurityException e) {
+            throw new IteratorException("Failed to load element converter from class name provided : "
+                    + options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS), e);
+        }
+        requiredProperties = new HashSet<>(Arrays.asList(options.get(AccumuloStoreConstants.PROPERTIES).split(",")));
+        return true;
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final PropertyProjectionIterator copy = new PropertyProjectionIterator();
+        copy.setSource(getSource().deepCopy(env));
+        copy.elementConverter = elementConverter;
+        copy.requiredProperties = requiredProperties;
+        return copy;
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive) throws IOException {
+        topValue = null;
+        super.seek(range, columnFamilies, inclusive);
+    }
+
+    @Override
+    public void next() throws IOException {
+        topValue = null;
+        super.next();
+    }
+
+    @Override
+    public Value getTopValue() {
+        if (null == topValue) {
+            final Key key = getSource().getTopKey();
+            try {
+                final String group = elementConverter.getGroupFromColumnFamily(key.getColumnFamilyData().getBackingArray());
+                topValue = elementConverter.getValueWithProperties(group, getSource().getTopValue(), requiredProperties);
+            } catch (final AccumuloElementConversionException e) {
+                throw new IteratorException("Failed to remove the properties that are not required from an accumulo value", e);
+            }
+        }
+        return topValue;
+    }
+}
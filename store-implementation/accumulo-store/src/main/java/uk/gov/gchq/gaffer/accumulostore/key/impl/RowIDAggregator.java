@@ -30,10 +30,10 @@ import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionE
 import uk.gov.gchq.gaffer.accumulostore.key.exception.AggregationException;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsCache;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
-import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
@@ -82,16 +82,11 @@ public class RowIDAggregator extends WrappingIterator implements OptionDescriber
         if (!options.containsKey(AccumuloStoreConstants.COLUMN_FAMILY)) {
             throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.COLUMN_FAMILY);
         }
+        schema = IteratorOptionsCache.getSchema(options.get(AccumuloStoreConstants.SCHEMA));
         try {
-            schema = Schema.fromJson(options.get(AccumuloStoreConstants.SCHEMA).getBytes(CommonConstants.UTF_8));
-        } catch (final UnsupportedEncodingException e) {
-            throw new SchemaException("Unable to deserialise the schema", e);
-        }
-        try {
-            final Class<?> elementConverterClass = Class
-                    .forName(options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS));
-            elementConverter = (AccumuloElementConverter) elementConverterClass.getConstructor(Schema.class)
-                    .newInstance(schema);
+            elementConverter = IteratorOptionsCache.getElementConverter(
+                    options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS),
+                    options.get(AccumuloStoreConstants.SCHEMA));
         } catch (final ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException
                 | InvocationTargetException | NoSuchMethodException | SecurityException e) {
             throw new AggregationException("Failed to load element converter from class name provided : "
@@ -171,6 +166,13 @@ public class RowIDAggregator extends WrappingIterator implements OptionDescriber
         }
         PropertiesIterator iter = new PropertiesIterator(source, currentRange, currentColumnFamilies, currentColumnFamiliesInclusive, group, workKey, elementConverter);
         Properties topProperties = reduce(iter);
+        if (1 == iter.getNumRecords()) {
+            // Nothing has been aggregated so return the original key and value rather than deserialising
+            // and re-serialising the properties
+            topKey = iter.getFirstKey();
+            topValue = iter.getFirstValue();
+            return;
+        }
         try {
             topValue = elementConverter.getValueFromProperties(group, topProperties);
             topKey = new Key(workKey.getRowData().getBackingArray(), group.getBytes(CommonConstants.UTF_8),
@@ -206,6 +208,9 @@ public class RowIDAggregator extends WrappingIterator implements OptionDescriber
         private Value currentValue;
         private Key workKeyRef;
         private String group;
+        private Key firstKey;
+        private Value firstValue;
+        private int numRecords;
 
         public PropertiesIterator(final SortedKeyValueIterator<Key, Value> source, final Range currentRange, final Collection<ByteSequence> currentColumnFamilies, final boolean currentColumnFamiliesInclusive, final String group, final Key workKeyRef, final AccumuloElementConverter elementConverter) throws IOException {
             this.source = source;
@@ -250,24 +255,36 @@ public class RowIDAggregator extends WrappingIterator implements OptionDescriber
             return nextRecordFound(currentKey, currentValue);
         }
 
+        public int getNumRecords() {
+            return numRecords;
+        }
+
+        public Key getFirstKey() {
+            return firstKey;
+        }
+
+        public Value getFirstValue() {
+            return firstValue;
+        }
+
         private Properties nextRecordFound(final Key key, final Value value) {
             this.workKeyRef.set(key);
+            // Copy the key and value as the source may reuse them once it has moved on
+            final Key keyCopy = new Key(key);
+            final Value valueCopy = new Value(value);
+            if (0 == numRecords) {
+                firstKey = keyCopy;
+                firstValue = valueCopy;
+            }
+            numRecords++;
             try {
                 source.next();
             } catch (final IOException e) {
                 throw new RuntimeException(e);
             }
-            final Properties properties;
-            try {
-                properties = elementConverter.getPropertiesFromColumnQualifier(group, key.getColumnQualifierData().getBackingArray());
-                properties.putAll(elementConverter.getPropertiesFromColumnVisibility(group, key.getColumnVisibilityData().getBackingArray()));
-                properties.putAll(elementConverter.getPropertiesFromTimestamp(group, key.getTimestamp()));
-                properties.putAll(elementConverter.getPropertiesFromValue(group, value));
-            } catch (final AccumuloElementConversionException e) {
-                throw new RuntimeException(e);
-            }
 
-            return properties;
+            // The properties are only deserialised if they are needed for aggregation
+            return elementConverter.getLazyProperties(group, keyCopy, valueCopy);
         }
 
         @Override
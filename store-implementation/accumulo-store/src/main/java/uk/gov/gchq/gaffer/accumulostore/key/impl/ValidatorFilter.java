@@ -18,18 +18,15 @@ package uk.gov.gchq.gaffer.accumulostore.key.impl;
 
 import uk.gov.gchq.gaffer.accumulostore.key.AbstractElementFilter;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
-import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsCache;
 import uk.gov.gchq.gaffer.data.element.Element;
-import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
 import uk.gov.gchq.gaffer.store.ElementValidator;
-import uk.gov.gchq.gaffer.store.schema.Schema;
-import java.io.UnsupportedEncodingException;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * The ValidatorFilter will filter out {@link uk.gov.gchq.gaffer.data.element.Element}s
- * based on the validator functions given in the {@link Schema} that is passed to this iterator.
+ * based on the validator functions given in the {@link uk.gov.gchq.gaffer.store.schema.Schema} that is passed to this iterator.
  * <p>
  * If a {@link java.util.function.Predicate} returns false then the Element is removed.
  */
@@ -54,10 +51,6 @@ public class ValidatorFilter extends AbstractElementFilter {
             throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA);
         }
 
-        try {
-            return new ElementValidator(Schema.fromJson(options.get(AccumuloStoreConstants.SCHEMA).getBytes(CommonConstants.UTF_8)), false);
-        } catch (final UnsupportedEncodingException e) {
-            throw new SchemaException("Unable to deserialise schema from JSON", e);
-        }
+        return IteratorOptionsCache.getSchemaValidator(options.get(AccumuloStoreConstants.SCHEMA), false);
     }
 }
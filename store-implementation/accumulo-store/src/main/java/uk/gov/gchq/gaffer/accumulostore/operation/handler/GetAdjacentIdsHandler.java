@@ -19,18 +19,12 @@ package uk.gov.gchq.gaffer.accumulostore.operation.handler;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.IteratorSettingFactory;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
-import uk.gov.gchq.gaffer.accumulostore.retriever.AccumuloRetriever;
-import uk.gov.gchq.gaffer.accumulostore.retriever.impl.AccumuloSingleIDRetriever;
+import uk.gov.gchq.gaffer.accumulostore.retriever.impl.AccumuloAdjacentIdRetriever;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
-import uk.gov.gchq.gaffer.commonutil.iterable.TransformIterable;
-import uk.gov.gchq.gaffer.data.IsEdgeValidator;
-import uk.gov.gchq.gaffer.data.element.Edge;
-import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.operation.OperationException;
-import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.store.Context;
@@ -40,6 +34,11 @@ import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.user.User;
 import java.util.Collections;
 
+/**
+ * Gets the ids adjacent to the seeds using the
+ * {@link uk.gov.gchq.gaffer.accumulostore.key.impl.AdjacentVertexIterator}, so only the adjacent vertices are
+ * returned from the tablet servers and the edges are not deserialised.
+ */
 public class GetAdjacentIdsHandler implements OutputOperationHandler<GetAdjacentIds, CloseableIterable<? extends EntityId>> {
 
     @Override
@@ -54,7 +53,7 @@ public class GetAdjacentIdsHandler implements OutputOperationHandler<GetAdjacent
                                                              final AccumuloStore store)
             throws OperationException {
 
-        final AccumuloRetriever<?> edgeRetriever;
+        final AccumuloAdjacentIdRetriever edgeRetriever;
         try {
             final IteratorSettingFactory iteratorFactory = store.getKeyPackage().getIteratorFactory();
             final GetElements getEdges = new GetElements.Builder()
@@ -69,7 +68,7 @@ public class GetAdjacentIdsHandler implements OutputOperationHandler<GetAdjacent
                     .inOutType(op.getIncludeIncomingOutGoing())
                     .build();
 
-            edgeRetriever = new AccumuloSingleIDRetriever<>(store, getEdges, user, iteratorFactory.getElementPreAggregationFilterIteratorSetting(getEdges.getView(), store),
+            edgeRetriever = new AccumuloAdjacentIdRetriever(store, getEdges, user, iteratorFactory.getElementPreAggregationFilterIteratorSetting(getEdges.getView(), store),
                     iteratorFactory.getElementPostAggregationFilterIteratorSetting(getEdges.getView(), store),
                     iteratorFactory.getEdgeEntityDirectionFilterIteratorSetting(getEdges),
                     iteratorFactory.getQueryTimeAggregatorIteratorSetting(getEdges.getView(), store));
@@ -77,17 +76,6 @@ public class GetAdjacentIdsHandler implements OutputOperationHandler<GetAdjacent
             throw new OperationException(e.getMessage(), e);
         }
 
-        return new ExtractDestinationEntityId(edgeRetriever);
-    }
-
-    private static final class ExtractDestinationEntityId extends TransformIterable<Element, EntityId> {
-        private ExtractDestinationEntityId(final Iterable<Element> input) {
-            super(input, new IsEdgeValidator());
-        }
-
-        @Override
-        protected EntityId transform(final Element element) {
-            return new EntitySeed(((Edge) element).getDestination());
-        }
+        return edgeRetriever.getAdjacentIds();
     }
 }
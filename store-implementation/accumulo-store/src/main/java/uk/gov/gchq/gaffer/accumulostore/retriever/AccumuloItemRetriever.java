@@ -84,104 +84,95 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
 
     protected abstract void addToRanges(final I_ITEM seed, final Set<Range> ranges) throws RangeFactoryException;
 
-    protected class ElementIterator implements CloseableIterator<Element> {
-        private final Iterator<? extends I_ITEM> idsIterator;
-        private int count;
-        private BatchScanner scanner;
-        private Iterator<Entry<Key, Value>> scannerIterator;
-        private Element nextElm;
+    /**
+     * @return the seeds of the operation, or null if the operation has no input.
+     */
+    protected Iterable<? extends I_ITEM> getIds() {
+        return ids;
+    }
 
+    protected class ElementIterator extends BatchedScanIterator<Element> {
         public ElementIterator(final Iterator<? extends I_ITEM> idIterator) throws RetrieverException {
-            idsIterator = idIterator;
-            count = 0;
-            final Set<Range> ranges = new HashSet<>();
-            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                count++;
-                try {
-                    addToRanges(idsIterator.next(), ranges);
-                } catch (final RangeFactoryException e) {
-                    LOGGER.error("Failed to create a range from given seed pair", e);
-                }
+            super(idIterator);
+        }
+
+        @Override
+        protected Element convert(final Entry<Key, Value> entry) {
+            final Element element;
+            try {
+                element = elementConverter.getFullElement(
+                        entry.getKey(),
+                        entry.getValue(),
+                        operation.getOptions());
+            } catch (final AccumuloElementConversionException e) {
+                LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null",
+                        e);
+                return null;
             }
+            doTransformation(element);
+            return doPostFilter(element) ? element : null;
+        }
+    }
 
-            // Create BatchScanner, appropriately configured (i.e. ranges,
-            // iterators, etc).
+    /**
+     * Iterates over the results of a {@link BatchScanner} for each batch of seeds, converting each key value pair
+     * into an item.
+     *
+     * @param <T> the type of item returned
+     */
+    protected abstract class BatchedScanIterator<T> implements CloseableIterator<T> {
+        private final Iterator<? extends I_ITEM> idsIterator;
+        private final BatchScannerQueue scanners;
+        private Iterator<Entry<Key, Value>> scannerIterator;
+        private T nextItem;
+
+        protected BatchedScanIterator(final Iterator<? extends I_ITEM> idIterator) throws RetrieverException {
+            idsIterator = idIterator;
+            scanners = new BatchScannerQueue(this::createNextScanner, getBatchScannerPrefetchDepth());
             try {
-                scanner = getScanner(ranges);
-            } catch (final Exception e) {
+                scannerIterator = scanners.next();
+            } catch (final RetrieverException e) {
                 CloseableUtil.close(idsIterator);
                 CloseableUtil.close(ids);
-                throw new RetrieverException(e);
+                throw e;
             }
-            scannerIterator = scanner.iterator();
         }
 
         @Override
         public boolean hasNext() {
             // If current scanner has next then return true.
-            if (null != nextElm) {
+            if (null != nextItem) {
                 return true;
             }
-            while (scannerIterator.hasNext()) {
-                final Entry<Key, Value> entry = scannerIterator.next();
-                try {
-                    nextElm = elementConverter.getFullElement(
-                            entry.getKey(),
-                            entry.getValue(),
-                            operation.getOptions());
-                } catch (final AccumuloElementConversionException e) {
-                    LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null",
-                            e);
-                    continue;
-                }
-                doTransformation(nextElm);
-                if (doPostFilter(nextElm)) {
-                    return true;
-                } else {
-                    nextElm = null;
-                }
-            }
-            // If current scanner is spent then go back to the iterator
-            // through the provided entities, and see if there are more.
-            // If so create the next scanner, if there are no more entities
-            // then return false.
-            while (idsIterator.hasNext() && !scannerIterator.hasNext()) {
-                count = 0;
-                final Set<Range> ranges = new HashSet<>();
-                while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                    count++;
-                    try {
-                        addToRanges(idsIterator.next(), ranges);
-                    } catch (final RangeFactoryException e) {
-                        LOGGER.error("Failed to create a range from given seed", e);
+            while (null != scannerIterator) {
+                while (scannerIterator.hasNext()) {
+                    nextItem = convert(scannerIterator.next());
+                    if (null != nextItem) {
+                        return true;
                     }
                 }
-                scanner.close();
+                // If current scanner is spent then move on to the scanner for
+                // the next batch of seeds, if there is one.
                 try {
-                    scanner = getScanner(ranges);
-                } catch (final TableNotFoundException | StoreException e) {
+                    scannerIterator = scanners.next();
+                } catch (final RetrieverException e) {
                     LOGGER.error("{} returning iterator doesn't have any more elements", e.getMessage(), e);
-                    return false;
+                    scannerIterator = null;
+                    scanners.close();
                 }
-                scannerIterator = scanner.iterator();
-            }
-            if (!scannerIterator.hasNext()) {
-                scanner.close();
-                return false;
-            } else {
-                return hasNext();
             }
+            return false;
         }
 
         @Override
-        public Element next() {
-            if (null == nextElm) {
+        public T next() {
+            if (null == nextItem) {
                 if (!hasNext()) {
                     throw new NoSuchElementException();
                 }
             }
-            Element nextReturn = nextElm;
-            nextElm = null;
+            T nextReturn = nextItem;
+            nextItem = null;
             return nextReturn;
         }
 
@@ -192,8 +183,50 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
 
         @Override
         public void close() {
-            if (scanner != null) {
-                scanner.close();
+            scanners.close();
+        }
+
+        /**
+         * Converts a key value pair returned by the scanner into an item.
+         *
+         * @param entry the key value pair
+         * @return the item, or null if the key value pair should be skipped
+         */
+        protected abstract T convert(final Entry<Key, Value> entry);
+
+        /**
+         * Creates the scanner for a batch of seeds.
+         *
+         * @param ranges the ranges of the batch of seeds
+         * @return the scanner
+         * @throws TableNotFoundException if the table could not be found
+         * @throws StoreException         if a connection to accumulo could not be created
+         */
+        protected BatchScanner createScanner(final Set<Range> ranges) throws TableNotFoundException, StoreException {
+            return getScanner(ranges);
+        }
+
+        private BatchScanner createNextScanner() throws RetrieverException {
+            if (!idsIterator.hasNext()) {
+                return null;
+            }
+            int count = 0;
+            final Set<Range> ranges = new HashSet<>();
+            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
+                count++;
+                try {
+                    addToRanges(idsIterator.next(), ranges);
+                } catch (final RangeFactoryException e) {
+                    LOGGER.error("Failed to create a range from given seed", e);
+                }
+            }
+
+            // Create BatchScanner, appropriately configured (i.e. ranges,
+            // iterators, etc).
+            try {
+                return createScanner(ranges);
+            } catch (final TableNotFoundException | StoreException e) {
+                throw new RetrieverException(e);
             }
         }
     }
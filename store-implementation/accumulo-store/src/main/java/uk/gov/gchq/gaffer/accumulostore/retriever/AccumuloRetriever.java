@@ -26,15 +26,18 @@ import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
 import uk.gov.gchq.gaffer.accumulostore.key.IteratorSettingFactory;
 import uk.gov.gchq.gaffer.accumulostore.key.RangeFactory;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.Options;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.optimiser.rule.LimitPushdownRule;
 import uk.gov.gchq.gaffer.user.User;
 import java.util.Set;
 
@@ -48,6 +51,7 @@ public abstract class AccumuloRetriever<OP extends Output<CloseableIterable<? ex
     protected final OP operation;
     protected final AccumuloElementConverter elementConverter;
     protected final IteratorSetting[] iteratorSettings;
+    protected final IteratorSetting postTransformFilterIteratorSetting;
 
     protected AccumuloRetriever(final AccumuloStore store, final OP operation,
                                 final User user, final IteratorSetting... iteratorSettings)
@@ -58,6 +62,11 @@ public abstract class AccumuloRetriever<OP extends Output<CloseableIterable<? ex
         this.elementConverter = store.getKeyPackage().getKeyConverter();
         this.operation = operation;
         this.iteratorSettings = iteratorSettings;
+        try {
+            this.postTransformFilterIteratorSetting = iteratorSettingFactory.getElementPostTransformFilterIteratorSetting(operation.getView(), store);
+        } catch (final IteratorSettingException e) {
+            throw new StoreException(e.getMessage(), e);
+        }
         this.user = user;
         if (null != user && null != user.getDataAuths()) {
             this.authorisations = new Authorizations(
@@ -93,6 +102,22 @@ public abstract class AccumuloRetriever<OP extends Output<CloseableIterable<? ex
         return true;
     }
 
+    /**
+     * Returns the number of batch scanners to start ahead of the batch that is
+     * being read. If the operation has a result limit hint, from a
+     * {@link uk.gov.gchq.gaffer.operation.impl.Limit} that follows it, then no
+     * batch scanners are started ahead, as the results of the next batches are
+     * unlikely to be needed.
+     *
+     * @return the prefetch depth
+     */
+    protected int getBatchScannerPrefetchDepth() {
+        if (operation instanceof Options && null != LimitPushdownRule.getResultLimitHint((Options) operation)) {
+            return 0;
+        }
+        return store.getProperties().getBatchScannerPrefetchDepth();
+    }
+
     @Override
     public void close() {
         if (iterator != null) {
@@ -120,6 +145,11 @@ public abstract class AccumuloRetriever<OP extends Output<CloseableIterable<? ex
                 }
             }
         }
+        // Discard elements that fail the post transform filter on the tablet servers.
+        // Elements that pass are still transformed on the client.
+        if (null != postTransformFilterIteratorSetting) {
+            scanner.addScanIterator(postTransformFilterIteratorSetting);
+        }
         scanner.setRanges(ranges);
 
         for (final String col : operation.getView().getEdgeGroups()) {
@@ -45,6 +45,7 @@ import uk.gov.gchq.gaffer.operation.io.InputOutput;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map.Entry;
@@ -269,11 +270,10 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
         // as a secondary defeat of false positives.
         protected BloomFilter clientSideFilter;
         protected Set<Object> currentSeeds;
-        protected BatchScanner scanner;
         protected BloomFilter filter;
+        private BatchScannerQueue scanners;
         private Iterator<Entry<Key, Value>> scannerIterator;
         private Element nextElm;
-        private int count;
 
         public AbstractElementIteratorFromBatches() {
             // Set up client side filter
@@ -335,18 +335,37 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
 
         @Override
         public void close() {
-            if (scanner != null) {
-                scanner.close();
+            if (null != scanners) {
+                scanners.close();
             }
         }
 
         protected abstract void updateBloomFilterIfRequired(final EntityId seed) throws RetrieverException;
 
+        /**
+         * Starts the scanner for the first batch of seeds. If prefetching is
+         * enabled the scanners for the following batches are also started.
+         *
+         * @throws RetrieverException if the scanner could not be created
+         */
         protected void updateScanner() throws RetrieverException {
+            if (null == scanners) {
+                scanners = new BatchScannerQueue(this::createNextScanner, getBatchScannerPrefetchDepth());
+            }
+            scannerIterator = scanners.next();
+            if (null == scannerIterator) {
+                scannerIterator = Collections.emptyIterator();
+            }
+        }
+
+        private BatchScanner createNextScanner() throws RetrieverException {
+            if (!idsAIterator.hasNext()) {
+                return null;
+            }
             // Read through the first N entities (where N =
             // maxEntriesForBatchScanner), create the associated ranges
             // and add them to a set.
-            count = 0;
+            int count = 0;
             final Set<Range> ranges = new HashSet<>();
             while (idsAIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
                 final EntityId seed = idsAIterator.next();
@@ -360,6 +379,7 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
                 updateBloomFilterIfRequired(seed);
             }
 
+            final BatchScanner scanner;
             try {
                 scanner = getScanner(ranges);
             } catch (final TableNotFoundException | StoreException e) {
@@ -368,11 +388,13 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
                 throw new RetrieverException(e);
             }
             try {
+                // The Bloom filter is serialised into the iterator setting so
+                // later changes to it do not affect this scanner.
                 scanner.addScanIterator(iteratorSettingFactory.getBloomFilterIteratorSetting(filter));
             } catch (final IteratorSettingException e) {
                 LOGGER.error("Failed to apply the bloom filter iterator setting continuing without bloom filter", e);
             }
-            scannerIterator = scanner.iterator();
+            return scanner;
         }
 
         /**
@@ -395,13 +417,15 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
             // through the provided entities, and see if there are more.
             // If so create the next scanner, if there are no more entities
             // then return false.
-            while (idsAIterator.hasNext() && !scannerIterator.hasNext()) {
-                updateScanner();
-            }
-            if (!scannerIterator.hasNext()) {
-                scanner.close();
+            while (!scannerIterator.hasNext()) {
+                scannerIterator = scanners.next();
+                if (null == scannerIterator) {
+                    scannerIterator = Collections.emptyIterator();
+                    scanners.close();
+                    return false;
+                }
             }
-            return scannerIterator.hasNext();
+            return true;
         }
     }
 }
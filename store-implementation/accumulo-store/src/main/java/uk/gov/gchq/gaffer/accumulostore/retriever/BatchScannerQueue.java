@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.retriever;
+
+import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map.Entry;
+
+/**
+ * A BatchScannerQueue supplies the {@link BatchScanner}s for successive batches of seeds. If the prefetch depth is
+ * greater than 0 then up to that many scanners are created and started ahead of the scanner that is currently being
+ * consumed. A {@link BatchScanner} starts reading from the tablet servers as soon as its iterator is requested, so
+ * the tablet servers are kept busy with the next batches whilst the current batch is consumed. The memory used by
+ * each started scanner is bounded by the size of its internal results queue, so the total memory is bounded by the
+ * prefetch depth.
+ * <p>
+ * With a prefetch depth of 0 the next scanner is only created once the current scanner has been fully consumed.
+ */
+class BatchScannerQueue {
+    private final BatchScannerFactory factory;
+    private final int prefetchDepth;
+    private final Deque<Pair<BatchScanner, Iterator<Entry<Key, Value>>>> prefetched = new ArrayDeque<>();
+    private BatchScanner current;
+    private boolean noMoreBatches;
+
+    BatchScannerQueue(final BatchScannerFactory factory, final int prefetchDepth) {
+        this.factory = factory;
+        this.prefetchDepth = prefetchDepth;
+    }
+
+    /**
+     * Closes the current scanner and returns an iterator over the results of the next batch.
+     *
+     * @return an iterator over the next batch, or null if there are no more batches.
+     * @throws RetrieverException if the next scanner could not be created
+     */
+    Iterator<Entry<Key, Value>> next() throws RetrieverException {
+        closeCurrent();
+        Pair<BatchScanner, Iterator<Entry<Key, Value>>> next = prefetched.pollFirst();
+        if (null == next) {
+            next = start();
+        }
+        if (null == next) {
+            return null;
+        }
+        current = next.getFirst();
+        while (prefetched.size() < prefetchDepth) {
+            final Pair<BatchScanner, Iterator<Entry<Key, Value>>> prefetch = start();
+            if (null == prefetch) {
+                break;
+            }
+            prefetched.addLast(prefetch);
+        }
+        return next.getSecond();
+    }
+
+    void close() {
+        closeCurrent();
+        for (final Pair<BatchScanner, Iterator<Entry<Key, Value>>> pair : prefetched) {
+            pair.getFirst().close();
+        }
+        prefetched.clear();
+    }
+
+    private void closeCurrent() {
+        if (null != current) {
+            current.close();
+            current = null;
+        }
+    }
+
+    private Pair<BatchScanner, Iterator<Entry<Key, Value>>> start() throws RetrieverException {
+        if (noMoreBatches) {
+            return null;
+        }
+        final BatchScanner scanner = factory.createNextScanner();
+        if (null == scanner) {
+            noMoreBatches = true;
+            return null;
+        }
+        // Requesting the iterator starts the scan
+        return new Pair<>(scanner, scanner.iterator());
+    }
+
+    /**
+     * Creates the {@link BatchScanner} for the next batch of seeds.
+     */
+    interface BatchScannerFactory {
+        /**
+         * @return the scanner for the next batch, or null if there are no more batches.
+         * @throws RetrieverException if the scanner could not be created
+         */
+        BatchScanner createNextScanner() throws RetrieverException;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
+
+import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.impl.AdjacentVertexIterator;
+import uk.gov.gchq.gaffer.accumulostore.retriever.RetrieverException;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorSettingBuilder;
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.EmptyCloseableIterator;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.user.User;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * Retrieves the vertices adjacent to the seeds of a {@link GetElements} operation for edges. The
+ * {@link AdjacentVertexIterator} is applied on the tablet servers after the given iterators, so only the serialised
+ * adjacent vertex of each edge is returned to the client and the edges are never deserialised.
+ * <p>
+ * The operation should have the {@link AccumuloStoreConstants#OPERATION_RETURN_MATCHED_SEEDS_AS_EDGE_SOURCE} option
+ * set and a view without entities.
+ */
+public class AccumuloAdjacentIdRetriever extends AccumuloSingleIDRetriever<GetElements> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloAdjacentIdRetriever.class);
+
+    private final IteratorSetting adjacentVertexIteratorSetting;
+    private final ToBytesSerialiser vertexSerialiser;
+
+    public AccumuloAdjacentIdRetriever(final AccumuloStore store, final GetElements operation, final User user,
+                                       final IteratorSetting... iteratorSettings) throws StoreException {
+        super(store, operation, user, iteratorSettings);
+        this.adjacentVertexIteratorSetting = new IteratorSettingBuilder(
+                AccumuloStoreConstants.ADJACENT_VERTEX_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.ADJACENT_VERTEX_ITERATOR_NAME, AdjacentVertexIterator.class)
+                .schema(store.getSchema())
+                .keyConverter(store.getKeyPackage().getKeyConverter())
+                .build();
+        this.vertexSerialiser = (ToBytesSerialiser) store.getSchema().getVertexSerialiser();
+    }
+
+    /**
+     * Only 1 iterator of the returned iterable can be open at a time.
+     *
+     * @return the adjacent ids
+     */
+    public CloseableIterable<EntityId> getAdjacentIds() {
+        return new AdjacentIdIterable();
+    }
+
+    private final class AdjacentIdIterable implements CloseableIterable<EntityId> {
+        private CloseableIterator<EntityId> adjacentIdIterator;
+
+        @Override
+        public CloseableIterator<EntityId> iterator() {
+            CloseableUtil.close(adjacentIdIterator);
+
+            final Iterable<? extends ElementId> ids = getIds();
+            final Iterator<? extends ElementId> idIterator = null != ids ? ids.iterator() : null;
+            if (null == idIterator || !idIterator.hasNext()) {
+                return new EmptyCloseableIterator<>();
+            }
+
+            try {
+                adjacentIdIterator = new AdjacentIdIterator(idIterator);
+            } catch (final RetrieverException e) {
+                LOGGER.error("{} returning empty iterator", e.getMessage(), e);
+                return new EmptyCloseableIterator<>();
+            }
+            return adjacentIdIterator;
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(adjacentIdIterator);
+        }
+    }
+
+    private final class AdjacentIdIterator extends BatchedScanIterator<EntityId> {
+        private AdjacentIdIterator(final Iterator<? extends ElementId> idIterator) throws RetrieverException {
+            super(idIterator);
+        }
+
+        @Override
+        protected EntityId convert(final Entry<Key, Value> entry) {
+            try {
+                return new EntitySeed(vertexSerialiser.deserialise(entry.getValue().get()));
+            } catch (final SerialisationException e) {
+                LOGGER.error("Failed to deserialise an adjacent vertex, skipping it", e);
+                return null;
+            }
+        }
+
+        @Override
+        protected BatchScanner createScanner(final Set<Range> ranges) throws TableNotFoundException, StoreException {
+            final BatchScanner scanner = super.createScanner(ranges);
+            scanner.addScanIterator(adjacentVertexIteratorSetting);
+            return scanner;
+        }
+    }
+}
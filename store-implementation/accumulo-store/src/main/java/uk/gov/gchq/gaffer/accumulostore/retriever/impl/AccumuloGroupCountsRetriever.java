@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
+
+import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
+import uk.gov.gchq.gaffer.accumulostore.key.impl.GroupCountingIterator;
+import uk.gov.gchq.gaffer.accumulostore.retriever.RetrieverException;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.user.User;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Counts the elements in each group that would be returned by an {@link AccumuloAllElementsRetriever} for the same
+ * operation. The same iterators are applied on the tablet servers, followed by a {@link GroupCountingIterator}, so
+ * only the counts for each tablet are returned to the client.
+ */
+public class AccumuloGroupCountsRetriever extends AccumuloAllElementsRetriever {
+    public AccumuloGroupCountsRetriever(final AccumuloStore store, final GetAllElements operation, final User user)
+            throws IteratorSettingException, StoreException {
+        super(store, operation, user);
+    }
+
+    /**
+     * @return the number of elements in each group. Groups with no elements are not included.
+     * @throws RetrieverException if the counts could not be retrieved
+     */
+    public Map<String, Long> getGroupCounts() throws RetrieverException {
+        final Map<String, Long> counts = new HashMap<>();
+        final BatchScanner scanner;
+        try {
+            scanner = getScanner(Collections.singleton(new Range()));
+        } catch (final TableNotFoundException | StoreException e) {
+            throw new RetrieverException(e);
+        }
+
+        try {
+            scanner.addScanIterator(new IteratorSetting(AccumuloStoreConstants.GROUP_COUNTING_ITERATOR_PRIORITY,
+                    AccumuloStoreConstants.GROUP_COUNTING_ITERATOR_NAME, GroupCountingIterator.class));
+            for (final Entry<Key, Value> entry : scanner) {
+                GroupCountingIterator.decodeCounts(entry.getValue(), elementConverter::getGroupFromColumnFamily)
+                        .forEach((group, count) -> counts.merge(group, count, Long::sum));
+            }
+        } catch (final IOException e) {
+            throw new RetrieverException("Failed to decode group counts", e);
+        } finally {
+            scanner.close();
+        }
+        return counts;
+    }
+}
@@ -23,11 +23,15 @@ public final class AccumuloStoreConstants {
     public static final String BLOOM_FILTER_ITERATOR_NAME = "Bloom_Filter";
     public static final String ELEMENT_PRE_AGGREGATION_FILTER_ITERATOR_NAME = "Element_Pre_Aggregation_Filter";
     public static final String ELEMENT_POST_AGGREGATION_FILTER_ITERATOR_NAME = "Element_Post_Aggregation_Filter";
+    public static final String ELEMENT_POST_TRANSFORM_FILTER_ITERATOR_NAME = "Element_Post_Transform_Filter";
 
     public static final String EDGE_ENTITY_DIRECTED_UNDIRECTED_INCOMING_OUTGOING_FILTER_ITERATOR_NAME = "Edge_Entity_Directed_Undirected_Incoming_Outgoing_Filter";
     public static final String COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_NAME = "Column_Qualifier_Aggregator";
     public static final String ROW_ID_AGGREGATOR_ITERATOR_NAME = "Row_ID_Aggregator";
     public static final String RANGE_ELEMENT_PROPERTY_FILTER_ITERATOR_NAME = "Range_Element_Property_Filter";
+    public static final String GROUP_COUNTING_ITERATOR_NAME = "Group_Counting";
+    public static final String ADJACENT_VERTEX_ITERATOR_NAME = "Adjacent_Vertex";
+    public static final String PROPERTY_PROJECTION_ITERATOR_NAME = "Property_Projection";
 
     // Converter class to be used in iterators must be on classpath of all
     // iterators
@@ -46,6 +50,7 @@ public final class AccumuloStoreConstants {
     public static final String BLOOM_FILTER = "Bloom_Filter";
     public static final String BLOOM_FILTER_CHARSET = "ISO-8859-1";
     public static final String COLUMN_FAMILY = "columnFamily";
+    public static final String PROPERTIES = "Properties";
 
     // Iterator priorities
     // Applied during major compactions, minor compactions  and scans.
@@ -66,6 +71,14 @@ public final class AccumuloStoreConstants {
     public static final int COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_PRIORITY = 36;
     // Applied only during scans.
     public static final int ELEMENT_POST_AGGREGATION_FILTER_ITERATOR_PRIORITY = 37;
+    // Applied only during scans.
+    public static final int ELEMENT_POST_TRANSFORM_FILTER_ITERATOR_PRIORITY = 38;
+    // Applied only during scans, and only when counting elements.
+    public static final int GROUP_COUNTING_ITERATOR_PRIORITY = 39;
+    // Applied only during scans, and only when getting adjacent ids.
+    public static final int ADJACENT_VERTEX_ITERATOR_PRIORITY = 40;
+    // Applied only during scans, and only when a subset of the properties is required.
+    public static final int PROPERTY_PROJECTION_ITERATOR_PRIORITY = 41;
 
     // Operations options
     public static final String OPERATION_HDFS_USE_ACCUMULO_PARTITIONER = "accumulostore.operation.hdfs.use_accumulo_partitioner";
@@ -75,6 +88,7 @@ public final class AccumuloStoreConstants {
     public static final String OPERATION_BULK_IMPORT_MIN_REDUCERS = "accumulostore.operation.bulk_import.min_reducers";
     public static final String ADD_ELEMENTS_FROM_HDFS_SKIP_IMPORT = "accumulostore.operation.hdfs.skip_import";
     public static final String OPERATION_RETURN_MATCHED_SEEDS_AS_EDGE_SOURCE = "accumulostore.operation.return_matched_id_as_edge_source";
+    public static final String OPERATION_REQUIRED_PROPERTIES = "accumulostore.operation.required_properties";
 
     // General use constants
     public static final byte[] EMPTY_BYTES = new byte[0];
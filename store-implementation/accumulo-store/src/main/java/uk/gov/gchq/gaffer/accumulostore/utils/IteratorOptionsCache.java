@@ -0,0 +1,166 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.store.ElementValidator;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A JVM wide cache of the {@link Schema}s, {@link View}s, {@link ElementValidator}s and
+ * {@link AccumuloElementConverter}s that iterators build from their options.
+ * <p>
+ * Accumulo creates new iterators for every scan session and whenever an iterator is deep copied, so without
+ * this cache the schema and view JSON would be parsed and a converter created via reflection each time.
+ * The cached objects are keyed on the JSON strings and are shared between iterators running on different
+ * threads, so they must not be modified. Each cache holds at most {@link #MAX_SIZE} entries and evicts the
+ * least recently used entry when full.
+ */
+public final class IteratorOptionsCache {
+    public static final int MAX_SIZE = 100;
+
+    private static final Map<String, Schema> SCHEMAS = new LruCache<>();
+    private static final Map<String, View> VIEWS = new LruCache<>();
+    private static final Map<String, ElementValidator> VIEW_VALIDATORS = new LruCache<>();
+    private static final Map<Pair<String, Boolean>, ElementValidator> SCHEMA_VALIDATORS = new LruCache<>();
+    private static final Map<Pair<String, String>, AccumuloElementConverter> CONVERTERS = new LruCache<>();
+
+    private IteratorOptionsCache() {
+        // private to prevent instantiation
+    }
+
+    public static Schema getSchema(final String schemaJson) {
+        synchronized (SCHEMAS) {
+            Schema schema = SCHEMAS.get(schemaJson);
+            if (null == schema) {
+                try {
+                    schema = Schema.fromJson(schemaJson.getBytes(CommonConstants.UTF_8));
+                } catch (final UnsupportedEncodingException e) {
+                    throw new SchemaException("Unable to deserialise the schema from JSON", e);
+                }
+                SCHEMAS.put(schemaJson, schema);
+            }
+            return schema;
+        }
+    }
+
+    public static View getView(final String viewJson) {
+        synchronized (VIEWS) {
+            View view = VIEWS.get(viewJson);
+            if (null == view) {
+                try {
+                    view = View.fromJson(viewJson.getBytes(CommonConstants.UTF_8));
+                } catch (final UnsupportedEncodingException e) {
+                    throw new SchemaException("Unable to deserialise the view from JSON", e);
+                }
+                VIEWS.put(viewJson, view);
+            }
+            return view;
+        }
+    }
+
+    public static ElementValidator getViewValidator(final String viewJson) {
+        synchronized (VIEW_VALIDATORS) {
+            ElementValidator validator = VIEW_VALIDATORS.get(viewJson);
+            if (null == validator) {
+                validator = new ElementValidator(getView(viewJson));
+                VIEW_VALIDATORS.put(viewJson, validator);
+            }
+            return validator;
+        }
+    }
+
+    public static ElementValidator getSchemaValidator(final String schemaJson, final boolean includeIsA) {
+        final Pair<String, Boolean> key = new Pair<>(schemaJson, includeIsA);
+        synchronized (SCHEMA_VALIDATORS) {
+            ElementValidator validator = SCHEMA_VALIDATORS.get(key);
+            if (null == validator) {
+                validator = new ElementValidator(getSchema(schemaJson), includeIsA);
+                SCHEMA_VALIDATORS.put(key, validator);
+            }
+            return validator;
+        }
+    }
+
+    /**
+     * Gets an {@link AccumuloElementConverter} of the given class for the given schema.
+     *
+     * @param converterClassName the name of the {@link AccumuloElementConverter} class
+     * @param schemaJson         the schema JSON
+     * @return the element converter
+     * @throws ClassNotFoundException    if the converter class cannot be found
+     * @throws NoSuchMethodException     if the converter does not have a constructor that takes a schema
+     * @throws InstantiationException    if the converter class is abstract
+     * @throws IllegalAccessException    if the converter constructor is not accessible
+     * @throws InvocationTargetException if the converter constructor throws an exception
+     */
+    public static AccumuloElementConverter getElementConverter(final String converterClassName, final String schemaJson)
+            throws ClassNotFoundException, NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException {
+        final Pair<String, String> key = new Pair<>(converterClassName, schemaJson);
+        synchronized (CONVERTERS) {
+            AccumuloElementConverter converter = CONVERTERS.get(key);
+            if (null == converter) {
+                converter = (AccumuloElementConverter) Class.forName(converterClassName)
+                        .getConstructor(Schema.class)
+                        .newInstance(getSchema(schemaJson));
+                CONVERTERS.put(key, converter);
+            }
+            return converter;
+        }
+    }
+
+    /**
+     * Removes all entries from the caches.
+     */
+    public static void clear() {
+        synchronized (SCHEMAS) {
+            SCHEMAS.clear();
+        }
+        synchronized (VIEWS) {
+            VIEWS.clear();
+        }
+        synchronized (VIEW_VALIDATORS) {
+            VIEW_VALIDATORS.clear();
+        }
+        synchronized (SCHEMA_VALIDATORS) {
+            SCHEMA_VALIDATORS.clear();
+        }
+        synchronized (CONVERTERS) {
+            CONVERTERS.clear();
+        }
+    }
+
+    private static final class LruCache<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 3315217465183357361L;
+
+        private LruCache() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+            return size() > MAX_SIZE;
+        }
+    }
+}
@@ -141,10 +141,14 @@ public class IteratorSettingBuilder {
 
     public IteratorSettingBuilder view(final View view) {
         try {
-            setting.addOption(AccumuloStoreConstants.VIEW, new String(view.toCompactJson(), CommonConstants.UTF_8));
+            return view(new String(view.toCompactJson(), CommonConstants.UTF_8));
         } catch (final UnsupportedEncodingException e) {
             throw new SchemaException("Unable to deserialise view from JSON", e);
         }
+    }
+
+    public IteratorSettingBuilder view(final String viewJson) {
+        setting.addOption(AccumuloStoreConstants.VIEW, viewJson);
         return this;
     }
 
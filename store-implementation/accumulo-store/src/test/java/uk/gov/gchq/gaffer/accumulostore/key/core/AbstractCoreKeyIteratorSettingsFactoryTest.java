@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.key.core;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityIteratorSettingsFactory;
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.GlobalViewElementDefinition;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class AbstractCoreKeyIteratorSettingsFactoryTest {
+
+    @Test
+    public void shouldSerialiseEachViewOnce() throws Exception {
+        // Given
+        final AbstractCoreKeyIteratorSettingsFactory factory = new ByteEntityIteratorSettingsFactory();
+        final View view = mock(View.class);
+        given(view.toCompactJson()).willReturn("CompactView".getBytes(CommonConstants.UTF_8));
+
+        // When
+        final String viewJson1 = factory.getViewJson(view);
+        final String viewJson2 = factory.getViewJson(view);
+
+        // Then
+        assertEquals("CompactView", viewJson1);
+        assertSame(viewJson1, viewJson2);
+        verify(view, times(1)).toCompactJson();
+    }
+
+    @Test
+    public void shouldSerialiseViewAgainAfterGlobalDefinitionsAreExpanded() throws Exception {
+        // Given
+        final AbstractCoreKeyIteratorSettingsFactory factory = new ByteEntityIteratorSettingsFactory();
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE)
+                .globalElements(new GlobalViewElementDefinition.Builder()
+                        .groupBy()
+                        .build())
+                .build();
+        factory.getViewJson(view);
+
+        // When
+        view.expandGlobalDefinitions();
+        final String viewJson = factory.getViewJson(view);
+
+        // Then
+        assertEquals(new String(view.toCompactJson(), CommonConstants.UTF_8), viewJson);
+    }
+}
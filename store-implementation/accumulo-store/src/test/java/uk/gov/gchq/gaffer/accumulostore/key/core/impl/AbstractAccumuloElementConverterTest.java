@@ -24,6 +24,7 @@ import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionE
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloPropertyNames;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.binaryoperator.FreqMapAggregator;
+import uk.gov.gchq.gaffer.commonutil.ByteArrayEscapeUtils;
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
@@ -39,10 +40,15 @@ import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
 import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
 import uk.gov.gchq.gaffer.types.FreqMap;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -79,6 +85,25 @@ public abstract class AbstractAccumuloElementConverterTest {
         assertEquals(true, newEdge.isDirected());
     }
 
+    @Test
+    public void shouldGetAdjacentVertexFromRowKeys() throws SchemaException, IOException {
+        // Given
+        final Edge edge = new Edge(TestGroups.EDGE, "1", "2", true);
+        final Entity entity = new Entity(TestGroups.ENTITY, "3");
+
+        // When
+        final Pair<Key, Key> keys = converter.getKeysFromElement(edge);
+        final byte[] destination = converter.getAdjacentVertexFromRowKey(keys.getFirst().getRow().copyBytes());
+        final byte[] source = converter.getAdjacentVertexFromRowKey(keys.getSecond().getRow().copyBytes());
+        final byte[] entityVertex = converter.getAdjacentVertexFromRowKey(
+                converter.getKeyFromEntity(entity).getRow().copyBytes());
+
+        // Then
+        assertArrayEquals(ByteArrayEscapeUtils.unEscape(converter.serialiseVertex("2")), destination);
+        assertArrayEquals(ByteArrayEscapeUtils.unEscape(converter.serialiseVertex("1")), source);
+        assertNull(entityVertex);
+    }
+
     @Test
     public void shouldReturnAccumuloKeyConverterFromBasicEntity() throws SchemaException, IOException {
         // Given
@@ -165,6 +190,73 @@ public abstract class AbstractAccumuloElementConverterTest {
         assertEquals(100, newEntity.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER));
     }
 
+    @Test
+    public void shouldGetLazyEdgeWithSameIdentifiersAndPropertiesAsFullElement() throws SchemaException, IOException {
+        // Given
+        final Edge edge = new Edge(TestGroups.EDGE, "1", "2", true);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 100);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER_3, 300);
+        edge.putProperty(AccumuloPropertyNames.PROP_1, 1);
+        edge.putProperty(AccumuloPropertyNames.PROP_3, 3);
+        edge.putProperty(AccumuloPropertyNames.COUNT, 5);
+        final Pair<Key, Key> keys = converter.getKeysFromElement(edge);
+        final Value value = converter.getValueFromElement(edge);
+
+        for (final Key key : Arrays.asList(keys.getFirst(), keys.getSecond())) {
+            // When
+            final Edge lazyEdge = (Edge) converter.getLazyElement(key, value);
+
+            // Then
+            assertEquals(5, lazyEdge.getProperty(AccumuloPropertyNames.COUNT));
+            assertEquals(300, lazyEdge.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER_3));
+            assertNull(lazyEdge.getProperty(AccumuloPropertyNames.PROP_2));
+            assertEquals(1, lazyEdge.getProperty(AccumuloPropertyNames.PROP_1));
+            assertEquals(3, lazyEdge.getProperty(AccumuloPropertyNames.PROP_3));
+            assertEquals(100, lazyEdge.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER));
+            assertTrue(lazyEdge.isDirected());
+            assertEquals(converter.getFullElement(key, value), lazyEdge);
+        }
+    }
+
+    @Test
+    public void shouldGetLazyEntityWithSameIdentifiersAndPropertiesAsFullElement() throws SchemaException, IOException {
+        // Given
+        final Entity entity = new Entity(TestGroups.ENTITY, "3");
+        entity.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER_2, 200);
+        entity.putProperty(AccumuloPropertyNames.PROP_4, 4);
+        final Key key = converter.getKeyFromEntity(entity);
+        final Value value = converter.getValueFromElement(entity);
+
+        // When
+        final Entity lazyEntity = (Entity) converter.getLazyElement(key, value);
+
+        // Then
+        assertEquals(4, lazyEntity.getProperty(AccumuloPropertyNames.PROP_4));
+        assertEquals(200, lazyEntity.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER_2));
+        assertEquals("3", lazyEntity.getVertex());
+        assertEquals(converter.getFullElement(key, value), lazyEntity);
+    }
+
+    @Test
+    public void shouldGetLazyPropertiesWithSameValuesAsFullElement() throws SchemaException, IOException {
+        // Given
+        final Entity entity = new Entity(TestGroups.ENTITY, "3");
+        entity.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 100);
+        entity.putProperty(AccumuloPropertyNames.PROP_2, 2);
+        entity.putProperty(AccumuloPropertyNames.COUNT, 5);
+        final Key key = converter.getKeyFromEntity(entity);
+        final Value value = converter.getValueFromElement(entity);
+
+        // When
+        final Properties properties = converter.getLazyProperties(TestGroups.ENTITY, key, value);
+
+        // Then
+        assertEquals(5, properties.get(AccumuloPropertyNames.COUNT));
+        assertEquals(2, properties.get(AccumuloPropertyNames.PROP_2));
+        assertEquals(100, properties.get(AccumuloPropertyNames.COLUMN_QUALIFIER));
+        assertNull(properties.get(AccumuloPropertyNames.PROP_1));
+    }
+
     @Test
     public void shouldGetOriginalEdgeWithMatchAsSourceNotSet() throws SchemaException, IOException {
         // Given
@@ -311,6 +403,46 @@ public abstract class AbstractAccumuloElementConverterTest {
         assertEquals(8, deSerialisedProperties.get(AccumuloPropertyNames.COUNT));
     }
 
+    @Test
+    public void shouldRemovePropertiesThatAreNotRequiredFromValue() {
+        // Given
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.PROP_1, 60);
+        properties.put(AccumuloPropertyNames.PROP_2, 166);
+        properties.put(AccumuloPropertyNames.PROP_3, 299);
+        properties.put(AccumuloPropertyNames.PROP_4, 10);
+        properties.put(AccumuloPropertyNames.COUNT, 8);
+        final Value value = converter.getValueFromProperties(TestGroups.EDGE, properties);
+
+        // When
+        final Value projectedValue = converter.getValueWithProperties(TestGroups.EDGE, value,
+                new HashSet<>(Arrays.asList(AccumuloPropertyNames.PROP_2, AccumuloPropertyNames.PROP_3)));
+
+        // Then
+        assertTrue(projectedValue.getSize() < value.getSize());
+        final Properties projectedProperties = converter.getPropertiesFromValue(TestGroups.EDGE, projectedValue);
+        assertEquals(166, projectedProperties.get(AccumuloPropertyNames.PROP_2));
+        assertEquals(299, projectedProperties.get(AccumuloPropertyNames.PROP_3));
+        assertFalse(projectedProperties.containsKey(AccumuloPropertyNames.PROP_4));
+        assertFalse(projectedProperties.containsKey(AccumuloPropertyNames.COUNT));
+    }
+
+    @Test
+    public void shouldRemoveAllPropertiesFromValueWhenNoneAreRequired() {
+        // Given
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.PROP_1, 60);
+        properties.put(AccumuloPropertyNames.COUNT, 8);
+        final Value value = converter.getValueFromProperties(TestGroups.EDGE, properties);
+
+        // When
+        final Value projectedValue = converter.getValueWithProperties(TestGroups.EDGE, value, Collections.emptySet());
+
+        // Then
+        assertEquals(0, projectedValue.getSize());
+        assertTrue(converter.getPropertiesFromValue(TestGroups.EDGE, projectedValue).isEmpty());
+    }
+
     @Test
     public void shouldTruncatePropertyBytes() {
         // Given
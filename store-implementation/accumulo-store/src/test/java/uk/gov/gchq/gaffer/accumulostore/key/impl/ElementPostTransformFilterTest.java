@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.accumulostore.key.AbstractElementFilter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityIteratorSettingsFactory;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.function.Identity;
+import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
+import java.io.UnsupportedEncodingException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ElementPostTransformFilterTest {
+    private static final String TRANSIENT_PROPERTY = "transientProperty";
+
+    @Test
+    public void shouldAcceptElementWhenTransformedElementPassesPostTransformFilter() throws Exception {
+        // Given
+        final AbstractElementFilter filter = createFilter(getView());
+        final Edge edge = new Edge(TestGroups.EDGE, "source", "dest", true);
+        edge.putProperty(TestPropertyNames.PROP_1, "keep");
+
+        // When
+        final boolean accept = accept(filter, edge);
+
+        // Then
+        assertTrue(accept);
+    }
+
+    @Test
+    public void shouldNotAcceptElementWhenTransformedElementFailsPostTransformFilter() throws Exception {
+        // Given
+        final AbstractElementFilter filter = createFilter(getView());
+        final Edge edge = new Edge(TestGroups.EDGE, "source", "dest", true);
+        edge.putProperty(TestPropertyNames.PROP_1, "discard");
+
+        // When
+        final boolean accept = accept(filter, edge);
+
+        // Then
+        assertFalse(accept);
+    }
+
+    @Test
+    public void shouldAcceptElementWhenViewHasNoPostTransformFilter() throws Exception {
+        // Given
+        final AbstractElementFilter filter = createFilter(new View.Builder()
+                .edge(TestGroups.EDGE)
+                .build());
+        final Edge edge = new Edge(TestGroups.EDGE, "source", "dest", true);
+        edge.putProperty(TestPropertyNames.PROP_1, "discard");
+
+        // When
+        final boolean accept = accept(filter, edge);
+
+        // Then
+        assertTrue(accept);
+    }
+
+    @Test
+    public void shouldOnlyRequireIteratorWhenViewHasPostTransformFilter() {
+        // Given
+        final ByteEntityIteratorSettingsFactory factory = new ByteEntityIteratorSettingsFactory();
+
+        // When
+        final boolean requiredWithFilter = factory.postTransformFilterRequired(getView());
+        final boolean requiredWithoutFilter = factory.postTransformFilterRequired(new View.Builder()
+                .edge(TestGroups.EDGE)
+                .build());
+
+        // Then
+        assertTrue(requiredWithFilter);
+        assertFalse(requiredWithoutFilter);
+    }
+
+    private boolean accept(final AbstractElementFilter filter, final Element element) throws Exception {
+        final ByteEntityAccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(getSchema());
+        final Pair<Key, Key> key = converter.getKeysFromElement(element);
+        final Value value = converter.getValueFromElement(element);
+        return filter.accept(key.getFirst(), value);
+    }
+
+    private AbstractElementFilter createFilter(final View view) throws UnsupportedEncodingException {
+        final AbstractElementFilter filter = new ElementPostTransformFilter();
+        final Map<String, String> options = new HashMap<>();
+        options.put(AccumuloStoreConstants.SCHEMA, new String(getSchema().toCompactJson(), CommonConstants.UTF_8));
+        options.put(AccumuloStoreConstants.VIEW, new String(view.toCompactJson(), CommonConstants.UTF_8));
+        options.put(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS,
+                ByteEntityAccumuloElementConverter.class.getName());
+        filter.validateOptions(options);
+        return filter;
+    }
+
+    private View getView() {
+        return new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .transientProperty(TRANSIENT_PROPERTY, String.class)
+                        .transformer(new ElementTransformer.Builder()
+                                .select(TestPropertyNames.PROP_1)
+                                .execute(new Identity())
+                                .project(TRANSIENT_PROPERTY)
+                                .build())
+                        .postTransformFilter(new ElementFilter.Builder()
+                                .select(TRANSIENT_PROPERTY)
+                                .execute(new IsEqual("keep"))
+                                .build())
+                        .build())
+                .build();
+    }
+
+    private Schema getSchema() {
+        return new Schema.Builder()
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                        .source("string")
+                        .destination("string")
+                        .property(TestPropertyNames.PROP_1, "string")
+                        .build())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.operation.handler;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class GetAdjacentIdsHandlerTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(GetAdjacentIdsHandlerTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(GetAdjacentIdsHandlerTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(GetAdjacentIdsHandlerTest.class, "/accumuloStoreClassicKeys.properties"));
+
+    private final User user = new User();
+
+    @Test
+    public void shouldGetAnAdjacentIdForEachParallelEdgeByteEntityStore() throws OperationException, StoreException {
+        shouldGetAnAdjacentIdForEachParallelEdge(PROPERTIES);
+    }
+
+    @Test
+    public void shouldGetAnAdjacentIdForEachParallelEdgeGaffer1Store() throws OperationException, StoreException {
+        shouldGetAnAdjacentIdForEachParallelEdge(CLASSIC_PROPERTIES);
+    }
+
+    private void shouldGetAnAdjacentIdForEachParallelEdge(final AccumuloProperties properties) throws OperationException, StoreException {
+        // Given
+        final AccumuloStore store = createStore(properties);
+
+        // When
+        final List<Object> adjacentIds = getAdjacentIds(store, getDefaultView(), "A");
+
+        // Then
+        assertEquals(Arrays.asList("B", "B", "B", "B", "B", "C"), adjacentIds);
+    }
+
+    @Test
+    public void shouldApplyViewFiltersToEdgesByteEntityStore() throws OperationException, StoreException {
+        shouldApplyViewFiltersToEdges(PROPERTIES);
+    }
+
+    @Test
+    public void shouldApplyViewFiltersToEdgesGaffer1Store() throws OperationException, StoreException {
+        shouldApplyViewFiltersToEdges(CLASSIC_PROPERTIES);
+    }
+
+    private void shouldApplyViewFiltersToEdges(final AccumuloProperties properties) throws OperationException, StoreException {
+        // Given
+        final AccumuloStore store = createStore(properties);
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .preAggregationFilter(new ElementFilter.Builder()
+                                .select(AccumuloPropertyNames.COUNT)
+                                .execute(new IsMoreThan(2))
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final List<Object> adjacentIds = getAdjacentIds(store, view, "A", "C");
+
+        // Then
+        assertEquals(Arrays.asList("B", "B", "B", "B"), adjacentIds);
+    }
+
+    @Test
+    public void shouldGetAdjacentIdsOfEachSeedByteEntityStore() throws OperationException, StoreException {
+        shouldGetAdjacentIdsOfEachSeed(PROPERTIES);
+    }
+
+    @Test
+    public void shouldGetAdjacentIdsOfEachSeedGaffer1Store() throws OperationException, StoreException {
+        shouldGetAdjacentIdsOfEachSeed(CLASSIC_PROPERTIES);
+    }
+
+    private void shouldGetAdjacentIdsOfEachSeed(final AccumuloProperties properties) throws OperationException, StoreException {
+        // Given
+        final AccumuloStore store = createStore(properties);
+
+        // When
+        final List<Object> adjacentIds = getAdjacentIds(store, getDefaultView(), "B", "C");
+
+        // Then
+        assertEquals(Arrays.asList("A", "A", "A", "A", "A", "A"), adjacentIds);
+    }
+
+    private List<Object> getAdjacentIds(final AccumuloStore store, final View view, final String... seeds)
+            throws OperationException {
+        final List<EntitySeed> entitySeeds = new ArrayList<>();
+        for (final String seed : seeds) {
+            entitySeeds.add(new EntitySeed(seed));
+        }
+
+        final List<Object> adjacentIds = new ArrayList<>();
+        try (final CloseableIterable<? extends EntityId> results = store.execute(new GetAdjacentIds.Builder()
+                .input(entitySeeds)
+                .view(view)
+                .build(), user)) {
+            for (final EntityId result : results) {
+                adjacentIds.add(result.getVertex());
+            }
+        }
+        adjacentIds.sort(null);
+        return adjacentIds;
+    }
+
+    private AccumuloStore createStore(final AccumuloProperties properties) throws OperationException, StoreException {
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(SCHEMA, properties);
+        store.execute(new AddElements.Builder()
+                .input(getElements())
+                .build(), user);
+        return store;
+    }
+
+    private static View getDefaultView() {
+        return new View.Builder()
+                .edge(TestGroups.EDGE)
+                .edge(TestGroups.EDGE_2)
+                .build();
+    }
+
+    private static List<Element> getElements() {
+        final List<Element> elements = new ArrayList<>();
+        final Entity entity = new Entity(TestGroups.ENTITY, "A");
+        entity.putProperty(AccumuloPropertyNames.COUNT, 1);
+        elements.add(entity);
+
+        // Parallel edges from A to B in different groups, directions and group by properties
+        for (final boolean directed : Arrays.asList(true, false)) {
+            for (int i = 0; i < 2; i++) {
+                final Edge edge = new Edge(TestGroups.EDGE, "A", "B", directed);
+                edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, i);
+                edge.putProperty(AccumuloPropertyNames.COUNT, 5);
+                elements.add(edge);
+            }
+        }
+        final Edge edge2 = new Edge(TestGroups.EDGE_2, "A", "B", true);
+        edge2.putProperty(AccumuloPropertyNames.COUNT, 1);
+        elements.add(edge2);
+
+        final Edge edgeToC = new Edge(TestGroups.EDGE, "A", "C", true);
+        edgeToC.putProperty(AccumuloPropertyNames.COUNT, 1);
+        elements.add(edgeToC);
+        return elements;
+    }
+}
@@ -125,6 +125,20 @@ public class AccumuloIDWithinSetRetrieverTest {
         shouldGetCorrectEdges(false, gaffer1KeyStore);
     }
 
+    @Test
+    public void shouldGetCorrectEdgesWhenPrefetchingBatchScanners() throws StoreException {
+        // Given
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setMaxEntriesForBatchScanner("1");
+        properties.setBatchScannerPrefetchDepth("2");
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(schema, properties);
+        setupGraph(store);
+
+        // When / Then
+        shouldGetCorrectEdges(false, store);
+    }
+
     private void shouldGetCorrectEdges(final boolean loadIntoMemory, final AccumuloStore store) throws StoreException {
         // Query for all edges in set {A0, A23}
         final Set<EntityId> seeds = new HashSet<>();
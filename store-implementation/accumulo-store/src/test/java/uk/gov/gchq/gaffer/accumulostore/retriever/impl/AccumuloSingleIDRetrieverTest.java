@@ -112,6 +112,35 @@ public class AccumuloSingleIDRetrieverTest {
         //Should find both i-B and i-C edges and entities i
     }
 
+    @Test
+    public void shouldGetSameResultsWhenPrefetchingBatchScanners() throws StoreException {
+        // Given
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setMaxEntriesForBatchScanner("7");
+        properties.setBatchScannerPrefetchDepth("3");
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(schema, properties);
+        setupGraph(store, numEntries);
+        final Set<ElementId> ids = new HashSet<>();
+        for (int i = 0; i < numEntries; i++) {
+            ids.add(new EntitySeed("" + i));
+        }
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+        final GetElements operation = new GetElements.Builder().view(view).input(ids).build();
+
+        // When
+        final AccumuloSingleIDRetriever retriever;
+        try {
+            retriever = new AccumuloSingleIDRetriever(store, operation, new User());
+        } catch (final IteratorSettingException e) {
+            throw new RuntimeException(e);
+        }
+
+        // Then
+        assertEquals(numEntries * 3, Iterables.size(retriever));
+        retriever.close();
+    }
+
     @Test
     public void testEntityIdQueryEdgesOnly() throws AccumuloException, StoreException {
         testEntityIdQueryEdgesOnly(byteEntityStore);
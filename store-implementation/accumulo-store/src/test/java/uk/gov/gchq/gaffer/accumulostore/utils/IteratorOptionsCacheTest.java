@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.junit.Before;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestTypes;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.store.ElementValidator;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import java.io.UnsupportedEncodingException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class IteratorOptionsCacheTest {
+    @Before
+    public void setUp() {
+        IteratorOptionsCache.clear();
+    }
+
+    @Test
+    public void shouldReturnSameSchemaAndConverterForSameJson() throws Exception {
+        // Given
+        final String schemaJson = getSchemaJson();
+
+        // When
+        final Schema schema1 = IteratorOptionsCache.getSchema(schemaJson);
+        final Schema schema2 = IteratorOptionsCache.getSchema(new String(schemaJson));
+        final AccumuloElementConverter converter1 = IteratorOptionsCache.getElementConverter(
+                ByteEntityAccumuloElementConverter.class.getName(), schemaJson);
+        final AccumuloElementConverter converter2 = IteratorOptionsCache.getElementConverter(
+                ByteEntityAccumuloElementConverter.class.getName(), schemaJson);
+
+        // Then
+        assertSame(schema1, schema2);
+        assertEquals(TestGroups.ENTITY, schema1.getEntityGroups().iterator().next());
+        assertSame(converter1, converter2);
+        assertTrue(converter1 instanceof ByteEntityAccumuloElementConverter);
+    }
+
+    @Test
+    public void shouldReturnSameValidatorsForSameJson() throws Exception {
+        // Given
+        final String schemaJson = getSchemaJson();
+        final String viewJson = getViewJson(TestGroups.ENTITY);
+
+        // When
+        final ElementValidator viewValidator1 = IteratorOptionsCache.getViewValidator(viewJson);
+        final ElementValidator viewValidator2 = IteratorOptionsCache.getViewValidator(viewJson);
+        final ElementValidator schemaValidator1 = IteratorOptionsCache.getSchemaValidator(schemaJson, false);
+        final ElementValidator schemaValidator2 = IteratorOptionsCache.getSchemaValidator(schemaJson, false);
+        final ElementValidator schemaValidatorWithIsA = IteratorOptionsCache.getSchemaValidator(schemaJson, true);
+
+        // Then
+        assertSame(viewValidator1, viewValidator2);
+        assertSame(IteratorOptionsCache.getView(viewJson), viewValidator1.getView());
+        assertSame(schemaValidator1, schemaValidator2);
+        assertNotSame(schemaValidator1, schemaValidatorWithIsA);
+    }
+
+    @Test
+    public void shouldReturnDifferentViewsForDifferentJson() throws Exception {
+        // When
+        final View view1 = IteratorOptionsCache.getView(getViewJson(TestGroups.ENTITY));
+        final View view2 = IteratorOptionsCache.getView(getViewJson(TestGroups.ENTITY_2));
+
+        // Then
+        assertNotSame(view1, view2);
+        assertTrue(view1.getEntityGroups().contains(TestGroups.ENTITY));
+        assertTrue(view2.getEntityGroups().contains(TestGroups.ENTITY_2));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedView() throws Exception {
+        // Given
+        final String firstViewJson = getViewJson("group0");
+        final String secondViewJson = getViewJson("group1");
+        final View firstView = IteratorOptionsCache.getView(firstViewJson);
+        final View secondView = IteratorOptionsCache.getView(secondViewJson);
+
+        // When
+        for (int i = 2; i <= IteratorOptionsCache.MAX_SIZE; i++) {
+            IteratorOptionsCache.getView(getViewJson("group" + i));
+            // Keep the first view recently used
+            IteratorOptionsCache.getView(firstViewJson);
+        }
+
+        // Then
+        assertSame(firstView, IteratorOptionsCache.getView(firstViewJson));
+        assertNotSame(secondView, IteratorOptionsCache.getView(secondViewJson));
+    }
+
+    private static String getViewJson(final String group) throws UnsupportedEncodingException {
+        return new String(new View.Builder()
+                .entity(group)
+                .build()
+                .toCompactJson(), CommonConstants.UTF_8);
+    }
+
+    private static String getSchemaJson() throws UnsupportedEncodingException {
+        return new String(new Schema.Builder()
+                .type(TestTypes.ID_STRING, new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .build())
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex(TestTypes.ID_STRING)
+                        .build())
+                .vertexSerialiser(new StringSerialiser())
+                .build()
+                .toCompactJson(), CommonConstants.UTF_8);
+    }
+}
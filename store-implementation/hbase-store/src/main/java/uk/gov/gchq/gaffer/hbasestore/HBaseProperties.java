@@ -33,9 +33,13 @@ public class HBaseProperties extends StoreProperties {
     public static final String WRITE_BUFFER_SIZE = "hbase.writeBufferSize";
     public static final String DEPENDENCY_JARS_HDFS_DIR_PATH = "hbase.hdfs.jars.path";
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER = "hbase.entriesForBatchScanner";
+    public static final String ASYNC_INGEST = "hbase.ingest.async";
+    public static final String MAX_PENDING_BATCHES = "hbase.ingest.maxPendingBatches";
 
     public static final int WRITE_BUFFER_SIZE_DEFAULT = 1000000;
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "50000";
+    public static final String ASYNC_INGEST_DEFAULT = "false";
+    public static final String MAX_PENDING_BATCHES_DEFAULT = "2";
 
     public HBaseProperties() {
         super();
@@ -133,4 +137,43 @@ public class HBaseProperties extends StoreProperties {
         set(MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntriesForBatchScanner);
     }
 
+    /**
+     * Get whether batches of elements should be written to HBase asynchronously
+     * using a {@link org.apache.hadoop.hbase.client.BufferedMutator}, so the next
+     * batch can be aggregated whilst the previous batch is being written.
+     *
+     * @return true if elements should be written asynchronously
+     */
+    public boolean isAsyncIngest() {
+        return Boolean.parseBoolean(get(ASYNC_INGEST, ASYNC_INGEST_DEFAULT));
+    }
+
+    /**
+     * Set whether batches of elements should be written to HBase asynchronously.
+     *
+     * @param asyncIngest true if elements should be written asynchronously
+     */
+    public void setAsyncIngest(final String asyncIngest) {
+        set(ASYNC_INGEST, asyncIngest);
+    }
+
+    /**
+     * Get the max number of batches that can be waiting to be written to
+     * HBase when ingesting asynchronously.
+     *
+     * @return the max number of pending batches
+     */
+    public int getMaxPendingBatches() {
+        return Integer.parseInt(get(MAX_PENDING_BATCHES, MAX_PENDING_BATCHES_DEFAULT));
+    }
+
+    /**
+     * Set the max number of batches that can be waiting to be written to
+     * HBase when ingesting asynchronously.
+     *
+     * @param maxPendingBatches the max number of pending batches
+     */
+    public void setMaxPendingBatches(final String maxPendingBatches) {
+        set(MAX_PENDING_BATCHES, maxPendingBatches);
+    }
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.hbasestore.coprocessor;
+
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A region server wide cache of the {@link View}s parsed from scan attributes,
+ * keyed by the view JSON itself. A seeded query is split into many scans,
+ * one for each batch of seeds, and each scan is opened on every region it covers,
+ * so without this cache the same view would be parsed many times.
+ * <p>
+ * The cached views are shared between scans running on different threads, so
+ * they must not be modified. The cache holds at most {@link #MAX_SIZE} views
+ * and evicts the least recently used view when full.
+ * <p>
+ * The key is the full view JSON rather than a hash supplied by the client, so
+ * a scan can only ever be given the view it sent.
+ */
+public final class ViewCache {
+    public static final int MAX_SIZE = 100;
+
+    private static final Map<ByteBuffer, View> VIEWS = new LinkedHashMap<ByteBuffer, View>(16, 0.75f, true) {
+        private static final long serialVersionUID = -2960237938497925470L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<ByteBuffer, View> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    private ViewCache() {
+        // private to prevent instantiation
+    }
+
+    /**
+     * Gets the cached view for the given view JSON, parsing and caching the
+     * view JSON if it is not in the cache.
+     *
+     * @param viewJson the view JSON
+     * @return the view
+     */
+    public static View getView(final byte[] viewJson) {
+        final ByteBuffer key = ByteBuffer.wrap(viewJson);
+        synchronized (VIEWS) {
+            View view = VIEWS.get(key);
+            if (null == view) {
+                view = View.fromJson(viewJson);
+                // Copy the bytes so the key cannot be changed by the caller
+                VIEWS.put(ByteBuffer.wrap(Arrays.copyOf(viewJson, viewJson.length)), view);
+            }
+            return view;
+        }
+    }
+
+    public static void clear() {
+        synchronized (VIEWS) {
+            VIEWS.clear();
+        }
+    }
+}
@@ -16,7 +16,10 @@
 package uk.gov.gchq.gaffer.hbasestore.coprocessor.scanner;
 
 import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.HConstants;
 import org.apache.hadoop.hbase.HRegionInfo;
+import org.apache.hadoop.hbase.KeyValue;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.regionserver.RegionScanner;
 import org.apache.hadoop.hbase.regionserver.ScannerContext;
@@ -24,6 +27,7 @@ import org.apache.hadoop.hbase.util.Bytes;
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.ViewCache;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.ElementDedupeFilterProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GafferScannerProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GroupFilterProcessor;
@@ -39,14 +43,32 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-
+import java.util.TreeMap;
+
+/**
+ * Applies the view of a query to the elements in a region. If the scan has the
+ * {@link HBaseStoreConstants#COUNT_GROUPS} attribute then, rather than
+ * returning the elements, the number of elements in each group is returned.
+ * Each call reads at most {@link #COUNT_GROUPS_BATCH_SIZE} rows and returns the
+ * counts for just those rows, as a single row containing a cell for each group,
+ * with the group as the column qualifier and the count as the value. The client
+ * sums these partial counts, so a region is never counted in one call.
+ */
 public class QueryScanner extends GafferScanner implements RegionScanner {
+    public static final int COUNT_GROUPS_BATCH_SIZE = 10000;
+
+    private final ElementSerialisation serialisation;
+    private final boolean countGroups;
+
     public QueryScanner(final RegionScanner scanner,
                         final Scan scan,
                         final Schema schema,
                         final ElementSerialisation serialisation) {
         super(scanner, serialisation, createProcessors(scan, schema, serialisation));
+        this.serialisation = serialisation;
+        this.countGroups = null != scan.getAttribute(HBaseStoreConstants.COUNT_GROUPS);
     }
 
     protected static List<GafferScannerProcessor> createProcessors(
@@ -88,13 +110,10 @@ public class QueryScanner extends GafferScanner implements RegionScanner {
 
     private static View getView(final Scan scan) {
         final byte[] viewJson = scan.getAttribute(HBaseStoreConstants.VIEW);
-        final View view;
         if (null == viewJson) {
-            view = null;
-        } else {
-            view = View.fromJson(viewJson);
+            return null;
         }
-        return view;
+        return ViewCache.getView(viewJson);
     }
 
     private static DirectedType getDirectedType(final Scan scan) {
@@ -150,6 +169,9 @@ public class QueryScanner extends GafferScanner implements RegionScanner {
 
     @Override
     public boolean nextRaw(final List<Cell> output) throws IOException {
+        if (countGroups) {
+            return countGroups(output);
+        }
         final List<Cell> input = new ArrayList<>();
         final boolean shouldContinue = getScanner().nextRaw(input);
         _next(input, output);
@@ -158,9 +180,41 @@ public class QueryScanner extends GafferScanner implements RegionScanner {
 
     @Override
     public boolean nextRaw(final List<Cell> output, final ScannerContext scannerContext) throws IOException {
+        if (countGroups) {
+            return countGroups(output);
+        }
         final List<Cell> input = new ArrayList<>();
         final boolean shouldContinue = getScanner().nextRaw(input);
         _next(input, output);
         return shouldContinue;
     }
+
+    // Reads up to a batch of rows and outputs a cell containing the count for each group in those rows, in the row of
+    // the last element counted. Nothing is output if none of the rows contain elements in the view.
+    private boolean countGroups(final List<Cell> output) throws IOException {
+        final Map<byte[], long[]> counts = new TreeMap<>(Bytes.BYTES_COMPARATOR);
+        final List<Cell> input = new ArrayList<>();
+        final List<Cell> elementCells = new ArrayList<>();
+        Cell lastCell = null;
+        boolean shouldContinue = true;
+        for (int rows = 0; shouldContinue && rows < COUNT_GROUPS_BATCH_SIZE; rows++) {
+            input.clear();
+            elementCells.clear();
+            shouldContinue = getScanner().nextRaw(input);
+            _next(input, elementCells);
+            for (final Cell cell : elementCells) {
+                counts.computeIfAbsent(Bytes.toBytes(serialisation.getGroup(cell)), k -> new long[1])[0]++;
+                lastCell = cell;
+            }
+        }
+
+        if (null != lastCell) {
+            final byte[] row = CellUtil.cloneRow(lastCell);
+            for (final Map.Entry<byte[], long[]> entry : counts.entrySet()) {
+                output.add(CellUtil.createCell(row, HBaseStoreConstants.getColFam(), entry.getKey(),
+                        HConstants.LATEST_TIMESTAMP, KeyValue.Type.Put.getCode(), Bytes.toBytes(entry.getValue()[0])));
+            }
+        }
+        return shouldContinue;
+    }
 }
@@ -25,6 +25,7 @@ import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
+import uk.gov.gchq.gaffer.hbasestore.utils.BufferedMutatorWriter;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.store.Context;
@@ -46,6 +47,9 @@ import java.util.Map;
  * To work around this issue, we need to aggregate elements within each batch before adding them to HBase.
  * Due to this, optimising the batch size could have a big impact on performance.
  * Configure the batch size using store property: hbase.writeBufferSize
+ * <p>
+ * If the store property hbase.ingest.async is true, each batch is written by a
+ * {@link BufferedMutatorWriter} on a background thread whilst the next batch is aggregated.
  */
 public class AddElementsHandler implements OperationHandler<AddElements> {
     @Override
@@ -62,8 +66,9 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             return;
         }
 
-        try {
-            final HTable table = store.getTable();
+        final boolean asyncIngest = store.getProperties().isAsyncIngest();
+        try (final BufferedMutatorWriter writer = asyncIngest ? createWriter(store) : null) {
+            final HTable table = asyncIngest ? null : store.getTable();
             final boolean hasAggregators = store.getSchema().isAggregationEnabled();
             final String visibilityProperty = store.getSchema().getVisibilityProperty();
             final Iterator<? extends Element> elements = addElementsOperation.getInput().iterator();
@@ -99,14 +104,14 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
                         }
                         aggregator.apply(existingElement.getProperties(), properties);
                     } else {
-                        executePuts(table, createPuts(serialisation, keyToElement));
+                        executePuts(table, writer, createPuts(serialisation, keyToElement));
                         keyToElement.clear();
                         i = 0;
                         keyToElement.put(elementKey, element);
                     }
                 }
 
-                executePuts(table, createPuts(serialisation, keyToElement));
+                executePuts(table, writer, createPuts(serialisation, keyToElement));
             }
         } catch (final IOException | StoreException e) {
             throw new OperationException("Failed to add elements", e);
@@ -126,8 +131,15 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         return puts;
     }
 
-    private void executePuts(final HTable table, final List<Put> puts) throws IOException {
-        if (!puts.isEmpty()) {
+    private BufferedMutatorWriter createWriter(final HBaseStore store) throws StoreException {
+        return new BufferedMutatorWriter(store.getBufferedMutator(), store.getProperties().getMaxPendingBatches());
+    }
+
+    private void executePuts(final HTable table, final BufferedMutatorWriter writer, final List<Put> puts) throws IOException {
+        if (null != writer) {
+            // The writer flushes each batch separately, whilst the next batch is aggregated.
+            writer.write(puts);
+        } else if (!puts.isEmpty()) {
             table.put(puts);
             // Ensure the table has been flushed otherwise similar elements in the next batch may be skipped.
             if (!table.isAutoFlush()) {
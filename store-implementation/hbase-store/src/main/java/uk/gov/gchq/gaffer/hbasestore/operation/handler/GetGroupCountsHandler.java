@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.hbasestore.operation.handler;
+
+import uk.gov.gchq.gaffer.data.GroupCounts;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
+import uk.gov.gchq.gaffer.hbasestore.retriever.HBaseGroupCountsRetriever;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.GetGroupCounts;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.user.User;
+import java.util.Map;
+
+/**
+ * Counts the elements in each group in the region servers, using the
+ * {@link uk.gov.gchq.gaffer.hbasestore.coprocessor.scanner.QueryScanner}, so the elements are not returned to the
+ * client.
+ */
+public class GetGroupCountsHandler implements OutputOperationHandler<GetGroupCounts, GroupCounts> {
+    @Override
+    public GroupCounts doOperation(final GetGroupCounts operation, final Context context, final Store store)
+            throws OperationException {
+        return doOperation(operation, context.getUser(), (HBaseStore) store);
+    }
+
+    public GroupCounts doOperation(final GetGroupCounts operation, final User user, final HBaseStore store)
+            throws OperationException {
+        View view = operation.getView();
+        if (null == view) {
+            view = new View.Builder()
+                    .entities(store.getSchema().getEntityGroups())
+                    .edges(store.getSchema().getEdgeGroups())
+                    .build();
+        }
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(view)
+                .directedType(operation.getDirectedType())
+                .options(operation.getOptions())
+                .build();
+
+        final Map<String, Long> counts;
+        try {
+            counts = new HBaseGroupCountsRetriever(store, getAllElements, user).getGroupCounts();
+        } catch (final StoreException e) {
+            throw new OperationException("Failed to count elements", e);
+        }
+
+        final GroupCounts groupCounts = new GroupCounts();
+        for (final Map.Entry<String, Long> entry : counts.entrySet()) {
+            if (null != store.getSchema().getEntity(entry.getKey())) {
+                groupCounts.getEntityGroupCounts().put(entry.getKey(), entry.getValue());
+            } else {
+                groupCounts.getEdgeGroupCounts().put(entry.getKey(), entry.getValue());
+            }
+        }
+        return groupCounts;
+    }
+}
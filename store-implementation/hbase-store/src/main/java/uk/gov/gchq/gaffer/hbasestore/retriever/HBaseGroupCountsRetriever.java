@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.hbasestore.retriever;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.util.Bytes;
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.ElementDedupeFilterProcessor;
+import uk.gov.gchq.gaffer.hbasestore.utils.HBaseStoreConstants;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.user.User;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the elements in each group that would be returned by a {@link GetAllElements} with the same view and
+ * directed type. The scan is flagged with {@link HBaseStoreConstants#COUNT_GROUPS} so the
+ * {@link uk.gov.gchq.gaffer.hbasestore.coprocessor.scanner.QueryScanner} in each region returns only the counts,
+ * as partial counts for each batch of rows, which are summed here.
+ */
+public class HBaseGroupCountsRetriever extends HBaseRetriever<GetAllElements> {
+    public HBaseGroupCountsRetriever(final HBaseStore store, final GetAllElements operation, final User user)
+            throws StoreException {
+        super(store, operation, user, null, ElementDedupeFilterProcessor.class);
+    }
+
+    /**
+     * @return the number of elements in each group. Groups with no elements are not included.
+     */
+    public Map<String, Long> getGroupCounts() {
+        final Map<String, Long> counts = new HashMap<>();
+        final CloseableIterable<Result> results = createScanner();
+        try {
+            for (final Result result : results) {
+                for (final Cell cell : result.rawCells()) {
+                    counts.merge(Bytes.toString(CellUtil.cloneQualifier(cell)),
+                            Bytes.toLong(CellUtil.cloneValue(cell)), Long::sum);
+                }
+            }
+        } finally {
+            CloseableUtil.close(results);
+        }
+        return counts;
+    }
+
+    @Override
+    protected void configureScan(final Scan scan) {
+        scan.setAttribute(HBaseStoreConstants.COUNT_GROUPS, Bytes.toBytes(true));
+    }
+}
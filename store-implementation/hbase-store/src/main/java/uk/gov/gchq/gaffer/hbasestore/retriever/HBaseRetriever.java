@@ -44,6 +44,7 @@ import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.ElementValidator;
 import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.optimiser.rule.LimitPushdownRule;
 import uk.gov.gchq.gaffer.user.User;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -61,6 +62,7 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
     private final Authorizations authorisations;
     private final OP operation;
     private final byte[] extraProcessors;
+    private final byte[] viewJson;
 
     private CloseableIterator<Element> iterator;
     private Iterator<? extends ElementId> idsIterator;
@@ -76,6 +78,8 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         this.store = store;
         this.operation = operation;
         this.ids = ids;
+        // Serialise the view once, rather than for every batch of ids
+        this.viewJson = operation.getView().toCompactJson();
         if (null != user && null != user.getDataAuths()) {
             this.authorisations = new Authorizations(
                     user.getDataAuths().toArray(new String[user.getDataAuths().size()]));
@@ -138,7 +142,16 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         return validator.validateTransform(element);
     }
 
-    private CloseableIterable<Result> createScanner() {
+    /**
+     * Allows subclasses to configure the scan further before it is started.
+     *
+     * @param scan the scan, which already has the view and processor attributes set
+     */
+    protected void configureScan(final Scan scan) {
+        // No further configuration by default
+    }
+
+    protected CloseableIterable<Result> createScanner() {
         // End of input ids
         if (null != idsIterator && !idsIterator.hasNext()) {
             return null;
@@ -165,8 +178,8 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
             }
 
             scan.setAuthorizations(authorisations);
-            scan.setAttribute(HBaseStoreConstants.SCHEMA, store.getSchema().toCompactJson());
-            scan.setAttribute(HBaseStoreConstants.VIEW, operation.getView().toCompactJson());
+            // The schema is not added as the coprocessor already has it
+            scan.setAttribute(HBaseStoreConstants.VIEW, viewJson);
             if (null != operation.getDirectedType()) {
                 scan.setAttribute(HBaseStoreConstants.DIRECTED_TYPE, Bytes.toBytes(operation.getDirectedType().name()));
             }
@@ -174,6 +187,12 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
                 scan.setAttribute(HBaseStoreConstants.EXTRA_PROCESSORS, extraProcessors);
             }
             scan.setMaxVersions();
+            final Integer resultLimitHint = LimitPushdownRule.getResultLimitHint(operation);
+            if (null != resultLimitHint) {
+                // Only fetch enough rows in each RPC for the results that will be used
+                scan.setCaching(Math.max(1, resultLimitHint));
+            }
+            configureScan(scan);
             table = store.getTable();
             return new WrappedCloseableIterable<>(table.getScanner(scan));
         } catch (final IOException | StoreException e) {
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.hbasestore.utils;
+
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.Put;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes batches of {@link Put}s to HBase via a {@link BufferedMutator} on a single background thread,
+ * so the caller can aggregate and serialise the next batch whilst the previous batch is being written.
+ * <p>
+ * Batches are written in the order they are added and the mutator is flushed after each batch, so
+ * puts from different batches are never sent in the same flush. This preserves the guarantee that
+ * puts with the same row and column qualifier are not skipped, as long as each batch is distinct.
+ * <p>
+ * At most maxPendingBatches batches are queued; {@link #write(List)} blocks when the queue is full.
+ * Any failure on the writer thread is rethrown from the next call to {@link #write(List)} or
+ * {@link #close()}.
+ */
+public class BufferedMutatorWriter implements Closeable {
+    private static final List<Put> END_OF_BATCHES = Collections.emptyList();
+
+    private final BufferedMutator mutator;
+    private final BlockingQueue<List<Put>> batches;
+    private final Thread writerThread;
+    private volatile IOException failure;
+    private boolean closed;
+
+    public BufferedMutatorWriter(final BufferedMutator mutator, final int maxPendingBatches) {
+        if (maxPendingBatches < 1) {
+            throw new IllegalArgumentException("maxPendingBatches must be at least 1");
+        }
+        this.mutator = mutator;
+        this.batches = new ArrayBlockingQueue<>(maxPendingBatches);
+        this.writerThread = new Thread(this::writeBatches, "gaffer-hbase-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Queues a batch of puts to be written.
+     *
+     * @param puts the batch of puts. The list must not be modified after it has been added.
+     * @throws IOException if a previous batch failed to be written or the thread was interrupted
+     */
+    public void write(final List<Put> puts) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Writer has been closed");
+        }
+        checkFailure();
+        if (puts.isEmpty()) {
+            return;
+        }
+        try {
+            while (!batches.offer(puts, 1, TimeUnit.SECONDS)) {
+                // The writer thread may have stopped due to a failure
+                checkFailure();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted whilst waiting to write puts", e);
+        }
+    }
+
+    /**
+     * Waits for all the queued batches to be written and then closes the mutator.
+     *
+     * @throws IOException if any batch failed to be written or the mutator could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            while (null == failure && !batches.offer(END_OF_BATCHES, 1, TimeUnit.SECONDS)) {
+                // Wait for space in the queue, unless the writer thread has stopped due to a failure
+            }
+            writerThread.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writerThread.interrupt();
+            throw new IOException("Interrupted whilst waiting for puts to be written", e);
+        } finally {
+            mutator.close();
+        }
+        checkFailure();
+    }
+
+    private void writeBatches() {
+        try {
+            List<Put> puts = batches.take();
+            while (END_OF_BATCHES != puts) {
+                mutator.mutate(puts);
+                // Flush each batch separately otherwise similar elements in the next batch may be skipped.
+                mutator.flush();
+                puts = batches.take();
+            }
+        } catch (final IOException e) {
+            failure = e;
+        } catch (final InterruptedException e) {
+            if (null == failure) {
+                failure = new IOException("Writer thread was interrupted", e);
+            }
+        } catch (final RuntimeException e) {
+            failure = new IOException(e);
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        if (null != failure) {
+            throw new IOException("Failed to write puts", failure);
+        }
+    }
+}
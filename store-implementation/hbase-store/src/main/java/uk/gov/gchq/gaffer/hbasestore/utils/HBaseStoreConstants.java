@@ -33,6 +33,7 @@ public final class HBaseStoreConstants {
     public static final String SCHEMA = "Schema";
     public static final String EXTRA_PROCESSORS = "ExtraProcessors";
     public static final String DIRECTED_TYPE = "DirectedType";
+    public static final String COUNT_GROUPS = "CountGroups";
 
     // Operations options
     public static final String OPERATION_HDFS_STAGING_PATH = "hbasestore.operation.hdfs.staging.path";
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.coprocessor;
+
+import org.junit.Before;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ViewCacheTest {
+    @Before
+    public void setUp() {
+        ViewCache.clear();
+    }
+
+    @Test
+    public void shouldParseViewOnceForSameViewJson() {
+        // Given
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY)
+                .build();
+
+        // When
+        final View view1 = ViewCache.getView(view.toCompactJson());
+        final View view2 = ViewCache.getView(view.toCompactJson());
+
+        // Then
+        assertEquals(view, view1);
+        assertSame(view1, view2);
+    }
+
+    @Test
+    public void shouldNotReturnCachedViewForDifferentViewJson() {
+        // Given
+        final View entityView = new View.Builder()
+                .entity(TestGroups.ENTITY)
+                .build();
+        final View edgeView = new View.Builder()
+                .edge(TestGroups.EDGE)
+                .build();
+        ViewCache.getView(entityView.toCompactJson());
+
+        // When
+        final View result = ViewCache.getView(edgeView.toCompactJson());
+
+        // Then
+        assertEquals(edgeView, result);
+    }
+
+    @Test
+    public void shouldNotBeAffectedByChangesToCallersViewJson() {
+        // Given
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY)
+                .build();
+        final byte[] viewJson = view.toCompactJson();
+        final View cachedView = ViewCache.getView(viewJson);
+
+        // When
+        Arrays.fill(viewJson, (byte) ' ');
+
+        // Then
+        assertSame(cachedView, ViewCache.getView(view.toCompactJson()));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedView() {
+        // Given
+        final View firstView = ViewCache.getView(getViewJson(0));
+        final View secondView = ViewCache.getView(getViewJson(1));
+
+        // When
+        for (int i = 2; i <= ViewCache.MAX_SIZE; i++) {
+            ViewCache.getView(getViewJson(i));
+            // Keep the first view recently used
+            ViewCache.getView(getViewJson(0));
+        }
+
+        // Then
+        assertSame(firstView, ViewCache.getView(getViewJson(0)));
+        assertNotSame(secondView, ViewCache.getView(getViewJson(1)));
+    }
+
+    private byte[] getViewJson(final int i) {
+        return new View.Builder()
+                .edge(TestGroups.EDGE + i)
+                .build()
+                .toCompactJson();
+    }
+}
@@ -16,15 +16,19 @@
 
 package uk.gov.gchq.gaffer.hbasestore.coprocessor.scanner;
 
+import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.HRegionInfo;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.regionserver.RegionScanner;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.junit.Test;
+import org.mockito.Mockito;
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.ViewCache;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.ElementDedupeFilterProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GafferScannerProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GroupFilterProcessor;
@@ -34,6 +38,7 @@ import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.QueryAggregationProce
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.StoreAggregationProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.ValidationProcessor;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
+import uk.gov.gchq.gaffer.hbasestore.util.CellUtil;
 import uk.gov.gchq.gaffer.hbasestore.utils.HBaseStoreConstants;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
@@ -43,6 +48,7 @@ import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
 import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
 import uk.gov.gchq.koryphe.impl.binaryoperator.StringConcat;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -96,6 +102,25 @@ public class QueryScannerTest {
 
     private final ElementSerialisation serialisation = new ElementSerialisation(SCHEMA);
 
+    @Test
+    public void shouldReuseCachedViewForSameViewJson() throws OperationException, IOException {
+        // Given
+        ViewCache.clear();
+        final Scan scan1 = mock(Scan.class);
+        given(scan1.getAttribute(HBaseStoreConstants.VIEW)).willReturn(VIEW.toCompactJson());
+        final Scan scan2 = mock(Scan.class);
+        given(scan2.getAttribute(HBaseStoreConstants.VIEW)).willReturn(VIEW.toCompactJson());
+
+        // When
+        final List<GafferScannerProcessor> processors1 = QueryScanner.createProcessors(scan1, SCHEMA, serialisation);
+        final List<GafferScannerProcessor> processors2 = QueryScanner.createProcessors(scan2, SCHEMA, serialisation);
+
+        // Then
+        final View view = ((GroupFilterProcessor) processors1.get(0)).getView();
+        assertEquals(VIEW, view);
+        assertSame(view, ((GroupFilterProcessor) processors2.get(0)).getView());
+    }
+
     @Test
     public void shouldConstructProcessors() throws OperationException, IOException {
         // Given
@@ -253,6 +278,41 @@ public class QueryScannerTest {
         }
     }
 
+    @Test
+    public void shouldReturnPartialGroupCountsForEachBatchOfRows() throws IOException {
+        // Given
+        final int numRows = QueryScanner.COUNT_GROUPS_BATCH_SIZE + 5;
+        final RegionScanner scanner = mock(RegionScanner.class);
+        final int[] rowsRead = {0};
+        given(scanner.nextRaw(Mockito.anyListOf(Cell.class))).willAnswer(invocation -> {
+            final List<Cell> input = (List<Cell>) invocation.getArguments()[0];
+            input.add(CellUtil.getCell(new Entity(TestGroups.ENTITY, "vertex" + rowsRead[0]), serialisation));
+            return ++rowsRead[0] < numRows;
+        });
+        final Scan scan = mock(Scan.class);
+        given(scan.getAttribute(HBaseStoreConstants.VIEW)).willReturn(new View.Builder()
+                .entity(TestGroups.ENTITY)
+                .build()
+                .toCompactJson());
+        given(scan.getAttribute(HBaseStoreConstants.COUNT_GROUPS)).willReturn(Bytes.toBytes(true));
+        final QueryScanner queryScanner = new QueryScanner(scanner, scan, SCHEMA, serialisation);
+
+        // When
+        final List<Cell> firstBatch = new ArrayList<>();
+        final boolean moreAfterFirstBatch = queryScanner.nextRaw(firstBatch);
+        final List<Cell> secondBatch = new ArrayList<>();
+        final boolean moreAfterSecondBatch = queryScanner.nextRaw(secondBatch);
+
+        // Then
+        assertTrue(moreAfterFirstBatch);
+        assertEquals(1, firstBatch.size());
+        assertEquals(TestGroups.ENTITY, Bytes.toString(org.apache.hadoop.hbase.CellUtil.cloneQualifier(firstBatch.get(0))));
+        assertEquals(QueryScanner.COUNT_GROUPS_BATCH_SIZE, Bytes.toLong(org.apache.hadoop.hbase.CellUtil.cloneValue(firstBatch.get(0))));
+        assertFalse(moreAfterSecondBatch);
+        assertEquals(1, secondBatch.size());
+        assertEquals(5L, Bytes.toLong(org.apache.hadoop.hbase.CellUtil.cloneValue(secondBatch.get(0))));
+    }
+
     @Test
     public void shouldDelegateMethodsToInternalScanner() throws IOException {
         final RegionScanner scanner = mock(RegionScanner.class);
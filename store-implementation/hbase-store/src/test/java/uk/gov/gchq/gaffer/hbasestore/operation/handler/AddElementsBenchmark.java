@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.hbasestore.operation.handler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.hbasestore.HBaseProperties;
+import uk.gov.gchq.gaffer.hbasestore.MiniHBaseStore;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawIntegerSerialiser;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the ingest throughput of the {@link AddElementsHandler} against a mini HBase cluster,
+ * comparing synchronous writes with asynchronous writes via a buffered mutator. This is not run
+ * as part of the unit tests; run the main method directly, optionally passing the number of
+ * elements, the batch size and the max number of pending batches.
+ */
+public final class AddElementsBenchmark {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AddElementsBenchmark.class);
+    private static final String COUNT = "count";
+
+    private AddElementsBenchmark() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int numElements = args.length > 0 ? Integer.parseInt(args[0]) : 500000;
+        final int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+        final String maxPendingBatches = args.length > 2 ? args[2] : HBaseProperties.MAX_PENDING_BATCHES_DEFAULT;
+        final List<Element> elements = createElements(numElements);
+
+        // Warm up
+        run(elements.subList(0, numElements / 10), batchSize, false, maxPendingBatches);
+        run(elements.subList(0, numElements / 10), batchSize, true, maxPendingBatches);
+
+        final long syncTime = run(elements, batchSize, false, maxPendingBatches);
+        final long asyncTime = run(elements, batchSize, true, maxPendingBatches);
+        LOGGER.info("Synchronous ingest: {} elements in {}ms", numElements, syncTime);
+        LOGGER.info("Asynchronous ingest: {} elements in {}ms", numElements, asyncTime);
+        System.exit(0);
+    }
+
+    private static long run(final List<Element> elements, final int batchSize,
+                            final boolean async, final String maxPendingBatches) throws Exception {
+        final HBaseProperties properties = HBaseProperties.loadStoreProperties(
+                StreamUtil.storeProps(AddElementsBenchmark.class));
+        properties.setWriteBufferSize(batchSize);
+        properties.setAsyncIngest(String.valueOf(async));
+        properties.setMaxPendingBatches(maxPendingBatches);
+        final MiniHBaseStore store = new MiniHBaseStore();
+        store.initialise(getSchema(), properties);
+
+        final long start = System.currentTimeMillis();
+        new AddElementsHandler().doOperation(new AddElements.Builder()
+                .input(elements)
+                .build(), new Context(new User()), store);
+        return System.currentTimeMillis() - start;
+    }
+
+    private static List<Element> createElements(final int numElements) {
+        final List<Element> elements = new ArrayList<>(numElements);
+        for (int i = 0; i < numElements / 2; i++) {
+            // Repeat vertices so that each batch has some client side aggregation
+            final int vertex = i % (numElements / 4 + 1);
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("" + vertex)
+                    .property(COUNT, 1)
+                    .build());
+            elements.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("" + vertex)
+                    .dest("" + (vertex + 1))
+                    .directed(true)
+                    .property(COUNT, 1)
+                    .build());
+        }
+        return elements;
+    }
+
+    private static Schema getSchema() {
+        return new Schema.Builder()
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .type("int", new TypeDefinition.Builder()
+                        .clazz(Integer.class)
+                        .serialiser(new CompactRawIntegerSerialiser())
+                        .aggregateFunction(new Sum())
+                        .build())
+                .type("true", Boolean.class)
+                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                        .source("string")
+                        .destination("string")
+                        .directed("true")
+                        .property(COUNT, "int")
+                        .build())
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(COUNT, "int")
+                        .build())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+    }
+}
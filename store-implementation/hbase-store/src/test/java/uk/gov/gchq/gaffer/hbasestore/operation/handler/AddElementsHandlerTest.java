@@ -17,11 +17,13 @@
 package uk.gov.gchq.gaffer.hbasestore.operation.handler;
 
 import com.google.common.collect.Lists;
+import org.apache.hadoop.hbase.client.BufferedMutator;
 import org.apache.hadoop.hbase.client.HTable;
 import org.apache.hadoop.hbase.client.Put;
 import org.hamcrest.core.IsCollectionContaining;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.data.element.Edge;
@@ -51,6 +53,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -267,6 +270,96 @@ public class AddElementsHandlerTest {
         verify(table).flushCommits();
     }
 
+    @Test
+    public void shouldAddAggregatedElementsAsynchronously() throws Exception {
+        // Given
+        final List<Element> distinctElements = createElements();
+        final List<Element> elements = new ArrayList<>();
+        elements.addAll(distinctElements);
+        elements.addAll(distinctElements);
+
+        final AddElementsHandler handler = new AddElementsHandler();
+
+        final AddElements addElements = new AddElements.Builder()
+                .input(elements)
+                .build();
+        final Context context = mock(Context.class);
+        final HBaseStore store = mock(HBaseStore.class);
+
+        final BufferedMutator mutator = mock(BufferedMutator.class);
+        given(store.getBufferedMutator()).willReturn(mutator);
+
+        final HBaseProperties properties = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
+        properties.setAsyncIngest("true");
+        given(store.getProperties()).willReturn(properties);
+
+        given(store.getSchema()).willReturn(SCHEMA_WITH_AGGREGATION);
+
+        // When
+        handler.doOperation(addElements, context, store);
+
+        // Then
+        final ArgumentCaptor<List> putsCaptor = ArgumentCaptor.forClass(List.class);
+        final InOrder inOrder = inOrder(mutator);
+        inOrder.verify(mutator).mutate(putsCaptor.capture());
+        inOrder.verify(mutator).flush();
+        inOrder.verify(mutator).close();
+        final List<Put> puts = putsCaptor.getValue();
+
+        final List<Element> expectedElements = new ArrayList<>();
+        for (final Element element : distinctElements) {
+            element.putProperty("count", 2);
+            element.putProperty("prop1", "a");
+            element.putProperty("visibility", "public");
+            expectedElements.add(element);
+            if (element instanceof Edge && !((Edge) element).getSource().equals(((Edge) element).getDestination())) {
+                expectedElements.add(element);
+            }
+        }
+        final Element[] expectedElementsArr = expectedElements.toArray(new Element[expectedElements.size()]);
+        final List<Element> elementsAdded = CellUtil.getElements(puts, new ElementSerialisation(SCHEMA));
+        assertEquals(expectedElements.size(), elementsAdded.size());
+        assertThat(elementsAdded, IsCollectionContaining.hasItems(expectedElementsArr));
+
+        verify(store, never()).getTable();
+    }
+
+    @Test
+    public void shouldFlushEachBatchSeparatelyWhenAddingDuplicateElementsAsynchronously() throws Exception {
+        // Given
+        final AddElementsHandler handler = new AddElementsHandler();
+        final List<Element> distinctElements = createElements();
+        final List<Element> elements = new ArrayList<>();
+        elements.addAll(distinctElements);
+        elements.addAll(distinctElements);
+
+        final AddElements addElements = new AddElements.Builder()
+                .input(elements)
+                .build();
+        final Context context = mock(Context.class);
+        final HBaseStore store = mock(HBaseStore.class);
+
+        final BufferedMutator mutator = mock(BufferedMutator.class);
+        given(store.getBufferedMutator()).willReturn(mutator);
+
+        final HBaseProperties properties = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
+        properties.setAsyncIngest("true");
+        given(store.getProperties()).willReturn(properties);
+
+        given(store.getSchema()).willReturn(SCHEMA);
+
+        // When
+        handler.doOperation(addElements, context, store);
+
+        // Then
+        final InOrder inOrder = inOrder(mutator);
+        inOrder.verify(mutator).mutate(anyListOf(Put.class));
+        inOrder.verify(mutator).flush();
+        inOrder.verify(mutator).mutate(anyListOf(Put.class));
+        inOrder.verify(mutator).flush();
+        inOrder.verify(mutator).close();
+    }
+
     @Test
     public void shouldDoNothingIfNoElementsProvided() throws OperationException, StoreException, IOException {
         // Given
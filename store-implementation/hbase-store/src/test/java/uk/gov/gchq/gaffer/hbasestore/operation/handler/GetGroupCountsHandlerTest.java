@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.hbasestore.operation.handler;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.GroupCounts;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.hbasestore.HBaseProperties;
+import uk.gov.gchq.gaffer.hbasestore.MiniHBaseStore;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.CountGroups;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class GetGroupCountsHandlerTest {
+    private static final int NUM_ELEMENTS = 10;
+    private static final String COUNT = "count";
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(GetGroupCountsHandlerTest.class));
+    private static final HBaseProperties PROPERTIES = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(GetGroupCountsHandlerTest.class));
+    private static final User USER = new User();
+
+    private static MiniHBaseStore store;
+
+    @BeforeClass
+    public static void setup() throws StoreException, OperationException {
+        store = new MiniHBaseStore();
+        store.initialise(SCHEMA, PROPERTIES);
+        // Add the elements twice so that they are aggregated
+        for (int i = 0; i < 2; i++) {
+            store.execute(new AddElements.Builder()
+                    .input(getElements())
+                    .build(), USER);
+        }
+    }
+
+    @Test
+    public void shouldCountGroups() throws OperationException {
+        // When / Then
+        final GroupCounts groupCounts = assertSameCountsAsCountGroupsHandler(getDefaultView(), null);
+        assertEquals(NUM_ELEMENTS, (long) groupCounts.getEntityGroupCounts().get(TestGroups.ENTITY));
+        assertEquals(NUM_ELEMENTS + 1, (long) groupCounts.getEdgeGroupCounts().get(TestGroups.EDGE));
+        assertEquals(NUM_ELEMENTS, (long) groupCounts.getEdgeGroupCounts().get(TestGroups.EDGE_2));
+    }
+
+    @Test
+    public void shouldCountGroupsInViewWithDirectedType() throws OperationException {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE)
+                .edge(TestGroups.EDGE_2)
+                .build();
+
+        // When / Then
+        final GroupCounts groupCounts = assertSameCountsAsCountGroupsHandler(view, DirectedType.UNDIRECTED);
+        assertFalse(groupCounts.getEntityGroupCounts().containsKey(TestGroups.ENTITY));
+        assertFalse(groupCounts.getEdgeGroupCounts().containsKey(TestGroups.EDGE));
+        assertEquals(NUM_ELEMENTS, (long) groupCounts.getEdgeGroupCounts().get(TestGroups.EDGE_2));
+    }
+
+    @Test
+    public void shouldCountAllElements() throws OperationException {
+        // When
+        final Long count = store.execute(new OperationChain.Builder()
+                .first(new GetAllElements.Builder()
+                        .view(getDefaultView())
+                        .build())
+                .then(new Count<>())
+                .build(), USER);
+
+        // Then
+        assertEquals(3L * NUM_ELEMENTS + 1, (long) count);
+    }
+
+    // Executes GetAllElements -> CountGroups, which is rewritten to GetGroupCounts, and checks the counts match those
+    // from counting the elements returned by GetAllElements.
+    private GroupCounts assertSameCountsAsCountGroupsHandler(final View view, final DirectedType directedType)
+            throws OperationException {
+        final GroupCounts groupCounts = store.execute(new OperationChain.Builder()
+                .first(new GetAllElements.Builder()
+                        .view(view)
+                        .directedType(directedType)
+                        .build())
+                .then(new CountGroups())
+                .build(), USER);
+
+        final CloseableIterable<? extends Element> elements = store.execute(new GetAllElements.Builder()
+                .view(view)
+                .directedType(directedType)
+                .build(), USER);
+        final GroupCounts expected = store.execute(new CountGroups.Builder()
+                .input(elements)
+                .build(), USER);
+
+        assertEquals(expected.getEntityGroupCounts(), groupCounts.getEntityGroupCounts());
+        assertEquals(expected.getEdgeGroupCounts(), groupCounts.getEdgeGroupCounts());
+        return groupCounts;
+    }
+
+    private static View getDefaultView() {
+        return new View.Builder()
+                .entity(TestGroups.ENTITY)
+                .edge(TestGroups.EDGE)
+                .edge(TestGroups.EDGE_2)
+                .build();
+    }
+
+    private static List<Element> getElements() {
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            final Entity entity = new Entity(TestGroups.ENTITY, "A" + i);
+            entity.putProperty(COUNT, 1);
+            elements.add(entity);
+
+            final Edge edge = new Edge(TestGroups.EDGE, "A" + i, "B" + i, true);
+            edge.putProperty(COUNT, 1);
+            elements.add(edge);
+
+            final Edge undirectedEdge = new Edge(TestGroups.EDGE_2, "A" + i, "C" + i, false);
+            undirectedEdge.putProperty(COUNT, 1);
+            elements.add(undirectedEdge);
+        }
+        final Edge selfEdge = new Edge(TestGroups.EDGE, "A0", "A0", true);
+        selfEdge.putProperty(COUNT, 1);
+        elements.add(selfEdge);
+        return elements;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.utils;
+
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.Put;
+import org.junit.Test;
+import org.mockito.InOrder;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class BufferedMutatorWriterTest {
+    @Test
+    public void shouldWriteAndFlushBatchesInOrder() throws IOException {
+        // Given
+        final BufferedMutator mutator = mock(BufferedMutator.class);
+        final List<Put> batch1 = Collections.singletonList(new Put(new byte[]{1}));
+        final List<Put> batch2 = Collections.singletonList(new Put(new byte[]{2}));
+
+        // When
+        try (final BufferedMutatorWriter writer = new BufferedMutatorWriter(mutator, 1)) {
+            writer.write(batch1);
+            writer.write(Collections.<Put>emptyList());
+            writer.write(batch2);
+        }
+
+        // Then
+        final InOrder inOrder = inOrder(mutator);
+        inOrder.verify(mutator).mutate(batch1);
+        inOrder.verify(mutator).flush();
+        inOrder.verify(mutator).mutate(batch2);
+        inOrder.verify(mutator).flush();
+        inOrder.verify(mutator).close();
+    }
+
+    @Test
+    public void shouldRethrowWriteFailureOnClose() throws IOException {
+        // Given
+        final BufferedMutator mutator = mock(BufferedMutator.class);
+        final IOException failure = new IOException("Write failed");
+        willThrow(failure).given(mutator).flush();
+        final BufferedMutatorWriter writer = new BufferedMutatorWriter(mutator, 1);
+        writer.write(Collections.singletonList(new Put(new byte[]{1})));
+
+        // When / Then
+        try {
+            writer.close();
+            fail("Exception expected");
+        } catch (final IOException e) {
+            assertSame(failure, e.getCause());
+        }
+        verify(mutator).close();
+    }
+
+    @Test
+    public void shouldNotWriteBatchesAfterFailure() throws IOException, InterruptedException {
+        // Given
+        final BufferedMutator mutator = mock(BufferedMutator.class);
+        final IOException failure = new IOException("Write failed");
+        willThrow(failure).given(mutator).mutate(anyListOf(Put.class));
+        final BufferedMutatorWriter writer = new BufferedMutatorWriter(mutator, 1);
+        writer.write(Collections.singletonList(new Put(new byte[]{1})));
+
+        // When / Then
+        try {
+            for (int i = 0; i < 100; i++) {
+                writer.write(Collections.singletonList(new Put(new byte[]{2})));
+                Thread.sleep(10);
+            }
+            fail("Exception expected");
+        } catch (final IOException e) {
+            assertSame(failure, e.getCause());
+        } finally {
+            try {
+                writer.close();
+            } catch (final IOException e) {
+                // Expected
+            }
+        }
+        verify(mutator, never()).flush();
+    }
+}
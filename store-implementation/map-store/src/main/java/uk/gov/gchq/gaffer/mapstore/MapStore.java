@@ -25,9 +25,11 @@ import uk.gov.gchq.gaffer.mapstore.impl.CountAllElementsDefaultViewHandler;
 import uk.gov.gchq.gaffer.mapstore.impl.GetAdjacentIdsHandler;
 import uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandler;
 import uk.gov.gchq.gaffer.mapstore.impl.GetElementsHandler;
+import uk.gov.gchq.gaffer.mapstore.impl.GetGroupCountsHandler;
 import uk.gov.gchq.gaffer.mapstore.impl.MapImpl;
 import uk.gov.gchq.gaffer.mapstore.operation.CountAllElementsDefaultView;
 import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.GetGroupCounts;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
@@ -41,6 +43,7 @@ import uk.gov.gchq.gaffer.store.StoreTrait;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.statistics.GraphStatistics;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
@@ -85,6 +88,11 @@ public class MapStore extends Store {
         return mapImpl;
     }
 
+    @Override
+    public GraphStatistics getStatistics() {
+        return mapImpl.getStatistics();
+    }
+
     @Override
     public Set<StoreTrait> getTraits() {
         return TRAITS;
@@ -98,6 +106,7 @@ public class MapStore extends Store {
     @Override
     protected void addAdditionalOperationHandlers() {
         addOperationHandler(CountAllElementsDefaultView.class, new CountAllElementsDefaultViewHandler());
+        addOperationHandler(GetGroupCounts.class, new GetGroupCountsHandler());
     }
 
     @Override
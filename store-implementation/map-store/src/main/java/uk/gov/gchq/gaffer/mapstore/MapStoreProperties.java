@@ -25,6 +25,12 @@ import java.nio.file.Path;
 public class MapStoreProperties extends StoreProperties {
     public static final String MAP_CLASS = "gaffer.store.mapstore.map.class";
     public static final String CREATE_INDEX = "gaffer.store.mapstore.createIndex";
+    public static final String VERTEX_INDEX = "gaffer.store.mapstore.vertexIndex";
+    public static final String CONCURRENT = "gaffer.store.mapstore.concurrent";
+    public static final String LOCK_STRIPES = "gaffer.store.mapstore.concurrent.lockStripes";
+    public static final String DEFAULT_MAP_CLASS = "java.util.HashMap";
+    public static final String DEFAULT_CONCURRENT_MAP_CLASS = "java.util.concurrent.ConcurrentHashMap";
+    public static final String DEFAULT_LOCK_STRIPES = "64";
 
     public MapStoreProperties() {
         super();
@@ -49,7 +55,7 @@ public class MapStoreProperties extends StoreProperties {
     }
 
     public String getMapClass() {
-        return get(MAP_CLASS, "java.util.HashMap");
+        return get(MAP_CLASS, isConcurrent() ? DEFAULT_CONCURRENT_MAP_CLASS : DEFAULT_MAP_CLASS);
     }
 
     public void setCreateIndex(final String createIndex) {
@@ -60,4 +66,42 @@ public class MapStoreProperties extends StoreProperties {
         return Boolean.parseBoolean(get(CREATE_INDEX, "true"));
     }
 
+    public void setVertexIndex(final String vertexIndex) {
+        set(VERTEX_INDEX, vertexIndex);
+    }
+
+    /**
+     * If true, and an index is created, the index interns vertices to int ids and stores the elements adjacent to
+     * each vertex in primitive arrays rather than in maps of seeds to sets of elements. This uses much less memory
+     * but finding an edge by its EdgeId requires scanning the elements of its source vertex.
+     *
+     * @return true if the compact vertex index should be used.
+     */
+    public boolean getVertexIndex() {
+        return Boolean.parseBoolean(get(VERTEX_INDEX, "false"));
+    }
+
+    public void setConcurrent(final String concurrent) {
+        set(CONCURRENT, concurrent);
+    }
+
+    /**
+     * If true the store is safe for concurrent ingest and querying. The map class must then be
+     * a {@link java.util.concurrent.ConcurrentMap} and the aggregation of each element is guarded by one of a fixed
+     * number of striped locks.
+     *
+     * @return true if the store should support concurrent access.
+     */
+    public boolean isConcurrent() {
+        return Boolean.parseBoolean(get(CONCURRENT, "false"));
+    }
+
+    public void setLockStripes(final String lockStripes) {
+        set(LOCK_STRIPES, lockStripes);
+    }
+
+    public int getLockStripes() {
+        return Integer.parseInt(get(LOCK_STRIPES, DEFAULT_LOCK_STRIPES));
+    }
+
 }
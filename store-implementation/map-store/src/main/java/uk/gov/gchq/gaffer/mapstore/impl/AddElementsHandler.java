@@ -31,9 +31,11 @@ import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
 
 /**
  * An {@link OperationHandler} for the {@link AddElements} operation on the {@link MapStore}.
@@ -60,21 +62,36 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         final Map<String, Set<String>> groupToNonGroupByProperties = mapImpl.groupToNonGroupByProperties;
         final Map<Element, Properties> elementToProperties = mapImpl.elementToProperties;
 
-        Streams.toStream(elements)
-                .forEach(element -> {
-                    // Update main map of element with group-by properties to properties
-                    final Element elementWithGroupByProperties = updateElementToProperties(schema,
-                            element, elementToProperties, groupsWithNoAggregation, groupToGroupByProperties,
-                            groupToNonGroupByProperties);
-                    // Update entityIdToElements and edgeIdToElements if index required
-                    if (maintainIndex) {
-                        updateEntityIdIndex(entityIdToElements, elementWithGroupByProperties);
-                        updateEdgeIdIndex(edgeIdToElements, elementWithGroupByProperties);
-                    }
-                });
+        // If the store is concurrent then the elements can be added in parallel
+        final Stream<? extends Element> elementStream = mapImpl.concurrent
+                ? Streams.toParallelStream(elements) : Streams.toStream(elements);
+        elementStream.forEach(element -> {
+            // Update main map of element with group-by properties to properties
+            final Element newElementWithGroupByProperties = updateElementToProperties(schema, mapImpl,
+                    element, elementToProperties, groupsWithNoAggregation, groupToGroupByProperties,
+                    groupToNonGroupByProperties);
+            if (null != newElementWithGroupByProperties) {
+                mapImpl.groupToElementCount.get(newElementWithGroupByProperties.getGroup()).increment();
+            }
+            if (groupsWithNoAggregation.contains(element.getGroup())) {
+                mapImpl.groupToElementCopies.get(element.getGroup()).increment();
+            }
+            // Update the index if required. Elements that were already in the map are already indexed.
+            if (maintainIndex && null != newElementWithGroupByProperties) {
+                if (null != mapImpl.vertexIndex) {
+                    mapImpl.vertexIndex.add(newElementWithGroupByProperties);
+                } else {
+                    updateEntityIdIndex(mapImpl, entityIdToElements, newElementWithGroupByProperties);
+                    updateEdgeIdIndex(mapImpl, edgeIdToElements, newElementWithGroupByProperties);
+                }
+            }
+        });
     }
 
+    // Adds the element to elementToProperties, aggregating it with any existing properties. Returns the element with
+    // group-by properties if it was not already in the map, otherwise null.
     private Element updateElementToProperties(final Schema schema,
+                                              final MapImpl mapImpl,
                                               final Element element,
                                               final Map<Element, Properties> elementToProperties,
                                               final Set<String> groupsWithNoAggregation,
@@ -82,60 +99,56 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
                                               final Map<String, Set<String>> groupToNonGroupByProperties) {
         final Element elementForIndexing;
         if (groupsWithNoAggregation.contains(element.getGroup())) {
-            elementForIndexing = updateElementToPropertiesNoGroupBy(element, elementToProperties);
+            elementForIndexing = updateElementToPropertiesNoGroupBy(mapImpl, element, elementToProperties);
         } else {
-            elementForIndexing = updateElementToPropertiesWithGroupBy(schema, elementToProperties, groupToGroupByProperties,
+            elementForIndexing = updateElementToPropertiesWithGroupBy(schema, mapImpl, elementToProperties, groupToGroupByProperties,
                     groupToNonGroupByProperties, element);
         }
         return elementForIndexing;
     }
 
-    private void updateEntityIdIndex(final Map<EntityId, Set<Element>> entityIdToElements,
+    private void updateEntityIdIndex(final MapImpl mapImpl,
+                                     final Map<EntityId, Set<Element>> entityIdToElements,
                                      final Element elementWithGroupByProperties) {
         if (elementWithGroupByProperties instanceof Entity) {
             final EntityId entityId = new EntitySeed(((Entity) elementWithGroupByProperties).getVertex());
-            updateEntityIdToElementsMap(entityIdToElements, entityId, elementWithGroupByProperties);
+            updateEntityIdToElementsMap(mapImpl, entityIdToElements, entityId, elementWithGroupByProperties);
         } else {
             final Edge edge = (Edge) elementWithGroupByProperties;
             final EntityId sourceEntityId = new EntitySeed(edge.getSource());
             final EntityId destinationEntityId = new EntitySeed(edge.getDestination());
-            updateEntityIdToElementsMap(entityIdToElements, sourceEntityId, elementWithGroupByProperties);
-            updateEntityIdToElementsMap(entityIdToElements, destinationEntityId, elementWithGroupByProperties);
+            updateEntityIdToElementsMap(mapImpl, entityIdToElements, sourceEntityId, elementWithGroupByProperties);
+            updateEntityIdToElementsMap(mapImpl, entityIdToElements, destinationEntityId, elementWithGroupByProperties);
         }
     }
 
-    private void updateEdgeIdIndex(final Map<EdgeId, Set<Element>> edgeIdToElements,
+    private void updateEdgeIdIndex(final MapImpl mapImpl,
+                                   final Map<EdgeId, Set<Element>> edgeIdToElements,
                                    final Element elementWithGroupByProperties) {
         if (elementWithGroupByProperties instanceof Edge) {
             final Edge edge = (Edge) elementWithGroupByProperties;
             final EdgeId edgeId = new EdgeSeed(edge.getSource(), edge.getDestination(), edge.isDirected());
-            updateEdgeIdToElementsMap(edgeIdToElements, edgeId, elementWithGroupByProperties);
+            updateEdgeIdToElementsMap(mapImpl, edgeIdToElements, edgeId, elementWithGroupByProperties);
         }
     }
 
-    private void updateEntityIdToElementsMap(final Map<EntityId, Set<Element>> entityIdToElements,
+    private void updateEntityIdToElementsMap(final MapImpl mapImpl,
+                                             final Map<EntityId, Set<Element>> entityIdToElements,
                                              final EntityId entityId,
                                              final Element element) {
-        Set<Element> elements = entityIdToElements.get(entityId);
-        if (null == elements) {
-            elements = new HashSet<>();
-            entityIdToElements.put(entityId, elements);
-        }
-        elements.add(element);
+        // computeIfAbsent is atomic for ConcurrentMaps
+        entityIdToElements.computeIfAbsent(entityId, k -> mapImpl.createElementSet()).add(element);
     }
 
-    private void updateEdgeIdToElementsMap(final Map<EdgeId, Set<Element>> edgeIdToElements,
+    private void updateEdgeIdToElementsMap(final MapImpl mapImpl,
+                                           final Map<EdgeId, Set<Element>> edgeIdToElements,
                                            final EdgeId edgeId,
                                            final Element element) {
-        Set<Element> elements = edgeIdToElements.get(edgeId);
-        if (null == elements) {
-            elements = new HashSet<>();
-            edgeIdToElements.put(edgeId, elements);
-        }
-        elements.add(element);
+        edgeIdToElements.computeIfAbsent(edgeId, k -> mapImpl.createElementSet()).add(element);
     }
 
     private Element updateElementToPropertiesWithGroupBy(final Schema schema,
+                                                         final MapImpl mapImpl,
                                                          final Map<Element, Properties> elementToProperties,
                                                          final Map<String, Set<String>> groupToGroupByProperties,
                                                          final Map<String, Set<String>> groupToNonGroupByProperties,
@@ -149,29 +162,50 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         groupToNonGroupByProperties.get(group)
                 .forEach(propertyName -> properties.put(propertyName, element.getProperty(propertyName)));
 
-        Properties existingProperties = elementToProperties.get(elementWithGroupByProperties);
-        if (null == existingProperties) {
-            existingProperties = new Properties();
-            elementToProperties.put(elementWithGroupByProperties, existingProperties);
-        }
+        final boolean isNew = runLocked(mapImpl, elementWithGroupByProperties, () -> {
+            Properties existingProperties = elementToProperties.get(elementWithGroupByProperties);
+            final boolean notInMap = null == existingProperties;
+            if (notInMap) {
+                existingProperties = new Properties();
+                elementToProperties.put(elementWithGroupByProperties, existingProperties);
+            }
 
-        schema.getElement(group).getIngestAggregator().apply(existingProperties, properties);
-        return elementWithGroupByProperties;
+            schema.getElement(group).getIngestAggregator().apply(existingProperties, properties);
+            return notInMap;
+        });
+        return isNew ? elementWithGroupByProperties : null;
     }
 
-    private Element updateElementToPropertiesNoGroupBy(final Element element,
+    private Element updateElementToPropertiesNoGroupBy(final MapImpl mapImpl,
+                                                       final Element element,
                                                        final Map<Element, Properties> elementToProperties) {
-        final Properties existingProperties = elementToProperties.get(element);
-        if (null == existingProperties) {
-            // Clone element and add to map with properties containing 1
-            final Element elementWithGroupByProperties = element.emptyClone();
-            elementWithGroupByProperties.copyProperties(element.getProperties());
-            final Properties properties = new Properties();
-            properties.put(MapImpl.COUNT, 1);
-            elementToProperties.put(elementWithGroupByProperties, properties);
-        } else {
+        final boolean isNew = runLocked(mapImpl, element, () -> {
+            final Properties existingProperties = elementToProperties.get(element);
+            if (null == existingProperties) {
+                // Clone element and add to map with properties containing 1
+                final Element elementWithGroupByProperties = element.emptyClone();
+                elementWithGroupByProperties.copyProperties(element.getProperties());
+                final Properties properties = new Properties();
+                properties.put(MapImpl.COUNT, 1);
+                elementToProperties.put(elementWithGroupByProperties, properties);
+                return true;
+            }
             existingProperties.put(MapImpl.COUNT, ((int) existingProperties.get(MapImpl.COUNT)) + 1);
+            return false;
+        });
+        return isNew ? element : null;
+    }
+
+    private boolean runLocked(final MapImpl mapImpl, final Element key, final BooleanSupplier update) {
+        if (mapImpl.concurrent) {
+            final Lock lock = mapImpl.getLock(key);
+            lock.lock();
+            try {
+                return update.getAsBoolean();
+            } finally {
+                lock.unlock();
+            }
         }
-        return element;
+        return update.getAsBoolean();
     }
 }
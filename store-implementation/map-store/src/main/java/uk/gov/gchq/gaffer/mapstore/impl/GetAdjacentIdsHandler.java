@@ -27,7 +27,6 @@ import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
-import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
 import uk.gov.gchq.gaffer.operation.OperationException;
@@ -99,16 +98,7 @@ public class GetAdjacentIdsHandler implements
                         final Set<Element> elementsWithProperties = new HashSet<>();
                         pair.getSecond()
                                 .stream()
-                                .map(element -> {
-                                    final Element clone = element.emptyClone();
-                                    clone.copyProperties(element.getProperties());
-                                    return clone;
-                                })
-                                .map(element -> {
-                                    final Properties properties = mapImpl.elementToProperties.get(element);
-                                    element.copyProperties(properties);
-                                    return element;
-                                })
+                                .map(mapImpl::getElementWithProperties)
                                 .forEach(elementsWithProperties::add);
                         return new Pair<>(pair.getFirst(), elementsWithProperties);
                     });
@@ -20,7 +20,6 @@ import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Element;
-import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
 import uk.gov.gchq.gaffer.mapstore.utils.ElementCloner;
 import uk.gov.gchq.gaffer.operation.OperationException;
@@ -34,8 +33,6 @@ import java.util.List;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-import static uk.gov.gchq.gaffer.mapstore.impl.MapImpl.COUNT;
-
 /**
  * An {@link OutputOperationHandler} for the {@link GetAllElements} operation on the {@link MapStore}.
  */
@@ -63,20 +60,17 @@ public class GetAllElementsHandler implements OutputOperationHandler<GetAllEleme
 
         @Override
         public CloseableIterator<Element> iterator() {
-            // Create stream of elements from elementToProperties by copying the properties from the value into the key
-            Stream<Element> elements = mapImpl.elementToProperties.entrySet()
+            // Create stream of elements from elementToProperties by combining each key with its properties
+            Stream<Element> elements = mapImpl.elementToProperties.keySet()
                     .stream()
-                    .map(x -> {
-                        final Element element = x.getKey();
-                        final Properties properties = x.getValue();
-                        if (mapImpl.groupsWithNoAggregation.contains(x.getKey().getGroup())) {
-                            final int count = (int) properties.get(COUNT);
+                    .map(element -> {
+                        if (mapImpl.groupsWithNoAggregation.contains(element.getGroup())) {
+                            final int count = mapImpl.getCount(element);
                             List<Element> duplicateElements = new ArrayList<>(count);
                             IntStream.range(0, count).forEach(i -> duplicateElements.add(element));
                             return duplicateElements;
                         } else {
-                            element.copyProperties(properties);
-                            return Collections.singletonList(element);
+                            return Collections.singletonList(mapImpl.getElementWithProperties(element));
                         }
                     })
                     .flatMap(x -> x.stream());
@@ -24,7 +24,6 @@ import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
-import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.element.id.EdgeId;
@@ -37,7 +36,6 @@ import uk.gov.gchq.gaffer.mapstore.utils.ElementCloner;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.SeedMatching.SeedMatchingType;
 import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
-import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.store.Context;
@@ -49,11 +47,10 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-import static uk.gov.gchq.gaffer.mapstore.impl.MapImpl.COUNT;
-
 /**
  * An {@link OutputOperationHandler} for the {@link GetElements} operation on the {@link MapStore}.
  */
@@ -100,14 +97,12 @@ public class GetElementsHandler
             Stream<Element> elementsWithProperties = elementsAfterIncludeEntitiesEdgesOption
                     .map(element -> {
                         if (mapImpl.groupsWithNoAggregation.contains(element.getGroup())) {
-                            final int count = (int) mapImpl.elementToProperties.get(element).get(COUNT);
+                            final int count = mapImpl.getCount(element);
                             List<Element> duplicateElements = new ArrayList<>(count);
                             IntStream.range(0, count).forEach(i -> duplicateElements.add(element));
                             return duplicateElements;
                         } else {
-                            final Properties properties = mapImpl.elementToProperties.get(element);
-                            element.copyProperties(properties);
-                            return Collections.singletonList(element);
+                            return Collections.singletonList(mapImpl.getElementWithProperties(element));
                         }
                     })
                     .flatMap(x -> x.stream());
@@ -121,37 +116,36 @@ public class GetElementsHandler
                                             final ElementId elementId,
                                             final GetElements getElements) {
         if (elementId instanceof EntityId) {
-            final Set<Element> relevantElements = new HashSet<>();
-            final Set<Element> elements = mapImpl.entityIdToElements.get(elementId);
-            if (null != elements) {
-                relevantElements.addAll(elements);
-            }
-            if (relevantElements.isEmpty()) {
-                return Collections.emptySet();
-            }
+            final Object vertex = ((EntityId) elementId).getVertex();
+            Stream<Element> relevantElements = mapImpl.getElementsForVertex(vertex);
             // Apply inOutType options
             // If option is EITHER then nothing to do
             if (getElements.getIncludeIncomingOutGoing() == IncludeIncomingOutgoingType.INCOMING) {
-                relevantElements.removeIf(e -> e instanceof Edge
+                relevantElements = relevantElements.filter(e -> !(e instanceof Edge
                         && ((Edge) e).isDirected()
-                        && ((Edge) e).getSource().equals(((EntityId) elementId).getVertex())
-                        && !((Edge) e).getDestination().equals(((EntityId) elementId).getVertex()));
+                        && ((Edge) e).getSource().equals(vertex)
+                        && !((Edge) e).getDestination().equals(vertex)));
             } else if (getElements.getIncludeIncomingOutGoing() == IncludeIncomingOutgoingType.OUTGOING) {
-                relevantElements.removeIf(e -> e instanceof Edge
+                relevantElements = relevantElements.filter(e -> !(e instanceof Edge
                         && ((Edge) e).isDirected()
-                        && ((Edge) e).getDestination().equals(((EntityId) elementId).getVertex())
-                        && !((Edge) e).getSource().equals(((EntityId) elementId).getVertex()));
+                        && ((Edge) e).getDestination().equals(vertex)
+                        && !((Edge) e).getSource().equals(vertex)));
             }
             // Apply seedMatching option
             // If option is RELATED then nothing to do
             if (getElements.getSeedMatching() == SeedMatchingType.EQUAL) {
-                relevantElements.removeIf(e -> e instanceof Edge);
+                relevantElements = relevantElements.filter(e -> !(e instanceof Edge));
             }
-            return relevantElements;
+            return relevantElements.collect(Collectors.toSet());
         } else {
-            final EdgeId edgeId = (EdgeSeed) elementId;
+            final EdgeId edgeId = (EdgeId) elementId;
             final Set<Element> relevantElements = new HashSet<>();
-            if (DirectedType.isEither(edgeId.getDirectedType())) {
+            if (null != mapImpl.vertexIndex) {
+                // There is no edge index so find the edges from the elements of the source vertex
+                mapImpl.getElementsForVertex(edgeId.getSource())
+                        .filter(e -> e instanceof Edge && isMatchingEdge((Edge) e, edgeId))
+                        .forEach(relevantElements::add);
+            } else if (DirectedType.isEither(edgeId.getDirectedType())) {
                 final Set<Element> elements = mapImpl.edgeIdToElements.get(new EdgeSeed(edgeId.getSource(), edgeId.getDestination(), false));
                 if (elements != null) {
                     relevantElements.addAll(elements);
@@ -166,29 +160,32 @@ public class GetElementsHandler
                     relevantElements.addAll(elements);
                 }
             }
-            final Set<Element> elementsFromSource = mapImpl.entityIdToElements.get(new EntitySeed(edgeId.getSource()));
-            if (elementsFromSource != null) {
-                final Set<Element> related = new HashSet<>();
-                related.addAll(elementsFromSource);
-                related.removeIf(e -> e instanceof Edge);
-                relevantElements.addAll(related);
-            }
-            final Set<Element> elementsFromDest = mapImpl.entityIdToElements.get(new EntitySeed(edgeId.getDestination()));
-            if (elementsFromDest != null) {
-                final Set<Element> related = new HashSet<>();
-                related.addAll(elementsFromDest);
-                related.removeIf(e -> e instanceof Edge);
-                relevantElements.addAll(related);
-            }
             // Apply seedMatching option
-            // If option is RELATED then nothing to do
-            if (getElements.getSeedMatching() == SeedMatchingType.EQUAL) {
-                relevantElements.removeIf(e -> e instanceof Entity);
+            // If option is RELATED then add the entities for the source and destination
+            if (getElements.getSeedMatching() != SeedMatchingType.EQUAL) {
+                mapImpl.getElementsForVertex(edgeId.getSource())
+                        .filter(e -> e instanceof Entity)
+                        .forEach(relevantElements::add);
+                mapImpl.getElementsForVertex(edgeId.getDestination())
+                        .filter(e -> e instanceof Entity)
+                        .forEach(relevantElements::add);
             }
             return relevantElements;
         }
     }
 
+    private static boolean isMatchingEdge(final Edge edge, final EdgeId edgeId) {
+        final boolean sameOrder = edge.getSource().equals(edgeId.getSource())
+                && edge.getDestination().equals(edgeId.getDestination());
+        if (edge.isDirected()) {
+            return sameOrder && DirectedType.UNDIRECTED != edgeId.getDirectedType();
+        }
+        // Undirected edges match in either order
+        return DirectedType.DIRECTED != edgeId.getDirectedType()
+                && (sameOrder || (edge.getSource().equals(edgeId.getDestination())
+                && edge.getDestination().equals(edgeId.getSource())));
+    }
+
     static Stream<Element> applyIncludeEntitiesEdgesOptions(final Stream<Element> elements,
                                                             final boolean includeEntities,
                                                             final boolean includeEdges,
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import uk.gov.gchq.gaffer.data.GroupCounts;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.mapstore.MapStore;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.GetGroupCounts;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import java.util.Set;
+
+/**
+ * An {@link OutputOperationHandler} for the {@link GetGroupCounts}
+ * operation on the {@link MapStore}. If all edges are requested then the counts are read from the counters that are
+ * maintained when elements are added, otherwise the keys of the map are counted. In either case no elements are
+ * copied.
+ */
+public class GetGroupCountsHandler implements OutputOperationHandler<GetGroupCounts, GroupCounts> {
+
+    @Override
+    public GroupCounts doOperation(final GetGroupCounts operation, final Context context, final Store store)
+            throws OperationException {
+        return doOperation(operation, ((MapStore) store).getMapImpl());
+    }
+
+    private GroupCounts doOperation(final GetGroupCounts operation, final MapImpl mapImpl) {
+        final View view = operation.getView();
+        final Set<String> entityGroups = null != view ? view.getEntityGroups() : mapImpl.schema.getEntityGroups();
+        final Set<String> edgeGroups = null != view ? view.getEdgeGroups() : mapImpl.schema.getEdgeGroups();
+        final GroupCounts groupCounts = new GroupCounts();
+        if (DirectedType.isEither(operation.getDirectedType())) {
+            for (final String group : entityGroups) {
+                final long count = getCount(mapImpl, group);
+                if (count > 0) {
+                    groupCounts.getEntityGroupCounts().put(group, count);
+                }
+            }
+            for (final String group : edgeGroups) {
+                final long count = getCount(mapImpl, group);
+                if (count > 0) {
+                    groupCounts.getEdgeGroupCounts().put(group, count);
+                }
+            }
+        } else {
+            final boolean directed = DirectedType.DIRECTED == operation.getDirectedType();
+            for (final Element element : mapImpl.elementToProperties.keySet()) {
+                final String group = element.getGroup();
+                if (element instanceof Entity) {
+                    if (entityGroups.contains(group)) {
+                        groupCounts.getEntityGroupCounts().merge(group, getCopies(mapImpl, element), Long::sum);
+                    }
+                } else if (edgeGroups.contains(group) && directed == ((Edge) element).isDirected()) {
+                    groupCounts.getEdgeGroupCounts().merge(group, getCopies(mapImpl, element), Long::sum);
+                }
+            }
+        }
+        return groupCounts;
+    }
+
+    // Groups with no aggregation return a copy of each element for every time it was added
+    private long getCount(final MapImpl mapImpl, final String group) {
+        if (mapImpl.groupsWithNoAggregation.contains(group)) {
+            return mapImpl.groupToElementCopies.get(group).sum();
+        }
+        return mapImpl.groupToElementCount.get(group).sum();
+    }
+
+    private long getCopies(final MapImpl mapImpl, final Element element) {
+        return mapImpl.groupsWithNoAggregation.contains(element.getGroup()) ? mapImpl.getCount(element) : 1L;
+    }
+}
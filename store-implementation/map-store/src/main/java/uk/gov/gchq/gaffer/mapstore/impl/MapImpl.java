@@ -20,14 +20,23 @@ import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.gaffer.data.element.id.EdgeId;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.utils.ElementCloner;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.statistics.GraphStatistics;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
 
 /**
  * The internal variables of this class are package-private. This allows operation handlers for the
@@ -45,23 +54,50 @@ public class MapImpl {
     Map<EntityId, Set<Element>> entityIdToElements;
     // edgeIdToElements is a map from an EdgeId to the element key from elementToProperties
     Map<EdgeId, Set<Element>> edgeIdToElements;
+    // vertexIndex is used instead of entityIdToElements and edgeIdToElements if the compact vertex index is requested
+    VertexIndex vertexIndex;
     final boolean maintainIndex;
+    // If concurrent is true then the maps are ConcurrentMaps and the properties of each element are only updated or
+    // read whilst holding the lock for that element
+    final boolean concurrent;
+    private final Lock[] locks;
     final Map<String, Set<String>> groupToGroupByProperties = new HashMap<>();
     final Map<String, Set<String>> groupToNonGroupByProperties = new HashMap<>();
     final Set<String> groupsWithNoAggregation = new HashSet<>();
+    // groupToElementCount holds the number of keys of each group in elementToProperties
+    final Map<String, LongAdder> groupToElementCount = new HashMap<>();
+    // groupToElementCopies holds the number of elements added to each group with no aggregation, i.e. the number of
+    // copies of elements in that group returned by GetAllElements
+    final Map<String, LongAdder> groupToElementCopies = new HashMap<>();
     final Schema schema;
     final List<String> aggregatedGroups;
 
     public MapImpl(final Schema schema, final MapStoreProperties mapStoreProperties) throws StoreException {
         maintainIndex = mapStoreProperties.getCreateIndex();
-        try {
-            elementToProperties = Class.forName(mapStoreProperties.getMapClass()).asSubclass(Map.class).newInstance();
-            if (maintainIndex) {
-                entityIdToElements = Class.forName(mapStoreProperties.getMapClass()).asSubclass(Map.class).newInstance();
-                edgeIdToElements = Class.forName(mapStoreProperties.getMapClass()).asSubclass(Map.class).newInstance();
+        concurrent = mapStoreProperties.isConcurrent();
+        elementToProperties = createMap(mapStoreProperties);
+        if (maintainIndex) {
+            if (mapStoreProperties.getVertexIndex()) {
+                if (concurrent) {
+                    throw new StoreException("The vertex index cannot be used when the store is concurrent");
+                }
+                vertexIndex = new VertexIndex();
+            } else {
+                entityIdToElements = createMap(mapStoreProperties);
+                edgeIdToElements = createMap(mapStoreProperties);
             }
-        } catch (final InstantiationException | IllegalAccessException | ClassNotFoundException e) {
-            throw new StoreException("Exception instantiating map of class " + mapStoreProperties.getMapClass(), e);
+        }
+        if (concurrent) {
+            final int numStripes = mapStoreProperties.getLockStripes();
+            if (numStripes < 1) {
+                throw new StoreException("The number of lock stripes must be at least 1, got " + numStripes);
+            }
+            locks = new Lock[numStripes];
+            for (int i = 0; i < numStripes; i++) {
+                locks[i] = new ReentrantLock();
+            }
+        } else {
+            locks = null;
         }
         this.schema = schema;
         this.aggregatedGroups = schema.getAggregatedGroups();
@@ -69,11 +105,124 @@ public class MapImpl {
         schema.getEdgeGroups().forEach(g -> addToGroupByMap(this.schema, g));
     }
 
+    /**
+     * Returns a new element containing the group-by properties of the provided key together with the properties
+     * currently stored against it. The key itself is never modified. If the store is concurrent the stored properties
+     * are deep copied whilst holding the lock for the key so that a partially aggregated set of properties can never
+     * be seen.
+     *
+     * @param elementWithGroupByProperties a key from elementToProperties
+     * @return a new element with the full set of properties
+     */
+    Element getElementWithProperties(final Element elementWithGroupByProperties) {
+        final Element element = elementWithGroupByProperties.emptyClone();
+        element.copyProperties(elementWithGroupByProperties.getProperties());
+        if (concurrent) {
+            final Lock lock = getLock(elementWithGroupByProperties);
+            lock.lock();
+            try {
+                final Properties properties = elementToProperties.get(elementWithGroupByProperties);
+                if (null != properties) {
+                    element.copyProperties(ElementCloner.cloneProperties(element.getGroup(), properties, schema));
+                }
+            } finally {
+                lock.unlock();
+            }
+        } else {
+            element.copyProperties(elementToProperties.get(elementWithGroupByProperties));
+        }
+        return element;
+    }
+
+    /**
+     * Returns the number of times the provided element has been added, for groups that are not aggregated.
+     *
+     * @param element a key from elementToProperties
+     * @return the number of copies of the element
+     */
+    int getCount(final Element element) {
+        if (concurrent) {
+            final Lock lock = getLock(element);
+            lock.lock();
+            try {
+                return (int) elementToProperties.get(element).get(COUNT);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return (int) elementToProperties.get(element).get(COUNT);
+    }
+
+    /**
+     * Lazily streams the indexed elements that contain the given vertex, i.e. entities with that vertex and edges
+     * with that vertex as their source or destination.
+     *
+     * @param vertex the vertex
+     * @return the elements containing the vertex, with their group-by properties
+     */
+    Stream<Element> getElementsForVertex(final Object vertex) {
+        if (null != vertexIndex) {
+            return vertexIndex.get(vertex);
+        }
+        final Set<Element> elements = entityIdToElements.get(new EntitySeed(vertex));
+        return null == elements ? Stream.empty() : elements.stream();
+    }
+
+    /**
+     * Returns the number of distinct elements in each group and, if an index is maintained, the number of distinct
+     * vertices.
+     *
+     * @return the statistics of the elements in this map
+     */
+    public GraphStatistics getStatistics() {
+        final GraphStatistics.Builder builder = new GraphStatistics.Builder();
+        for (final String group : schema.getEntityGroups()) {
+            builder.entityCount(group, groupToElementCount.get(group).sum());
+        }
+        for (final String group : schema.getEdgeGroups()) {
+            builder.edgeCount(group, groupToElementCount.get(group).sum());
+        }
+        if (null != vertexIndex) {
+            builder.vertexCount((long) vertexIndex.getNumVertices());
+        } else if (null != entityIdToElements) {
+            builder.vertexCount((long) entityIdToElements.size());
+        }
+        return builder.build();
+    }
+
+    Lock getLock(final Element elementWithGroupByProperties) {
+        final int hash = elementWithGroupByProperties.hashCode();
+        return locks[Math.floorMod(hash ^ (hash >>> 16), locks.length)];
+    }
+
+    Set<Element> createElementSet() {
+        if (concurrent) {
+            return ConcurrentHashMap.newKeySet();
+        }
+        return new HashSet<>();
+    }
+
+    private Map createMap(final MapStoreProperties mapStoreProperties) throws StoreException {
+        final Map map;
+        try {
+            map = Class.forName(mapStoreProperties.getMapClass()).asSubclass(Map.class).newInstance();
+        } catch (final InstantiationException | IllegalAccessException | ClassNotFoundException e) {
+            throw new StoreException("Exception instantiating map of class " + mapStoreProperties.getMapClass(), e);
+        }
+        if (concurrent && !(map instanceof ConcurrentMap)) {
+            throw new StoreException("Map class " + mapStoreProperties.getMapClass()
+                    + " must implement ConcurrentMap when the store is concurrent");
+        }
+        return map;
+    }
+
     private void addToGroupByMap(final Schema schema, final String group) {
         final SchemaElementDefinition sed = schema.getElement(group);
         groupToGroupByProperties.put(group, sed.getGroupBy());
+        groupToElementCount.put(group, new LongAdder());
         if (null == sed.getGroupBy() || sed.getGroupBy().isEmpty() || !aggregatedGroups.contains(group)) {
             groupsWithNoAggregation.add(group);
+            groupToElementCopies.put(group, new LongAdder());
         }
         final Set<String> nonGroupByProperties = new HashSet<>(sed.getProperties());
         nonGroupByProperties.removeAll(sed.getGroupBy());
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A compact alternative to the entityIdToElements and edgeIdToElements maps in {@link MapImpl}. Each vertex is
+ * interned to an int id in an open-addressed table of primitive ids and each indexed element is given an int id.
+ * The adjacency of a vertex is then stored as a growable primitive array of element ids, so no seed wrappers, boxed
+ * ids, map entries or sets are created per vertex, and lookups only create objects for the elements they return.
+ * <p>
+ * Edges are found by their {@link uk.gov.gchq.gaffer.data.element.id.EdgeId} by scanning the adjacency of their
+ * source vertex, so there is no separate edge index.
+ * <p>
+ * This class is not thread-safe.
+ */
+class VertexIndex {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int[] EMPTY = new int[0];
+
+    // vertices and vertexIds form an open-addressed hash table from each vertex to its id, kept at most half full
+    private Object[] vertices = new Object[2 * INITIAL_CAPACITY];
+    private int[] vertexIds = new int[2 * INITIAL_CAPACITY];
+    private int numVertices;
+    private final List<Element> elements = new ArrayList<>();
+    private int[][] adjacency = new int[INITIAL_CAPACITY][];
+    private int[] degrees = new int[INITIAL_CAPACITY];
+
+    /**
+     * Adds a new element to the index. Entities are indexed by their vertex and edges by their source and
+     * destination. The element must not already be in the index.
+     *
+     * @param element the element to add
+     */
+    void add(final Element element) {
+        final int elementId = elements.size();
+        elements.add(element);
+        if (element instanceof Entity) {
+            addToAdjacency(getOrCreateVertexId(((Entity) element).getVertex()), elementId);
+        } else {
+            final Edge edge = (Edge) element;
+            final int sourceId = getOrCreateVertexId(edge.getSource());
+            final int destinationId = getOrCreateVertexId(edge.getDestination());
+            addToAdjacency(sourceId, elementId);
+            if (destinationId != sourceId) {
+                addToAdjacency(destinationId, elementId);
+            }
+        }
+    }
+
+    /**
+     * Lazily streams the elements that contain the given vertex.
+     *
+     * @param vertex the vertex
+     * @return the entities with the vertex and edges with the vertex as their source or destination
+     */
+    Stream<Element> get(final Object vertex) {
+        final int slot = getSlot(vertex);
+        if (null == vertices[slot]) {
+            return Stream.empty();
+        }
+        final int vertexId = vertexIds[slot];
+        final int[] elementIds = adjacency[vertexId];
+        return IntStream.range(0, degrees[vertexId])
+                .mapToObj(i -> elements.get(elementIds[i]));
+    }
+
+    int getNumVertices() {
+        return numVertices;
+    }
+
+    int getNumElements() {
+        return elements.size();
+    }
+
+    private int getOrCreateVertexId(final Object vertex) {
+        int slot = getSlot(vertex);
+        if (null != vertices[slot]) {
+            return vertexIds[slot];
+        }
+        final int vertexId = numVertices++;
+        if (2 * numVertices > vertices.length) {
+            resizeVertices();
+            slot = getSlot(vertex);
+        }
+        vertices[slot] = vertex;
+        vertexIds[slot] = vertexId;
+        if (vertexId == degrees.length) {
+            adjacency = Arrays.copyOf(adjacency, 2 * vertexId);
+            degrees = Arrays.copyOf(degrees, 2 * vertexId);
+        }
+        adjacency[vertexId] = EMPTY;
+        return vertexId;
+    }
+
+    // Finds the slot holding the given vertex, or the empty slot where it should be inserted, by linear probing
+    private int getSlot(final Object vertex) {
+        final int mask = vertices.length - 1;
+        final int hash = vertex.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (null != vertices[slot] && !vertex.equals(vertices[slot])) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resizeVertices() {
+        final Object[] oldVertices = vertices;
+        final int[] oldVertexIds = vertexIds;
+        vertices = new Object[2 * oldVertices.length];
+        vertexIds = new int[2 * oldVertices.length];
+        for (int i = 0; i < oldVertices.length; i++) {
+            if (null != oldVertices[i]) {
+                final int slot = getSlot(oldVertices[i]);
+                vertices[slot] = oldVertices[i];
+                vertexIds[slot] = oldVertexIds[i];
+            }
+        }
+    }
+
+    private void addToAdjacency(final int vertexId, final int elementId) {
+        int[] elementIds = adjacency[vertexId];
+        final int degree = degrees[vertexId];
+        if (degree == elementIds.length) {
+            // Most vertices have a small degree so start with a small array
+            elementIds = Arrays.copyOf(elementIds, 0 == degree ? 2 : 2 * degree);
+            adjacency[vertexId] = elementIds;
+        }
+        elementIds[degree] = elementId;
+        degrees[vertexId] = degree + 1;
+    }
+}
@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.mapstore.utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
@@ -30,22 +31,28 @@ public final class ElementCloner {
     }
 
     public static Element cloneElement(final Element element, final Schema schema) {
+        final Element clone = element.emptyClone();
+        clone.copyProperties(cloneProperties(clone.getGroup(), element.getProperties(), schema));
+        return clone;
+    }
+
+    public static Properties cloneProperties(final String group, final Properties properties, final Schema schema) {
         try {
-            final Element clone = element.emptyClone();
-            final SchemaElementDefinition sed = schema.getElement(clone.getGroup());
-            for (final String propertyName : element.getProperties().keySet()) {
-                final Object property = element.getProperty(propertyName);
+            final Properties clone = new Properties();
+            final SchemaElementDefinition sed = schema.getElement(group);
+            for (final String propertyName : properties.keySet()) {
+                final Object property = properties.get(propertyName);
                 if (null == sed.getPropertyTypeDef(propertyName) || null == sed.getPropertyTypeDef(propertyName).getSerialiser()) {
                     // This can happen if transient properties are derived - they will not have serialisers.
                     LOGGER.warn("Can't find Serialisation for {}, returning uncloned property", propertyName);
-                    clone.putProperty(propertyName, property);
+                    clone.put(propertyName, property);
                 } else if (null != property) {
                     final ToBytesSerialiser serialisation = (ToBytesSerialiser) sed.getPropertyTypeDef(propertyName).getSerialiser();
                     final byte[] serialised = serialisation.serialise(property);
                     final Object deserialised = serialisation.deserialise(serialised);
-                    clone.putProperty(propertyName, deserialised);
+                    clone.put(propertyName, deserialised);
                 } else {
-                    clone.putProperty(propertyName, null);
+                    clone.put(propertyName, null);
                 }
             }
             return clone;
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.integration.AbstractStoreIT;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.CountGroups;
+import uk.gov.gchq.gaffer.operation.impl.DiscardOutput;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
+import uk.gov.gchq.gaffer.store.StoreProperties;
+import uk.gov.gchq.gaffer.user.User;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Measures the time taken to execute operation chains that are rewritten by the
+ * {@link uk.gov.gchq.gaffer.store.optimiser.OperationChainRule}s, against the MapStore loaded with the
+ * integration test data, with the rules enabled and disabled. This is not run as part of the unit tests; run the
+ * main method directly, optionally passing the number of times to execute each chain.
+ */
+public final class OperationChainRulesBenchmark {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OperationChainRulesBenchmark.class);
+    private static final User USER = new User();
+
+    private OperationChainRulesBenchmark() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int numExecutions = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        final Graph withRules = createGraph(true);
+        final Graph withoutRules = createGraph(false);
+
+        for (final Map.Entry<String, Supplier<List<Operation>>> chain : getChains().entrySet()) {
+            // Warm up
+            run(withoutRules, chain.getValue(), numExecutions / 10);
+            run(withRules, chain.getValue(), numExecutions / 10);
+
+            final long timeWithoutRules = run(withoutRules, chain.getValue(), numExecutions);
+            final long timeWithRules = run(withRules, chain.getValue(), numExecutions);
+            LOGGER.info("{}: {}ms without rules, {}ms with rules, for {} executions",
+                    chain.getKey(), timeWithoutRules, timeWithRules, numExecutions);
+        }
+    }
+
+    private static long run(final Graph graph, final Supplier<List<Operation>> ops, final int numExecutions)
+            throws OperationException {
+        final long start = System.currentTimeMillis();
+        for (int i = 0; i < numExecutions; i++) {
+            final Object result = graph.execute(new OperationChain<>(ops.get()), USER);
+            if (result instanceof Iterable) {
+                ((Iterable<?>) result).forEach(item -> {
+                });
+            }
+        }
+        return System.currentTimeMillis() - start;
+    }
+
+    private static Map<String, Supplier<List<Operation>>> getChains() {
+        final Map<String, Supplier<List<Operation>>> chains = new LinkedHashMap<>();
+        chains.put("GetAllElements -> ToList -> Count", () -> Arrays.asList(
+                new GetAllElements(), new ToList<>(), new Count<>()));
+        chains.put("GetAllElements -> CountGroups", () -> Arrays.asList(
+                new GetAllElements(), new CountGroups()));
+        chains.put("GetAllElements -> ToSet -> Count", () -> Arrays.asList(
+                new GetAllElements(), new ToSet<>(), new Count<>()));
+        chains.put("GetElements -> Limit", () -> Arrays.asList(
+                new GetElements.Builder()
+                        .input(new EntitySeed(AbstractStoreIT.SOURCE_1), new EntitySeed(AbstractStoreIT.A + 1))
+                        .build(),
+                new Limit<>(1)));
+        chains.put("GetAllElements -> ToList -> DiscardOutput", () -> Arrays.asList(
+                new GetAllElements(), new ToList<>(), new DiscardOutput()));
+        return chains;
+    }
+
+    private static Graph createGraph(final boolean rulesEnabled) throws OperationException {
+        final StoreProperties storeProperties =
+                StoreProperties.loadStoreProperties(StreamUtil.storeProps(OperationChainRulesBenchmark.class));
+        storeProperties.setOperationChainRulesEnabled(rulesEnabled);
+        final Graph graph = new Graph.Builder()
+                .addSchema(AbstractStoreIT.createDefaultSchema())
+                .storeProperties(storeProperties)
+                .build();
+
+        final List<Element> elements = new ArrayList<>();
+        elements.addAll(AbstractStoreIT.createDefaultEntities().values());
+        elements.addAll(AbstractStoreIT.createDefaultEdges().values());
+        graph.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), USER);
+        return graph;
+    }
+}
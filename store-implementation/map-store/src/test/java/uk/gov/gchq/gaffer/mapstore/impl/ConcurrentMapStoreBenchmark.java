@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.user.User;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_EDGE1;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_ENTITY;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.COUNT;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.PROPERTY1;
+
+/**
+ * Measures multi-threaded ingest and query throughput of the MapStore, comparing the default store, with
+ * ingest serialised by a single writer, against the concurrent store. This is not run as part of the unit tests;
+ * run the main method directly, optionally passing the number of threads, batches and vertices per batch.
+ */
+public final class ConcurrentMapStoreBenchmark {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentMapStoreBenchmark.class);
+
+    private ConcurrentMapStoreBenchmark() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int numThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        final int numBatches = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        final int numVertices = args.length > 2 ? Integer.parseInt(args[2]) : 10000;
+
+        final MapStoreProperties defaultProperties = new MapStoreProperties();
+        final MapStoreProperties concurrentProperties = new MapStoreProperties();
+        concurrentProperties.setConcurrent("true");
+
+        // Warm up
+        run(defaultProperties, 1, numBatches / 10, numVertices);
+        run(concurrentProperties, numThreads, numBatches / 10, numVertices);
+
+        final long defaultTime = run(defaultProperties, 1, numBatches, numVertices);
+        final long concurrentTime = run(concurrentProperties, numThreads, numBatches, numVertices);
+        final long numOperations = 2L * numBatches;
+        LOGGER.info("Default store, 1 thread: {} operations in {}ms", numOperations, defaultTime);
+        LOGGER.info("Concurrent store, {} threads: {} operations in {}ms", numThreads, numOperations, concurrentTime);
+    }
+
+    private static long run(final MapStoreProperties storeProperties, final int numThreads,
+                            final int numBatches, final int numVertices) throws Exception {
+        final Graph graph = new Graph.Builder()
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(storeProperties)
+                .build();
+        final List<Element> batch = createBatch(numVertices);
+        final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        final List<Future<?>> futures = new ArrayList<>();
+        final long start = System.currentTimeMillis();
+        for (int i = 0; i < numBatches; i++) {
+            final int seed = i % numVertices;
+            futures.add(executor.submit(() -> {
+                graph.execute(new AddElements.Builder()
+                        .input(batch)
+                        .build(), new User());
+                return null;
+            }));
+            futures.add(executor.submit(() -> Streams.toStream(graph.execute(new GetElements.Builder()
+                    .input(new EntitySeed("" + seed))
+                    .build(), new User())).count()));
+        }
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        final long time = System.currentTimeMillis() - start;
+        executor.shutdown();
+        return time;
+    }
+
+    private static List<Element> createBatch(final int numVertices) {
+        final List<Element> elements = new ArrayList<>(2 * numVertices);
+        for (int i = 0; i < numVertices; i++) {
+            final Entity entity = new Entity(BASIC_ENTITY, "" + i);
+            entity.putProperty(PROPERTY1, "p");
+            entity.putProperty(COUNT, 1);
+            elements.add(entity);
+            final Edge edge = new Edge(BASIC_EDGE1, "" + i, "" + ((i + 1) % numVertices), true);
+            edge.putProperty(PROPERTY1, "q");
+            edge.putProperty(COUNT, 1);
+            elements.add(edge);
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.user.User;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_EDGE1;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_ENTITY;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.COUNT;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.PROPERTY1;
+
+public class ConcurrentMapStoreTest {
+    private static final int NUM_THREADS = 8;
+    private static final int NUM_BATCHES = 50;
+    private static final int NUM_VERTICES = 20;
+
+    @Test
+    public void shouldThrowExceptionIfMapClassIsNotConcurrent() {
+        // Given
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setConcurrent("true");
+        storeProperties.setMapClass("java.util.HashMap");
+
+        // When / Then
+        try {
+            new MapImpl(GetAllElementsHandlerTest.getSchema(), storeProperties);
+            fail("Exception expected");
+        } catch (final StoreException e) {
+            assertTrue(e.getMessage().contains("ConcurrentMap"));
+        }
+    }
+
+    @Test
+    public void shouldDefaultToConcurrentHashMapWhenConcurrent() {
+        // Given
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+
+        // When
+        storeProperties.setConcurrent("true");
+
+        // Then
+        assertEquals(MapStoreProperties.DEFAULT_CONCURRENT_MAP_CLASS, storeProperties.getMapClass());
+    }
+
+    @Test
+    public void shouldAggregateCorrectlyWhenAddingAndQueryingConcurrently() throws Exception {
+        // Given
+        final Graph graph = getConcurrentGraph();
+        final ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+        final List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < NUM_BATCHES; i++) {
+            futures.add(executor.submit((Callable<Void>) () -> {
+                graph.execute(new AddElements.Builder()
+                        .input(getBatch())
+                        .build(), new User());
+                return null;
+            }));
+            futures.add(executor.submit((Callable<Void>) () -> {
+                final CloseableIterable<? extends Element> results = graph.execute(new GetElements.Builder()
+                        .input(new EntitySeed("A"))
+                        .build(), new User());
+                // Counts are always a multiple of the count in a single batch, never a partial aggregation
+                Streams.toStream(results)
+                        .forEach(element -> assertEquals(0, ((int) element.getProperty(COUNT)) % 2));
+                return null;
+            }));
+        }
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        // Then
+        final CloseableIterable<? extends Element> results = graph.execute(new GetAllElements(), new User());
+        final List<Element> resultsList = new ArrayList<>();
+        Streams.toStream(results).forEach(resultsList::add);
+        assertEquals(2 * NUM_VERTICES, resultsList.size());
+        for (final Element element : resultsList) {
+            if (element instanceof Entity) {
+                assertEquals(NUM_BATCHES, element.getProperty(COUNT));
+            } else {
+                assertEquals(2 * NUM_BATCHES, element.getProperty(COUNT));
+            }
+        }
+    }
+
+    static Graph getConcurrentGraph() {
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setConcurrent("true");
+        return new Graph.Builder()
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(storeProperties)
+                .build();
+    }
+
+    static List<Element> getBatch() {
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < NUM_VERTICES; i++) {
+            final Entity entity = new Entity(BASIC_ENTITY, "" + i);
+            entity.putProperty(PROPERTY1, "p");
+            entity.putProperty(COUNT, 1);
+            elements.add(entity);
+            final Edge edge = new Edge(BASIC_EDGE1, "A", "B" + i, true);
+            edge.putProperty(PROPERTY1, "q");
+            edge.putProperty(COUNT, 2);
+            elements.add(edge);
+        }
+        return elements;
+    }
+}
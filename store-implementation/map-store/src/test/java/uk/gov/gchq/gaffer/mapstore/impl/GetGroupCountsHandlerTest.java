@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.GroupCounts;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.CountGroups;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.user.User;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_EDGE1;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_EDGE2;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_ENTITY;
+
+public class GetGroupCountsHandlerTest {
+
+    @Test
+    public void shouldCountGroupsWithAggregation() throws OperationException {
+        // Given
+        final Graph graph = GetAllElementsHandlerTest.getGraph();
+        addElementsTwice(graph);
+
+        // When / Then
+        final GroupCounts groupCounts = assertSameCountsAsCountGroupsHandler(graph, null);
+        assertEquals(10, (long) groupCounts.getEntityGroupCounts().get(BASIC_ENTITY));
+        assertEquals(10, (long) groupCounts.getEdgeGroupCounts().get(BASIC_EDGE1));
+        assertEquals(10, (long) groupCounts.getEdgeGroupCounts().get(BASIC_EDGE2));
+    }
+
+    @Test
+    public void shouldCountEveryCopyOfElementsInGroupsWithNoAggregation() throws OperationException {
+        // Given
+        final Graph graph = GetAllElementsHandlerTest.getGraphNoAggregation();
+        addElementsTwice(graph);
+
+        // When / Then
+        final GroupCounts groupCounts = assertSameCountsAsCountGroupsHandler(graph, null);
+        assertEquals(20, (long) groupCounts.getEntityGroupCounts().get(BASIC_ENTITY));
+    }
+
+    @Test
+    public void shouldCountOnlyEdgesWithRequestedDirectedType() throws OperationException {
+        // Given
+        final Graph graph = GetAllElementsHandlerTest.getGraphNoAggregation();
+        addElementsTwice(graph);
+
+        // When / Then
+        final GroupCounts groupCounts = assertSameCountsAsCountGroupsHandler(graph, DirectedType.DIRECTED);
+        assertFalse(groupCounts.getEdgeGroupCounts().containsKey(BASIC_EDGE2));
+    }
+
+    @Test
+    public void shouldCountAllElements() throws OperationException {
+        // Given
+        final Graph graph = GetAllElementsHandlerTest.getGraphNoAggregation();
+        addElementsTwice(graph);
+
+        // When
+        final Long count = graph.execute(new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(new Count<>())
+                .build(), new User());
+
+        // Then
+        assertEquals(2L * GetAllElementsHandlerTest.getElements().size(), (long) count);
+    }
+
+    private static void addElementsTwice(final Graph graph) throws OperationException {
+        for (int i = 0; i < 2; i++) {
+            graph.execute(new AddElements.Builder()
+                    .input(GetAllElementsHandlerTest.getElements())
+                    .build(), new User());
+        }
+    }
+
+    // Executes GetAllElements -> CountGroups, which is rewritten to GetGroupCounts, and checks the counts match those
+    // from counting the elements returned by GetAllElements.
+    private static GroupCounts assertSameCountsAsCountGroupsHandler(final Graph graph, final DirectedType directedType)
+            throws OperationException {
+        final GroupCounts groupCounts = graph.execute(new OperationChain.Builder()
+                .first(new GetAllElements.Builder()
+                        .directedType(directedType)
+                        .build())
+                .then(new CountGroups())
+                .build(), new User());
+
+        final CloseableIterable<? extends Element> elements = graph.execute(new GetAllElements.Builder()
+                .directedType(directedType)
+                .build(), new User());
+        final GroupCounts expected = graph.execute(new CountGroups.Builder()
+                .input(elements)
+                .build(), new User());
+
+        assertEquals(expected.getEntityGroupCounts(), groupCounts.getEntityGroupCounts());
+        assertEquals(expected.getEdgeGroupCounts(), groupCounts.getEdgeGroupCounts());
+        return groupCounts;
+    }
+}
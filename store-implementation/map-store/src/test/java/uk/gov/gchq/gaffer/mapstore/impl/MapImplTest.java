@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.mapstore.MapStore;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.statistics.GraphStatistics;
+import uk.gov.gchq.gaffer.user.User;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_EDGE1;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_EDGE2;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_ENTITY;
+
+public class MapImplTest {
+    private static final long NUM_LOOPS = GetAllElementsHandlerTest.getElements().size() / 3;
+
+    @Test
+    public void shouldCountDistinctElementsAndVerticesInStatistics() throws StoreException, OperationException {
+        // Given
+        final MapStore store = new MapStore();
+        store.initialise(GetAllElementsHandlerTest.getSchema(), new MapStoreProperties());
+        final AddElements addElements = new AddElements.Builder()
+                .input(GetAllElementsHandlerTest.getElements())
+                .build();
+
+        // When - the elements are added twice, so they are aggregated
+        store.execute(addElements, new User());
+        store.execute(addElements, new User());
+        final GraphStatistics statistics = store.getStatistics();
+
+        // Then
+        assertEquals(NUM_LOOPS, (long) statistics.getElementCount(BASIC_ENTITY));
+        assertEquals(NUM_LOOPS, (long) statistics.getElementCount(BASIC_EDGE1));
+        assertEquals(NUM_LOOPS, (long) statistics.getElementCount(BASIC_EDGE2));
+        assertEquals(3 * NUM_LOOPS, statistics.getTotalElementCount());
+        assertEquals(3 * NUM_LOOPS + 2, (long) statistics.getVertexCount());
+    }
+
+    @Test
+    public void shouldNotCountVerticesWithoutAnIndex() throws StoreException, OperationException {
+        // Given
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setCreateIndex("false");
+        final MapStore store = new MapStore();
+        store.initialise(GetAllElementsHandlerTest.getSchema(), storeProperties);
+
+        // When
+        store.execute(new AddElements.Builder()
+                .input(GetAllElementsHandlerTest.getElements())
+                .build(), new User());
+        final GraphStatistics statistics = store.getStatistics();
+
+        // Then
+        assertEquals(3 * NUM_LOOPS, statistics.getTotalElementCount());
+        assertNull(statistics.getVertexCount());
+    }
+}
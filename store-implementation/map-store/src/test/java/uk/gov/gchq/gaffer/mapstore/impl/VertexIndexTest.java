@@ -0,0 +1,196 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.junit.Test;
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.SeedMatching.SeedMatchingType;
+import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.user.User;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_EDGE1;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_EDGE2;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.BASIC_ENTITY;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.COUNT;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.PROPERTY1;
+import static uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest.PROPERTY2;
+
+public class VertexIndexTest {
+    private static final int NUM_VERTICES = 10;
+
+    @Test
+    public void shouldIndexEntitiesAndBothEndsOfEdges() {
+        // Given
+        final VertexIndex index = new VertexIndex();
+        final Entity entity = new Entity(BASIC_ENTITY, "A");
+        final Edge edge = new Edge(BASIC_EDGE1, "A", "B", true);
+        final Edge selfEdge = new Edge(BASIC_EDGE1, "B", "B", true);
+
+        // When
+        index.add(entity);
+        index.add(edge);
+        index.add(selfEdge);
+
+        // Then
+        assertEquals(Arrays.asList(entity, edge), index.get("A").collect(Collectors.toList()));
+        assertEquals(Arrays.asList(edge, selfEdge), index.get("B").collect(Collectors.toList()));
+        assertEquals(Collections.emptyList(), index.get("C").collect(Collectors.toList()));
+        assertEquals(2, index.getNumVertices());
+        assertEquals(3, index.getNumElements());
+    }
+
+    @Test
+    public void shouldGrowAdjacencyOfHighDegreeVertex() {
+        // Given
+        final VertexIndex index = new VertexIndex();
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            index.add(new Edge(BASIC_EDGE1, "A", "" + i, true));
+        }
+
+        // Then
+        assertEquals(1000, index.get("A").count());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(1, index.get("" + i).count());
+        }
+        assertEquals(1001, index.getNumVertices());
+    }
+
+    @Test
+    public void shouldThrowExceptionIfConcurrent() {
+        // Given
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setVertexIndex("true");
+        storeProperties.setConcurrent("true");
+
+        // When / Then
+        try {
+            new MapImpl(GetAllElementsHandlerTest.getSchema(), storeProperties);
+            fail("Exception expected");
+        } catch (final StoreException e) {
+            assertTrue(e.getMessage().contains("vertex index"));
+        }
+    }
+
+    @Test
+    public void shouldReturnSameResultsAsMapIndex() throws OperationException {
+        // Given
+        final Graph mapIndexGraph = GetAllElementsHandlerTest.getGraph();
+        final Graph vertexIndexGraph = getGraphWithVertexIndex();
+        final List<Element> elements = getElements();
+        mapIndexGraph.execute(new AddElements.Builder().input(elements).build(), new User());
+        vertexIndexGraph.execute(new AddElements.Builder().input(elements).build(), new User());
+        final List<ElementId> seeds = new ArrayList<>();
+        for (int i = 0; i < NUM_VERTICES; i++) {
+            seeds.add(new EntitySeed("" + i));
+            seeds.add(new EdgeSeed("" + i, "" + ((i + 1) % NUM_VERTICES), true));
+            seeds.add(new EdgeSeed("" + ((i + 1) % NUM_VERTICES), "" + i, false));
+            seeds.add(new EdgeSeed("" + i, "" + ((i + 1) % NUM_VERTICES), DirectedType.EITHER));
+        }
+
+        for (final IncludeIncomingOutgoingType inOutType : IncludeIncomingOutgoingType.values()) {
+            for (final SeedMatchingType seedMatchingType : SeedMatchingType.values()) {
+                // When
+                final GetElements getElements = new GetElements.Builder()
+                        .input(seeds)
+                        .inOutType(inOutType)
+                        .seedMatching(seedMatchingType)
+                        .build();
+                final Set<Element> mapIndexResults = toSet(mapIndexGraph.execute(getElements, new User()));
+                final Set<Element> vertexIndexResults = toSet(vertexIndexGraph.execute(getElements, new User()));
+
+                // Then
+                assertEquals(mapIndexResults, vertexIndexResults);
+            }
+
+            // When
+            final GetAdjacentIds getAdjacentIds = new GetAdjacentIds.Builder()
+                    .input(new EntitySeed("0"), new EntitySeed("5"))
+                    .inOutType(inOutType)
+                    .build();
+            final Set<Object> mapIndexResults = toSet(mapIndexGraph.execute(getAdjacentIds, new User()));
+            final Set<Object> vertexIndexResults = toSet(vertexIndexGraph.execute(getAdjacentIds, new User()));
+
+            // Then
+            assertEquals(mapIndexResults, vertexIndexResults);
+        }
+    }
+
+    private static <T> Set<T> toSet(final Iterable<? extends T> results) {
+        final Set<T> set = new HashSet<>();
+        Streams.toStream(results).forEach(set::add);
+        return set;
+    }
+
+    private static Graph getGraphWithVertexIndex() {
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setVertexIndex("true");
+        return new Graph.Builder()
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(storeProperties)
+                .build();
+    }
+
+    private static List<Element> getElements() {
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < NUM_VERTICES; i++) {
+            final Entity entity = new Entity(BASIC_ENTITY, "" + i);
+            entity.putProperty(PROPERTY1, "p");
+            entity.putProperty(COUNT, 1);
+            elements.add(entity);
+            elements.add(entity);
+            final Edge edge1 = new Edge(BASIC_EDGE1, "" + i, "" + ((i + 1) % NUM_VERTICES), true);
+            edge1.putProperty(PROPERTY1, "q");
+            edge1.putProperty(COUNT, i);
+            elements.add(edge1);
+            final Edge edge2 = new Edge(BASIC_EDGE2, "" + i, "" + ((i + 1) % NUM_VERTICES), false);
+            edge2.putProperty(PROPERTY1, "r");
+            edge2.putProperty(PROPERTY2, "s");
+            edge2.putProperty(COUNT, 3);
+            elements.add(edge2);
+            final Edge selfEdge = new Edge(BASIC_EDGE1, "" + i, "" + i, true);
+            selfEdge.putProperty(PROPERTY1, "q");
+            selfEdge.putProperty(COUNT, 1);
+            elements.add(selfEdge);
+        }
+        return elements;
+    }
+}
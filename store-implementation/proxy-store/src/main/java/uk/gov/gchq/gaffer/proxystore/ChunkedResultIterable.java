@@ -0,0 +1,180 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.proxystore;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import uk.gov.gchq.gaffer.commonutil.ChunkedConstants;
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.StoreException;
+import javax.ws.rs.core.Response;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.net.URL;
+import java.util.NoSuchElementException;
+
+/**
+ * A lazy {@link CloseableIterable} over the results of an operation chain executed via the chunked endpoint of a
+ * delegate Gaffer REST API. The request is only sent when an iterator is requested, and the response is parsed one
+ * item at a time as the iterator is consumed, so only a single result is held in memory at once and the first result
+ * is available as soon as the delegate store has written it.
+ * <p>
+ * The request asks the delegate to finish the response with a status chunk, {@link ChunkedConstants#END} if all the
+ * results were written or {@link ChunkedConstants#ERROR_PREFIX} and a message if the operation chain failed part way
+ * through. As the response status has already been sent by then, the status chunk is the only way to tell a complete response from a
+ * truncated one, so the iterator throws an exception if the delegate reports an error or the status chunk is missing.
+ * <p>
+ * Each call to {@link #iterator()} re-executes the operation chain, in the same way as the store retrievers.
+ *
+ * @param <T> the type of the results
+ */
+public class ChunkedResultIterable<T> implements CloseableIterable<T> {
+    private final ProxyStore store;
+    private final URL url;
+    private final String jsonBody;
+    private final Context context;
+    private final ObjectReader reader;
+    private CloseableIterator<T> iterator;
+
+    public ChunkedResultIterable(final ProxyStore store, final URL url, final String jsonBody,
+                                 final Context context, final ObjectReader reader) {
+        this.store = store;
+        this.url = url;
+        this.jsonBody = jsonBody;
+        this.context = context;
+        this.reader = reader;
+    }
+
+    @Override
+    public CloseableIterator<T> iterator() {
+        close();
+
+        final Response response;
+        try {
+            response = store.doPostChunked(url, jsonBody, context);
+        } catch (final StoreException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+
+        final BufferedReader lines;
+        try {
+            lines = new BufferedReader(new InputStreamReader(response.readEntity(InputStream.class), CommonConstants.UTF_8));
+        } catch (final UnsupportedEncodingException | RuntimeException e) {
+            response.close();
+            throw new RuntimeException("Unable to read the chunked response from " + url.toExternalForm(), e);
+        }
+
+        iterator = new ChunkedResultIterator<>(lines, response, reader, url);
+        return iterator;
+    }
+
+    @Override
+    public void close() {
+        if (null != iterator) {
+            iterator.close();
+            iterator = null;
+        }
+    }
+
+    private static final class ChunkedResultIterator<T> implements CloseableIterator<T> {
+        private final BufferedReader lines;
+        private final Response response;
+        private final ObjectReader reader;
+        private final URL url;
+        private String nextLine;
+        private boolean closed;
+
+        private ChunkedResultIterator(final BufferedReader lines, final Response response,
+                                      final ObjectReader reader, final URL url) {
+            this.lines = lines;
+            this.response = response;
+            this.reader = reader;
+            this.url = url;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (closed) {
+                return false;
+            }
+            if (null != nextLine) {
+                return true;
+            }
+
+            String line;
+            try {
+                do {
+                    line = lines.readLine();
+                } while (null != line && line.isEmpty());
+            } catch (final IOException e) {
+                close();
+                throw new RuntimeException("Unable to read the next result from the chunked response from " + url.toExternalForm(), e);
+            }
+
+            if (null == line) {
+                close();
+                throw new RuntimeException("The chunked response from " + url.toExternalForm()
+                        + " ended without a status, so the results are incomplete");
+            }
+            if (ChunkedConstants.END.equals(line)) {
+                close();
+                return false;
+            }
+            if (line.startsWith(ChunkedConstants.ERROR_PREFIX)) {
+                close();
+                throw new RuntimeException("The delegate Gaffer store failed while writing the chunked response from "
+                        + url.toExternalForm() + ": " + line.substring(ChunkedConstants.ERROR_PREFIX.length()));
+            }
+
+            nextLine = line;
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final String line = nextLine;
+            nextLine = null;
+            try {
+                return reader.readValue(line);
+            } catch (final IOException e) {
+                close();
+                throw new RuntimeException("Unable to deserialise the next result from the chunked response", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                nextLine = null;
+                try {
+                    lines.close();
+                } catch (final IOException e) {
+                    // ignore - the response is closed below
+                }
+                response.close();
+            }
+        }
+    }
+}
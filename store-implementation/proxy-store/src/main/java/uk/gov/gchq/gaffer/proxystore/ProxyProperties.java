@@ -33,6 +33,7 @@ public class ProxyProperties extends StoreProperties {
     public static final String CONNECT_TIMEOUT = "gaffer.connect-timeout";
     public static final String READ_TIMEOUT = "gaffer.read-timeout";
     public static final String JSON_SERIALISER_CLASS = "gaffer.jsonserialiser.class";
+    public static final String STREAM_RESULTS = "gaffer.stream-results";
 
     public static final String DEFAULT_GAFFER_HOST = "localhost";
     public static final String DEFAULT_GAFFER_CONTEXT_ROOT = "/rest/v1";
@@ -40,6 +41,7 @@ public class ProxyProperties extends StoreProperties {
     public static final int DEFAULT_CONNECT_TIMEOUT = 10000;
     public static final int DEFAULT_READ_TIMEOUT = 10000;
     public static final String DEFAULT_JSON_SERIALISER_CLASS = JSONSerialiser.class.getName();
+    public static final boolean DEFAULT_STREAM_RESULTS = false;
 
     public ProxyProperties() {
     }
@@ -113,6 +115,20 @@ public class ProxyProperties extends StoreProperties {
         set(GAFFER_CONTEXT_ROOT, checkedGafferContextRoot);
     }
 
+    /**
+     * If true, iterable results are read lazily from the chunked endpoint of
+     * the delegate REST API rather than being fully read into memory.
+     *
+     * @return true if results should be streamed
+     */
+    public boolean isStreamResults() {
+        return Boolean.parseBoolean(get(STREAM_RESULTS, String.valueOf(DEFAULT_STREAM_RESULTS)));
+    }
+
+    public void setStreamResults(final boolean streamResults) {
+        set(STREAM_RESULTS, String.valueOf(streamResults));
+    }
+
     public JSONSerialiser getJsonSerialiser() {
         return JSONSerialiser.fromClass(getJsonSerialiserClass());
     }
@@ -17,10 +17,14 @@
 package uk.gov.gchq.gaffer.proxystore;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.glassfish.jersey.client.ClientProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import uk.gov.gchq.gaffer.commonutil.ChunkedConstants;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -153,6 +157,14 @@ public class ProxyStore extends Store {
             throw new OperationException("Unable to serialise operation chain into JSON.", e);
         }
 
+        if (getProperties().isStreamResults()) {
+            final ObjectReader reader = createStreamingReader(operationChain.getOutputTypeReference());
+            if (null != reader) {
+                final URL url = getProperties().getGafferUrl("graph/doOperation/chunked");
+                return (O) new ChunkedResultIterable<>(this, url, opChainJson, context, reader);
+            }
+        }
+
         final URL url = getProperties().getGafferUrl("graph/doOperation");
         try {
             return doPost(url, opChainJson, operationChain.getOutputTypeReference(), context);
@@ -188,6 +200,64 @@ public class ProxyStore extends Store {
         return handleResponse(response, clazz);
     }
 
+    /**
+     * Posts the json body to the chunked url and returns the open response, so
+     * the results can be read from the response stream as they arrive. The
+     * delegate is asked to end the response with a status chunk, see
+     * {@link ChunkedResultIterable}.
+     *
+     * @param url      the chunked url
+     * @param jsonBody the json body
+     * @param context  the context
+     * @return the open response
+     * @throws StoreException if the request fails or the delegate store returns a bad status
+     */
+    protected Response doPostChunked(final URL url, final String jsonBody,
+                                     final Context context) throws StoreException {
+        final Invocation.Builder request = createRequest(jsonBody, url, context)
+                .header(ChunkedConstants.STATUS_HEADER, Boolean.TRUE.toString());
+        final Response response;
+        try {
+            response = request.post(Entity.json(jsonBody));
+        } catch (final Exception e) {
+            throw new StoreException("Failed to execute post via " +
+                    "the Gaffer URL " + url.toExternalForm(), e);
+        }
+
+        if (200 != response.getStatus()) {
+            final String outputJson = response.hasEntity() ? response.readEntity(String.class) : null;
+            response.close();
+            LOGGER.warn("Gaffer bad status {}", response.getStatus());
+            LOGGER.warn("Detail: {}", outputJson);
+            throw new StoreException("Delegate Gaffer store returned status: " + response.getStatus() + ". Response content was: " + outputJson);
+        }
+
+        return response;
+    }
+
+    /**
+     * Creates a reader for the items of a streamed result. Only outputs that
+     * can be provided by a lazy {@link CloseableIterable} can be streamed.
+     *
+     * @param outputTypeReference the output type of the operation chain
+     * @return a reader for the items in the output, or null if the output cannot be streamed
+     */
+    protected ObjectReader createStreamingReader(final TypeReference<?> outputTypeReference) {
+        if (null == outputTypeReference) {
+            return null;
+        }
+
+        final ObjectMapper mapper = jsonSerialiser.getMapper();
+        final JavaType outputType = mapper.getTypeFactory().constructType(outputTypeReference);
+        if (!outputType.getRawClass().isAssignableFrom(CloseableIterable.class)
+                || Object.class.equals(outputType.getRawClass())) {
+            return null;
+        }
+
+        final JavaType itemType = outputType.containedTypeCount() > 0 ? outputType.containedType(0) : null;
+        return mapper.readerFor(null != itemType ? itemType : mapper.constructType(Object.class));
+    }
+
     protected <O> O doGet(final URL url,
                           final TypeReference<O> outputTypeReference, final Context context)
             throws StoreException {
@@ -348,6 +418,11 @@ public class ProxyStore extends Store {
             return this;
         }
 
+        public Builder streamResults(final boolean streamResults) {
+            properties.setStreamResults(streamResults);
+            return this;
+        }
+
         public Builder jsonSerialiser(final Class<? extends JSONSerialiser> serialiserClass) {
             properties.setJsonSerialiserClass(serialiserClass);
             return this;
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.proxystore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.glassfish.jersey.server.ChunkedOutput;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import uk.gov.gchq.gaffer.commonutil.ChunkedConstants;
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.rest.service.OperationService;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.StoreException;
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ChunkedResultIterableTest {
+    @Test
+    public void shouldReturnAllResultsWhenResponseEndsWithEndMarker() throws Exception {
+        // Given
+        final Response response = mockResponse("1\r\n2\r\n3\r\n#END\r\n");
+        final ChunkedResultIterable<Integer> iterable = createIterable(response);
+
+        // When
+        final List<Integer> results = new ArrayList<>();
+        final CloseableIterator<Integer> iterator = iterable.iterator();
+        while (iterator.hasNext()) {
+            results.add(iterator.next());
+        }
+
+        // Then
+        assertEquals(Arrays.asList(1, 2, 3), results);
+        assertFalse(iterator.hasNext());
+        verify(response).close();
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenResponseIsTruncated() throws Exception {
+        // Given
+        final Response response = mockResponse("1\r\n2\r\n");
+        final CloseableIterator<Integer> iterator = createIterable(response).iterator();
+        assertEquals(1, (int) iterator.next());
+        assertEquals(2, (int) iterator.next());
+
+        // When / Then
+        try {
+            iterator.hasNext();
+            fail("Exception expected");
+        } catch (final RuntimeException e) {
+            assertTrue(e.getMessage().contains("ended without a status"));
+        }
+        verify(response).close();
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenDelegateReportsAnError() throws Exception {
+        // Given
+        final Response response = mockResponse("1\r\n#ERROR Table is offline\r\n");
+        final CloseableIterator<Integer> iterator = createIterable(response).iterator();
+        assertEquals(1, (int) iterator.next());
+
+        // When / Then
+        try {
+            iterator.hasNext();
+            fail("Exception expected");
+        } catch (final RuntimeException e) {
+            assertTrue(e.getMessage().contains("Table is offline"));
+        }
+        verify(response).close();
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenDelegateFailsToSerialiseAResult() throws Exception {
+        // Given
+        final ChunkedOutput<String> output = mock(ChunkedOutput.class);
+        new UnserialisableResultOperationService().writeChunked(output);
+        final ArgumentCaptor<String> chunks = ArgumentCaptor.forClass(String.class);
+        verify(output, atLeastOnce()).write(chunks.capture());
+        final StringBuilder body = new StringBuilder();
+        for (final String chunk : chunks.getAllValues()) {
+            body.append(chunk).append(ChunkedConstants.DELIMITER);
+        }
+        final Response response = mockResponse(body.toString());
+        final CloseableIterator<Integer> iterator = createIterable(response).iterator();
+        assertEquals(1, (int) iterator.next());
+
+        // When / Then
+        try {
+            iterator.hasNext();
+            fail("Exception expected");
+        } catch (final RuntimeException e) {
+            assertTrue(e.getMessage().contains("Unable to serialise a result to JSON"));
+        }
+        verify(response).close();
+    }
+
+    private ChunkedResultIterable<Integer> createIterable(final Response response) throws Exception {
+        final ProxyStore store = mock(ProxyStore.class);
+        given(store.doPostChunked(any(URL.class), anyString(), any(Context.class))).willReturn(response);
+        return new ChunkedResultIterable<>(store, new URL("http://localhost:8080/rest/v1/graph/doOperation/chunked"),
+                "{}", new Context(), new ObjectMapper().readerFor(Integer.class));
+    }
+
+    private Response mockResponse(final String body) throws UnsupportedEncodingException, StoreException {
+        final Response response = mock(Response.class);
+        given(response.readEntity(eq(InputStream.class)))
+                .willReturn(new ByteArrayInputStream(body.getBytes(CommonConstants.UTF_8)));
+        return response;
+    }
+
+    public static class UnserialisableResult {
+        public String getValue() {
+            throw new IllegalStateException("The value cannot be read");
+        }
+    }
+
+    private static class UnserialisableResultOperationService extends OperationService {
+        @Override
+        protected <O> O _execute(final OperationChain<O> opChain) {
+            return (O) Arrays.asList(1, new UnserialisableResult(), 3);
+        }
+
+        private void writeChunked(final ChunkedOutput<String> output) {
+            writeChunked(new OperationChain<>(new GetAllElements()), output, true);
+        }
+    }
+}
@@ -43,6 +43,7 @@ import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.operation.impl.job.GetJobDetails;
+import uk.gov.gchq.gaffer.proxystore.ChunkedResultIterable;
 import uk.gov.gchq.gaffer.proxystore.ProxyStore;
 import uk.gov.gchq.gaffer.rest.RestApiTestUtil;
 import uk.gov.gchq.gaffer.store.StoreTrait;
@@ -55,6 +56,7 @@ import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.core.IsCollectionContaining.hasItem;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 public class ProxyStoreBasicIT {
     private Graph graph;
@@ -153,6 +155,29 @@ public class ProxyStoreBasicIT {
         assertThat((CloseableIterable<Element>) results, hasItem(DEFAULT_ELEMENTS[0]));
     }
 
+    @Test
+    public void shouldAddElementsAndStreamAllElements() throws Exception {
+        // Given
+        addDefaultElements();
+        final Graph streamingGraph = new Graph.Builder()
+                .store(new ProxyStore.Builder()
+                        .host("localhost")
+                        .port(8080)
+                        .contextRoot("rest/v1")
+                        .streamResults(true)
+                        .build())
+                .build();
+
+        // When
+        final CloseableIterable<? extends Element> results = streamingGraph.execute(new GetAllElements(), USER);
+
+        // Then
+        assertTrue(results instanceof ChunkedResultIterable);
+        assertEquals(DEFAULT_ELEMENTS.length, Iterables.size(results));
+        assertThat((CloseableIterable<Element>) results, hasItems(DEFAULT_ELEMENTS));
+        results.close();
+    }
+
     @Test
     public void shouldAddElementsViaAJob() throws Exception {
         // Add elements